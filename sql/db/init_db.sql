@@ -28,7 +28,9 @@ CREATE TABLE `t_file`
     INDEX                `idx_deleted_create` (`is_deleted` ASC, `create_time` ASC) USING BTREE,
     INDEX                `idx_deleted_suffix_create` (`is_deleted` ASC, `file_suffix` ASC, `create_time` ASC) USING BTREE,
     INDEX                `idx_deleted_suffix_type_create` (`is_deleted` ASC, `file_suffix` ASC, `file_oss_type` ASC, `create_time`
-                                            ASC) USING BTREE
+                                            ASC) USING BTREE,
+    INDEX                `idx_unique_key_type` (`file_unique_key` ASC, `file_oss_type` ASC) USING BTREE,
+    INDEX                `idx_name_type` (`file_name` ASC, `file_oss_type` ASC) USING BTREE
 ) ENGINE = InnoDB
   CHARACTER SET = utf8mb4
   COLLATE = utf8mb4_general_ci
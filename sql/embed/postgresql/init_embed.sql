@@ -101,4 +101,59 @@ COMMENT ON COLUMN "public"."t_chunk"."is_deleted" IS '逻辑删除（0表示未
 -- Primary Key structure for table t_chunk
 -- ----------------------------
 ALTER TABLE "public"."t_chunk"
-    ADD CONSTRAINT "t_chunk_pkey" PRIMARY KEY ("chunk_id");
\ No newline at end of file
+    ADD CONSTRAINT "t_chunk_pkey" PRIMARY KEY ("chunk_id");
+
+-- ----------------------------
+-- Indexes structure for table t_chunk
+-- ----------------------------
+CREATE INDEX "t_chunk_knowledge_id_idx" ON "public"."t_chunk" ("chunk_knowledge_id") WHERE "is_deleted" = 0;
+CREATE INDEX "t_chunk_document_id_idx" ON "public"."t_chunk" ("chunk_document_id") WHERE "is_deleted" = 0;
+-- 全文检索索引，文本检索配置需要和ai.hybrid-retrieval.text-search-config一致
+CREATE INDEX "t_chunk_content_tsv_idx" ON "public"."t_chunk" USING gin (to_tsvector('simple', "chunk_content")) WHERE "is_deleted" = 0;
+-- 向量近似索引按照维度建立，可以通过数据块服务createIndex创建，例如1024维余弦距离的HNSW索引：
+-- CREATE INDEX CONCURRENTLY IF NOT EXISTS t_chunk_hnsw_vector_cosine_1024_idx ON t_chunk USING hnsw ((chunk_embedding::vector(1024)) vector_cosine_ops) WITH (m = 16, ef_construction = 64) WHERE chunk_dimension = 1024 AND is_deleted = 0;
+
+-- ----------------------------
+-- Table structure for t_chat_cache
+-- ----------------------------
+DROP TABLE IF EXISTS "public"."t_chat_cache";
+CREATE TABLE "public"."t_chat_cache"
+(
+    "cache_id"                int8                                         NOT NULL,
+    "cache_namespace"         varchar(255) COLLATE "pg_catalog"."default"  NOT NULL,
+    "cache_embedding_model"   varchar(255) COLLATE "pg_catalog"."default"  NOT NULL,
+    "cache_system_hash"       varchar(64) COLLATE "pg_catalog"."default"   NOT NULL,
+    "cache_prompt"            text COLLATE "pg_catalog"."default"          NOT NULL,
+    "cache_content"           text COLLATE "pg_catalog"."default"          NOT NULL,
+    "cache_reasoning_content" text COLLATE "pg_catalog"."default",
+    "cache_embedding"         "public"."vector"                            NOT NULL,
+    "cache_dimension"         int4                                         NOT NULL,
+    "cache_expire_time"       timestamp(6)                                 NOT NULL,
+    "create_time"             timestamp(6)                                 NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    "update_time"             timestamp(6)                                 NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    "is_deleted"              int2                                         NOT NULL DEFAULT 0
+);
+COMMENT ON COLUMN "public"."t_chat_cache"."cache_id" IS '缓存ID';
+COMMENT ON COLUMN "public"."t_chat_cache"."cache_namespace" IS '缓存命名空间（Chat服务名称:模型名称:缓存范围）';
+COMMENT ON COLUMN "public"."t_chat_cache"."cache_embedding_model" IS '缓存向量模型（Embedding服务名称:模型名称）';
+COMMENT ON COLUMN "public"."t_chat_cache"."cache_system_hash" IS '缓存系统提示词摘要';
+COMMENT ON COLUMN "public"."t_chat_cache"."cache_prompt" IS '缓存归一化后的提示词';
+COMMENT ON COLUMN "public"."t_chat_cache"."cache_content" IS '缓存回复内容';
+COMMENT ON COLUMN "public"."t_chat_cache"."cache_reasoning_content" IS '缓存思考内容';
+COMMENT ON COLUMN "public"."t_chat_cache"."cache_embedding" IS '缓存提示词向量数据';
+COMMENT ON COLUMN "public"."t_chat_cache"."cache_dimension" IS '缓存向量维度';
+COMMENT ON COLUMN "public"."t_chat_cache"."cache_expire_time" IS '缓存过期时间';
+COMMENT ON COLUMN "public"."t_chat_cache"."create_time" IS '创建时间';
+COMMENT ON COLUMN "public"."t_chat_cache"."update_time" IS '更新时间';
+COMMENT ON COLUMN "public"."t_chat_cache"."is_deleted" IS '逻辑删除（0表示未删除，1表示已删除）';
+
+-- ----------------------------
+-- Primary Key structure for table t_chat_cache
+-- ----------------------------
+ALTER TABLE "public"."t_chat_cache"
+    ADD CONSTRAINT "t_chat_cache_pkey" PRIMARY KEY ("cache_id");
+
+-- ----------------------------
+-- Indexes structure for table t_chat_cache
+-- ----------------------------
+CREATE INDEX "t_chat_cache_lookup_idx" ON "public"."t_chat_cache" ("cache_namespace", "cache_embedding_model", "cache_system_hash", "cache_expire_time");
@@ -0,0 +1,48 @@
+package top.sharehome.springbootinittemplate.config.ai.spring.client;
+
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import top.sharehome.springbootinittemplate.config.ai.spring.client.properties.AiClientProperties;
+
+/**
+ * AI客户端配置
+ *
+ * @author AntonyCheng
+ */
+@Configuration
+@EnableConfigurationProperties(AiClientProperties.class)
+@AllArgsConstructor
+@Slf4j
+public class AiClientConfiguration {
+
+    private final AiClientProperties aiClientProperties;
+
+    /**
+     * AI服务HTTP连接工厂
+     */
+    @Bean(destroyMethod = "shutdown")
+    public AiHttpClientFactory aiHttpClientFactory() {
+        return new AiHttpClientFactory(aiClientProperties);
+    }
+
+    /**
+     * AI客户端注册表
+     */
+    @Bean(destroyMethod = "clear")
+    public AiClientRegistry aiClientRegistry() {
+        return new AiClientRegistry(aiClientProperties);
+    }
+
+    /**
+     * 依赖注入日志输出
+     */
+    @PostConstruct
+    private void initDi() {
+        log.info("############ {} Configuration DI.", this.getClass().getSimpleName().split("\\$\\$")[0]);
+    }
+
+}
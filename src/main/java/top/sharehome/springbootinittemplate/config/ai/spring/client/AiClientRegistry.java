@@ -0,0 +1,87 @@
+package top.sharehome.springbootinittemplate.config.ai.spring.client;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.apache.commons.codec.digest.DigestUtils;
+import top.sharehome.springbootinittemplate.common.base.ReturnCode;
+import top.sharehome.springbootinittemplate.config.ai.spring.client.properties.AiClientProperties;
+import top.sharehome.springbootinittemplate.exception.customize.CustomizeAiException;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * AI客户端注册表
+ * 以模型配置（服务方、地址、密钥、模型参数等全部属性）的摘要作为键缓存已经构建好的客户端，相同配置的请求复用同一个客户端，长时间未使用的客户端会被剔除
+ * 注意：模型配置类是可变的，配置修改后会生成新的键并构建新的客户端，旧客户端会在过期后自动剔除
+ *
+ * @author AntonyCheng
+ */
+public class AiClientRegistry {
+
+    /**
+     * 客户端缓存
+     */
+    private final Cache<String, Object> clients;
+
+    public AiClientRegistry(AiClientProperties aiClientProperties) {
+        this.clients = Caffeine.newBuilder()
+                .maximumSize(aiClientProperties.getRegistryCapacity())
+                .expireAfterAccess(aiClientProperties.getRegistryExpired(), TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * 获取客户端，不存在时进行构建
+     * 注意：构建函数中不能再次调用注册表获取客户端，需要复用的依赖应该在调用前获取
+     *
+     * @param category 客户端类别，例如CHAT_MODEL、CHAT_CLIENT
+     * @param config   模型配置
+     * @param creator  客户端构建函数
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getOrCreate(String category, Object config, Supplier<T> creator) {
+        if (Objects.isNull(category) || Objects.isNull(config) || Objects.isNull(creator)) {
+            throw new CustomizeAiException(ReturnCode.PARAMETER_FORMAT_MISMATCH, "参数均不能为空");
+        }
+        return (T) clients.get(buildKey(category, config), key -> creator.get());
+    }
+
+    /**
+     * 获取注册表统计信息
+     */
+    public CacheStats getStats() {
+        return clients.stats();
+    }
+
+    /**
+     * 获取已缓存客户端数量
+     */
+    public long size() {
+        return clients.estimatedSize();
+    }
+
+    /**
+     * 清空注册表
+     */
+    public void clear() {
+        clients.invalidateAll();
+    }
+
+    /**
+     * 构建缓存键，使用摘要避免密钥以明文形式驻留在缓存键中
+     *
+     * @param category 客户端类别
+     * @param config   模型配置
+     */
+    private String buildKey(String category, Object config) {
+        String json = JSON.toJSONString(config, JSONWriter.Feature.WriteNulls, JSONWriter.Feature.MapSortField);
+        return category + ":" + config.getClass().getSimpleName() + ":" + DigestUtils.sha256Hex(json);
+    }
+
+}
@@ -0,0 +1,232 @@
+package top.sharehome.springbootinittemplate.config.ai.spring.client;
+
+import com.azure.core.util.HttpClientOptions;
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.resources.ConnectionProvider;
+import top.sharehome.springbootinittemplate.common.base.ReturnCode;
+import top.sharehome.springbootinittemplate.config.ai.spring.client.properties.AiClientProperties;
+import top.sharehome.springbootinittemplate.exception.customize.CustomizeAiException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * AI服务HTTP连接工厂
+ * 每个服务方共享一个连接池，同步请求使用JDK HttpClient（连接保活复用，HTTPS下通过ALPN协商HTTP/2），流式请求使用Reactor Netty连接池，
+ * 不同响应超时时间的请求共享同一个连接池，只在请求级别设置超时时间；
+ * JDK HttpClient无法限制连接数，所以同步请求通过信号量限制每个服务方的并发数，响应关闭时释放许可
+ * 注意：RestClient.Builder和WebClient.Builder是可变对象，会被各服务方API修改，所以每次调用都返回新的Builder，只共享底层连接
+ *
+ * @author AntonyCheng
+ */
+@Slf4j
+public class AiHttpClientFactory {
+
+    private final AiClientProperties aiClientProperties;
+
+    /**
+     * 服务方同步请求客户端
+     */
+    private final Map<String, HttpClient> jdkHttpClients = new ConcurrentHashMap<>();
+
+    /**
+     * 服务方流式请求连接池
+     */
+    private final Map<String, ConnectionProvider> connectionProviders = new ConcurrentHashMap<>();
+
+    /**
+     * 服务方同步请求并发许可
+     */
+    private final Map<String, Semaphore> concurrencyLimits = new ConcurrentHashMap<>();
+
+    /**
+     * AzureOpenAI客户端，按照响应超时时间区分
+     */
+    private final Map<Long, com.azure.core.http.HttpClient> azureHttpClients = new ConcurrentHashMap<>();
+
+    public AiHttpClientFactory(AiClientProperties aiClientProperties) {
+        this.aiClientProperties = aiClientProperties;
+    }
+
+    /**
+     * 获取同步请求构造类
+     *
+     * @param provider    服务方
+     * @param readTimeout 响应超时时间，单位：毫秒，为null表示不限制
+     */
+    public RestClient.Builder getRestClientBuilder(String provider, Long readTimeout) {
+        HttpClient httpClient = jdkHttpClients.computeIfAbsent(provider, key -> HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(aiClientProperties.getConnectTimeout()))
+                .build());
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        if (Objects.nonNull(readTimeout)) {
+            requestFactory.setReadTimeout(Duration.ofMillis(readTimeout));
+        }
+        RestClient.Builder builder = RestClient.builder().requestFactory(requestFactory);
+        if (aiClientProperties.getMaxConcurrentRequests() > 0) {
+            Semaphore semaphore = concurrencyLimits.computeIfAbsent(provider, key -> new Semaphore(aiClientProperties.getMaxConcurrentRequests(), true));
+            builder.requestInterceptor(new ConcurrencyLimitInterceptor(provider, semaphore, aiClientProperties.getPendingAcquireTimeout()));
+        }
+        return builder;
+    }
+
+    /**
+     * 获取流式请求构造类
+     *
+     * @param provider    服务方
+     * @param readTimeout 响应超时时间，单位：毫秒，为null表示不限制
+     */
+    public WebClient.Builder getWebClientBuilder(String provider, Long readTimeout) {
+        ConnectionProvider connectionProvider = connectionProviders.computeIfAbsent(provider, key -> ConnectionProvider.builder("ai-" + key)
+                .maxConnections(aiClientProperties.getMaxConnections())
+                .pendingAcquireTimeout(Duration.ofMillis(aiClientProperties.getPendingAcquireTimeout()))
+                .maxIdleTime(Duration.ofMillis(aiClientProperties.getMaxIdleTime()))
+                .build());
+        reactor.netty.http.client.HttpClient httpClient = reactor.netty.http.client.HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, aiClientProperties.getConnectTimeout().intValue());
+        if (Objects.nonNull(readTimeout)) {
+            httpClient = httpClient.responseTimeout(Duration.ofMillis(readTimeout));
+        }
+        return WebClient.builder().clientConnector(new ReactorClientHttpConnector(httpClient));
+    }
+
+    /**
+     * 获取AzureOpenAI请求客户端
+     *
+     * @param readTimeout 响应超时时间，单位：毫秒，不能为空
+     */
+    public com.azure.core.http.HttpClient getAzureHttpClient(Long readTimeout) {
+        return azureHttpClients.computeIfAbsent(readTimeout, key -> com.azure.core.http.HttpClient.createDefault(
+                new HttpClientOptions()
+                        .setConnectTimeout(Duration.ofMillis(aiClientProperties.getConnectTimeout()))
+                        .setReadTimeout(Duration.ofMillis(key))
+                        .setMaximumConnections(aiClientProperties.getMaxConnections())
+                        .setConnectionIdleTimeout(Duration.ofMillis(aiClientProperties.getMaxIdleTime()))
+        ));
+    }
+
+    /**
+     * 释放连接池
+     */
+    public void shutdown() {
+        connectionProviders.values().forEach(ConnectionProvider::dispose);
+        connectionProviders.clear();
+        jdkHttpClients.clear();
+        concurrencyLimits.clear();
+        azureHttpClients.clear();
+        log.info("AI服务HTTP连接池已释放");
+    }
+
+    /**
+     * 服务方并发限制拦截器
+     */
+    private static class ConcurrencyLimitInterceptor implements ClientHttpRequestInterceptor {
+
+        private final String provider;
+
+        private final Semaphore semaphore;
+
+        private final Long acquireTimeout;
+
+        private ConcurrencyLimitInterceptor(String provider, Semaphore semaphore, Long acquireTimeout) {
+            this.provider = provider;
+            this.semaphore = semaphore;
+            this.acquireTimeout = acquireTimeout;
+        }
+
+        @NotNull
+        @Override
+        public ClientHttpResponse intercept(@NotNull HttpRequest request, @NotNull byte[] body, @NotNull ClientHttpRequestExecution execution) throws IOException {
+            try {
+                if (!semaphore.tryAcquire(acquireTimeout, TimeUnit.MILLISECONDS)) {
+                    throw new CustomizeAiException(ReturnCode.EXCEPTION_OCCURRED_IN_AI_MODULE, "AI服务[" + provider + "]并发请求过多，请稍后再试");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CustomizeAiException(ReturnCode.EXCEPTION_OCCURRED_IN_AI_MODULE, "等待AI服务[" + provider + "]并发许可时被中断");
+            }
+            try {
+                return new PermitReleasingResponse(execution.execute(request, body), semaphore);
+            } catch (IOException | RuntimeException e) {
+                semaphore.release();
+                throw e;
+            }
+        }
+
+    }
+
+    /**
+     * 关闭时释放并发许可的响应
+     */
+    private static class PermitReleasingResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+
+        private final Semaphore semaphore;
+
+        private final AtomicBoolean released = new AtomicBoolean(false);
+
+        private PermitReleasingResponse(ClientHttpResponse delegate, Semaphore semaphore) {
+            this.delegate = delegate;
+            this.semaphore = semaphore;
+        }
+
+        @NotNull
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @NotNull
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @NotNull
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @NotNull
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                if (released.compareAndSet(false, true)) {
+                    semaphore.release();
+                }
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,50 @@
+package top.sharehome.springbootinittemplate.config.ai.spring.client.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * AI客户端配置属性
+ *
+ * @author AntonyCheng
+ */
+@Data
+@ConfigurationProperties(prefix = "ai.client")
+public class AiClientProperties {
+
+    /**
+     * 建立连接超时时间，单位：毫秒
+     */
+    private Long connectTimeout = 10 * 1000L;
+
+    /**
+     * 每个服务方连接池最大连接数
+     */
+    private Integer maxConnections = 50;
+
+    /**
+     * 每个服务方同步请求最大并发数，小于等于0表示不限制
+     */
+    private Integer maxConcurrentRequests = 50;
+
+    /**
+     * 连接池已满或者并发数已满时的最长等待时间，单位：毫秒
+     */
+    private Long pendingAcquireTimeout = 45 * 1000L;
+
+    /**
+     * 连接池中空闲连接最长保持时间，单位：毫秒
+     */
+    private Long maxIdleTime = 60 * 1000L;
+
+    /**
+     * 客户端缓存最大容量，超过之后会按照最近最少策略进行缓存剔除
+     */
+    private Integer registryCapacity = 256;
+
+    /**
+     * 客户端缓存最后一次访问后经过固定时间过期，单位：秒
+     */
+    private Long registryExpired = 1800L;
+
+}
@@ -0,0 +1,611 @@
+package top.sharehome.springbootinittemplate.config.ai.spring.scheduler;
+
+import com.azure.core.exception.HttpResponseException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.ai.retry.NonTransientAiException;
+import org.springframework.ai.retry.TransientAiException;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import top.sharehome.springbootinittemplate.common.base.ReturnCode;
+import top.sharehome.springbootinittemplate.config.ai.spring.scheduler.properties.AiSchedulerProperties;
+import top.sharehome.springbootinittemplate.exception.CustomizeException;
+import top.sharehome.springbootinittemplate.exception.customize.CustomizeAiException;
+import top.sharehome.springbootinittemplate.utils.satoken.LoginUtils;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * AI调用调度器
+ * 1、每个模型独立限制并发调用数（模型表中的模型按照模型ID区分，直接构造的模型按照“类型:服务:名称”区分），超出的调用按照用户分组排队，放行时在用户之间轮转，避免单个用户占满模型
+ * 2、排队前根据模型近期平均耗时估算等待时间，预计超过最长等待时间或者排队已满时直接拒绝，不让请求空等到超时
+ * 3、模型连续失败达到阈值后熔断，熔断期间直接拒绝，到期后放行一次试探调用，成功则恢复；熔断和恢复会通知监听器
+ * 只有服务方或者传输层的失败（5xx、429、IO异常、超时）才计入熔断，调用方的4xx、参数校验错误以及本地并发限制的拒绝不计入
+ * 4、提供按候选顺序故障转移的调用方式，熔断或者失败的模型会被跳过
+ *
+ * @author AntonyCheng
+ */
+@Slf4j
+public class AiExecutionScheduler {
+
+    /**
+     * 未登录调用统一归入的用户分组
+     */
+    private static final Long ANONYMOUS_USER = -1L;
+
+    /**
+     * 熔断错误信息最大长度，与模型表错误信息字段长度一致
+     */
+    private static final int MAX_ERROR_LENGTH = 100;
+
+    /**
+     * 模型表中模型的模型键前缀
+     */
+    private static final String MODEL_ID_KEY_PREFIX = "model#";
+
+    /**
+     * 查找异常原因链的最大深度
+     */
+    private static final int MAX_CAUSE_DEPTH = 10;
+
+    private final AiSchedulerProperties aiSchedulerProperties;
+
+    private final TaskExecutor taskExecutor;
+
+    private final Map<String, ModelLane> lanes = new ConcurrentHashMap<>();
+
+    private final List<BreakerListener> listeners = new CopyOnWriteArrayList<>();
+
+    public AiExecutionScheduler(AiSchedulerProperties aiSchedulerProperties, TaskExecutor taskExecutor) {
+        this.aiSchedulerProperties = aiSchedulerProperties;
+        this.taskExecutor = taskExecutor;
+    }
+
+    /**
+     * 构造模型键
+     *
+     * @param type    模型类型
+     * @param service 模型服务
+     * @param name    模型名称
+     */
+    public static String getModelKey(String type, String service, String name) {
+        return type + ":" + service + ":" + name;
+    }
+
+    /**
+     * 构造模型表中模型的模型键，同一服务同一名称的不同模型（例如不同地址或者不同密钥）各自独立调度和熔断
+     *
+     * @param id 模型ID
+     */
+    public static String getModelKey(Long id) {
+        return MODEL_ID_KEY_PREFIX + id;
+    }
+
+    /**
+     * 从模型键中解析模型ID，不是模型表中模型的模型键时返回null
+     *
+     * @param modelKey 模型键
+     */
+    public static Long parseModelId(String modelKey) {
+        if (!StringUtils.startsWith(modelKey, MODEL_ID_KEY_PREFIX)) {
+            return null;
+        }
+        try {
+            return Long.valueOf(modelKey.substring(MODEL_ID_KEY_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 添加熔断状态监听器
+     *
+     * @param listener 监听器
+     */
+    public void addBreakerListener(BreakerListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * 模型当前是否可以调用（未熔断或者已经到达试探时间）
+     *
+     * @param modelKey 模型键
+     */
+    public boolean isAvailable(String modelKey) {
+        ModelLane lane = lanes.get(modelKey);
+        return Objects.isNull(lane) || lane.breaker.isAvailable();
+    }
+
+    /**
+     * 同步调用模型，用户为当前登录用户
+     *
+     * @param modelKey 模型键
+     * @param call     模型调用
+     */
+    public <T> T execute(String modelKey, Supplier<T> call) {
+        return execute(modelKey, getLoginUserIdQuietly(), call);
+    }
+
+    /**
+     * 同步调用模型
+     *
+     * @param modelKey 模型键
+     * @param userId   用户ID，为空时归入匿名分组
+     * @param call     模型调用
+     */
+    public <T> T execute(String modelKey, Long userId, Supplier<T> call) {
+        if (!aiSchedulerProperties.getEnable()) {
+            return call.get();
+        }
+        ModelLane lane = getLane(modelKey);
+        boolean trial = lane.breaker.acquire();
+        Permit permit;
+        try {
+            permit = await(lane.acquire(userId));
+        } catch (RuntimeException e) {
+            lane.breaker.abort(trial);
+            throw e;
+        }
+        try {
+            T res = call.get();
+            lane.breaker.onSuccess(trial);
+            return res;
+        } catch (RuntimeException e) {
+            lane.breaker.onFailure(trial, e);
+            throw e;
+        } finally {
+            permit.release();
+        }
+    }
+
+    /**
+     * 流式调用模型，用户为当前登录用户
+     * 调用许可在订阅时获取，流结束、出错或者取消时归还
+     *
+     * @param modelKey 模型键
+     * @param call     模型调用
+     */
+    public <T> Flux<T> executeFlux(String modelKey, Supplier<Flux<T>> call) {
+        return executeFlux(modelKey, getLoginUserIdQuietly(), call);
+    }
+
+    /**
+     * 流式调用模型
+     *
+     * @param modelKey 模型键
+     * @param userId   用户ID，为空时归入匿名分组
+     * @param call     模型调用
+     */
+    public <T> Flux<T> executeFlux(String modelKey, Long userId, Supplier<Flux<T>> call) {
+        if (!aiSchedulerProperties.getEnable()) {
+            return Flux.defer(call);
+        }
+        return Flux.defer(() -> {
+            ModelLane lane = getLane(modelKey);
+            boolean trial = lane.breaker.acquire();
+            Mono<Permit> permitMono = Mono.defer(() -> Mono.fromFuture(lane.acquire(userId)))
+                    .onErrorMap(e -> {
+                        lane.breaker.abort(trial);
+                        return translateAcquireError(e);
+                    })
+                    // 排队期间被取消时调用没有发生，需要释放试探调用
+                    .doOnCancel(() -> lane.breaker.abort(trial));
+            return Flux.usingWhen(permitMono,
+                    permit -> call.get(),
+                    permit -> Mono.fromRunnable(() -> {
+                        permit.release();
+                        lane.breaker.onSuccess(trial);
+                    }),
+                    (permit, e) -> Mono.fromRunnable(() -> {
+                        permit.release();
+                        lane.breaker.onFailure(trial, e);
+                    }),
+                    permit -> Mono.fromRunnable(() -> {
+                        permit.release();
+                        lane.breaker.abort(trial);
+                    }));
+        });
+    }
+
+    /**
+     * 按照候选顺序调用模型，熔断的候选直接跳过，调用失败或者排队被拒绝时转移到下一个候选
+     * 候选调用本身需要经过调度器（例如通过AI服务接口调用），这里不再重复申请调用许可，避免同一模型嵌套占用许可
+     *
+     * @param candidates 候选模型
+     * @param keyFunc    获取候选模型的模型键
+     * @param call       模型调用
+     */
+    public <M, T> T executeWithFailover(List<M> candidates, Function<M, String> keyFunc, Function<M, T> call) {
+        RuntimeException lastException = null;
+        for (M candidate : candidates) {
+            String modelKey = keyFunc.apply(candidate);
+            if (!isAvailable(modelKey)) {
+                continue;
+            }
+            try {
+                return call.apply(candidate);
+            } catch (RuntimeException e) {
+                log.warn("模型[{}]调用失败，尝试下一个候选模型: {}", modelKey, e.getMessage());
+                lastException = e;
+            }
+        }
+        throw Objects.nonNull(lastException) ? lastException : new CustomizeAiException(ReturnCode.EXCEPTION_OCCURRED_IN_AI_MODULE, "没有可用的模型");
+    }
+
+    private ModelLane getLane(String modelKey) {
+        return lanes.computeIfAbsent(modelKey, ModelLane::new);
+    }
+
+    /**
+     * 阻塞等待调用许可
+     */
+    private Permit await(CompletableFuture<Permit> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            // 取消失败说明许可已经发放，需要归还
+            if (!future.cancel(false) && !future.isCompletedExceptionally()) {
+                future.join().release();
+            }
+            Thread.currentThread().interrupt();
+            throw new CustomizeAiException(ReturnCode.EXCEPTION_OCCURRED_IN_AI_MODULE, "等待模型调用时被中断");
+        } catch (ExecutionException e) {
+            throw translateAcquireError(e.getCause());
+        }
+    }
+
+    private RuntimeException translateAcquireError(Throwable e) {
+        if (e instanceof TimeoutException) {
+            return new CustomizeAiException(ReturnCode.TOO_MANY_REQUESTS, "AI服务繁忙，排队等待超时");
+        }
+        return e instanceof RuntimeException runtimeException ? runtimeException : new CustomizeAiException(ReturnCode.EXCEPTION_OCCURRED_IN_AI_MODULE, e.getMessage());
+    }
+
+    /**
+     * 判断异常是否为服务方或者传输层的失败，只有这类失败才计入熔断
+     * 本项目的自定义异常（参数校验、本地并发限制等）和调用方的4xx错误说明服务方本身可用，不计入熔断
+     */
+    private static boolean isProviderFailure(Throwable e) {
+        Throwable cause = e;
+        for (int depth = 0; Objects.nonNull(cause) && depth < MAX_CAUSE_DEPTH; depth++, cause = cause.getCause()) {
+            if (cause instanceof CustomizeException) {
+                return false;
+            }
+            if (cause instanceof RestClientResponseException responseException) {
+                return isProviderStatus(responseException.getStatusCode().value());
+            }
+            if (cause instanceof WebClientResponseException responseException) {
+                return isProviderStatus(responseException.getStatusCode().value());
+            }
+            if (cause instanceof HttpResponseException responseException) {
+                return Objects.isNull(responseException.getResponse()) || isProviderStatus(responseException.getResponse().getStatusCode());
+            }
+            // Spring AI对4xx响应抛出的异常，信息以状态码开头
+            if (cause instanceof NonTransientAiException) {
+                return StringUtils.startsWith(cause.getMessage(), String.valueOf(HttpStatus.TOO_MANY_REQUESTS.value()));
+            }
+            if (cause instanceof TransientAiException
+                    || cause instanceof IOException
+                    || cause instanceof TimeoutException
+                    || cause instanceof ResourceAccessException
+                    || cause instanceof WebClientRequestException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 5xx和429视为服务方失败，其余4xx为调用方错误
+     */
+    private static boolean isProviderStatus(int status) {
+        return status >= 500 || status == HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+
+    /**
+     * 异步通知监听器，监听器中通常包含数据库操作，不占用调用线程
+     */
+    private void notifyListeners(String modelKey, boolean open, String error) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        try {
+            taskExecutor.execute(() -> {
+                for (BreakerListener listener : listeners) {
+                    try {
+                        listener.onStateChange(modelKey, open, error);
+                    } catch (Exception e) {
+                        log.error("模型[{}]熔断状态通知失败: {}", modelKey, e.getMessage());
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.error("模型[{}]熔断状态通知被拒绝: {}", modelKey, e.getMessage());
+        }
+    }
+
+    /**
+     * 获取当前登录用户ID，非Web环境或者未登录时返回null
+     */
+    private static Long getLoginUserIdQuietly() {
+        try {
+            return LoginUtils.getLoginUserId();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * 熔断状态监听器
+     */
+    @FunctionalInterface
+    public interface BreakerListener {
+
+        /**
+         * 熔断状态变化
+         *
+         * @param modelKey 模型键
+         * @param open     true表示熔断，false表示恢复
+         * @param error    熔断时最近一次的错误信息
+         */
+        void onStateChange(String modelKey, boolean open, String error);
+
+    }
+
+    /**
+     * 调用许可，只能归还一次
+     */
+    private static class Permit {
+
+        private final ModelLane lane;
+
+        private final long grantTime = System.nanoTime();
+
+        private boolean released = false;
+
+        private Permit(ModelLane lane) {
+            this.lane = lane;
+        }
+
+        private void release() {
+            synchronized (this) {
+                if (released) {
+                    return;
+                }
+                released = true;
+            }
+            lane.release(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - grantTime));
+        }
+
+    }
+
+    /**
+     * 单个模型的调用通道
+     */
+    private class ModelLane {
+
+        private final CircuitBreaker breaker;
+
+        /**
+         * 剩余调用许可数
+         */
+        private int available;
+
+        /**
+         * 按用户分组的等待队列
+         */
+        private final Map<Long, Deque<CompletableFuture<Permit>>> waiters = new HashMap<>();
+
+        /**
+         * 有等待请求的用户轮转顺序
+         */
+        private final Deque<Long> rotation = new ArrayDeque<>();
+
+        /**
+         * 等待总数
+         */
+        private int queued = 0;
+
+        /**
+         * 近期平均调用耗时，单位：毫秒
+         */
+        private double averageMillis = 0;
+
+        private ModelLane(String modelKey) {
+            this.breaker = new CircuitBreaker(modelKey);
+            this.available = aiSchedulerProperties.getMaxConcurrency();
+        }
+
+        /**
+         * 获取调用许可，有剩余许可时立即返回，否则排队等待
+         */
+        private CompletableFuture<Permit> acquire(Long userId) {
+            Long user = Objects.isNull(userId) ? ANONYMOUS_USER : userId;
+            long acquireTimeout = aiSchedulerProperties.getAcquireTimeout();
+            CompletableFuture<Permit> future = new CompletableFuture<>();
+            synchronized (this) {
+                if (available > 0) {
+                    available--;
+                    return CompletableFuture.completedFuture(new Permit(this));
+                }
+                if (queued >= aiSchedulerProperties.getMaxQueueSize()) {
+                    throw new CustomizeAiException(ReturnCode.TOO_MANY_REQUESTS, "AI服务繁忙，请稍后重试");
+                }
+                Deque<CompletableFuture<Permit>> userWaiters = waiters.get(user);
+                if (Objects.nonNull(userWaiters) && userWaiters.size() >= aiSchedulerProperties.getMaxUserQueueSize()) {
+                    throw new CustomizeAiException(ReturnCode.TOO_MANY_REQUESTS, "当前用户排队请求过多，请稍后重试");
+                }
+                // 按照近期平均耗时估算等待时间，预计超时的请求直接拒绝
+                if (averageMillis * (queued + 1) / aiSchedulerProperties.getMaxConcurrency() > acquireTimeout) {
+                    throw new CustomizeAiException(ReturnCode.TOO_MANY_REQUESTS, "AI服务繁忙，预计等待时间过长");
+                }
+                if (Objects.isNull(userWaiters)) {
+                    userWaiters = new ArrayDeque<>();
+                    waiters.put(user, userWaiters);
+                    rotation.addLast(user);
+                }
+                userWaiters.addLast(future);
+                queued++;
+            }
+            future.orTimeout(acquireTimeout, TimeUnit.MILLISECONDS).whenComplete((permit, e) -> {
+                if (Objects.nonNull(e)) {
+                    remove(user, future);
+                }
+            });
+            return future;
+        }
+
+        /**
+         * 移除超时或者被取消的等待请求
+         */
+        private synchronized void remove(Long user, CompletableFuture<Permit> future) {
+            Deque<CompletableFuture<Permit>> userWaiters = waiters.get(user);
+            if (Objects.nonNull(userWaiters) && userWaiters.remove(future)) {
+                queued--;
+                if (userWaiters.isEmpty()) {
+                    waiters.remove(user);
+                    rotation.remove(user);
+                }
+            }
+        }
+
+        /**
+         * 归还调用许可，优先交给轮转到的下一个用户
+         * 唤醒等待请求会同步执行其后续调用，因此必须在锁外完成
+         */
+        private void release(long elapsedMillis) {
+            while (true) {
+                CompletableFuture<Permit> next;
+                synchronized (this) {
+                    averageMillis = averageMillis == 0 ? elapsedMillis : averageMillis * 0.8 + elapsedMillis * 0.2;
+                    Long user = rotation.pollFirst();
+                    if (Objects.isNull(user)) {
+                        available++;
+                        return;
+                    }
+                    Deque<CompletableFuture<Permit>> userWaiters = waiters.get(user);
+                    next = userWaiters.pollFirst();
+                    queued--;
+                    if (userWaiters.isEmpty()) {
+                        waiters.remove(user);
+                    } else {
+                        rotation.addLast(user);
+                    }
+                }
+                // 等待请求可能已经超时或者被取消，此时继续交给下一个
+                if (next.complete(new Permit(this))) {
+                    return;
+                }
+            }
+        }
+
+    }
+
+    /**
+     * 熔断器
+     */
+    private class CircuitBreaker {
+
+        private final String modelKey;
+
+        /**
+         * 连续失败次数
+         */
+        private int failures = 0;
+
+        /**
+         * 熔断到期时间，0表示未熔断
+         */
+        private long openUntil = 0;
+
+        /**
+         * 是否有试探调用正在进行
+         */
+        private boolean trialRunning = false;
+
+        private CircuitBreaker(String modelKey) {
+            this.modelKey = modelKey;
+        }
+
+        private synchronized boolean isAvailable() {
+            return openUntil == 0 || (System.currentTimeMillis() >= openUntil && !trialRunning);
+        }
+
+        /**
+         * 申请调用，熔断期间直接拒绝
+         *
+         * @return 是否为试探调用
+         */
+        private synchronized boolean acquire() {
+            if (openUntil == 0) {
+                return false;
+            }
+            if (System.currentTimeMillis() >= openUntil && !trialRunning) {
+                trialRunning = true;
+                return true;
+            }
+            throw new CustomizeAiException(ReturnCode.EXCEPTION_OCCURRED_IN_AI_MODULE, "模型[" + modelKey + "]暂不可用，请稍后重试");
+        }
+
+        /**
+         * 调用没有真正发生（排队被拒绝或者被取消）
+         */
+        private synchronized void abort(boolean trial) {
+            if (trial) {
+                trialRunning = false;
+            }
+        }
+
+        private void onSuccess(boolean trial) {
+            boolean recovered;
+            synchronized (this) {
+                failures = 0;
+                recovered = openUntil != 0;
+                openUntil = 0;
+                if (trial) {
+                    trialRunning = false;
+                }
+            }
+            if (recovered) {
+                log.info("模型[{}]熔断恢复", modelKey);
+                notifyListeners(modelKey, false, null);
+            }
+        }
+
+        /**
+         * 调用失败，不是服务方或者传输层的失败时视为调用没有真正发生
+         */
+        private void onFailure(boolean trial, Throwable e) {
+            if (!isProviderFailure(e)) {
+                abort(trial);
+                return;
+            }
+            boolean opened;
+            synchronized (this) {
+                failures++;
+                opened = openUntil == 0 && failures >= aiSchedulerProperties.getFailureThreshold();
+                if (trial || opened) {
+                    openUntil = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(aiSchedulerProperties.getOpenDuration());
+                    trialRunning = false;
+                }
+            }
+            if (opened) {
+                String error = StringUtils.abbreviate(StringUtils.defaultIfBlank(e.getMessage(), e.getClass().getSimpleName()), MAX_ERROR_LENGTH);
+                log.warn("模型[{}]连续失败{}次，熔断{}秒: {}", modelKey, aiSchedulerProperties.getFailureThreshold(), aiSchedulerProperties.getOpenDuration(), error);
+                notifyListeners(modelKey, true, error);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,60 @@
+package top.sharehome.springbootinittemplate.config.ai.spring.scheduler;
+
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import top.sharehome.springbootinittemplate.config.ai.spring.scheduler.properties.AiSchedulerProperties;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * AI调用调度配置
+ *
+ * @author AntonyCheng
+ */
+@Configuration
+@EnableConfigurationProperties(AiSchedulerProperties.class)
+@AllArgsConstructor
+@Slf4j
+public class AiSchedulerConfiguration {
+
+    private final AiSchedulerProperties aiSchedulerProperties;
+
+    /**
+     * AI异步任务执行器，代替公共ForkJoinPool执行模型验证等阻塞任务
+     */
+    @Bean(name = "aiTaskExecutor")
+    public ThreadPoolTaskExecutor aiTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(aiSchedulerProperties.getExecutorCoreSize());
+        executor.setMaxPoolSize(aiSchedulerProperties.getExecutorMaxSize());
+        executor.setQueueCapacity(aiSchedulerProperties.getExecutorQueueCapacity());
+        executor.setThreadNamePrefix("ai-task-");
+        // 队列已满时由提交线程执行，避免任务丢失
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * AI调用调度器
+     */
+    @Bean
+    public AiExecutionScheduler aiExecutionScheduler(ThreadPoolTaskExecutor aiTaskExecutor) {
+        return new AiExecutionScheduler(aiSchedulerProperties, aiTaskExecutor);
+    }
+
+    /**
+     * 依赖注入日志输出
+     */
+    @PostConstruct
+    private void initDi() {
+        log.info("############ {} Configuration DI.", this.getClass().getSimpleName().split("\\$\\$")[0]);
+    }
+
+}
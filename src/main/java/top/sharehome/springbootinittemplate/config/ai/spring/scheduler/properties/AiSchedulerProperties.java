@@ -0,0 +1,66 @@
+package top.sharehome.springbootinittemplate.config.ai.spring.scheduler.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * AI调用调度配置属性
+ *
+ * @author AntonyCheng
+ */
+@Data
+@ConfigurationProperties(prefix = "ai.scheduler")
+public class AiSchedulerProperties {
+
+    /**
+     * 是否启用调度（并发限制、排队和熔断），关闭后直接调用模型
+     * 默认关闭，启用前需要按照模型服务方的并发配额调整并发数和熔断阈值，避免在单实例配额之外额外限流或者误熔断
+     */
+    private Boolean enable = false;
+
+    /**
+     * 每个模型同时进行的最大调用数
+     */
+    private Integer maxConcurrency = 16;
+
+    /**
+     * 每个模型最大排队数，超过后直接拒绝
+     */
+    private Integer maxQueueSize = 200;
+
+    /**
+     * 每个用户在单个模型上的最大排队数，超过后直接拒绝
+     */
+    private Integer maxUserQueueSize = 10;
+
+    /**
+     * 排队最长等待时间，超时或者预计等待时间超过该值时直接拒绝，单位：毫秒
+     */
+    private Long acquireTimeout = 30000L;
+
+    /**
+     * 连续失败多少次后熔断模型
+     */
+    private Integer failureThreshold = 5;
+
+    /**
+     * 熔断持续时间，到期后放行一次试探调用，单位：秒
+     */
+    private Long openDuration = 30L;
+
+    /**
+     * AI异步任务（模型验证、状态回写）线程池核心线程数
+     */
+    private Integer executorCoreSize = 2;
+
+    /**
+     * AI异步任务线程池最大线程数
+     */
+    private Integer executorMaxSize = 8;
+
+    /**
+     * AI异步任务线程池队列容量
+     */
+    private Integer executorQueueCapacity = 100;
+
+}
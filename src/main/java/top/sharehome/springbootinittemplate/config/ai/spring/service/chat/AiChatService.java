@@ -6,11 +6,14 @@ import org.springframework.util.MimeType;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import reactor.core.publisher.Flux;
+import top.sharehome.springbootinittemplate.config.ai.spring.service.chat.memory.model.MemoryMessage;
 import top.sharehome.springbootinittemplate.config.ai.spring.service.chat.model.ChatModelBase;
 import top.sharehome.springbootinittemplate.config.ai.spring.service.chat.model.ChatResult;
 import top.sharehome.springbootinittemplate.config.ai.spring.service.chat.model.ChatResultChunk;
+import top.sharehome.springbootinittemplate.config.ai.spring.service.embedding.model.EmbeddingModelBase;
 
 import java.io.InputStream;
+import java.util.List;
 import java.util.stream.Stream;
 
 /**
@@ -1520,4 +1523,106 @@ public interface AiChatService {
      */
     ChatResult chatFlux(Long userId, String token, ChatModelBase model, MimeType mimeType, byte[] byteArray, String systemPrompt, Prompt prompt);
 
+    /**
+     * 发起带对话记忆的AI Chat功能，返回Chat结果集
+     * 会话历史保存在服务端，按照Token预算裁剪后拼接到提示词之前，本轮提问和回复会写回会话历史
+     *
+     * @param model          chat模型信息
+     * @param conversationId 会话ID
+     * @param prompt         提示词
+     */
+    ChatResult chatMemoryString(ChatModelBase model, String conversationId, String prompt);
+
+    /**
+     * 发起带对话记忆的AI Chat功能，返回Chat结果集
+     * 会话历史保存在服务端，按照Token预算裁剪后拼接到提示词之前，本轮提问和回复会写回会话历史
+     *
+     * @param model          chat模型信息
+     * @param conversationId 会话ID
+     * @param systemPrompt   系统提示词
+     * @param prompt         提示词
+     */
+    ChatResult chatMemoryString(ChatModelBase model, String conversationId, String systemPrompt, String prompt);
+
+    /**
+     * 发起带对话记忆的AI Chat功能，响应式输出
+     * 会话历史保存在服务端，按照Token预算裁剪后拼接到提示词之前，本轮提问和回复会在输出结束后写回会话历史
+     *
+     * @param model          chat模型信息
+     * @param conversationId 会话ID
+     * @param prompt         提示词
+     */
+    Flux<ChatResultChunk> chatMemoryFlux(ChatModelBase model, String conversationId, String prompt);
+
+    /**
+     * 发起带对话记忆的AI Chat功能，响应式输出
+     * 会话历史保存在服务端，按照Token预算裁剪后拼接到提示词之前，本轮提问和回复会在输出结束后写回会话历史
+     *
+     * @param model          chat模型信息
+     * @param conversationId 会话ID
+     * @param systemPrompt   系统提示词
+     * @param prompt         提示词
+     */
+    Flux<ChatResultChunk> chatMemoryFlux(ChatModelBase model, String conversationId, String systemPrompt, String prompt);
+
+    /**
+     * 获取会话全部历史消息
+     *
+     * @param conversationId 会话ID
+     */
+    List<MemoryMessage> getChatMemory(String conversationId);
+
+    /**
+     * 清空会话历史消息
+     *
+     * @param conversationId 会话ID
+     */
+    void clearChatMemory(String conversationId);
+
+    /**
+     * 发起带语义缓存的AI Chat功能，返回Chat结果集
+     * 相同或者语义相近的提示词直接返回缓存的回复，未启用语义缓存时直接请求模型
+     * 缓存默认按照登录用户隔离，开启共享后同一模型的缓存对所有用户可见
+     *
+     * @param model          chat模型信息
+     * @param embeddingModel embedding模型信息，为空时只进行精确匹配
+     * @param prompt         提示词
+     */
+    ChatResult chatCacheString(ChatModelBase model, EmbeddingModelBase embeddingModel, String prompt);
+
+    /**
+     * 发起带语义缓存的AI Chat功能，返回Chat结果集
+     * 相同或者语义相近的提示词直接返回缓存的回复，未启用语义缓存时直接请求模型
+     * 缓存默认按照登录用户隔离，开启共享后同一模型的缓存对所有用户可见
+     *
+     * @param model          chat模型信息
+     * @param embeddingModel embedding模型信息，为空时只进行精确匹配
+     * @param systemPrompt   系统提示词
+     * @param prompt         提示词
+     */
+    ChatResult chatCacheString(ChatModelBase model, EmbeddingModelBase embeddingModel, String systemPrompt, String prompt);
+
+    /**
+     * 发起带语义缓存的AI Chat功能，响应式输出
+     * 命中缓存时将缓存的回复切分为分块回放，未启用语义缓存时直接请求模型
+     * 缓存默认按照登录用户隔离，开启共享后同一模型的缓存对所有用户可见
+     *
+     * @param model          chat模型信息
+     * @param embeddingModel embedding模型信息，为空时只进行精确匹配
+     * @param prompt         提示词
+     */
+    Flux<ChatResultChunk> chatCacheFlux(ChatModelBase model, EmbeddingModelBase embeddingModel, String prompt);
+
+    /**
+     * 发起带语义缓存的AI Chat功能，响应式输出
+     * 命中缓存时将缓存的回复切分为分块回放，未启用语义缓存时直接请求模型
+     * 缓存默认按照登录用户隔离，开启共享后同一模型的缓存对所有用户可见
+     *
+     * @param model          chat模型信息
+     * @param embeddingModel embedding模型信息，为空时只进行精确匹配
+     * @param systemPrompt   系统提示词
+     * @param prompt         提示词
+     */
+    Flux<ChatResultChunk> chatCacheFlux(ChatModelBase model, EmbeddingModelBase embeddingModel, String systemPrompt, String prompt);
+
 }
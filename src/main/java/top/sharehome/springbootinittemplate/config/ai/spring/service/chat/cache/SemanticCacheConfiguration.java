@@ -0,0 +1,44 @@
+package top.sharehome.springbootinittemplate.config.ai.spring.service.chat.cache;
+
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import top.sharehome.springbootinittemplate.config.ai.spring.service.chat.cache.properties.SemanticCacheProperties;
+import top.sharehome.springbootinittemplate.config.ai.spring.service.embedding.AiEmbeddingService;
+import top.sharehome.springbootinittemplate.config.ai.spring.vector.service.ChatCacheService;
+
+/**
+ * AI对话语义缓存配置
+ *
+ * @author AntonyCheng
+ */
+@Configuration
+@EnableConfigurationProperties(SemanticCacheProperties.class)
+@AllArgsConstructor
+@Slf4j
+public class SemanticCacheConfiguration {
+
+    private final SemanticCacheProperties semanticCacheProperties;
+
+    /**
+     * 对话语义缓存，未启用Redisson时只使用本地缓存进行精确匹配
+     */
+    @Bean
+    public SemanticChatCache semanticChatCache(ObjectProvider<RedissonClient> redissonClientProvider, ChatCacheService chatCacheService, AiEmbeddingService aiEmbeddingService) {
+        return new SemanticChatCache(semanticCacheProperties, redissonClientProvider.getIfAvailable(), chatCacheService, aiEmbeddingService);
+    }
+
+    /**
+     * 依赖注入日志输出
+     */
+    @PostConstruct
+    private void initDi() {
+        log.info("############ {} Configuration DI.", this.getClass().getSimpleName().split("\\$\\$")[0]);
+    }
+
+}
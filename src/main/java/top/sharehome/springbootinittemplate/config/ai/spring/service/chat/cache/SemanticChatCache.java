@@ -0,0 +1,378 @@
+package top.sharehome.springbootinittemplate.config.ai.spring.service.chat.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.redisson.api.RedissonClient;
+import reactor.core.publisher.Flux;
+import top.sharehome.springbootinittemplate.config.ai.spring.service.chat.cache.model.CachedAnswer;
+import top.sharehome.springbootinittemplate.config.ai.spring.service.chat.cache.properties.SemanticCacheProperties;
+import top.sharehome.springbootinittemplate.config.ai.spring.service.chat.model.ChatModelBase;
+import top.sharehome.springbootinittemplate.config.ai.spring.service.chat.model.ChatResultChunk;
+import top.sharehome.springbootinittemplate.config.ai.spring.service.embedding.AiEmbeddingService;
+import top.sharehome.springbootinittemplate.config.ai.spring.service.embedding.model.EmbeddingModelBase;
+import top.sharehome.springbootinittemplate.config.ai.spring.vector.model.entity.ChatCache;
+import top.sharehome.springbootinittemplate.config.ai.spring.vector.service.ChatCacheService;
+import top.sharehome.springbootinittemplate.model.common.Tuple2;
+import top.sharehome.springbootinittemplate.utils.satoken.LoginUtils;
+import top.sharehome.springbootinittemplate.utils.redisson.KeyPrefixConstants;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * AI对话语义缓存
+ * 查询顺序：本地精确匹配 -> Redis精确匹配 -> 向量相似度匹配，精确匹配的键由归一化后的系统提示词和提示词计算摘要得到，
+ * 向量相似度匹配只在同一Chat模型、同一缓存范围、同一向量模型、同一系统提示词范围内进行，命中后回填精确匹配缓存
+ * 缓存范围默认按照登录用户隔离，避免一个用户的回复被其他用户命中，只有显式开启共享时才在所有用户之间共享
+ * 缓存只是加速手段，Redis或者向量数据库异常时只记录日志并视为未命中，不影响正常对话
+ *
+ * @author AntonyCheng
+ */
+@Slf4j
+public class SemanticChatCache {
+
+    /**
+     * 连续空白字符
+     */
+    private static final Pattern WHITESPACE_PATTERN = Pattern.compile("\\s+");
+
+    /**
+     * 结尾的标点和空白字符
+     */
+    private static final Pattern TRAILING_PUNCTUATION_PATTERN = Pattern.compile("[\\p{P}\\s]+$");
+
+    /**
+     * 共享缓存范围
+     */
+    private static final String SHARED_SCOPE = "shared";
+
+    /**
+     * 匿名缓存范围
+     */
+    private static final String ANONYMOUS_SCOPE = "anonymous";
+
+    /**
+     * 用户缓存范围前缀
+     */
+    private static final String USER_SCOPE_PREFIX = "user_";
+
+    private final SemanticCacheProperties semanticCacheProperties;
+
+    private final RedissonClient redissonClient;
+
+    private final ChatCacheService chatCacheService;
+
+    private final AiEmbeddingService aiEmbeddingService;
+
+    /**
+     * 本地精确匹配缓存
+     */
+    private final Cache<String, CachedAnswer> localCache;
+
+    /**
+     * 上一次清理过期向量缓存的时间
+     */
+    private final AtomicLong lastCleanupTime = new AtomicLong(System.currentTimeMillis());
+
+    public SemanticChatCache(SemanticCacheProperties semanticCacheProperties, RedissonClient redissonClient, ChatCacheService chatCacheService, AiEmbeddingService aiEmbeddingService) {
+        this.semanticCacheProperties = semanticCacheProperties;
+        this.redissonClient = redissonClient;
+        this.chatCacheService = chatCacheService;
+        this.aiEmbeddingService = aiEmbeddingService;
+        this.localCache = Caffeine.newBuilder()
+                .expireAfterWrite(semanticCacheProperties.getExpired(), TimeUnit.SECONDS)
+                .maximumSize(semanticCacheProperties.getLocalCapacity())
+                .build();
+    }
+
+    /**
+     * 是否启用语义缓存
+     */
+    public boolean isEnabled() {
+        return Boolean.TRUE.equals(semanticCacheProperties.getEnable());
+    }
+
+    /**
+     * 获取当前请求的缓存范围，依赖Sa-Token的请求上下文，需要在请求线程中调用
+     * 开启共享时返回共享范围，否则返回登录用户范围，未登录或者不在请求上下文中时返回匿名范围
+     */
+    public String resolveScope() {
+        if (Boolean.TRUE.equals(semanticCacheProperties.getShared())) {
+            return SHARED_SCOPE;
+        }
+        try {
+            Long userId = LoginUtils.getLoginUserId();
+            return Objects.isNull(userId) ? ANONYMOUS_SCOPE : USER_SCOPE_PREFIX + userId;
+        } catch (Exception e) {
+            return ANONYMOUS_SCOPE;
+        }
+    }
+
+    /**
+     * 查询缓存，涉及Redis、向量模型和向量数据库的阻塞IO，不要在响应式线程中调用
+     *
+     * @param model          chat模型信息
+     * @param embeddingModel embedding模型信息，为空时只进行精确匹配
+     * @param scope          缓存范围，由{@link #resolveScope()}获取
+     * @param systemPrompt   系统提示词
+     * @param prompt         提示词
+     */
+    public Lookup lookup(ChatModelBase model, EmbeddingModelBase embeddingModel, String scope, String systemPrompt, String prompt) {
+        String namespace = model.getChatServiceType().getValue() + ":" + model.getModel() + ":" + scope;
+        String systemHash = DigestUtils.sha256Hex(normalize(systemPrompt));
+        String normalizedPrompt = normalize(prompt);
+        Lookup lookup = new Lookup(namespace, systemHash, normalizedPrompt, DigestUtils.sha256Hex(systemHash + "\n" + normalizedPrompt),
+                Objects.isNull(embeddingModel) ? null : embeddingModel.getEmbeddingServiceType().getValue() + ":" + embeddingModel.getModel());
+        // 本地精确匹配
+        CachedAnswer answer = localCache.getIfPresent(buildLocalKey(lookup));
+        if (Objects.nonNull(answer)) {
+            return lookup.hit(answer);
+        }
+        // Redis精确匹配
+        answer = getRemote(lookup);
+        if (Objects.nonNull(answer)) {
+            localCache.put(buildLocalKey(lookup), answer);
+            return lookup.hit(answer);
+        }
+        // 向量相似度匹配
+        if (Boolean.TRUE.equals(semanticCacheProperties.getSemanticEnable()) && Objects.nonNull(embeddingModel) && StringUtils.isNotEmpty(normalizedPrompt)) {
+            try {
+                lookup.embedding = aiEmbeddingService.embedToArray(embeddingModel, normalizedPrompt);
+                Tuple2<ChatCache, Double> similar = chatCacheService.findMostSimilar(namespace, lookup.getEmbeddingModel(), systemHash, lookup.embedding);
+                if (Objects.nonNull(similar) && similar.getT2() >= semanticCacheProperties.getThreshold()) {
+                    ChatCache chatCache = similar.getT1();
+                    answer = new CachedAnswer(chatCache.getContent(), StringUtils.defaultString(chatCache.getReasoningContent()));
+                    Duration ttl = Duration.between(LocalDateTime.now(), chatCache.getExpireTime());
+                    if (!ttl.isNegative() && !ttl.isZero()) {
+                        localCache.put(buildLocalKey(lookup), answer);
+                        putRemote(lookup, answer, ttl);
+                    }
+                    return lookup.hit(answer);
+                }
+            } catch (Exception e) {
+                log.warn("对话语义缓存向量匹配失败，命名空间：{}，原因：{}", namespace, e.getMessage());
+            }
+        }
+        return lookup;
+    }
+
+    /**
+     * 写入缓存，回复内容为空时不写入
+     *
+     * @param lookup           未命中的查询结果
+     * @param content          回复内容
+     * @param reasoningContent 思考内容
+     */
+    public void put(Lookup lookup, String content, String reasoningContent) {
+        if (lookup.isHit() || StringUtils.isBlank(content)) {
+            return;
+        }
+        CachedAnswer answer = new CachedAnswer(content, StringUtils.defaultString(reasoningContent));
+        localCache.put(buildLocalKey(lookup), answer);
+        putRemote(lookup, answer, Duration.ofSeconds(semanticCacheProperties.getExpired()));
+        if (Objects.isNull(lookup.embedding)) {
+            return;
+        }
+        try {
+            chatCacheService.addCache(new ChatCache()
+                    .setNamespace(lookup.getNamespace())
+                    .setEmbeddingModel(lookup.getEmbeddingModel())
+                    .setSystemHash(lookup.getSystemHash())
+                    .setPrompt(lookup.getNormalizedPrompt())
+                    .setContent(answer.getContent())
+                    .setReasoningContent(answer.getReasoningContent())
+                    .setEmbedding(lookup.embedding)
+                    .setExpireTime(LocalDateTime.now().plusSeconds(semanticCacheProperties.getExpired())));
+            cleanupIfNecessary();
+        } catch (Exception e) {
+            log.warn("对话语义缓存写入向量数据库失败，命名空间：{}，原因：{}", lookup.getNamespace(), e.getMessage());
+        }
+    }
+
+    /**
+     * 将缓存的回复按照固定字符数切分为流式分块，先输出思考内容再输出回复内容
+     *
+     * @param model  chat模型信息
+     * @param answer 缓存的回复
+     */
+    public Flux<ChatResultChunk> replay(ChatModelBase model, CachedAnswer answer) {
+        int chunkSize = Math.max(semanticCacheProperties.getReplayChunkSize(), 1);
+        String modelService = model.getChatServiceType().getValue();
+        List<ChatResultChunk> chunks = new ArrayList<>();
+        for (String piece : split(answer.getReasoningContent(), chunkSize)) {
+            chunks.add(new ChatResultChunk(StringUtils.EMPTY, piece, modelService, model.getModel()));
+        }
+        for (String piece : split(answer.getContent(), chunkSize)) {
+            chunks.add(new ChatResultChunk(piece, StringUtils.EMPTY, modelService, model.getModel()));
+        }
+        return Flux.fromIterable(chunks);
+    }
+
+    /**
+     * 归一化文本：兼容字符转换（如全角转半角）、转小写、合并连续空白、去掉结尾的标点
+     *
+     * @param text 文本
+     */
+    public static String normalize(String text) {
+        if (StringUtils.isBlank(text)) {
+            return StringUtils.EMPTY;
+        }
+        String res = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        res = WHITESPACE_PATTERN.matcher(res).replaceAll(" ").trim();
+        return TRAILING_PUNCTUATION_PATTERN.matcher(res).replaceAll(StringUtils.EMPTY);
+    }
+
+    /**
+     * 查询Redis精确匹配缓存
+     */
+    private CachedAnswer getRemote(Lookup lookup) {
+        if (Objects.isNull(redissonClient)) {
+            return null;
+        }
+        try {
+            return redissonClient.<CachedAnswer>getBucket(buildRemoteKey(lookup)).get();
+        } catch (Exception e) {
+            log.warn("对话语义缓存读取Redis失败，命名空间：{}，原因：{}", lookup.getNamespace(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 写入Redis精确匹配缓存
+     */
+    private void putRemote(Lookup lookup, CachedAnswer answer, Duration ttl) {
+        if (Objects.isNull(redissonClient)) {
+            return;
+        }
+        try {
+            redissonClient.<CachedAnswer>getBucket(buildRemoteKey(lookup)).set(answer, ttl);
+        } catch (Exception e) {
+            log.warn("对话语义缓存写入Redis失败，命名空间：{}，原因：{}", lookup.getNamespace(), e.getMessage());
+        }
+    }
+
+    /**
+     * 每经过一个过期时间清理一次过期的向量缓存
+     */
+    private void cleanupIfNecessary() {
+        long now = System.currentTimeMillis();
+        long last = lastCleanupTime.get();
+        if (now - last < TimeUnit.SECONDS.toMillis(semanticCacheProperties.getExpired()) || !lastCleanupTime.compareAndSet(last, now)) {
+            return;
+        }
+        int removed = chatCacheService.removeExpired();
+        if (removed > 0) {
+            log.info("已清理过期对话语义缓存：{}条", removed);
+        }
+    }
+
+    /**
+     * 构建本地缓存键，与Redis缓存键一样包含命名空间，不同模型和不同缓存范围之间互不命中
+     */
+    private String buildLocalKey(Lookup lookup) {
+        return lookup.getNamespace() + ":" + lookup.getExactKey();
+    }
+
+    /**
+     * 构建Redis缓存键
+     */
+    private String buildRemoteKey(Lookup lookup) {
+        return KeyPrefixConstants.CHAT_CACHE_PREFIX + lookup.getNamespace() + ":" + lookup.getExactKey();
+    }
+
+    /**
+     * 按照码点切分文本，避免切开代理对
+     */
+    private static List<String> split(String text, int chunkSize) {
+        List<String> res = new ArrayList<>();
+        if (StringUtils.isEmpty(text)) {
+            return res;
+        }
+        int start = 0;
+        while (start < text.length()) {
+            int end = start;
+            for (int i = 0; i < chunkSize && end < text.length(); i++) {
+                end = text.offsetByCodePoints(end, 1);
+            }
+            res.add(text.substring(start, end));
+            start = end;
+        }
+        return res;
+    }
+
+    /**
+     * 缓存查询结果，未命中时携带写入缓存需要的键和提示词向量
+     */
+    @Getter
+    public static class Lookup {
+
+        /**
+         * 命名空间（Chat服务名称:模型名称:缓存范围）
+         */
+        private final String namespace;
+
+        /**
+         * 系统提示词摘要
+         */
+        private final String systemHash;
+
+        /**
+         * 归一化后的提示词
+         */
+        private final String normalizedPrompt;
+
+        /**
+         * 精确匹配键
+         */
+        private final String exactKey;
+
+        /**
+         * 向量模型（Embedding服务名称:模型名称）
+         */
+        private final String embeddingModel;
+
+        /**
+         * 命中的回复，未命中时为null
+         */
+        private CachedAnswer answer;
+
+        /**
+         * 提示词向量，未进行向量匹配时为null
+         */
+        private float[] embedding;
+
+        private Lookup(String namespace, String systemHash, String normalizedPrompt, String exactKey, String embeddingModel) {
+            this.namespace = namespace;
+            this.systemHash = systemHash;
+            this.normalizedPrompt = normalizedPrompt;
+            this.exactKey = exactKey;
+            this.embeddingModel = embeddingModel;
+        }
+
+        /**
+         * 是否命中
+         */
+        public boolean isHit() {
+            return Objects.nonNull(answer);
+        }
+
+        private Lookup hit(CachedAnswer answer) {
+            this.answer = answer;
+            return this;
+        }
+
+    }
+
+}
@@ -0,0 +1,35 @@
+package top.sharehome.springbootinittemplate.config.ai.spring.service.chat.cache.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * 缓存的对话回复
+ *
+ * @author AntonyCheng
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Accessors(chain = true)
+public class CachedAnswer implements Serializable {
+
+    /**
+     * 回复内容
+     */
+    private String content;
+
+    /**
+     * 思考内容
+     */
+    private String reasoningContent;
+
+    @Serial
+    private static final long serialVersionUID = -1937403921385640174L;
+
+}
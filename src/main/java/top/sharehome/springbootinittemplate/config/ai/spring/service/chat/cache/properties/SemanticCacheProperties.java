@@ -0,0 +1,51 @@
+package top.sharehome.springbootinittemplate.config.ai.spring.service.chat.cache.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * AI对话语义缓存配置属性
+ *
+ * @author AntonyCheng
+ */
+@Data
+@ConfigurationProperties(prefix = "ai.semantic-cache")
+public class SemanticCacheProperties {
+
+    /**
+     * 是否启用语义缓存，未启用时带缓存的对话方法直接请求模型
+     */
+    private Boolean enable = false;
+
+    /**
+     * 是否启用向量相似度匹配，需要配置PostgreSQL向量数据源并创建t_chat_cache表，未启用时只进行精确匹配
+     */
+    private Boolean semanticEnable = true;
+
+    /**
+     * 向量余弦相似度阈值，相似度大于等于该值时视为命中
+     */
+    private Double threshold = 0.95;
+
+    /**
+     * 缓存过期时间，单位：秒
+     */
+    private Long expired = 60 * 60L;
+
+    /**
+     * 本地精确匹配缓存最大容量，超过之后会按照最近最少策略进行剔除
+     */
+    private Integer localCapacity = 1000;
+
+    /**
+     * 流式回放缓存回复时每个分块的字符数
+     */
+    private Integer replayChunkSize = 16;
+
+    /**
+     * 是否在所有用户之间共享缓存，关闭时按照登录用户隔离缓存（未登录的请求共用匿名空间）
+     * 开启后同一模型的缓存对所有用户可见，只适合回复不包含用户私有数据的场景
+     */
+    private Boolean shared = false;
+
+}
@@ -1,10 +1,11 @@
 package top.sharehome.springbootinittemplate.config.ai.spring.service.chat.impl;
 
-import com.knuddels.jtokkit.api.EncodingType;
+import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.time.StopWatch;
+import org.springframework.ai.chat.client.advisor.api.Advisor;
 import org.springframework.ai.chat.messages.AssistantMessage;
 import org.springframework.ai.chat.messages.Message;
 import org.springframework.ai.chat.model.ChatResponse;
@@ -20,21 +21,29 @@ import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 import top.sharehome.springbootinittemplate.common.base.ReturnCode;
+import top.sharehome.springbootinittemplate.config.ai.spring.scheduler.AiExecutionScheduler;
 import top.sharehome.springbootinittemplate.config.ai.spring.service.chat.AiChatService;
+import top.sharehome.springbootinittemplate.config.ai.spring.service.chat.cache.SemanticChatCache;
+import top.sharehome.springbootinittemplate.config.ai.spring.service.chat.cache.model.CachedAnswer;
 import top.sharehome.springbootinittemplate.config.ai.spring.service.chat.manager.ChatManager;
+import top.sharehome.springbootinittemplate.config.ai.spring.service.chat.memory.ChatMemoryManager;
+import top.sharehome.springbootinittemplate.config.ai.spring.service.chat.memory.TokenWindowChatMemory;
+import top.sharehome.springbootinittemplate.config.ai.spring.service.chat.memory.model.MemoryMessage;
 import top.sharehome.springbootinittemplate.config.ai.spring.service.chat.model.ChatModelBase;
 import top.sharehome.springbootinittemplate.config.ai.spring.service.chat.model.ChatResult;
 import top.sharehome.springbootinittemplate.config.ai.spring.service.chat.model.ChatResultChunk;
 import top.sharehome.springbootinittemplate.config.ai.spring.service.chat.model.entity.DeepSeekChatEntity;
+import top.sharehome.springbootinittemplate.config.ai.spring.service.chat.utils.ChatUsageCounter;
 import top.sharehome.springbootinittemplate.config.ai.spring.service.chat.utils.ReasonStreamParser;
+import top.sharehome.springbootinittemplate.config.ai.spring.service.embedding.model.EmbeddingModelBase;
 import top.sharehome.springbootinittemplate.config.sse.entity.SseMessage;
 import top.sharehome.springbootinittemplate.config.sse.enums.SseStatus;
 import top.sharehome.springbootinittemplate.config.sse.utils.SseUtils;
 import top.sharehome.springbootinittemplate.exception.customize.CustomizeAiException;
 import top.sharehome.springbootinittemplate.model.common.Tuple2;
 import top.sharehome.springbootinittemplate.utils.satoken.LoginUtils;
-import top.sharehome.springbootinittemplate.utils.tokenizers.TikTokenUtils;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -53,6 +62,12 @@ import java.util.stream.Stream;
 @Slf4j
 public class AiChatServiceImpl implements AiChatService {
 
+    @Resource
+    private SemanticChatCache semanticChatCache;
+
+    @Resource
+    private AiExecutionScheduler aiExecutionScheduler;
+
     @Override
     public ChatResult chatString(ChatModelBase model, String prompt) {
         return chatString(model, null, (byte[]) null, null, toPrompt(prompt));
@@ -575,11 +590,104 @@ public class AiChatServiceImpl implements AiChatService {
 
     @Override
     public ChatResult chatString(ChatModelBase model, MimeType mimeType, byte[] byteArray, String systemPrompt, Prompt prompt) {
+        return this.doChatString(model, mimeType, byteArray, systemPrompt, prompt, null, null);
+    }
+
+    @Override
+    public ChatResult chatMemoryString(ChatModelBase model, String conversationId, String prompt) {
+        return chatMemoryString(model, conversationId, null, prompt);
+    }
+
+    @Override
+    public ChatResult chatMemoryString(ChatModelBase model, String conversationId, String systemPrompt, String prompt) {
+        return this.doChatString(model, null, null, systemPrompt, toPrompt(prompt), ChatMemoryManager.getChatMemory(model), conversationId);
+    }
+
+    @Override
+    public List<MemoryMessage> getChatMemory(String conversationId) {
+        return ChatMemoryManager.getHistory(conversationId);
+    }
+
+    @Override
+    public void clearChatMemory(String conversationId) {
+        ChatMemoryManager.clear(conversationId);
+    }
+
+    @Override
+    public ChatResult chatCacheString(ChatModelBase model, EmbeddingModelBase embeddingModel, String prompt) {
+        return chatCacheString(model, embeddingModel, null, prompt);
+    }
+
+    @Override
+    public ChatResult chatCacheString(ChatModelBase model, EmbeddingModelBase embeddingModel, String systemPrompt, String prompt) {
+        Prompt chatPrompt = toPrompt(prompt);
+        if (!semanticChatCache.isEnabled()) {
+            return chatString(model, null, (byte[]) null, systemPrompt, chatPrompt);
+        }
+        this.validateParams(chatPrompt);
+        // 计时器
+        StopWatch sw = new StopWatch();
+        sw.start();
+        SemanticChatCache.Lookup lookup = semanticChatCache.lookup(model, embeddingModel, semanticChatCache.resolveScope(), systemPrompt, prompt);
+        if (lookup.isHit()) {
+            sw.stop();
+            CachedAnswer answer = lookup.getAnswer();
+            return new ChatResult(answer.getContent().trim(), answer.getReasoningContent().trim(), sw.getDuration().toMillis(), 0, model.getChatServiceType().getValue(), model.getModel(), chatPrompt);
+        }
+        ChatResult chatResult = chatString(model, null, (byte[]) null, systemPrompt, chatPrompt);
+        semanticChatCache.put(lookup, chatResult.getContent(), chatResult.getReasoningContent());
+        return chatResult;
+    }
+
+    @Override
+    public Flux<ChatResultChunk> chatCacheFlux(ChatModelBase model, EmbeddingModelBase embeddingModel, String prompt) {
+        return chatCacheFlux(model, embeddingModel, null, prompt);
+    }
+
+    @Override
+    public Flux<ChatResultChunk> chatCacheFlux(ChatModelBase model, EmbeddingModelBase embeddingModel, String systemPrompt, String prompt) {
+        Prompt chatPrompt = toPrompt(prompt);
+        if (!semanticChatCache.isEnabled()) {
+            return chatFlux(model, null, (byte[]) null, systemPrompt, chatPrompt);
+        }
+        this.validateParams(chatPrompt);
+        // 缓存范围依赖请求上下文，需要在请求线程中获取，查询缓存涉及阻塞IO，不占用响应式线程
+        String scope = semanticChatCache.resolveScope();
+        // 未命中时的模型调用同样在请求线程中组装，调度器和用量统计在组装时读取登录用户，未订阅时不会请求模型
+        Flux<ChatResultChunk> missFlux = chatFlux(model, null, (byte[]) null, systemPrompt, chatPrompt);
+        return Mono.fromCallable(() -> semanticChatCache.lookup(model, embeddingModel, scope, systemPrompt, prompt))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapMany(lookup -> {
+                    if (lookup.isHit()) {
+                        return semanticChatCache.replay(model, lookup.getAnswer());
+                    }
+                    StringBuilder content = new StringBuilder();
+                    StringBuilder reasoningContent = new StringBuilder();
+                    return missFlux
+                            .doOnNext(chunk -> {
+                                content.append(StringUtils.defaultString(chunk.getContent()));
+                                reasoningContent.append(StringUtils.defaultString(chunk.getReasoningContent()));
+                            })
+                            // 只缓存完整输出的回复，写入缓存涉及阻塞IO，不占用响应式线程
+                            .doOnComplete(() -> Mono.fromRunnable(() -> semanticChatCache.put(lookup, content.toString().trim(), reasoningContent.toString().trim()))
+                                    .subscribeOn(Schedulers.boundedElastic())
+                                    .subscribe());
+                });
+    }
+
+    /**
+     * 发起AI Chat功能，返回Chat结果集
+     *
+     * @param chatMemory     对话记忆，为空表示不使用对话记忆
+     * @param conversationId 会话ID
+     */
+    private ChatResult doChatString(ChatModelBase model, MimeType mimeType, byte[] byteArray, String systemPrompt, Prompt prompt, TokenWindowChatMemory chatMemory, String conversationId) {
         this.validateParams(prompt);
+        ChatUsageCounter.Tracker usageTracker = ChatUsageCounter.track(model, systemPrompt, prompt);
         // 计时器
         StopWatch sw = new StopWatch();
         sw.start();
-        ChatResponse chatResponse = ChatManager.getChatClient(model)
+        ChatResponse chatResponse = aiExecutionScheduler.execute(this.getSchedulerKey(model), () -> ChatManager.getChatClient(model)
                 .prompt(prompt)
                 .system(s -> {
                     if (StringUtils.isNotBlank(systemPrompt)) {
@@ -591,8 +699,9 @@ public class AiChatServiceImpl implements AiChatService {
                         u.media(mimeType, new ByteArrayResource(byteArray));
                     }
                 })
+                .advisors(this.getMemoryAdvisors(chatMemory, conversationId))
                 .call()
-                .chatResponse();
+                .chatResponse());
         String content = StringUtils.EMPTY;
         String reasoningContent = StringUtils.EMPTY;
         AssistantMessage assistantMessage = chatResponse != null && chatResponse.getResult() != null
@@ -611,10 +720,10 @@ public class AiChatServiceImpl implements AiChatService {
                 reasoningContent = reasonStreamParser.getThinkContent();
             }
         }
-        List<Message> messages = new ArrayList<>(prompt.getInstructions());
-        messages.add(new AssistantMessage(content));
-        messages.add(new AssistantMessage(reasoningContent));
-        Integer usage = new TikTokenUtils(ChatManager.getEncodingType(model)).getMessageTokenNumber(messages);
+        if (Objects.nonNull(chatMemory)) {
+            usageTracker.addPromptTokens(chatMemory.getLastWindowTokens());
+        }
+        Integer usage = usageTracker.append(content, reasoningContent).finish();
         sw.stop();
         return new ChatResult(content.trim(), reasoningContent.trim(), sw.getDuration().toMillis(), usage, model.getChatServiceType().getValue(), model.getModel(), prompt);
     }
@@ -662,7 +771,7 @@ public class AiChatServiceImpl implements AiChatService {
     @Override
     public Stream<ChatResultChunk> chatStream(ChatModelBase model, MimeType mimeType, byte[] byteArray, String systemPrompt, Prompt prompt) {
         this.validateParams(prompt);
-        Flux<ChatResponse> chatResponseFlux = ChatManager.getChatClient(model)
+        Flux<ChatResponse> chatResponseFlux = aiExecutionScheduler.executeFlux(this.getSchedulerKey(model), () -> ChatManager.getChatClient(model)
                 .prompt(prompt)
                 .system(s -> {
                     if (StringUtils.isNotBlank(systemPrompt)) {
@@ -675,9 +784,10 @@ public class AiChatServiceImpl implements AiChatService {
                     }
                 })
                 .stream()
-                .chatResponse();
+                .chatResponse());
         ReasonStreamParser reasonStreamParser = new ReasonStreamParser();
-        return model instanceof DeepSeekChatEntity ?
+        ChatUsageCounter.Tracker usageTracker = ChatUsageCounter.track(model, systemPrompt, prompt);
+        Flux<ChatResultChunk> chatResultChunkFlux = model instanceof DeepSeekChatEntity ?
                 chatResponseFlux
                         .mapNotNull(chatResponse -> {
                             AssistantMessage assistantMessage = chatResponse != null && chatResponse.getResult() != null
@@ -689,8 +799,7 @@ public class AiChatServiceImpl implements AiChatService {
                             } else {
                                 return null;
                             }
-                        })
-                        .toStream() :
+                        }) :
                 chatResponseFlux
                         .mapNotNull(chatResponse -> {
                             String assistantMessage = chatResponse != null && chatResponse.getResult() != null && chatResponse.getResult().getOutput() != null
@@ -705,8 +814,11 @@ public class AiChatServiceImpl implements AiChatService {
                                 }
                             }
                             return null;
-                        })
-                        .toStream();
+                        });
+        return chatResultChunkFlux
+                .doOnNext(chunk -> usageTracker.append(chunk.getContent(), chunk.getReasoningContent()))
+                .doFinally(signalType -> usageTracker.finish())
+                .toStream();
     }
 
     @Override
@@ -751,8 +863,28 @@ public class AiChatServiceImpl implements AiChatService {
 
     @Override
     public Flux<ChatResultChunk> chatFlux(ChatModelBase model, MimeType mimeType, byte[] byteArray, String systemPrompt, Prompt prompt) {
+        return this.doChatFlux(model, mimeType, byteArray, systemPrompt, prompt, null, null);
+    }
+
+    @Override
+    public Flux<ChatResultChunk> chatMemoryFlux(ChatModelBase model, String conversationId, String prompt) {
+        return chatMemoryFlux(model, conversationId, null, prompt);
+    }
+
+    @Override
+    public Flux<ChatResultChunk> chatMemoryFlux(ChatModelBase model, String conversationId, String systemPrompt, String prompt) {
+        return this.doChatFlux(model, null, null, systemPrompt, toPrompt(prompt), ChatMemoryManager.getChatMemory(model), conversationId);
+    }
+
+    /**
+     * 发起AI Chat功能，响应式输出
+     *
+     * @param chatMemory     对话记忆，为空表示不使用对话记忆
+     * @param conversationId 会话ID
+     */
+    private Flux<ChatResultChunk> doChatFlux(ChatModelBase model, MimeType mimeType, byte[] byteArray, String systemPrompt, Prompt prompt, TokenWindowChatMemory chatMemory, String conversationId) {
         this.validateParams(prompt);
-        Flux<ChatResponse> chatResponseFlux = ChatManager.getChatClient(model)
+        Flux<ChatResponse> chatResponseFlux = aiExecutionScheduler.executeFlux(this.getSchedulerKey(model), () -> ChatManager.getChatClient(model)
                 .prompt(prompt)
                 .system(s -> {
                     if (StringUtils.isNotBlank(systemPrompt)) {
@@ -764,10 +896,12 @@ public class AiChatServiceImpl implements AiChatService {
                         u.media(mimeType, new ByteArrayResource(byteArray));
                     }
                 })
+                .advisors(this.getMemoryAdvisors(chatMemory, conversationId))
                 .stream()
-                .chatResponse();
+                .chatResponse());
         ReasonStreamParser reasonStreamParser = new ReasonStreamParser();
-        return model instanceof DeepSeekChatEntity ?
+        ChatUsageCounter.Tracker usageTracker = ChatUsageCounter.track(model, systemPrompt, prompt);
+        Flux<ChatResultChunk> chatResultChunkFlux = model instanceof DeepSeekChatEntity ?
                 chatResponseFlux
                         .mapNotNull(chatResponse -> {
                             AssistantMessage assistantMessage = chatResponse != null && chatResponse.getResult() != null
@@ -795,6 +929,14 @@ public class AiChatServiceImpl implements AiChatService {
                             }
                             return null;
                         });
+        return chatResultChunkFlux
+                .doOnNext(chunk -> usageTracker.append(chunk.getContent(), chunk.getReasoningContent()))
+                .doFinally(signalType -> {
+                    if (Objects.nonNull(chatMemory)) {
+                        usageTracker.addPromptTokens(chatMemory.getLastWindowTokens());
+                    }
+                    usageTracker.finish();
+                });
     }
 
     @Override
@@ -840,6 +982,7 @@ public class AiChatServiceImpl implements AiChatService {
     @Override
     public ChatResult chatFlux(SseEmitter sseEmitter, ChatModelBase model, MimeType mimeType, byte[] byteArray, String systemPrompt, Prompt prompt) {
         this.validateParams(prompt, sseEmitter);
+        ChatUsageCounter.Tracker usageTracker = ChatUsageCounter.track(model, systemPrompt, prompt);
         // 结果总汇
         AtomicReference<String> content = new AtomicReference<>("");
         AtomicReference<String> reasoningContent = new AtomicReference<>("");
@@ -851,7 +994,7 @@ public class AiChatServiceImpl implements AiChatService {
         StopWatch sw = new StopWatch();
         sw.start();
         // 获取大模型回复
-        Flux<ChatResponse> chatResponseFlux = ChatManager.getChatClient(model)
+        Flux<ChatResponse> chatResponseFlux = aiExecutionScheduler.executeFlux(this.getSchedulerKey(model), () -> ChatManager.getChatClient(model)
                 .prompt(prompt)
                 .system(s -> {
                     if (StringUtils.isNotBlank(systemPrompt)) {
@@ -864,7 +1007,7 @@ public class AiChatServiceImpl implements AiChatService {
                     }
                 })
                 .stream()
-                .chatResponse();
+                .chatResponse());
         // 公共的流处理逻辑
         Flux<SseMessage> processedFlux = model instanceof DeepSeekChatEntity ?
                 chatResponseFlux
@@ -919,6 +1062,7 @@ public class AiChatServiceImpl implements AiChatService {
                         } else if (StringUtils.isNotEmpty(tempReasoningContent)) {
                             reasoningContent.set(reasoningContent.get() + tempReasoningContent);
                         }
+                        usageTracker.append(tempContent, tempReasoningContent);
                     } catch (IOException e) {
                         log.error("数据传输异常: {}", e.getMessage());
                         throw new CustomizeAiException(ReturnCode.FAIL, "数据传输异常");
@@ -931,16 +1075,7 @@ public class AiChatServiceImpl implements AiChatService {
                 .doOnTerminate(() -> {
                     sw.stop();
                     time.set(sw.getDuration().toMillis());
-                    usage.set(new TikTokenUtils(EncodingType.CL100K_BASE).getMessageTokenNumber(
-                            new ArrayList<>(prompt.getInstructions()) {
-                                {
-                                    add(new AssistantMessage(content.get()));
-                                }
-
-                                {
-                                    add(new AssistantMessage(reasoningContent.get()));
-                                }
-                            }));
+                    usage.set(usageTracker.finish());
                 })
                 .blockLast();
         return new ChatResult(content.get().trim(), reasoningContent.get().trim(), time.get(), usage.get(), model.getChatServiceType().getValue(), model.getModel(), prompt);
@@ -989,6 +1124,7 @@ public class AiChatServiceImpl implements AiChatService {
     @Override
     public ChatResult chatFlux(Long userId, ChatModelBase model, MimeType mimeType, byte[] byteArray, String systemPrompt, Prompt prompt) {
         Map<String, SseEmitter> sseEmitters = this.validateParams(prompt,userId);
+        ChatUsageCounter.Tracker usageTracker = ChatUsageCounter.track(userId, model, systemPrompt, prompt);
         // 结果总汇
         AtomicReference<String> content = new AtomicReference<>("");
         AtomicReference<String> reasoningContent = new AtomicReference<>("");
@@ -1000,7 +1136,7 @@ public class AiChatServiceImpl implements AiChatService {
         StopWatch sw = new StopWatch();
         sw.start();
         // 获取大模型回复
-        Flux<ChatResponse> chatResponseFlux = ChatManager.getChatClient(model)
+        Flux<ChatResponse> chatResponseFlux = aiExecutionScheduler.executeFlux(this.getSchedulerKey(model), userId, () -> ChatManager.getChatClient(model)
                 .prompt(prompt)
                 .system(s -> {
                     if (StringUtils.isNotBlank(systemPrompt)) {
@@ -1013,7 +1149,7 @@ public class AiChatServiceImpl implements AiChatService {
                     }
                 })
                 .stream()
-                .chatResponse();
+                .chatResponse());
         // 公共的流处理逻辑
         Flux<SseMessage> processedFlux = model instanceof DeepSeekChatEntity ?
                 chatResponseFlux
@@ -1070,6 +1206,7 @@ public class AiChatServiceImpl implements AiChatService {
                         } else if (StringUtils.isNotEmpty(tempReasoningContent)) {
                             reasoningContent.set(reasoningContent.get() + tempReasoningContent);
                         }
+                        usageTracker.append(tempContent, tempReasoningContent);
                     } catch (IOException e) {
                         log.error("数据传输异常: {}", e.getMessage());
                         throw new CustomizeAiException(ReturnCode.FAIL, "数据传输异常");
@@ -1082,16 +1219,7 @@ public class AiChatServiceImpl implements AiChatService {
                 .doOnTerminate(() -> {
                     sw.stop();
                     time.set(sw.getDuration().toMillis());
-                    usage.set(new TikTokenUtils(EncodingType.CL100K_BASE).getMessageTokenNumber(
-                            new ArrayList<>(prompt.getInstructions()) {
-                                {
-                                    add(new AssistantMessage(content.get()));
-                                }
-
-                                {
-                                    add(new AssistantMessage(reasoningContent.get()));
-                                }
-                            }));
+                    usage.set(usageTracker.finish());
                 })
                 .blockLast();
         return new ChatResult(content.get().trim(), reasoningContent.get().trim(), time.get(), usage.get(), model.getChatServiceType().getValue(), model.getModel(), prompt);
@@ -1140,6 +1268,7 @@ public class AiChatServiceImpl implements AiChatService {
     @Override
     public ChatResult chatFlux(Long userId, String token, ChatModelBase model, MimeType mimeType, byte[] byteArray, String systemPrompt, Prompt prompt) {
         SseEmitter sseEmitter = this.validateParams(prompt, userId, token);
+        ChatUsageCounter.Tracker usageTracker = ChatUsageCounter.track(userId, model, systemPrompt, prompt);
         // 结果总汇
         AtomicReference<String> content = new AtomicReference<>("");
         AtomicReference<String> reasoningContent = new AtomicReference<>("");
@@ -1151,7 +1280,7 @@ public class AiChatServiceImpl implements AiChatService {
         StopWatch sw = new StopWatch();
         sw.start();
         // 获取大模型回复
-        Flux<ChatResponse> chatResponseFlux = ChatManager.getChatClient(model)
+        Flux<ChatResponse> chatResponseFlux = aiExecutionScheduler.executeFlux(this.getSchedulerKey(model), userId, () -> ChatManager.getChatClient(model)
                 .prompt(prompt)
                 .system(s -> {
                     if (StringUtils.isNotBlank(systemPrompt)) {
@@ -1164,7 +1293,7 @@ public class AiChatServiceImpl implements AiChatService {
                     }
                 })
                 .stream()
-                .chatResponse();
+                .chatResponse());
         // 公共的流处理逻辑
         Flux<SseMessage> processedFlux = model instanceof DeepSeekChatEntity ?
                 chatResponseFlux
@@ -1219,6 +1348,7 @@ public class AiChatServiceImpl implements AiChatService {
                         } else if (StringUtils.isNotEmpty(tempReasoningContent)) {
                             reasoningContent.set(reasoningContent.get() + tempReasoningContent);
                         }
+                        usageTracker.append(tempContent, tempReasoningContent);
                     } catch (IOException e) {
                         log.error("数据传输异常: {}", e.getMessage());
                         throw new CustomizeAiException(ReturnCode.FAIL, "数据传输异常");
@@ -1231,21 +1361,34 @@ public class AiChatServiceImpl implements AiChatService {
                 .doOnTerminate(() -> {
                     sw.stop();
                     time.set(sw.getDuration().toMillis());
-                    usage.set(new TikTokenUtils(ChatManager.getEncodingType(model)).getMessageTokenNumber(
-                            new ArrayList<>(prompt.getInstructions()) {
-                                {
-                                    add(new AssistantMessage(content.get()));
-                                }
-
-                                {
-                                    add(new AssistantMessage(reasoningContent.get()));
-                                }
-                            }));
+                    usage.set(usageTracker.finish());
                 })
                 .blockLast();
         return new ChatResult(content.get().trim(), reasoningContent.get().trim(), time.get(), usage.get(), model.getChatServiceType().getValue(), model.getModel(), prompt);
     }
 
+    /**
+     * 获取模型在调度器中的模型键
+     *
+     * @param model 模型
+     */
+    private String getSchedulerKey(ChatModelBase model) {
+        if (StringUtils.isNotBlank(model.getSchedulerKey())) {
+            return model.getSchedulerKey();
+        }
+        return AiExecutionScheduler.getModelKey("chat", model.getChatServiceType().getValue(), model.getModel());
+    }
+
+    /**
+     * 获取对话记忆顾问，不使用对话记忆时返回空列表
+     *
+     * @param chatMemory     对话记忆
+     * @param conversationId 会话ID
+     */
+    private List<Advisor> getMemoryAdvisors(TokenWindowChatMemory chatMemory, String conversationId) {
+        return Objects.isNull(chatMemory) ? List.of() : List.of(ChatMemoryManager.getAdvisor(chatMemory, conversationId));
+    }
+
     /**
      * 校验参数
      */
@@ -2,8 +2,6 @@ package top.sharehome.springbootinittemplate.config.ai.spring.service.chat.manag
 
 import com.azure.ai.openai.OpenAIClientBuilder;
 import com.azure.core.credential.AzureKeyCredential;
-import com.azure.core.http.HttpClient;
-import com.azure.core.util.HttpClientOptions;
 import com.knuddels.jtokkit.api.EncodingType;
 import io.micrometer.observation.ObservationRegistry;
 import org.springframework.ai.azure.openai.AzureOpenAiChatModel;
@@ -16,6 +14,7 @@ import org.springframework.ai.deepseek.api.DeepSeekApi;
 import org.springframework.ai.minimax.MiniMaxChatModel;
 import org.springframework.ai.minimax.MiniMaxChatOptions;
 import org.springframework.ai.minimax.api.MiniMaxApi;
+import org.springframework.ai.minimax.api.MiniMaxApiConstants;
 import org.springframework.ai.mistralai.MistralAiChatModel;
 import org.springframework.ai.mistralai.MistralAiChatOptions;
 import org.springframework.ai.mistralai.api.MistralAiApi;
@@ -27,56 +26,61 @@ import org.springframework.ai.ollama.api.OllamaChatOptions;
 import org.springframework.ai.openai.OpenAiChatModel;
 import org.springframework.ai.openai.OpenAiChatOptions;
 import org.springframework.ai.openai.api.OpenAiApi;
+import org.springframework.ai.retry.RetryUtils;
 import org.springframework.ai.tool.execution.DefaultToolExecutionExceptionProcessor;
 import org.springframework.ai.tool.resolution.DelegatingToolCallbackResolver;
 import org.springframework.ai.zhipuai.ZhiPuAiChatModel;
 import org.springframework.ai.zhipuai.ZhiPuAiChatOptions;
 import org.springframework.ai.zhipuai.api.ZhiPuAiApi;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestClient;
+import org.springframework.web.reactive.function.client.WebClient;
 import top.sharehome.springbootinittemplate.common.base.ReturnCode;
+import top.sharehome.springbootinittemplate.config.ai.spring.client.AiClientRegistry;
+import top.sharehome.springbootinittemplate.config.ai.spring.client.AiHttpClientFactory;
 import top.sharehome.springbootinittemplate.config.ai.spring.service.chat.model.ChatModelBase;
 import top.sharehome.springbootinittemplate.config.ai.spring.service.chat.model.entity.*;
+import top.sharehome.springbootinittemplate.config.bean.SpringContextHolder;
 import top.sharehome.springbootinittemplate.exception.customize.CustomizeAiException;
 
-import java.time.Duration;
 import java.util.List;
-import java.util.Objects;
 
 /**
  * AI Chat管理器
+ * 构建好的ChatModel和ChatClient按照模型配置缓存在客户端注册表中复用，底层请求使用按服务方共享的连接池
  *
  * @author AntonyCheng
  */
 public class ChatManager {
 
+    /**
+     * 引入AI客户端注册表
+     */
+    private static final AiClientRegistry CLIENT_REGISTRY = SpringContextHolder.getBean(AiClientRegistry.class);
+
+    /**
+     * 引入AI服务HTTP连接工厂
+     */
+    private static final AiHttpClientFactory HTTP_CLIENT_FACTORY = SpringContextHolder.getBean(AiHttpClientFactory.class);
+
     /**
      * 根据Model类型获取ChatClient
      */
     public static ChatClient getChatClient(ChatModelBase model) {
-        if (model instanceof DeepSeekChatEntity entity) {
-            return getDeepSeekClient(entity);
-        } else if (model instanceof OpenAiChatEntity entity) {
-            return getOpenAiClient(entity);
-        } else if (model instanceof OllamaChatEntity entity) {
-            return getOllamaClient(entity);
-        } else if (model instanceof ZhiPuAiChatEntity entity) {
-            return getZhiPuAiClient(entity);
-        } else if (model instanceof MistralAiChatEntity entity) {
-            return getMistralAiClient(entity);
-        } else if (model instanceof MiniMaxChatEntity entity) {
-            return getMiniMaxClient(entity);
-        } else if (model instanceof AzureOpenAiChatEntity entity) {
-            return getAzureOpenAiClient(entity);
-        } else {
-            throw new CustomizeAiException(ReturnCode.PARAMETER_FORMAT_MISMATCH, "参数[model]存在异常");
-        }
+        ChatModel chatModel = getChatModel(model);
+        return CLIENT_REGISTRY.getOrCreate("CHAT_CLIENT", model, () -> ChatClient.builder(chatModel).build());
     }
 
     /**
      * 根据Model类型获取ChatModel
      */
     public static ChatModel getChatModel(ChatModelBase model) {
+        return CLIENT_REGISTRY.getOrCreate("CHAT_MODEL", model, () -> createChatModel(model));
+    }
+
+    /**
+     * 根据Model类型构建ChatModel
+     */
+    private static ChatModel createChatModel(ChatModelBase model) {
         if (model instanceof DeepSeekChatEntity entity) {
             return getDeepSeekModel(entity);
         } else if (model instanceof OpenAiChatEntity entity) {
@@ -107,13 +111,6 @@ public class ChatManager {
                 model instanceof OpenAiChatEntity || model instanceof AzureOpenAiChatEntity ? EncodingType.CL100K_BASE : EncodingType.P50K_BASE;
     }
 
-    /**
-     * 获取DeepSeek ChatClient
-     */
-    private static ChatClient getDeepSeekClient(DeepSeekChatEntity entity) {
-        return ChatClient.builder(getDeepSeekModel(entity)).build();
-    }
-
     /**
      * 获取DeepSeek ChatModel
      */
@@ -122,6 +119,7 @@ public class ChatManager {
                 .deepSeekApi(
                         DeepSeekApi.builder()
                                 .restClientBuilder(getRestClient(entity))
+                                .webClientBuilder(getWebClient(entity))
                                 .baseUrl(entity.getBaseUrl())
                                 .apiKey(new SimpleApiKey(entity.getApiKey()))
                                 .build()
@@ -137,20 +135,14 @@ public class ChatManager {
     }
 
     /**
-     * 获取OpenAi ChatClient
-     */
-    private static ChatClient getOpenAiClient(OpenAiChatEntity entity) {
-        return ChatClient.builder(getOpenAiModel(entity)).build();
-    }
-
-    /**
-     * 获取OpenAi ChatClient
+     * 获取OpenAi ChatModel
      */
     private static ChatModel getOpenAiModel(OpenAiChatEntity entity) {
         return OpenAiChatModel.builder()
                 .openAiApi(
                         OpenAiApi.builder()
                                 .restClientBuilder(getRestClient(entity))
+                                .webClientBuilder(getWebClient(entity))
                                 .baseUrl(entity.getBaseUrl())
                                 .apiKey(new SimpleApiKey(entity.getApiKey()))
                                 .build())
@@ -165,20 +157,14 @@ public class ChatManager {
     }
 
     /**
-     * 获取Ollama ChatClient
-     */
-    private static ChatClient getOllamaClient(OllamaChatEntity entity) {
-        return ChatClient.builder(getOllamaModel(entity)).build();
-    }
-
-    /**
-     * 获取Ollama ChatClient
+     * 获取Ollama ChatModel
      */
     private static ChatModel getOllamaModel(OllamaChatEntity entity) {
         return OllamaChatModel.builder()
                 .ollamaApi(
                         OllamaApi.builder()
                                 .restClientBuilder(getRestClient(entity))
+                                .webClientBuilder(getWebClient(entity))
                                 .baseUrl(entity.getBaseUrl())
                                 .build()
                 )
@@ -205,19 +191,16 @@ public class ChatManager {
                 .build();
     }
 
-    /**
-     * 获取ZhiPuAi ChatClient
-     */
-    private static ChatClient getZhiPuAiClient(ZhiPuAiChatEntity entity) {
-        return ChatClient.builder(getZhiPuAiModel(entity)).build();
-    }
-
     /**
      * 获取ZhiPuAi ChatModel
      */
     private static ChatModel getZhiPuAiModel(ZhiPuAiChatEntity entity) {
         return new ZhiPuAiChatModel(
-                ZhiPuAiApi.builder().apiKey(entity.getApiKey()).build(),
+                ZhiPuAiApi.builder()
+                        .apiKey(entity.getApiKey())
+                        .restClientBuilder(getRestClient(entity))
+                        .webClientBuilder(getWebClient(entity))
+                        .build(),
                 ZhiPuAiChatOptions.builder()
                         .model(entity.getModel())
                         .temperature(entity.getTemperature())
@@ -227,19 +210,18 @@ public class ChatManager {
         );
     }
 
-    /**
-     * 获取MistralAi ChatClient
-     */
-    private static ChatClient getMistralAiClient(MistralAiChatEntity entity) {
-        return ChatClient.builder(getMistralAiModel(entity)).build();
-    }
-
     /**
      * 获取MistralAi ChatModel
      */
     private static ChatModel getMistralAiModel(MistralAiChatEntity entity) {
         return MistralAiChatModel.builder()
-                .mistralAiApi(MistralAiApi.builder().apiKey(entity.getApiKey()).build())
+                .mistralAiApi(
+                        MistralAiApi.builder()
+                                .apiKey(entity.getApiKey())
+                                .restClientBuilder(getRestClient(entity))
+                                .webClientBuilder(getWebClient(entity))
+                                .build()
+                )
                 .defaultOptions(
                         MistralAiChatOptions.builder()
                                 .model(entity.getModel())
@@ -251,19 +233,12 @@ public class ChatManager {
                 .build();
     }
 
-    /**
-     * 获取MiniMax ChatClient
-     */
-    private static ChatClient getMiniMaxClient(MiniMaxChatEntity entity) {
-        return ChatClient.builder(getMiniMaxModel(entity)).build();
-    }
-
     /**
      * 获取MiniMax ChatModel
      */
     private static ChatModel getMiniMaxModel(MiniMaxChatEntity entity) {
         return new MiniMaxChatModel(
-                new MiniMaxApi(entity.getApiKey()),
+                new MiniMaxApi(MiniMaxApiConstants.DEFAULT_BASE_URL, entity.getApiKey(), getRestClient(entity), RetryUtils.DEFAULT_RESPONSE_ERROR_HANDLER),
                 MiniMaxChatOptions.builder()
                         .model(entity.getModel())
                         .temperature(entity.getTemperature())
@@ -273,13 +248,6 @@ public class ChatManager {
         );
     }
 
-    /**
-     * 获取AzureOpenAi ChatClient
-     */
-    private static ChatClient getAzureOpenAiClient(AzureOpenAiChatEntity entity) {
-        return ChatClient.builder(getAzureOpenAiModel(entity)).build();
-    }
-
     /**
      * 获取AzureOpenAi ChatModel
      */
@@ -287,9 +255,7 @@ public class ChatManager {
         return AzureOpenAiChatModel.builder()
                 .openAIClientBuilder(
                         new OpenAIClientBuilder()
-                                .httpClient(HttpClient.createDefault(
-                                        new HttpClientOptions().setReadTimeout(Duration.ofMillis(entity.getReadTimeout()))
-                                ))
+                                .httpClient(HTTP_CLIENT_FACTORY.getAzureHttpClient(entity.getReadTimeout()))
                                 .credential(new AzureKeyCredential(entity.getApiKey()))
                                 .endpoint(entity.getEndpoint())
                                 .serviceVersion(entity.getModelVersion())
@@ -308,14 +274,17 @@ public class ChatManager {
     }
 
     /**
-     * 获取请求构造类
+     * 获取同步请求构造类
      */
     private static RestClient.Builder getRestClient(ChatModelBase model) {
-        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
-        if (Objects.nonNull(model.getReadTimeout())) {
-            requestFactory.setReadTimeout(Duration.ofMillis(model.getReadTimeout()));
-        }
-        return RestClient.builder().requestFactory(requestFactory);
+        return HTTP_CLIENT_FACTORY.getRestClientBuilder(model.getChatServiceType().name(), model.getReadTimeout());
+    }
+
+    /**
+     * 获取流式请求构造类
+     */
+    private static WebClient.Builder getWebClient(ChatModelBase model) {
+        return HTTP_CLIENT_FACTORY.getWebClientBuilder(model.getChatServiceType().name(), model.getReadTimeout());
     }
 
 }
@@ -0,0 +1,55 @@
+package top.sharehome.springbootinittemplate.config.ai.spring.service.chat.memory;
+
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import top.sharehome.springbootinittemplate.config.ai.spring.service.chat.memory.properties.ChatMemoryProperties;
+import top.sharehome.springbootinittemplate.config.ai.spring.service.chat.memory.properties.enums.ChatMemoryStoreType;
+import top.sharehome.springbootinittemplate.config.ai.spring.service.chat.memory.store.ChatMemoryStore;
+import top.sharehome.springbootinittemplate.config.ai.spring.service.chat.memory.store.InMemoryChatMemoryStore;
+import top.sharehome.springbootinittemplate.config.ai.spring.service.chat.memory.store.RedissonChatMemoryStore;
+
+import java.util.Objects;
+
+/**
+ * AI对话记忆配置
+ *
+ * @author AntonyCheng
+ */
+@Configuration
+@EnableConfigurationProperties(ChatMemoryProperties.class)
+@AllArgsConstructor
+@Slf4j
+public class ChatMemoryConfiguration {
+
+    private final ChatMemoryProperties chatMemoryProperties;
+
+    /**
+     * 对话记忆存储，配置为Redis但未启用Redisson时退化为本地内存存储
+     */
+    @Bean
+    public ChatMemoryStore chatMemoryStore(ObjectProvider<RedissonClient> redissonClientProvider) {
+        if (chatMemoryProperties.getStoreType() == ChatMemoryStoreType.REDIS) {
+            RedissonClient redissonClient = redissonClientProvider.getIfAvailable();
+            if (Objects.nonNull(redissonClient)) {
+                return new RedissonChatMemoryStore(redissonClient, chatMemoryProperties);
+            }
+            log.warn("AI对话记忆配置为Redis存储，但未启用Redisson，已使用本地内存存储");
+        }
+        return new InMemoryChatMemoryStore(chatMemoryProperties);
+    }
+
+    /**
+     * 依赖注入日志输出
+     */
+    @PostConstruct
+    private void initDi() {
+        log.info("############ {} Configuration DI.", this.getClass().getSimpleName().split("\\$\\$")[0]);
+    }
+
+}
@@ -0,0 +1,102 @@
+package top.sharehome.springbootinittemplate.config.ai.spring.service.chat.memory;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.ai.chat.client.advisor.MessageChatMemoryAdvisor;
+import top.sharehome.springbootinittemplate.common.base.ReturnCode;
+import top.sharehome.springbootinittemplate.config.ai.spring.service.chat.manager.ChatManager;
+import top.sharehome.springbootinittemplate.config.ai.spring.service.chat.memory.model.MemoryMessage;
+import top.sharehome.springbootinittemplate.config.ai.spring.service.chat.memory.properties.ChatMemoryProperties;
+import top.sharehome.springbootinittemplate.config.ai.spring.service.chat.memory.store.ChatMemoryStore;
+import top.sharehome.springbootinittemplate.config.ai.spring.service.chat.model.ChatModelBase;
+import top.sharehome.springbootinittemplate.config.bean.SpringContextHolder;
+import top.sharehome.springbootinittemplate.exception.customize.CustomizeAiException;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * AI对话记忆管理器
+ * 对话时通过{@link MessageChatMemoryAdvisor}把裁剪后的历史消息拼接到提示词之前，并在回复结束后把本轮提问和回复写回存储，
+ * 调用方只需要传入会话ID和本轮提问，不需要每次携带完整历史
+ *
+ * @author AntonyCheng
+ */
+public class ChatMemoryManager {
+
+    /**
+     * 引入对话记忆存储
+     */
+    private static final ChatMemoryStore CHAT_MEMORY_STORE = SpringContextHolder.getBean(ChatMemoryStore.class);
+
+    /**
+     * 引入对话记忆配置
+     */
+    private static final ChatMemoryProperties CHAT_MEMORY_PROPERTIES = SpringContextHolder.getBean(ChatMemoryProperties.class);
+
+    /**
+     * 创建按照模型编码类型计数的对话记忆，使用默认Token预算
+     *
+     * @param model 模型
+     */
+    public static TokenWindowChatMemory getChatMemory(ChatModelBase model) {
+        return getChatMemory(model, CHAT_MEMORY_PROPERTIES.getMaxTokens());
+    }
+
+    /**
+     * 创建按照模型编码类型计数的对话记忆
+     *
+     * @param model     模型
+     * @param maxTokens 历史消息最大Token数
+     */
+    public static TokenWindowChatMemory getChatMemory(ChatModelBase model, Integer maxTokens) {
+        if (Objects.isNull(maxTokens) || maxTokens <= 0) {
+            throw new CustomizeAiException(ReturnCode.PARAMETER_FORMAT_MISMATCH, "历史消息最大Token数必须大于0");
+        }
+        return new TokenWindowChatMemory(CHAT_MEMORY_STORE, ChatManager.getEncodingType(model), maxTokens);
+    }
+
+    /**
+     * 创建对话记忆顾问
+     *
+     * @param chatMemory     对话记忆
+     * @param conversationId 会话ID
+     */
+    public static MessageChatMemoryAdvisor getAdvisor(TokenWindowChatMemory chatMemory, String conversationId) {
+        validateConversationId(conversationId);
+        return MessageChatMemoryAdvisor.builder(chatMemory)
+                .conversationId(conversationId)
+                .build();
+    }
+
+    /**
+     * 获取会话全部历史消息
+     *
+     * @param conversationId 会话ID
+     */
+    public static List<MemoryMessage> getHistory(String conversationId) {
+        validateConversationId(conversationId);
+        return CHAT_MEMORY_STORE.get(conversationId);
+    }
+
+    /**
+     * 清空会话历史消息
+     *
+     * @param conversationId 会话ID
+     */
+    public static void clear(String conversationId) {
+        validateConversationId(conversationId);
+        CHAT_MEMORY_STORE.clear(conversationId);
+    }
+
+    /**
+     * 校验会话ID
+     *
+     * @param conversationId 会话ID
+     */
+    private static void validateConversationId(String conversationId) {
+        if (StringUtils.isBlank(conversationId)) {
+            throw new CustomizeAiException(ReturnCode.PARAMETER_FORMAT_MISMATCH, "会话ID不能为空");
+        }
+    }
+
+}
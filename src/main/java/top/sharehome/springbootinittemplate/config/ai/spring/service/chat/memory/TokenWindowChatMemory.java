@@ -0,0 +1,121 @@
+package top.sharehome.springbootinittemplate.config.ai.spring.service.chat.memory;
+
+import com.knuddels.jtokkit.api.EncodingType;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.chat.messages.*;
+import top.sharehome.springbootinittemplate.config.ai.spring.service.chat.memory.model.MemoryMessage;
+import top.sharehome.springbootinittemplate.config.ai.spring.service.chat.memory.store.ChatMemoryStore;
+import top.sharehome.springbootinittemplate.config.ai.spring.service.chat.utils.ReasonStreamParser;
+import top.sharehome.springbootinittemplate.utils.tokenizers.TikTokenUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 按Token预算裁剪的对话记忆
+ * 消息写入时按照模型的编码类型计算Token数并随消息一起保存，读取时从最新的消息往前累加，直到超过Token预算为止，
+ * 窗口总是从用户消息开始，避免模型看到没有提问的回答；助手消息中的深度思考内容不写入记忆
+ * 实例按单次请求创建，存储在多次请求之间共享
+ *
+ * @author AntonyCheng
+ */
+public class TokenWindowChatMemory implements ChatMemory {
+
+    private final ChatMemoryStore chatMemoryStore;
+
+    private final TikTokenUtils tikTokenUtils;
+
+    /**
+     * 历史消息最大Token数
+     */
+    private final int maxTokens;
+
+    /**
+     * 最近一次读取的历史消息Token数
+     */
+    private volatile int lastWindowTokens = 0;
+
+    public TokenWindowChatMemory(ChatMemoryStore chatMemoryStore, EncodingType encodingType, int maxTokens) {
+        this.chatMemoryStore = chatMemoryStore;
+        this.tikTokenUtils = new TikTokenUtils(encodingType);
+        this.maxTokens = maxTokens;
+    }
+
+    @Override
+    public void add(String conversationId, List<Message> messages) {
+        List<MemoryMessage> memoryMessages = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            String text = message.getText();
+            if (message.getMessageType() == MessageType.ASSISTANT && StringUtils.contains(text, "<think>")) {
+                ReasonStreamParser reasonStreamParser = new ReasonStreamParser();
+                reasonStreamParser.processChunk(text);
+                text = reasonStreamParser.getReplyContent();
+            }
+            if (StringUtils.isBlank(text) || message.getMessageType() == MessageType.TOOL) {
+                continue;
+            }
+            String type = message.getMessageType().getValue();
+            memoryMessages.add(new MemoryMessage(type, text, tikTokenUtils.getTokenNumber(type + text)));
+        }
+        chatMemoryStore.append(conversationId, memoryMessages);
+    }
+
+    @Override
+    public List<Message> get(String conversationId) {
+        List<MemoryMessage> memoryMessages = chatMemoryStore.get(conversationId);
+        int tokens = 0;
+        int start = memoryMessages.size();
+        while (start > 0) {
+            MemoryMessage memoryMessage = memoryMessages.get(start - 1);
+            int messageTokens = memoryMessage.getTokens() == null ? 0 : memoryMessage.getTokens();
+            if (tokens + messageTokens > maxTokens) {
+                break;
+            }
+            tokens += messageTokens;
+            start--;
+        }
+        // 窗口从用户消息开始
+        while (start < memoryMessages.size() && !StringUtils.equals(memoryMessages.get(start).getType(), MessageType.USER.getValue())) {
+            tokens -= memoryMessages.get(start).getTokens() == null ? 0 : memoryMessages.get(start).getTokens();
+            start++;
+        }
+        lastWindowTokens = tokens;
+        if (start >= memoryMessages.size()) {
+            return Collections.emptyList();
+        }
+        List<Message> res = new ArrayList<>(memoryMessages.size() - start);
+        for (MemoryMessage memoryMessage : memoryMessages.subList(start, memoryMessages.size())) {
+            res.add(toMessage(memoryMessage));
+        }
+        return res;
+    }
+
+    @Override
+    public void clear(String conversationId) {
+        chatMemoryStore.clear(conversationId);
+    }
+
+    /**
+     * 获取最近一次读取的历史消息Token数，用于统计提示词用量
+     */
+    public int getLastWindowTokens() {
+        return lastWindowTokens;
+    }
+
+    /**
+     * 将记忆消息转换为Spring AI消息
+     *
+     * @param memoryMessage 记忆消息
+     */
+    private Message toMessage(MemoryMessage memoryMessage) {
+        MessageType messageType = MessageType.fromValue(memoryMessage.getType());
+        return switch (messageType) {
+            case ASSISTANT -> new AssistantMessage(memoryMessage.getText());
+            case SYSTEM -> new SystemMessage(memoryMessage.getText());
+            default -> new UserMessage(memoryMessage.getText());
+        };
+    }
+
+}
@@ -0,0 +1,41 @@
+package top.sharehome.springbootinittemplate.config.ai.spring.service.chat.memory.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * 对话记忆消息
+ * 写入时计算好Token数，裁剪历史时不需要重新分词
+ *
+ * @author AntonyCheng
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Accessors(chain = true)
+public class MemoryMessage implements Serializable {
+
+    /**
+     * 消息类型（user/assistant/system）
+     */
+    private String type;
+
+    /**
+     * 消息内容
+     */
+    private String text;
+
+    /**
+     * Token数
+     */
+    private Integer tokens;
+
+    @Serial
+    private static final long serialVersionUID = 6218703412345619832L;
+
+}
@@ -0,0 +1,41 @@
+package top.sharehome.springbootinittemplate.config.ai.spring.service.chat.memory.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import top.sharehome.springbootinittemplate.config.ai.spring.service.chat.memory.properties.enums.ChatMemoryStoreType;
+
+/**
+ * AI对话记忆配置属性
+ *
+ * @author AntonyCheng
+ */
+@Data
+@ConfigurationProperties(prefix = "ai.chat-memory")
+public class ChatMemoryProperties {
+
+    /**
+     * 存储类型
+     */
+    private ChatMemoryStoreType storeType = ChatMemoryStoreType.MEMORY;
+
+    /**
+     * 每次对话携带的历史消息最大Token数，超过后从最早的消息开始裁剪
+     */
+    private Integer maxTokens = 4096;
+
+    /**
+     * 每个会话最多保存的消息条数，超过后丢弃最早的消息
+     */
+    private Integer maxMessages = 100;
+
+    /**
+     * 会话最后一次写入后经过固定时间过期，单位：秒
+     */
+    private Long expired = 24 * 60 * 60L;
+
+    /**
+     * 本地内存存储最多保存的会话数，超过之后会按照最近最少策略进行剔除
+     */
+    private Integer capacity = 10000;
+
+}
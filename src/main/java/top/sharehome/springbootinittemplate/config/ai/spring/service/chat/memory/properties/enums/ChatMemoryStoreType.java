@@ -0,0 +1,27 @@
+package top.sharehome.springbootinittemplate.config.ai.spring.service.chat.memory.properties.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 对话记忆存储类型
+ *
+ * @author AntonyCheng
+ */
+@Getter
+@AllArgsConstructor
+public enum ChatMemoryStoreType {
+
+    /**
+     * 存储在当前节点内存中，重启后丢失，适合单节点部署
+     */
+    MEMORY("本地内存"),
+
+    /**
+     * 存储在Redis中，多节点共享，需要启用Redisson
+     */
+    REDIS("Redis");
+
+    private final String description;
+
+}
@@ -0,0 +1,37 @@
+package top.sharehome.springbootinittemplate.config.ai.spring.service.chat.memory.store;
+
+import top.sharehome.springbootinittemplate.config.ai.spring.service.chat.memory.model.MemoryMessage;
+
+import java.util.List;
+
+/**
+ * 对话记忆存储
+ * 按照会话ID保存消息，实现类需要保证追加操作线程安全，并在追加时按照最大消息条数丢弃最早的消息
+ *
+ * @author AntonyCheng
+ */
+public interface ChatMemoryStore {
+
+    /**
+     * 获取会话全部消息，按照时间先后排序
+     *
+     * @param conversationId 会话ID
+     */
+    List<MemoryMessage> get(String conversationId);
+
+    /**
+     * 追加消息
+     *
+     * @param conversationId 会话ID
+     * @param messages       消息列表
+     */
+    void append(String conversationId, List<MemoryMessage> messages);
+
+    /**
+     * 清空会话
+     *
+     * @param conversationId 会话ID
+     */
+    void clear(String conversationId);
+
+}
@@ -0,0 +1,60 @@
+package top.sharehome.springbootinittemplate.config.ai.spring.service.chat.memory.store;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import top.sharehome.springbootinittemplate.config.ai.spring.service.chat.memory.model.MemoryMessage;
+import top.sharehome.springbootinittemplate.config.ai.spring.service.chat.memory.properties.ChatMemoryProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 基于Caffeine的本地内存对话记忆存储
+ * 会话消息以不可变列表保存，追加时整体替换，读取无需加锁
+ *
+ * @author AntonyCheng
+ */
+public class InMemoryChatMemoryStore implements ChatMemoryStore {
+
+    private final ChatMemoryProperties chatMemoryProperties;
+
+    private final Cache<String, List<MemoryMessage>> conversations;
+
+    public InMemoryChatMemoryStore(ChatMemoryProperties chatMemoryProperties) {
+        this.chatMemoryProperties = chatMemoryProperties;
+        this.conversations = Caffeine.newBuilder()
+                .expireAfterWrite(chatMemoryProperties.getExpired(), TimeUnit.SECONDS)
+                .maximumSize(chatMemoryProperties.getCapacity())
+                .build();
+    }
+
+    @Override
+    public List<MemoryMessage> get(String conversationId) {
+        List<MemoryMessage> messages = conversations.getIfPresent(conversationId);
+        return Objects.isNull(messages) ? List.of() : messages;
+    }
+
+    @Override
+    public void append(String conversationId, List<MemoryMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        int maxMessages = Math.max(chatMemoryProperties.getMaxMessages(), 1);
+        conversations.asMap().compute(conversationId, (key, old) -> {
+            List<MemoryMessage> res = new ArrayList<>(Objects.isNull(old) ? messages.size() : old.size() + messages.size());
+            if (Objects.nonNull(old)) {
+                res.addAll(old);
+            }
+            res.addAll(messages);
+            return List.copyOf(res.size() > maxMessages ? res.subList(res.size() - maxMessages, res.size()) : res);
+        });
+    }
+
+    @Override
+    public void clear(String conversationId) {
+        conversations.invalidate(conversationId);
+    }
+
+}
@@ -0,0 +1,64 @@
+package top.sharehome.springbootinittemplate.config.ai.spring.service.chat.memory.store;
+
+import org.redisson.api.BatchOptions;
+import org.redisson.api.RBatch;
+import org.redisson.api.RListAsync;
+import org.redisson.api.RedissonClient;
+import top.sharehome.springbootinittemplate.config.ai.spring.service.chat.memory.model.MemoryMessage;
+import top.sharehome.springbootinittemplate.config.ai.spring.service.chat.memory.properties.ChatMemoryProperties;
+import top.sharehome.springbootinittemplate.utils.redisson.KeyPrefixConstants;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 基于Redisson的对话记忆存储
+ * 每个会话对应一个Redis列表，追加、裁剪和续期在同一个原子批处理中完成，多节点共享会话
+ *
+ * @author AntonyCheng
+ */
+public class RedissonChatMemoryStore implements ChatMemoryStore {
+
+    private final RedissonClient redissonClient;
+
+    private final ChatMemoryProperties chatMemoryProperties;
+
+    public RedissonChatMemoryStore(RedissonClient redissonClient, ChatMemoryProperties chatMemoryProperties) {
+        this.redissonClient = redissonClient;
+        this.chatMemoryProperties = chatMemoryProperties;
+    }
+
+    @Override
+    public List<MemoryMessage> get(String conversationId) {
+        return redissonClient.<MemoryMessage>getList(buildKey(conversationId)).readAll();
+    }
+
+    @Override
+    public void append(String conversationId, List<MemoryMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        int maxMessages = Math.max(chatMemoryProperties.getMaxMessages(), 1);
+        RBatch batch = redissonClient.createBatch(BatchOptions.defaults().executionMode(BatchOptions.ExecutionMode.IN_MEMORY_ATOMIC));
+        RListAsync<MemoryMessage> list = batch.getList(buildKey(conversationId));
+        list.addAllAsync(messages);
+        list.trimAsync(-maxMessages, -1);
+        list.expireAsync(Duration.ofSeconds(chatMemoryProperties.getExpired()));
+        batch.execute();
+    }
+
+    @Override
+    public void clear(String conversationId) {
+        redissonClient.getList(buildKey(conversationId)).delete();
+    }
+
+    /**
+     * 构建Redis键
+     *
+     * @param conversationId 会话ID
+     */
+    private String buildKey(String conversationId) {
+        return KeyPrefixConstants.CHAT_MEMORY_PREFIX + conversationId;
+    }
+
+}
@@ -1,5 +1,6 @@
 package top.sharehome.springbootinittemplate.config.ai.spring.service.chat.model;
 
+import com.alibaba.fastjson2.annotation.JSONField;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -56,6 +57,14 @@ public abstract class ChatModelBase {
     @Setter
     protected Long readTimeout;
 
+    /**
+     * 调度器中的模型键，为空时按照“类型:服务:名称”调度，来自模型表的模型使用模型ID区分
+     * 只影响调度，不参与客户端缓存键的计算
+     */
+    @Setter
+    @JSONField(serialize = false)
+    protected String schedulerKey;
+
     public ChatModelBase(ChatServiceType chatServiceType, Double temperature, Double topP, Long readTimeout) {
         if (Objects.isNull(chatServiceType)) {
             throw new CustomizeAiException(ReturnCode.PARAMETER_FORMAT_MISMATCH, "参数[chatServiceType]不能为空");
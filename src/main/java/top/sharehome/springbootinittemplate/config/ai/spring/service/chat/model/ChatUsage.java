@@ -0,0 +1,50 @@
+package top.sharehome.springbootinittemplate.config.ai.spring.service.chat.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * Chat Token用量统计
+ *
+ * @author AntonyCheng
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Accessors(chain = true)
+public class ChatUsage implements Serializable {
+
+    /**
+     * 统计维度（用户ID或者“服务名称:模型名称”）
+     */
+    private String key;
+
+    /**
+     * 请求次数
+     */
+    private Long requests;
+
+    /**
+     * 提示词Token数
+     */
+    private Long promptTokens;
+
+    /**
+     * 回复Token数（包括思考内容）
+     */
+    private Long completionTokens;
+
+    /**
+     * 总Token数
+     */
+    private Long totalTokens;
+
+    @Serial
+    private static final long serialVersionUID = -3504217958601532719L;
+
+}
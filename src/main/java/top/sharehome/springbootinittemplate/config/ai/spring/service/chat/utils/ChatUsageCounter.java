@@ -0,0 +1,218 @@
+package top.sharehome.springbootinittemplate.config.ai.spring.service.chat.utils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.prompt.Prompt;
+import top.sharehome.springbootinittemplate.config.ai.spring.service.chat.manager.ChatManager;
+import top.sharehome.springbootinittemplate.config.ai.spring.service.chat.model.ChatModelBase;
+import top.sharehome.springbootinittemplate.config.ai.spring.service.chat.model.ChatUsage;
+import top.sharehome.springbootinittemplate.utils.satoken.LoginUtils;
+import top.sharehome.springbootinittemplate.utils.tokenizers.TikTokenUtils;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Chat Token用量计数器
+ * 按照用户和模型两个维度统计当前节点的请求次数和Token用量，用户维度只保留最近活跃的用户，重启后统计清零
+ * 每次对话通过{@link #track}获取一个跟踪器，提示词Token数在开始时计算，回复Token数随着回复片段增量计算
+ *
+ * @author AntonyCheng
+ */
+@Slf4j
+public class ChatUsageCounter {
+
+    /**
+     * 用户维度用量，超过一天未使用或者超过容量后淘汰
+     */
+    private static final Cache<Long, Counter> USER_COUNTERS = Caffeine.newBuilder()
+            .maximumSize(10000)
+            .expireAfterAccess(1, TimeUnit.DAYS)
+            .build();
+
+    /**
+     * 模型维度用量，键为“服务名称:模型名称”
+     */
+    private static final Map<String, Counter> MODEL_COUNTERS = new ConcurrentHashMap<>();
+
+    /**
+     * 开始跟踪一次对话，用户为当前登录用户
+     *
+     * @param model        模型
+     * @param systemPrompt 额外的系统提示词
+     * @param prompt       提示词
+     */
+    public static Tracker track(ChatModelBase model, String systemPrompt, Prompt prompt) {
+        return track(getLoginUserIdQuietly(), model, systemPrompt, prompt);
+    }
+
+    /**
+     * 开始跟踪一次对话
+     *
+     * @param userId       用户ID，为空时只统计模型维度
+     * @param model        模型
+     * @param systemPrompt 额外的系统提示词
+     * @param prompt       提示词
+     */
+    public static Tracker track(Long userId, ChatModelBase model, String systemPrompt, Prompt prompt) {
+        TikTokenUtils tikTokenUtils = new TikTokenUtils(ChatManager.getEncodingType(model));
+        return new Tracker(userId,
+                model.getChatServiceType().getValue() + ":" + model.getModel(),
+                tikTokenUtils.getPromptTokenNumber(systemPrompt, prompt),
+                TikTokenUtils.newStreamCounter(ChatManager.getEncodingType(model)));
+    }
+
+    /**
+     * 获取用户用量
+     *
+     * @param userId 用户ID
+     */
+    public static ChatUsage getUserUsage(Long userId) {
+        Counter counter = Objects.isNull(userId) ? null : USER_COUNTERS.getIfPresent(userId);
+        return Objects.isNull(counter) ? new ChatUsage(String.valueOf(userId), 0L, 0L, 0L, 0L) : counter.snapshot(String.valueOf(userId));
+    }
+
+    /**
+     * 获取模型用量
+     *
+     * @param modelService 服务名称
+     * @param modelName    模型名称
+     */
+    public static ChatUsage getModelUsage(String modelService, String modelName) {
+        String key = modelService + ":" + modelName;
+        Counter counter = MODEL_COUNTERS.get(key);
+        return Objects.isNull(counter) ? new ChatUsage(key, 0L, 0L, 0L, 0L) : counter.snapshot(key);
+    }
+
+    /**
+     * 获取全部模型用量，按照总Token数倒序
+     */
+    public static List<ChatUsage> getModelUsages() {
+        return MODEL_COUNTERS.entrySet().stream()
+                .map(entry -> entry.getValue().snapshot(entry.getKey()))
+                .sorted(Comparator.comparing(ChatUsage::getTotalTokens).reversed())
+                .toList();
+    }
+
+    /**
+     * 清空全部用量
+     */
+    public static void reset() {
+        USER_COUNTERS.invalidateAll();
+        MODEL_COUNTERS.clear();
+    }
+
+    /**
+     * 记录用量
+     */
+    private static void record(Long userId, String modelKey, int promptTokens, int completionTokens) {
+        MODEL_COUNTERS.computeIfAbsent(modelKey, k -> new Counter()).add(promptTokens, completionTokens);
+        if (Objects.nonNull(userId)) {
+            USER_COUNTERS.get(userId, k -> new Counter()).add(promptTokens, completionTokens);
+        }
+    }
+
+    /**
+     * 获取当前登录用户ID，非Web环境或者未登录时返回null
+     */
+    private static Long getLoginUserIdQuietly() {
+        try {
+            return LoginUtils.getLoginUserId();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * 单次对话用量跟踪器
+     * 回复片段需要按顺序追加，结束时记录一次用量，重复结束不会重复记录
+     */
+    public static class Tracker {
+
+        private final Long userId;
+
+        private final String modelKey;
+
+        private int promptTokens;
+
+        private final TikTokenUtils.StreamCounter completionCounter;
+
+        private final AtomicBoolean finished = new AtomicBoolean(false);
+
+        private Tracker(Long userId, String modelKey, int promptTokens, TikTokenUtils.StreamCounter completionCounter) {
+            this.userId = userId;
+            this.modelKey = modelKey;
+            this.promptTokens = promptTokens;
+            this.completionCounter = completionCounter;
+        }
+
+        /**
+         * 追加提示词Token数，例如拼接到提示词中的历史消息
+         *
+         * @param tokens Token数
+         */
+        public Tracker addPromptTokens(int tokens) {
+            promptTokens += tokens;
+            return this;
+        }
+
+        /**
+         * 追加回复片段
+         *
+         * @param content          回复内容片段
+         * @param reasoningContent 思考内容片段
+         */
+        public Tracker append(String content, String reasoningContent) {
+            completionCounter.append(content);
+            completionCounter.append(reasoningContent);
+            return this;
+        }
+
+        /**
+         * 结束跟踪并记录用量
+         *
+         * @return 提示词和回复的总Token数
+         */
+        public int finish() {
+            int completionTokens = completionCounter.finish();
+            if (finished.compareAndSet(false, true)) {
+                record(userId, modelKey, promptTokens, completionTokens);
+            }
+            return promptTokens + completionTokens;
+        }
+
+    }
+
+    /**
+     * 用量累加器
+     */
+    private static class Counter {
+
+        private final LongAdder requests = new LongAdder();
+
+        private final LongAdder promptTokens = new LongAdder();
+
+        private final LongAdder completionTokens = new LongAdder();
+
+        private void add(int prompt, int completion) {
+            requests.increment();
+            promptTokens.add(prompt);
+            completionTokens.add(completion);
+        }
+
+        private ChatUsage snapshot(String key) {
+            long prompt = promptTokens.sum();
+            long completion = completionTokens.sum();
+            return new ChatUsage(key, requests.sum(), prompt, completion, prompt + completion);
+        }
+
+    }
+
+}
@@ -1,11 +1,14 @@
 package top.sharehome.springbootinittemplate.config.ai.spring.service.embedding.impl;
 
+import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingResponse;
 import org.springframework.stereotype.Service;
 import top.sharehome.springbootinittemplate.common.base.ReturnCode;
+import top.sharehome.springbootinittemplate.config.ai.spring.scheduler.AiExecutionScheduler;
 import top.sharehome.springbootinittemplate.config.ai.spring.service.embedding.AiEmbeddingService;
 import top.sharehome.springbootinittemplate.config.ai.spring.service.embedding.manager.EmbeddingManager;
 import top.sharehome.springbootinittemplate.config.ai.spring.service.embedding.model.EmbeddingModelBase;
@@ -23,11 +26,13 @@ import java.util.List;
 @Slf4j
 public class AiEmbeddingServiceImpl implements AiEmbeddingService {
 
+    @Resource
+    private AiExecutionScheduler aiExecutionScheduler;
+
     @Override
     public float[] embedToArray(EmbeddingModelBase model, String text) {
         this.validateText(text);
-        return EmbeddingManager
-                .getEmbeddingResponse(model, List.of(text))
+        return this.getEmbeddingResponse(model, List.of(text))
                 .getResult()
                 .getOutput();
     }
@@ -40,8 +45,7 @@ public class AiEmbeddingServiceImpl implements AiEmbeddingService {
     @Override
     public List<float[]> embedToArrayList(EmbeddingModelBase model, List<String> text) {
         this.validateText(text);
-        return EmbeddingManager
-                .getEmbeddingResponse(model, text)
+        return this.getEmbeddingResponse(model, text)
                 .getResults()
                 .stream()
                 .map(Embedding::getOutput)
@@ -56,8 +60,7 @@ public class AiEmbeddingServiceImpl implements AiEmbeddingService {
     @Override
     public List<Embedding> embedToEmbeddingList(EmbeddingModelBase model, List<String> text) {
         this.validateText(text);
-        return EmbeddingManager
-                .getEmbeddingResponse(model, text)
+        return this.getEmbeddingResponse(model, text)
                 .getResults();
     }
 
@@ -70,7 +73,19 @@ public class AiEmbeddingServiceImpl implements AiEmbeddingService {
     public EmbeddingResult embedToResult(EmbeddingModelBase model, List<String> text) {
         this.validateText(text);
         return EmbeddingResult
-                .buildResult(EmbeddingManager.getEmbeddingResponse(model, text), text);
+                .buildResult(this.getEmbeddingResponse(model, text), text);
+    }
+
+    /**
+     * 通过调度器获取Embedding响应，受模型并发限制和熔断保护
+     *
+     * @param model 模型
+     * @param text  文本列表
+     */
+    private EmbeddingResponse getEmbeddingResponse(EmbeddingModelBase model, List<String> text) {
+        String modelKey = StringUtils.isNotBlank(model.getSchedulerKey()) ? model.getSchedulerKey()
+                : AiExecutionScheduler.getModelKey("embedding", model.getEmbeddingServiceType().getValue(), model.getModel());
+        return aiExecutionScheduler.execute(modelKey, () -> EmbeddingManager.getEmbeddingResponse(model, text));
     }
 
     private void validateText(String text) {
@@ -2,8 +2,6 @@ package top.sharehome.springbootinittemplate.config.ai.spring.service.embedding.
 
 import com.azure.ai.openai.OpenAIClientBuilder;
 import com.azure.core.credential.AzureKeyCredential;
-import com.azure.core.http.HttpClient;
-import com.azure.core.util.HttpClientOptions;
 import io.micrometer.observation.ObservationRegistry;
 import org.springframework.ai.azure.openai.AzureOpenAiEmbeddingModel;
 import org.springframework.ai.azure.openai.AzureOpenAiEmbeddingOptions;
@@ -13,6 +11,7 @@ import org.springframework.ai.embedding.EmbeddingResponse;
 import org.springframework.ai.minimax.MiniMaxEmbeddingModel;
 import org.springframework.ai.minimax.MiniMaxEmbeddingOptions;
 import org.springframework.ai.minimax.api.MiniMaxApi;
+import org.springframework.ai.minimax.api.MiniMaxApiConstants;
 import org.springframework.ai.mistralai.MistralAiEmbeddingModel;
 import org.springframework.ai.mistralai.MistralAiEmbeddingOptions;
 import org.springframework.ai.mistralai.api.MistralAiApi;
@@ -23,28 +22,39 @@ import org.springframework.ai.ollama.management.ModelManagementOptions;
 import org.springframework.ai.openai.OpenAiEmbeddingModel;
 import org.springframework.ai.openai.OpenAiEmbeddingOptions;
 import org.springframework.ai.openai.api.OpenAiApi;
+import org.springframework.ai.retry.RetryUtils;
 import org.springframework.ai.zhipuai.ZhiPuAiEmbeddingModel;
 import org.springframework.ai.zhipuai.ZhiPuAiEmbeddingOptions;
 import org.springframework.ai.zhipuai.api.ZhiPuAiApi;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
-import org.springframework.retry.support.RetryTemplate;
 import org.springframework.web.client.RestClient;
 import top.sharehome.springbootinittemplate.common.base.ReturnCode;
+import top.sharehome.springbootinittemplate.config.ai.spring.client.AiClientRegistry;
+import top.sharehome.springbootinittemplate.config.ai.spring.client.AiHttpClientFactory;
 import top.sharehome.springbootinittemplate.config.ai.spring.service.embedding.model.EmbeddingModelBase;
 import top.sharehome.springbootinittemplate.config.ai.spring.service.embedding.model.entity.*;
+import top.sharehome.springbootinittemplate.config.bean.SpringContextHolder;
 import top.sharehome.springbootinittemplate.exception.customize.CustomizeAiException;
 
-import java.time.Duration;
 import java.util.List;
-import java.util.Objects;
 
 /**
  * AI Embedding管理器
+ * 构建好的EmbeddingModel按照模型配置缓存在客户端注册表中复用，底层请求使用按服务方共享的连接池
  *
  * @author AntonyCheng
  */
 public class EmbeddingManager {
 
+    /**
+     * 引入AI客户端注册表
+     */
+    private static final AiClientRegistry CLIENT_REGISTRY = SpringContextHolder.getBean(AiClientRegistry.class);
+
+    /**
+     * 引入AI服务HTTP连接工厂
+     */
+    private static final AiHttpClientFactory HTTP_CLIENT_FACTORY = SpringContextHolder.getBean(AiHttpClientFactory.class);
+
     /**
      * 获得向量响应对象
      */
@@ -56,6 +66,13 @@ public class EmbeddingManager {
      * 获得向量模型对象
      */
     public static EmbeddingModel getEmbeddingModel(EmbeddingModelBase model) {
+        return CLIENT_REGISTRY.getOrCreate("EMBEDDING_MODEL", model, () -> createEmbeddingModel(model));
+    }
+
+    /**
+     * 构建向量模型对象
+     */
+    private static EmbeddingModel createEmbeddingModel(EmbeddingModelBase model) {
         if (model instanceof OpenAiEmbeddingEntity entity) {
             return getOpenAiEmbeddingModel(entity);
         } else if (model instanceof OllamaEmbeddingEntity entity) {
@@ -84,7 +101,7 @@ public class EmbeddingManager {
                 .build();
         return new OpenAiEmbeddingModel(openAiApi, MetadataMode.EMBED, OpenAiEmbeddingOptions.builder()
                 .model(entity.getModel())
-                .build(), RetryTemplate.defaultInstance(), ObservationRegistry.NOOP);
+                .build(), RetryUtils.DEFAULT_RETRY_TEMPLATE, ObservationRegistry.NOOP);
     }
 
     /**
@@ -104,31 +121,31 @@ public class EmbeddingManager {
      * 获取ZhiPuAiEmbeddingModel
      */
     private static ZhiPuAiEmbeddingModel getZhiPuAiEmbeddingModel(ZhiPuAiEmbeddingEntity entity) {
-        return new ZhiPuAiEmbeddingModel(ZhiPuAiApi.builder().apiKey(entity.getApiKey()).build(),
+        return new ZhiPuAiEmbeddingModel(ZhiPuAiApi.builder().apiKey(entity.getApiKey()).restClientBuilder(getRestClient(entity)).build(),
                 MetadataMode.EMBED, ZhiPuAiEmbeddingOptions.builder()
                 .model(entity.getModel())
-                .build(), RetryTemplate.defaultInstance(), ObservationRegistry.NOOP);
+                .build(), RetryUtils.DEFAULT_RETRY_TEMPLATE, ObservationRegistry.NOOP);
     }
 
     /**
      * 获取MistralAiEmbeddingModel
      */
     private static MistralAiEmbeddingModel getMistralAiEmbeddingModel(MistralAiEmbeddingEntity entity) {
-        return new MistralAiEmbeddingModel(MistralAiApi.builder().apiKey(entity.getApiKey()).build(),
+        return new MistralAiEmbeddingModel(MistralAiApi.builder().apiKey(entity.getApiKey()).restClientBuilder(getRestClient(entity)).build(),
                 MetadataMode.EMBED, MistralAiEmbeddingOptions.builder()
                 .withEncodingFormat("float")
                 .withModel(entity.getModel())
-                .build(), RetryTemplate.defaultInstance(), ObservationRegistry.NOOP);
+                .build(), RetryUtils.DEFAULT_RETRY_TEMPLATE, ObservationRegistry.NOOP);
     }
 
     /**
      * 获取MiniMaxEmbeddingModel
      */
     private static MiniMaxEmbeddingModel getMiniMaxEmbeddingModel(MiniMaxEmbeddingEntity entity) {
-        MiniMaxApi miniMaxApi = new MiniMaxApi(entity.getApiKey());
+        MiniMaxApi miniMaxApi = new MiniMaxApi(MiniMaxApiConstants.DEFAULT_BASE_URL, entity.getApiKey(), getRestClient(entity), RetryUtils.DEFAULT_RESPONSE_ERROR_HANDLER);
         return new MiniMaxEmbeddingModel(miniMaxApi, MetadataMode.EMBED, MiniMaxEmbeddingOptions.builder()
                 .model(entity.getModel())
-                .build(), RetryTemplate.defaultInstance(), ObservationRegistry.NOOP);
+                .build(), RetryUtils.DEFAULT_RETRY_TEMPLATE, ObservationRegistry.NOOP);
     }
 
     /**
@@ -136,9 +153,7 @@ public class EmbeddingManager {
      */
     private static AzureOpenAiEmbeddingModel getAzureOpenAiEmbeddingModel(AzureOpenAiEmbeddingEntity entity) {
         OpenAIClientBuilder clientBuilder = new OpenAIClientBuilder()
-                .httpClient(HttpClient.createDefault(
-                        new HttpClientOptions().setReadTimeout(Duration.ofMillis(entity.getReadTimeout()))
-                ))
+                .httpClient(HTTP_CLIENT_FACTORY.getAzureHttpClient(entity.getReadTimeout()))
                 .credential(new AzureKeyCredential(entity.getApiKey()))
                 .endpoint(entity.getEndpoint())
                 .serviceVersion(entity.getModelVersion());
@@ -151,11 +166,7 @@ public class EmbeddingManager {
      * 获取请求构造类
      */
     private static RestClient.Builder getRestClient(EmbeddingModelBase model) {
-        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
-        if (Objects.nonNull(model.getReadTimeout())) {
-            requestFactory.setReadTimeout(Duration.ofMillis(model.getReadTimeout()));
-        }
-        return RestClient.builder().requestFactory(requestFactory);
+        return HTTP_CLIENT_FACTORY.getRestClientBuilder(model.getEmbeddingServiceType().name(), model.getReadTimeout());
     }
 
 }
@@ -1,5 +1,6 @@
 package top.sharehome.springbootinittemplate.config.ai.spring.service.embedding.model;
 
+import com.alibaba.fastjson2.annotation.JSONField;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -29,6 +30,14 @@ public abstract class EmbeddingModelBase {
     @Setter
     protected Long readTimeout;
 
+    /**
+     * 调度器中的模型键，为空时按照“类型:服务:名称”调度，来自模型表的模型使用模型ID区分
+     * 只影响调度，不参与客户端缓存键的计算
+     */
+    @Setter
+    @JSONField(serialize = false)
+    protected String schedulerKey;
+
     public EmbeddingModelBase(EmbeddingServiceType embeddingServiceType, Long readTimeout) {
         if (Objects.isNull(embeddingServiceType)) {
             throw new CustomizeAiException(ReturnCode.PARAMETER_FORMAT_MISMATCH, "参数[embeddingServiceType]不能为空");
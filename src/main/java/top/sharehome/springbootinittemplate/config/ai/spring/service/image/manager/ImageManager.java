@@ -3,8 +3,6 @@ package top.sharehome.springbootinittemplate.config.ai.spring.service.image.mana
 import com.azure.ai.openai.OpenAIClient;
 import com.azure.ai.openai.OpenAIClientBuilder;
 import com.azure.core.credential.AzureKeyCredential;
-import com.azure.core.http.HttpClient;
-import com.azure.core.util.HttpClientOptions;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.ai.azure.openai.AzureOpenAiImageModel;
 import org.springframework.ai.azure.openai.AzureOpenAiImageOptions;
@@ -19,31 +17,51 @@ import org.springframework.ai.stabilityai.api.StabilityAiImageOptions;
 import org.springframework.ai.zhipuai.ZhiPuAiImageModel;
 import org.springframework.ai.zhipuai.ZhiPuAiImageOptions;
 import org.springframework.ai.zhipuai.api.ZhiPuAiImageApi;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.ai.zhipuai.api.ZhiPuApiConstants;
 import org.springframework.web.client.DefaultResponseErrorHandler;
 import org.springframework.web.client.RestClient;
 import top.sharehome.springbootinittemplate.common.base.ReturnCode;
+import top.sharehome.springbootinittemplate.config.ai.spring.client.AiClientRegistry;
+import top.sharehome.springbootinittemplate.config.ai.spring.client.AiHttpClientFactory;
 import top.sharehome.springbootinittemplate.config.ai.spring.service.image.model.ImageModelBase;
 import top.sharehome.springbootinittemplate.config.ai.spring.service.image.model.entity.AzureOpenAiImageEntity;
 import top.sharehome.springbootinittemplate.config.ai.spring.service.image.model.entity.OpenAiImageEntity;
 import top.sharehome.springbootinittemplate.config.ai.spring.service.image.model.entity.StabilityAiImageEntity;
 import top.sharehome.springbootinittemplate.config.ai.spring.service.image.model.entity.ZhiPuAiImageEntity;
+import top.sharehome.springbootinittemplate.config.bean.SpringContextHolder;
 import top.sharehome.springbootinittemplate.exception.customize.CustomizeAiException;
 
-import java.time.Duration;
 import java.util.Objects;
 
 /**
  * AI Image管理器
+ * 构建好的ImageModel按照模型配置缓存在客户端注册表中复用，底层请求使用按服务方共享的连接池
  *
  * @author AntonyCheng
  */
 public class ImageManager {
 
+    /**
+     * 引入AI客户端注册表
+     */
+    private static final AiClientRegistry CLIENT_REGISTRY = SpringContextHolder.getBean(AiClientRegistry.class);
+
+    /**
+     * 引入AI服务HTTP连接工厂
+     */
+    private static final AiHttpClientFactory HTTP_CLIENT_FACTORY = SpringContextHolder.getBean(AiHttpClientFactory.class);
+
     /**
      * 获取图像响应对象
      */
     public static ImageModel getImageModel(ImageModelBase model) {
+        return CLIENT_REGISTRY.getOrCreate("IMAGE_MODEL", model, () -> createImageModel(model));
+    }
+
+    /**
+     * 构建图像模型对象
+     */
+    private static ImageModel createImageModel(ImageModelBase model) {
         if (model instanceof OpenAiImageEntity entity) {
             return getOpenAiImageModel(entity);
         } else if (model instanceof StabilityAiImageEntity entity) {
@@ -65,7 +83,6 @@ public class ImageManager {
                 .restClientBuilder(getRestClient(entity))
                 .baseUrl(entity.getBaseUrl())
                 .apiKey(entity.getApiKey())
-                .restClientBuilder(RestClient.builder())
                 .responseErrorHandler(new DefaultResponseErrorHandler())
                 .build();
         return new OpenAiImageModel(openAiImageApi, OpenAiImageOptions.builder()
@@ -82,9 +99,7 @@ public class ImageManager {
      */
     private static AzureOpenAiImageModel getAzureOpenAiImageModel(AzureOpenAiImageEntity entity) {
         OpenAIClient openAiClient = new OpenAIClientBuilder()
-                .httpClient(HttpClient.createDefault(
-                        new HttpClientOptions().setReadTimeout(Duration.ofMillis(entity.getReadTimeout()))
-                ))
+                .httpClient(HTTP_CLIENT_FACTORY.getAzureHttpClient(entity.getReadTimeout()))
                 .credential(new AzureKeyCredential(entity.getApiKey()))
                 .endpoint(entity.getEndpoint())
                 .buildClient();
@@ -121,7 +136,7 @@ public class ImageManager {
      * 获取ZhiPuAiImageModel
      */
     private static ZhiPuAiImageModel getZhiPuAiImageModel(ZhiPuAiImageEntity entity) {
-        ZhiPuAiImageApi zhiPuAiImageApi = new ZhiPuAiImageApi(entity.getApiKey());
+        ZhiPuAiImageApi zhiPuAiImageApi = new ZhiPuAiImageApi(ZhiPuApiConstants.DEFAULT_BASE_URL, entity.getApiKey(), getRestClient(entity));
         return new ZhiPuAiImageModel(zhiPuAiImageApi, ZhiPuAiImageOptions.builder()
                 .model(entity.getModel())
                 .user(StringUtils.isBlank(entity.getUser()) ? null : entity.getUser())
@@ -132,11 +147,7 @@ public class ImageManager {
      * 获取请求构造类
      */
     private static RestClient.Builder getRestClient(ImageModelBase model) {
-        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
-        if (Objects.nonNull(model.getReadTimeout())) {
-            requestFactory.setReadTimeout(Duration.ofMillis(model.getReadTimeout()));
-        }
-        return RestClient.builder().requestFactory(requestFactory);
+        return HTTP_CLIENT_FACTORY.getRestClientBuilder(model.getImageServiceType().name(), model.getReadTimeout());
     }
 
 }
@@ -3,8 +3,6 @@ package top.sharehome.springbootinittemplate.config.ai.spring.service.transcript
 import com.azure.ai.openai.OpenAIClient;
 import com.azure.ai.openai.OpenAIClientBuilder;
 import com.azure.core.credential.AzureKeyCredential;
-import com.azure.core.http.HttpClient;
-import com.azure.core.util.HttpClientOptions;
 import org.springframework.ai.audio.transcription.AudioTranscriptionPrompt;
 import org.springframework.ai.audio.transcription.AudioTranscriptionResponse;
 import org.springframework.ai.azure.openai.AzureOpenAiAudioTranscriptionModel;
@@ -14,29 +12,48 @@ import org.springframework.ai.openai.OpenAiAudioTranscriptionModel;
 import org.springframework.ai.openai.OpenAiAudioTranscriptionOptions;
 import org.springframework.ai.openai.api.OpenAiAudioApi;
 import org.springframework.ai.retry.RetryUtils;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.DefaultResponseErrorHandler;
 import org.springframework.web.client.RestClient;
 import top.sharehome.springbootinittemplate.common.base.ReturnCode;
+import top.sharehome.springbootinittemplate.config.ai.spring.client.AiClientRegistry;
+import top.sharehome.springbootinittemplate.config.ai.spring.client.AiHttpClientFactory;
 import top.sharehome.springbootinittemplate.config.ai.spring.service.transcription.model.TranscriptionModelBase;
 import top.sharehome.springbootinittemplate.config.ai.spring.service.transcription.model.entity.AzureOpenAiTranscriptionEntity;
 import top.sharehome.springbootinittemplate.config.ai.spring.service.transcription.model.entity.OpenAiTranscriptionEntity;
+import top.sharehome.springbootinittemplate.config.bean.SpringContextHolder;
 import top.sharehome.springbootinittemplate.exception.customize.CustomizeAiException;
 
-import java.time.Duration;
 import java.util.Objects;
 
 /**
  * AI Transcription管理器
+ * 构建好的模型按照模型配置缓存在客户端注册表中复用，底层请求使用按服务方共享的连接池
  *
  * @author AntonyCheng
  */
 public class TranscriptionManager {
 
+    /**
+     * 引入AI客户端注册表
+     */
+    private static final AiClientRegistry CLIENT_REGISTRY = SpringContextHolder.getBean(AiClientRegistry.class);
+
+    /**
+     * 引入AI服务HTTP连接工厂
+     */
+    private static final AiHttpClientFactory HTTP_CLIENT_FACTORY = SpringContextHolder.getBean(AiHttpClientFactory.class);
+
     /**
      * 获取图像响应对象
      */
     public static Model<AudioTranscriptionPrompt, AudioTranscriptionResponse> getImageModel(TranscriptionModelBase model) {
+        return CLIENT_REGISTRY.getOrCreate("TRANSCRIPTION_MODEL", model, () -> createTranscriptionModel(model));
+    }
+
+    /**
+     * 构建语音转录模型对象
+     */
+    private static Model<AudioTranscriptionPrompt, AudioTranscriptionResponse> createTranscriptionModel(TranscriptionModelBase model) {
         if (model instanceof OpenAiTranscriptionEntity entity) {
             return getOpenAiAudioTranscriptionModel(entity);
         } else if (model instanceof AzureOpenAiTranscriptionEntity entity) {
@@ -54,7 +71,6 @@ public class TranscriptionManager {
                 .restClientBuilder(getRestClient(entity))
                 .baseUrl(entity.getBaseUrl())
                 .apiKey(entity.getApiKey())
-                .restClientBuilder(RestClient.builder())
                 .responseErrorHandler(new DefaultResponseErrorHandler())
                 .build();
         return new OpenAiAudioTranscriptionModel(openAiAudioApi, OpenAiAudioTranscriptionOptions.builder()
@@ -70,9 +86,7 @@ public class TranscriptionManager {
      */
     private static AzureOpenAiAudioTranscriptionModel getAzureOpenAiAudioTranscriptionModel(AzureOpenAiTranscriptionEntity entity) {
         OpenAIClient openAiClient = new OpenAIClientBuilder()
-                .httpClient(HttpClient.createDefault(
-                        new HttpClientOptions().setReadTimeout(Duration.ofMillis(entity.getReadTimeout()))
-                ))
+                .httpClient(HTTP_CLIENT_FACTORY.getAzureHttpClient(entity.getReadTimeout()))
                 .credential(new AzureKeyCredential(entity.getApiKey()))
                 .endpoint(entity.getEndpoint())
                 .buildClient();
@@ -88,11 +102,7 @@ public class TranscriptionManager {
      * 获取请求构造类
      */
     private static RestClient.Builder getRestClient(TranscriptionModelBase model) {
-        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
-        if (Objects.nonNull(model.getReadTimeout())) {
-            requestFactory.setReadTimeout(Duration.ofMillis(model.getReadTimeout()));
-        }
-        return RestClient.builder().requestFactory(requestFactory);
+        return HTTP_CLIENT_FACTORY.getRestClientBuilder(model.getTranscriptionServiceType().name(), model.getReadTimeout());
     }
 
 }
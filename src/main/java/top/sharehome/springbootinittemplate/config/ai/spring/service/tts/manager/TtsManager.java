@@ -4,25 +4,45 @@ import org.springframework.ai.openai.OpenAiAudioSpeechModel;
 import org.springframework.ai.openai.OpenAiAudioSpeechOptions;
 import org.springframework.ai.openai.api.OpenAiAudioApi;
 import org.springframework.ai.retry.RetryUtils;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.DefaultResponseErrorHandler;
 import org.springframework.web.client.RestClient;
 import top.sharehome.springbootinittemplate.common.base.ReturnCode;
+import top.sharehome.springbootinittemplate.config.ai.spring.client.AiClientRegistry;
+import top.sharehome.springbootinittemplate.config.ai.spring.client.AiHttpClientFactory;
 import top.sharehome.springbootinittemplate.config.ai.spring.service.tts.model.TtsModelBase;
 import top.sharehome.springbootinittemplate.config.ai.spring.service.tts.model.entity.OpenAiTtsEntity;
+import top.sharehome.springbootinittemplate.config.bean.SpringContextHolder;
 import top.sharehome.springbootinittemplate.exception.customize.CustomizeAiException;
 
-import java.time.Duration;
-import java.util.Objects;
-
 /**
- * AI Transcription管理器
+ * AI Tts管理器
+ * 构建好的模型按照模型配置缓存在客户端注册表中复用，底层请求使用按服务方共享的连接池
  *
  * @author AntonyCheng
  */
 public class TtsManager {
 
+    /**
+     * 引入AI客户端注册表
+     */
+    private static final AiClientRegistry CLIENT_REGISTRY = SpringContextHolder.getBean(AiClientRegistry.class);
+
+    /**
+     * 引入AI服务HTTP连接工厂
+     */
+    private static final AiHttpClientFactory HTTP_CLIENT_FACTORY = SpringContextHolder.getBean(AiHttpClientFactory.class);
+
+    /**
+     * 获取语音合成模型对象
+     */
     public static OpenAiAudioSpeechModel getTtsModel(TtsModelBase model) {
+        return CLIENT_REGISTRY.getOrCreate("TTS_MODEL", model, () -> createTtsModel(model));
+    }
+
+    /**
+     * 构建语音合成模型对象
+     */
+    private static OpenAiAudioSpeechModel createTtsModel(TtsModelBase model) {
         if (model instanceof OpenAiTtsEntity entity) {
             return getOpenAiAudioSpeechModel(entity);
         } else {
@@ -38,7 +58,6 @@ public class TtsManager {
                 .restClientBuilder(getRestClient(entity))
                 .baseUrl(entity.getBaseUrl())
                 .apiKey(entity.getApiKey())
-                .restClientBuilder(RestClient.builder())
                 .responseErrorHandler(new DefaultResponseErrorHandler())
                 .build();
         return new OpenAiAudioSpeechModel(openAiAudioApi, OpenAiAudioSpeechOptions.builder()
@@ -52,11 +71,7 @@ public class TtsManager {
      * 获取请求构造类
      */
     private static RestClient.Builder getRestClient(TtsModelBase model) {
-        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
-        if (Objects.nonNull(model.getReadTimeout())) {
-            requestFactory.setReadTimeout(Duration.ofMillis(model.getReadTimeout()));
-        }
-        return RestClient.builder().requestFactory(requestFactory);
+        return HTTP_CLIENT_FACTORY.getRestClientBuilder(model.getTtsServiceType().name(), model.getReadTimeout());
     }
 
 }
@@ -0,0 +1,27 @@
+package top.sharehome.springbootinittemplate.config.ai.spring.vector.ingest;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import top.sharehome.springbootinittemplate.config.ai.spring.vector.ingest.properties.ChunkIngestProperties;
+
+/**
+ * 数据块向量化入库配置
+ *
+ * @author AntonyCheng
+ */
+@Configuration
+@EnableConfigurationProperties(ChunkIngestProperties.class)
+@Slf4j
+public class ChunkIngestConfiguration {
+
+    /**
+     * 依赖注入日志输出
+     */
+    @PostConstruct
+    private void initDi() {
+        log.info("############ {} Configuration DI.", this.getClass().getSimpleName().split("\\$\\$")[0]);
+    }
+
+}
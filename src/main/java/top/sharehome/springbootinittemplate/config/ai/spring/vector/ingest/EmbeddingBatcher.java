@@ -0,0 +1,61 @@
+package top.sharehome.springbootinittemplate.config.ai.spring.vector.ingest;
+
+import com.knuddels.jtokkit.api.EncodingType;
+import top.sharehome.springbootinittemplate.config.ai.spring.service.embedding.model.EmbeddingModelBase;
+import top.sharehome.springbootinittemplate.config.ai.spring.vector.ingest.properties.ChunkIngestProperties;
+import top.sharehome.springbootinittemplate.utils.tokenizers.TikTokenUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 向量化微批切分器
+ * 按照服务方的单次请求数量上限和Token上限把数据块切分为多个批次，每个批次对应一次向量化请求
+ * Token数使用cl100k_base编码估算，各服务方的实际分词结果会有差异，因此Token上限需要预留余量
+ *
+ * @author AntonyCheng
+ */
+public class EmbeddingBatcher {
+
+    private static final TikTokenUtils TOKEN_ESTIMATOR = new TikTokenUtils(EncodingType.CL100K_BASE);
+
+    /**
+     * 切分批次
+     *
+     * @param chunkIngestProperties 入库配置
+     * @param model                 向量模型
+     * @param texts                 数据块内容
+     * @return 数据块下标批次，保持原有顺序
+     */
+    public static List<List<Integer>> split(ChunkIngestProperties chunkIngestProperties, EmbeddingModelBase model, List<String> texts) {
+        int batchSize = getBatchSize(chunkIngestProperties, model);
+        int batchMaxTokens = chunkIngestProperties.getBatchMaxTokens();
+        List<List<Integer>> res = new ArrayList<>();
+        List<Integer> batch = new ArrayList<>(batchSize);
+        int batchTokens = 0;
+        for (int i = 0; i < texts.size(); i++) {
+            int tokens = TOKEN_ESTIMATOR.getTokenNumber(texts.get(i));
+            if (!batch.isEmpty() && (batch.size() >= batchSize || batchTokens + tokens > batchMaxTokens)) {
+                res.add(batch);
+                batch = new ArrayList<>(batchSize);
+                batchTokens = 0;
+            }
+            batch.add(i);
+            batchTokens += tokens;
+        }
+        if (!batch.isEmpty()) {
+            res.add(batch);
+        }
+        return res;
+    }
+
+    /**
+     * 获取服务方单次请求数量上限
+     */
+    private static int getBatchSize(ChunkIngestProperties chunkIngestProperties, EmbeddingModelBase model) {
+        Integer batchSize = chunkIngestProperties.getBatchSizes().get(model.getEmbeddingServiceType().getValue());
+        return Math.max(1, Objects.isNull(batchSize) ? chunkIngestProperties.getBatchSize() : batchSize);
+    }
+
+}
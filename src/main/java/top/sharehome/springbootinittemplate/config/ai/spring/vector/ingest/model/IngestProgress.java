@@ -0,0 +1,66 @@
+package top.sharehome.springbootinittemplate.config.ai.spring.vector.ingest.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 文档入库进度
+ *
+ * @author AntonyCheng
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Accessors(chain = true)
+public class IngestProgress implements Serializable {
+
+    /**
+     * 文档ID
+     */
+    private Long documentId;
+
+    /**
+     * 状态（0表示入库中，1表示入库完成，2表示入库中断）
+     */
+    private volatile Integer state;
+
+    /**
+     * 数据块总数
+     */
+    private volatile Integer total;
+
+    /**
+     * 向量化成功并已写入的数据块数
+     */
+    private volatile Integer succeeded;
+
+    /**
+     * 向量化失败并已写入的数据块数（状态为训练失败）
+     */
+    private volatile Integer failed;
+
+    /**
+     * 入库中断原因
+     */
+    private volatile String error;
+
+    /**
+     * 开始时间
+     */
+    private LocalDateTime startTime;
+
+    /**
+     * 结束时间
+     */
+    private volatile LocalDateTime finishTime;
+
+    @Serial
+    private static final long serialVersionUID = 3412086207784125601L;
+
+}
@@ -0,0 +1,55 @@
+package top.sharehome.springbootinittemplate.config.ai.spring.vector.ingest.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 数据块向量化入库配置属性
+ *
+ * @author AntonyCheng
+ */
+@Data
+@ConfigurationProperties(prefix = "ai.chunk-ingest")
+public class ChunkIngestProperties {
+
+    /**
+     * 每次向量化请求默认最多包含的数据块数
+     */
+    private Integer batchSize = 64;
+
+    /**
+     * 各个服务方每次向量化请求最多包含的数据块数，键为服务方标识（openai、ollama、zhipu、mistralai、minimax、azureopenai），未配置时使用batchSize
+     */
+    private Map<String, Integer> batchSizes = new HashMap<>(Map.of(
+            "openai", 256,
+            "azureopenai", 256,
+            "mistralai", 128,
+            "zhipu", 64,
+            "minimax", 64,
+            "ollama", 32
+    ));
+
+    /**
+     * 每次向量化请求最多包含的Token数，避免超过服务方单次请求的Token上限
+     */
+    private Integer batchMaxTokens = 60000;
+
+    /**
+     * 同时进行的向量化请求数
+     */
+    private Integer parallelism = 4;
+
+    /**
+     * 每次批量写入数据库的数据块数
+     */
+    private Integer writeBatchSize = 500;
+
+    /**
+     * 入库进度保留时间，单位：秒
+     */
+    private Long progressExpired = 86400L;
+
+}
@@ -0,0 +1,15 @@
+package top.sharehome.springbootinittemplate.config.ai.spring.vector.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Mapper;
+import top.sharehome.springbootinittemplate.config.ai.spring.vector.model.entity.ChatCache;
+
+/**
+ * 对话语义缓存Mapper类
+ *
+ * @author AntonyCheng
+ */
+@Mapper
+public interface ChatCacheMapper extends BaseMapper<ChatCache> {
+
+}
@@ -0,0 +1,56 @@
+package top.sharehome.springbootinittemplate.config.ai.spring.vector.model.bo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+import top.sharehome.springbootinittemplate.config.ai.spring.service.embedding.model.EmbeddingModelBase;
+import top.sharehome.springbootinittemplate.config.ai.spring.vector.model.enums.VectorDistanceType;
+
+/**
+ * 数据块混合检索条件Bo类
+ *
+ * @author AntonyCheng
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Accessors(chain = true)
+public class ChunkHybridSearchBo {
+
+    /**
+     * 查询文本
+     */
+    private String query;
+
+    /**
+     * 向量模型，需要和数据块入库时使用的模型一致
+     */
+    private EmbeddingModelBase embeddingModel;
+
+    /**
+     * 返回条数
+     */
+    private Integer limit;
+
+    /**
+     * 知识库ID，为空表示不过滤
+     */
+    private Long knowledgeId;
+
+    /**
+     * 文档ID，为空表示不过滤
+     */
+    private Long documentId;
+
+    /**
+     * 向量检索距离类型，默认余弦距离
+     */
+    private VectorDistanceType distanceType;
+
+    /**
+     * 是否重排，默认存在重排器时重排
+     */
+    private Boolean rerank;
+
+}
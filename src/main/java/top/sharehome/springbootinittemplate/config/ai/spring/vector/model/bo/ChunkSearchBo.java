@@ -0,0 +1,73 @@
+package top.sharehome.springbootinittemplate.config.ai.spring.vector.model.bo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+import top.sharehome.springbootinittemplate.config.ai.spring.vector.model.enums.VectorDistanceType;
+import top.sharehome.springbootinittemplate.config.ai.spring.vector.search.properties.enums.VectorFilterStrategy;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * 数据块检索条件Bo类
+ * 为空的调优参数使用向量检索配置中的默认值
+ *
+ * @author AntonyCheng
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Accessors(chain = true)
+public class ChunkSearchBo implements Serializable {
+
+    /**
+     * 查询向量
+     */
+    private float[] queryVector;
+
+    /**
+     * 距离类型，默认余弦距离
+     */
+    private VectorDistanceType distanceType;
+
+    /**
+     * 返回条数
+     */
+    private Integer limit;
+
+    /**
+     * 知识库ID，为空表示不过滤
+     */
+    private Long knowledgeId;
+
+    /**
+     * 文档ID，为空表示不过滤
+     */
+    private Long documentId;
+
+    /**
+     * 过滤策略
+     */
+    private VectorFilterStrategy filterStrategy;
+
+    /**
+     * HNSW索引候选列表大小
+     */
+    private Integer efSearch;
+
+    /**
+     * IVFFlat索引扫描聚类数
+     */
+    private Integer probes;
+
+    /**
+     * 是否使用半精度计算距离
+     */
+    private Boolean halfPrecision;
+
+    @Serial
+    private static final long serialVersionUID = 6021938485720163348L;
+
+}
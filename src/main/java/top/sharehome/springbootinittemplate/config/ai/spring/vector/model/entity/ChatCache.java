@@ -0,0 +1,108 @@
+package top.sharehome.springbootinittemplate.config.ai.spring.vector.model.entity;
+
+import com.baomidou.mybatisplus.annotation.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+import top.sharehome.springbootinittemplate.config.mybatisplus.handler.FloatArrayTypeHandler;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 对话语义缓存类
+ *
+ * @author AntonyCheng
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@TableName(value = "t_chat_cache")
+@Accessors(chain = true)
+public class ChatCache implements Serializable {
+
+    /**
+     * ID
+     */
+    @TableId(value = "cache_id", type = IdType.ASSIGN_ID)
+    private Long id;
+
+    /**
+     * 命名空间（Chat服务名称:模型名称:缓存范围）
+     */
+    @TableField(value = "cache_namespace")
+    private String namespace;
+
+    /**
+     * 向量模型（Embedding服务名称:模型名称）
+     */
+    @TableField(value = "cache_embedding_model")
+    private String embeddingModel;
+
+    /**
+     * 系统提示词摘要
+     */
+    @TableField(value = "cache_system_hash")
+    private String systemHash;
+
+    /**
+     * 归一化后的提示词
+     */
+    @TableField(value = "cache_prompt")
+    private String prompt;
+
+    /**
+     * 回复内容
+     */
+    @TableField(value = "cache_content")
+    private String content;
+
+    /**
+     * 思考内容
+     */
+    @TableField(value = "cache_reasoning_content")
+    private String reasoningContent;
+
+    /**
+     * 提示词向量数据
+     */
+    @TableField(value = "cache_embedding", typeHandler = FloatArrayTypeHandler.class)
+    private float[] embedding;
+
+    /**
+     * 向量维度
+     */
+    @TableField(value = "cache_dimension")
+    private Integer dimension;
+
+    /**
+     * 过期时间
+     */
+    @TableField(value = "cache_expire_time")
+    private LocalDateTime expireTime;
+
+    /**
+     * 创建时间
+     */
+    @TableField(value = "create_time", fill = FieldFill.INSERT)
+    private LocalDateTime createTime;
+
+    /**
+     * 更新时间
+     */
+    @TableField(value = "update_time", fill = FieldFill.INSERT_UPDATE)
+    private LocalDateTime updateTime;
+
+    /**
+     * 逻辑删除（0表示未删除，1表示已删除）
+     */
+    @TableField(value = "is_deleted", fill = FieldFill.INSERT)
+    @TableLogic
+    private Integer deleted;
+
+    @Serial
+    private static final long serialVersionUID = 2754191066243012987L;
+
+}
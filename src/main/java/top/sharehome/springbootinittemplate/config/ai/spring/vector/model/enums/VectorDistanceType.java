@@ -0,0 +1,45 @@
+package top.sharehome.springbootinittemplate.config.ai.spring.vector.model.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 向量距离类型
+ *
+ * @author AntonyCheng
+ */
+@Getter
+@AllArgsConstructor
+public enum VectorDistanceType {
+
+    /**
+     * L2距离，得分越小越相似
+     */
+    L2("L2距离", "<->", "l2_ops"),
+
+    /**
+     * 余弦距离，得分越小越相似
+     */
+    COSINE("余弦距离", "<=>", "cosine_ops"),
+
+    /**
+     * 负内积，得分越小越相似
+     */
+    INNER_PRODUCT("负内积", "<#>", "ip_ops");
+
+    /**
+     * 名称
+     */
+    private final String name;
+
+    /**
+     * pgvector距离运算符
+     */
+    private final String operator;
+
+    /**
+     * pgvector索引操作符类后缀，与向量类型拼接后使用，例如vector_cosine_ops、halfvec_cosine_ops
+     */
+    private final String opsSuffix;
+
+}
@@ -0,0 +1,35 @@
+package top.sharehome.springbootinittemplate.config.ai.spring.vector.model.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 向量索引类型
+ *
+ * @author AntonyCheng
+ */
+@Getter
+@AllArgsConstructor
+public enum VectorIndexType {
+
+    /**
+     * HNSW索引，召回率和查询速度更好，构建更慢、占用内存更多，可以在空表上直接创建
+     */
+    HNSW("HNSW", "hnsw"),
+
+    /**
+     * IVFFlat索引，构建更快、占用更少，需要在已有数据后创建才能得到合理的聚类中心
+     */
+    IVFFLAT("IVFFlat", "ivfflat");
+
+    /**
+     * 名称
+     */
+    private final String name;
+
+    /**
+     * pgvector索引方法
+     */
+    private final String method;
+
+}
@@ -0,0 +1,25 @@
+package top.sharehome.springbootinittemplate.config.ai.spring.vector.retrieval;
+
+import top.sharehome.springbootinittemplate.config.ai.spring.vector.model.bo.ChunkRetrievalBo;
+
+import java.util.List;
+
+/**
+ * 数据块重排器
+ * 容器中存在该类型的Bean时，混合检索会把融合后的前rerankTopK条结果交给它重排，例如接入服务方的Rerank模型
+ *
+ * @author AntonyCheng
+ */
+@FunctionalInterface
+public interface ChunkReranker {
+
+    /**
+     * 重排
+     *
+     * @param query      查询文本
+     * @param candidates 按照融合得分降序排列的候选数据块
+     * @return 重排后的数据块，可以只返回其中一部分
+     */
+    List<ChunkRetrievalBo> rerank(String query, List<ChunkRetrievalBo> candidates);
+
+}
@@ -0,0 +1,56 @@
+package top.sharehome.springbootinittemplate.config.ai.spring.vector.retrieval.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 混合检索配置属性
+ *
+ * @author AntonyCheng
+ */
+@Data
+@ConfigurationProperties(prefix = "ai.hybrid-retrieval")
+public class HybridRetrievalProperties {
+
+    /**
+     * 全文检索使用的PostgreSQL文本检索配置，需要和全文索引表达式中的配置一致
+     * 默认simple按照空白和标点分词，中文内容建议安装zhparser等中文分词扩展后配置对应名称
+     */
+    private String textSearchConfig = "simple";
+
+    /**
+     * 每一路检索召回的候选数，实际取该值和返回条数中的较大值
+     */
+    private Integer candidateSize = 50;
+
+    /**
+     * 倒数排名融合常数k，得分为sum(权重 / (k + 排名))，越大排名靠后的结果影响越大
+     */
+    private Integer rrfK = 60;
+
+    /**
+     * 向量检索结果在融合时的权重
+     */
+    private Double vectorWeight = 1.0;
+
+    /**
+     * 全文检索结果在融合时的权重
+     */
+    private Double textWeight = 1.0;
+
+    /**
+     * 存在重排器时参与重排的融合结果数
+     */
+    private Integer rerankTopK = 20;
+
+    /**
+     * 查询向量缓存最大条数
+     */
+    private Long queryEmbeddingCacheSize = 10000L;
+
+    /**
+     * 查询向量缓存过期时间，单位：秒
+     */
+    private Long queryEmbeddingCacheExpired = 600L;
+
+}
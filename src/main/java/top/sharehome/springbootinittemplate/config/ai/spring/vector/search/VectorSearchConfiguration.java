@@ -0,0 +1,27 @@
+package top.sharehome.springbootinittemplate.config.ai.spring.vector.search;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import top.sharehome.springbootinittemplate.config.ai.spring.vector.search.properties.VectorSearchProperties;
+
+/**
+ * 向量检索配置
+ *
+ * @author AntonyCheng
+ */
+@Configuration
+@EnableConfigurationProperties(VectorSearchProperties.class)
+@Slf4j
+public class VectorSearchConfiguration {
+
+    /**
+     * 依赖注入日志输出
+     */
+    @PostConstruct
+    private void initDi() {
+        log.info("############ {} Configuration DI.", this.getClass().getSimpleName().split("\\$\\$")[0]);
+    }
+
+}
@@ -0,0 +1,56 @@
+package top.sharehome.springbootinittemplate.config.ai.spring.vector.search.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import top.sharehome.springbootinittemplate.config.ai.spring.vector.search.properties.enums.VectorFilterStrategy;
+
+/**
+ * 向量检索配置属性
+ *
+ * @author AntonyCheng
+ */
+@Data
+@ConfigurationProperties(prefix = "ai.vector-search")
+public class VectorSearchProperties {
+
+    /**
+     * HNSW索引查询时的候选列表大小，越大召回率越高、速度越慢，需要大于等于返回条数
+     */
+    private Integer efSearch = 40;
+
+    /**
+     * IVFFlat索引查询时扫描的聚类数，越大召回率越高、速度越慢
+     */
+    private Integer probes = 10;
+
+    /**
+     * 带知识库/文档条件时的默认过滤策略
+     */
+    private VectorFilterStrategy filterStrategy = VectorFilterStrategy.PRE_FILTER;
+
+    /**
+     * 先排序后过滤时候选集相对于返回条数的放大倍数
+     */
+    private Integer overFetchFactor = 4;
+
+    /**
+     * 是否默认使用半精度（halfvec）计算距离，需要和半精度索引配合使用
+     */
+    private Boolean halfPrecision = false;
+
+    /**
+     * 创建HNSW索引时每个节点的最大连接数
+     */
+    private Integer hnswM = 16;
+
+    /**
+     * 创建HNSW索引时的候选列表大小
+     */
+    private Integer hnswEfConstruction = 64;
+
+    /**
+     * 创建IVFFlat索引时的聚类数，为空时按照数据量计算（百万行以内为行数/1000，以上为行数的平方根）
+     */
+    private Integer ivfflatLists;
+
+}
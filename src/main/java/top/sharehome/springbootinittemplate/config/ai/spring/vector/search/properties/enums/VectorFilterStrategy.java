@@ -0,0 +1,30 @@
+package top.sharehome.springbootinittemplate.config.ai.spring.vector.search.properties.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 向量检索过滤策略
+ *
+ * @author AntonyCheng
+ */
+@Getter
+@AllArgsConstructor
+public enum VectorFilterStrategy {
+
+    /**
+     * 先过滤后排序：按照知识库/文档条件过滤后精确计算距离，结果准确，适合过滤后数据量较小的场景
+     */
+    PRE_FILTER("先过滤后排序"),
+
+    /**
+     * 先排序后过滤：先通过近似索引取出放大后的候选集，再按照条件过滤，速度快，过滤条件选择性很强时可能返回不足
+     */
+    POST_FILTER("先排序后过滤");
+
+    /**
+     * 名称
+     */
+    private final String name;
+
+}
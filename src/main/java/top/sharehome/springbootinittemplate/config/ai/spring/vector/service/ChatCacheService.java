@@ -0,0 +1,37 @@
+package top.sharehome.springbootinittemplate.config.ai.spring.vector.service;
+
+import com.baomidou.mybatisplus.extension.service.IService;
+import top.sharehome.springbootinittemplate.config.ai.spring.vector.model.entity.ChatCache;
+import top.sharehome.springbootinittemplate.model.common.Tuple2;
+
+/**
+ * 对话语义缓存服务接口
+ *
+ * @author AntonyCheng
+ */
+public interface ChatCacheService extends IService<ChatCache> {
+
+    /**
+     * 查询同一命名空间、同一向量模型、同一系统提示词下与提示词向量余弦相似度最高且未过期的缓存
+     *
+     * @param namespace      命名空间
+     * @param embeddingModel 向量模型
+     * @param systemHash     系统提示词摘要
+     * @param embedding      提示词向量
+     * @return 缓存和余弦相似度，没有候选缓存时返回null
+     */
+    Tuple2<ChatCache, Double> findMostSimilar(String namespace, String embeddingModel, String systemHash, float[] embedding);
+
+    /**
+     * 添加缓存
+     */
+    void addCache(ChatCache chatCache);
+
+    /**
+     * 删除过期缓存
+     *
+     * @return 删除条数
+     */
+    int removeExpired();
+
+}
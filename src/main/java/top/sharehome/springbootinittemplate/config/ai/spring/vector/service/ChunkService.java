@@ -2,7 +2,13 @@ package top.sharehome.springbootinittemplate.config.ai.spring.vector.service;
 
 import com.baomidou.mybatisplus.extension.service.IService;
 import top.sharehome.springbootinittemplate.config.ai.spring.service.embedding.model.EmbeddingModelBase;
+import top.sharehome.springbootinittemplate.config.ai.spring.vector.ingest.model.IngestProgress;
+import top.sharehome.springbootinittemplate.config.ai.spring.vector.model.bo.ChunkHybridSearchBo;
+import top.sharehome.springbootinittemplate.config.ai.spring.vector.model.bo.ChunkRetrievalBo;
+import top.sharehome.springbootinittemplate.config.ai.spring.vector.model.bo.ChunkSearchBo;
 import top.sharehome.springbootinittemplate.config.ai.spring.vector.model.entity.Chunk;
+import top.sharehome.springbootinittemplate.config.ai.spring.vector.model.enums.VectorDistanceType;
+import top.sharehome.springbootinittemplate.config.ai.spring.vector.model.enums.VectorIndexType;
 import top.sharehome.springbootinittemplate.model.common.Tuple2;
 
 import java.util.List;
@@ -19,4 +25,88 @@ public interface ChunkService extends IService<Chunk> {
      */
     void addChunk(Long userId, Long knowledgeId, Long documentId, List<String> text);
 
+    /**
+     * 文档向量化入库
+     * 数据块按照服务方的批量上限切分为多个批次并行向量化，结果按顺序批量写入，向量化失败的批次以训练失败状态写入
+     *
+     * @param userId      用户ID
+     * @param knowledgeId 知识库ID
+     * @param documentId  文档ID
+     * @param model       向量模型
+     * @param documents   经过读取和转换后的文档分块
+     * @return 入库进度
+     */
+    IngestProgress ingest(Long userId, Long knowledgeId, Long documentId, EmbeddingModelBase model, List<org.springframework.ai.document.Document> documents);
+
+    /**
+     * 获取文档入库进度（当前节点）
+     *
+     * @param documentId 文档ID
+     * @return 入库进度，不存在或已过期时返回null
+     */
+    IngestProgress getIngestProgress(Long documentId);
+
+    /**
+     * 批量写入数据块，优先使用PostgreSQL COPY，无法使用时退化为JDBC批量插入
+     *
+     * @param chunks 数据块
+     * @return 写入条数
+     */
+    int bulkInsert(List<Chunk> chunks);
+
+    /**
+     * 向量相似性检索
+     * 查询向量以pgvector对象绑定一次，只检索和查询向量维度相同的数据块，得分越小越相似
+     * 注意：向量类型的OID由扩展在每个数据库中单独分配，驱动的binaryTransferEnable无法静态开启，因此向量仍以文本格式传输
+     *
+     * @param searchBo 检索条件
+     * @return 检索结果
+     */
+    List<ChunkRetrievalBo> search(ChunkSearchBo searchBo);
+
+    /**
+     * 全文检索，得分为ts_rank_cd，越大越相关
+     *
+     * @param query       查询文本，支持websearch_to_tsquery语法
+     * @param knowledgeId 知识库ID，为空表示不过滤
+     * @param documentId  文档ID，为空表示不过滤
+     * @param limit       返回条数
+     * @return 检索结果
+     */
+    List<ChunkRetrievalBo> textSearch(String query, Long knowledgeId, Long documentId, Integer limit);
+
+    /**
+     * 混合检索
+     * 全文检索和向量检索并行执行，按照倒数排名融合，存在重排器时对融合结果重排，得分越大越相关
+     *
+     * @param searchBo 检索条件
+     * @return 检索结果
+     */
+    List<ChunkRetrievalBo> hybridSearch(ChunkHybridSearchBo searchBo);
+
+    /**
+     * 创建向量近似索引（按照维度建立表达式分区索引）
+     *
+     * @param indexType     索引类型
+     * @param distanceType  距离类型，需要和检索时使用的距离类型一致
+     * @param dimension     向量维度
+     * @param halfPrecision 是否使用半精度，为空时使用默认配置
+     * @return 索引名称
+     */
+    String createIndex(VectorIndexType indexType, VectorDistanceType distanceType, Integer dimension, Boolean halfPrecision);
+
+    /**
+     * 删除向量近似索引
+     *
+     * @param indexName 索引名称
+     */
+    void dropIndex(String indexName);
+
+    /**
+     * 列出数据块表上的向量近似索引
+     *
+     * @return 索引名称和索引定义
+     */
+    List<Tuple2<String, String>> listIndexes();
+
 }
@@ -0,0 +1,68 @@
+package top.sharehome.springbootinittemplate.config.ai.spring.vector.service.impl;
+
+import com.baomidou.dynamic.datasource.annotation.DS;
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.pgvector.PGvector;
+import jakarta.annotation.Resource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import top.sharehome.springbootinittemplate.config.ai.spring.vector.mapper.ChatCacheMapper;
+import top.sharehome.springbootinittemplate.config.ai.spring.vector.model.entity.ChatCache;
+import top.sharehome.springbootinittemplate.config.ai.spring.vector.service.ChatCacheService;
+import top.sharehome.springbootinittemplate.model.common.Tuple2;
+
+import java.util.List;
+
+/**
+ * 对话语义缓存服务实现类
+ *
+ * @author AntonyCheng
+ */
+@Service
+public class ChatCacheServiceImpl extends ServiceImpl<ChatCacheMapper, ChatCache> implements ChatCacheService {
+
+    @Resource
+    private ChatCacheMapper chatCacheMapper;
+
+    @Resource
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    @DS("postgresql-embed")
+    public Tuple2<ChatCache, Double> findMostSimilar(String namespace, String embeddingModel, String systemHash, float[] embedding) {
+        String sql = """
+                SELECT cache_id, cache_prompt, cache_content, cache_reasoning_content, cache_expire_time, 1 - (cache_embedding <=> ?) AS similarity
+                FROM t_chat_cache
+                WHERE cache_namespace = ? AND cache_embedding_model = ? AND cache_system_hash = ? AND cache_dimension = ?
+                  AND cache_expire_time > CURRENT_TIMESTAMP AND is_deleted = 0
+                ORDER BY similarity DESC
+                LIMIT 1
+                """;
+        List<Tuple2<ChatCache, Double>> res = jdbcTemplate.query(sql, (rs, rowNum) -> new Tuple2<>(
+                new ChatCache()
+                        .setId(rs.getLong("cache_id"))
+                        .setNamespace(namespace)
+                        .setEmbeddingModel(embeddingModel)
+                        .setSystemHash(systemHash)
+                        .setPrompt(rs.getString("cache_prompt"))
+                        .setContent(rs.getString("cache_content"))
+                        .setReasoningContent(rs.getString("cache_reasoning_content"))
+                        .setExpireTime(rs.getTimestamp("cache_expire_time").toLocalDateTime()),
+                rs.getDouble("similarity")
+        ), new PGvector(embedding), namespace, embeddingModel, systemHash, embedding.length);
+        return res.isEmpty() ? null : res.get(0);
+    }
+
+    @Override
+    @DS("postgresql-embed")
+    public void addCache(ChatCache chatCache) {
+        chatCacheMapper.insert(chatCache.setDimension(chatCache.getEmbedding().length));
+    }
+
+    @Override
+    @DS("postgresql-embed")
+    public int removeExpired() {
+        return jdbcTemplate.update("DELETE FROM t_chat_cache WHERE cache_expire_time <= CURRENT_TIMESTAMP");
+    }
+
+}
@@ -2,22 +2,62 @@ package top.sharehome.springbootinittemplate.config.ai.spring.vector.service.imp
 
 import cn.hutool.core.lang.Snowflake;
 import com.baomidou.dynamic.datasource.annotation.DS;
+import com.baomidou.dynamic.datasource.toolkit.DynamicDataSourceContextHolder;
+import com.baomidou.mybatisplus.core.toolkit.IdWorker;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pgvector.PGvector;
+import jakarta.annotation.PostConstruct;
 import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.ObjectUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
 import org.springframework.ai.embedding.Embedding;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import top.sharehome.springbootinittemplate.common.base.ReturnCode;
 import top.sharehome.springbootinittemplate.config.ai.spring.service.embedding.impl.AiEmbeddingServiceImpl;
 import top.sharehome.springbootinittemplate.config.ai.spring.service.embedding.model.EmbeddingModelBase;
 import top.sharehome.springbootinittemplate.config.ai.spring.service.embedding.model.EmbeddingResult;
+import top.sharehome.springbootinittemplate.config.ai.spring.vector.ingest.EmbeddingBatcher;
+import top.sharehome.springbootinittemplate.config.ai.spring.vector.ingest.model.IngestProgress;
+import top.sharehome.springbootinittemplate.config.ai.spring.vector.ingest.properties.ChunkIngestProperties;
 import top.sharehome.springbootinittemplate.config.ai.spring.vector.mapper.ChunkMapper;
+import top.sharehome.springbootinittemplate.config.ai.spring.vector.model.bo.ChunkHybridSearchBo;
 import top.sharehome.springbootinittemplate.config.ai.spring.vector.model.bo.ChunkRetrievalBo;
+import top.sharehome.springbootinittemplate.config.ai.spring.vector.model.bo.ChunkSearchBo;
 import top.sharehome.springbootinittemplate.config.ai.spring.vector.model.entity.Chunk;
+import top.sharehome.springbootinittemplate.config.ai.spring.vector.model.enums.VectorDistanceType;
+import top.sharehome.springbootinittemplate.config.ai.spring.vector.model.enums.VectorIndexType;
+import top.sharehome.springbootinittemplate.config.ai.spring.vector.retrieval.ChunkReranker;
+import top.sharehome.springbootinittemplate.config.ai.spring.vector.retrieval.properties.HybridRetrievalProperties;
+import top.sharehome.springbootinittemplate.config.ai.spring.vector.search.properties.VectorSearchProperties;
+import top.sharehome.springbootinittemplate.config.ai.spring.vector.search.properties.enums.VectorFilterStrategy;
 import top.sharehome.springbootinittemplate.config.ai.spring.vector.service.ChunkService;
+import top.sharehome.springbootinittemplate.config.ai.spring.vector.utils.PgVectorUtils;
+import top.sharehome.springbootinittemplate.exception.customize.CustomizeAiException;
 import top.sharehome.springbootinittemplate.model.common.Tuple2;
 
+import java.nio.charset.StandardCharsets;
+import java.sql.*;
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 /**
  * 数据块服务实现类
@@ -25,6 +65,7 @@ import java.util.List;
  * @author AntonyCheng
  */
 @Service
+@Slf4j
 public class ChunkServiceImpl extends ServiceImpl<ChunkMapper, Chunk> implements ChunkService {
 
     @Resource
@@ -36,10 +77,69 @@ public class ChunkServiceImpl extends ServiceImpl<ChunkMapper, Chunk> implements
     @Resource
     private JdbcTemplate jdbcTemplate;
 
+    @Resource
+    private ChunkIngestProperties chunkIngestProperties;
+
+    @Resource
+    private VectorSearchProperties vectorSearchProperties;
+
+    @Resource
+    private HybridRetrievalProperties hybridRetrievalProperties;
+
+    @Autowired
+    private ObjectProvider<ChunkReranker> chunkRerankerProvider;
+
+    /**
+     * COPY写入语句，时间和逻辑删除字段使用默认值
+     */
+    private static final String COPY_SQL = "COPY t_chunk (chunk_id, chunk_document_id, chunk_knowledge_id, chunk_user_id, chunk_content, chunk_embedding, chunk_state, chunk_dimension, chunk_fail_reason) FROM STDIN WITH (FORMAT text)";
+
+    /**
+     * 批量插入语句，COPY不可用时使用
+     */
+    private static final String INSERT_SQL = "INSERT INTO t_chunk (chunk_id, chunk_document_id, chunk_knowledge_id, chunk_user_id, chunk_content, chunk_embedding, chunk_state, chunk_dimension, chunk_fail_reason) VALUES (?, ?, ?, ?, ?, ?::vector, ?, ?, ?)";
+
+    /**
+     * 检索结果字段
+     */
+    private static final String RETRIEVAL_COLUMNS = "chunk_id, chunk_document_id, chunk_knowledge_id, chunk_user_id, chunk_content, chunk_state, chunk_dimension, chunk_fail_reason, create_time, update_time, is_deleted";
+
+    /**
+     * 允许管理的向量索引名称
+     */
+    private static final Pattern VECTOR_INDEX_NAME_PATTERN = Pattern.compile("^t_chunk_(hnsw|ivfflat)_(vector|halfvec)_[a-z0-9]+_\\d+_idx$");
+
+    /**
+     * 允许使用的文本检索配置名称
+     */
+    private static final Pattern TEXT_SEARCH_CONFIG_PATTERN = Pattern.compile("^[a-z_][a-z0-9_]*$");
+
+    /**
+     * 查询向量缓存
+     */
+    private Cache<String, float[]> queryEmbeddingCache;
+
+    /**
+     * 文档入库进度，只保存在当前节点
+     */
+    private Cache<Long, IngestProgress> ingestProgressCache;
+
+    @PostConstruct
+    private void initIngestProgressCache() {
+        ingestProgressCache = Caffeine.newBuilder()
+                .expireAfterWrite(chunkIngestProperties.getProgressExpired(), TimeUnit.SECONDS)
+                .build();
+        queryEmbeddingCache = Caffeine.newBuilder()
+                .maximumSize(hybridRetrievalProperties.getQueryEmbeddingCacheSize())
+                .expireAfterWrite(hybridRetrievalProperties.getQueryEmbeddingCacheExpired(), TimeUnit.SECONDS)
+                .build();
+    }
+
     @Override
     @DS("postgresql-embed")
     public void addChunk(Long userId, Long knowledgeId, Long documentId, List<String> text) {
-        chunkMapper.insert(text.stream().map(t-> new Chunk()
+        this.bulkInsert(text.stream().map(t -> new Chunk()
+                .setId(IdWorker.getId())
                 .setUserId(userId)
                 .setKnowledgeId(knowledgeId)
                 .setDocumentId(documentId)
@@ -47,21 +147,453 @@ public class ChunkServiceImpl extends ServiceImpl<ChunkMapper, Chunk> implements
                 .setState(0)).toList());
     }
 
+    @Override
+    @DS("postgresql-embed")
+    public IngestProgress ingest(Long userId, Long knowledgeId, Long documentId, EmbeddingModelBase model, List<org.springframework.ai.document.Document> documents) {
+        if (ObjectUtils.anyNull(userId, knowledgeId, documentId, model)) {
+            throw new CustomizeAiException(ReturnCode.PARAMETER_FORMAT_MISMATCH, "参数[userId, knowledgeId, documentId, model]不能为空");
+        }
+        if (CollectionUtils.isEmpty(documents)) {
+            throw new CustomizeAiException(ReturnCode.PARAMETER_FORMAT_MISMATCH, "参数[documents]不能为空");
+        }
+        List<String> texts = documents.stream()
+                .map(org.springframework.ai.document.Document::getText)
+                .filter(StringUtils::isNotBlank)
+                .toList();
+        IngestProgress progress = new IngestProgress()
+                .setDocumentId(documentId)
+                .setState(0)
+                .setTotal(texts.size())
+                .setSucceeded(0)
+                .setFailed(0)
+                .setStartTime(LocalDateTime.now());
+        ingestProgressCache.put(documentId, progress);
+        List<List<Integer>> batches = EmbeddingBatcher.split(chunkIngestProperties, model, texts);
+        List<Chunk> pending = new ArrayList<>(chunkIngestProperties.getWriteBatchSize());
+        try {
+            // 多个批次并行向量化，结果按批次顺序回到当前线程写入，写入时沿用当前线程的数据源
+            // 写入失败时关闭流，取消尚未完成的向量化请求
+            try (Stream<List<Chunk>> embeddedBatches = Flux.fromIterable(batches)
+                    .flatMapSequential(batch -> Mono.fromCallable(() -> this.embedBatch(userId, knowledgeId, documentId, model, texts, batch))
+                            .subscribeOn(Schedulers.boundedElastic()), Math.max(1, chunkIngestProperties.getParallelism()))
+                    .toStream()) {
+                Iterator<List<Chunk>> iterator = embeddedBatches.iterator();
+                while (iterator.hasNext()) {
+                    pending.addAll(iterator.next());
+                    if (pending.size() >= chunkIngestProperties.getWriteBatchSize()) {
+                        this.flushIngest(pending, progress);
+                    }
+                }
+            }
+            this.flushIngest(pending, progress);
+            progress.setState(1).setFinishTime(LocalDateTime.now());
+        } catch (RuntimeException e) {
+            progress.setState(2).setError(e.getMessage()).setFinishTime(LocalDateTime.now());
+            throw e;
+        }
+        return progress;
+    }
+
+    @Override
+    public IngestProgress getIngestProgress(Long documentId) {
+        return Objects.isNull(documentId) ? null : ingestProgressCache.getIfPresent(documentId);
+    }
+
+    @Override
+    @DS("postgresql-embed")
+    public int bulkInsert(List<Chunk> chunks) {
+        if (CollectionUtils.isEmpty(chunks)) {
+            return 0;
+        }
+        Integer res = jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            if (connection.isWrapperFor(PGConnection.class)) {
+                return this.copyChunks(connection.unwrap(PGConnection.class), chunks);
+            }
+            return this.batchInsertChunks(connection, chunks);
+        });
+        return Objects.isNull(res) ? 0 : res;
+    }
+
+    /**
+     * 向量化一个批次，失败时整批标记为训练失败，不影响其他批次
+     */
+    private List<Chunk> embedBatch(Long userId, Long knowledgeId, Long documentId, EmbeddingModelBase model, List<String> texts, List<Integer> batch) {
+        List<String> batchTexts = batch.stream().map(texts::get).toList();
+        List<Chunk> res = new ArrayList<>(batch.size());
+        for (String text : batchTexts) {
+            res.add(new Chunk()
+                    .setId(IdWorker.getId())
+                    .setUserId(userId)
+                    .setKnowledgeId(knowledgeId)
+                    .setDocumentId(documentId)
+                    .setContent(text));
+        }
+        try {
+            List<Embedding> embeddings = aiEmbeddingService.embedToEmbeddingList(model, batchTexts);
+            for (int i = 0; i < embeddings.size(); i++) {
+                Embedding embedding = embeddings.get(i);
+                int index = Objects.isNull(embedding.getIndex()) ? i : embedding.getIndex();
+                if (index >= 0 && index < res.size()) {
+                    res.get(index).setEmbedding(embedding.getOutput()).setDimension(embedding.getOutput().length).setState(2);
+                }
+            }
+            for (Chunk chunk : res) {
+                if (Objects.isNull(chunk.getEmbedding())) {
+                    chunk.setState(3).setFailReason("向量化结果缺失");
+                }
+            }
+        } catch (Exception e) {
+            String failReason = StringUtils.abbreviate(StringUtils.defaultIfBlank(e.getMessage(), e.getClass().getSimpleName()), 255);
+            log.warn("文档[{}]数据块向量化失败: {}", documentId, failReason);
+            res.forEach(chunk -> chunk.setEmbedding(null).setDimension(null).setState(3).setFailReason(failReason));
+        }
+        return res;
+    }
+
+    /**
+     * 写入待写入的数据块并更新进度
+     */
+    private void flushIngest(List<Chunk> pending, IngestProgress progress) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        this.bulkInsert(pending);
+        int succeeded = (int) pending.stream().filter(chunk -> Objects.equals(chunk.getState(), 2)).count();
+        progress.setSucceeded(progress.getSucceeded() + succeeded)
+                .setFailed(progress.getFailed() + pending.size() - succeeded);
+        pending.clear();
+    }
+
+    /**
+     * 使用COPY写入数据块，逐行编码写入，避免把整批数据拼接成一个大字符串
+     */
+    private int copyChunks(PGConnection connection, List<Chunk> chunks) throws SQLException {
+        CopyIn copyIn = connection.getCopyAPI().copyIn(COPY_SQL);
+        try {
+            StringBuilder line = new StringBuilder();
+            for (Chunk chunk : chunks) {
+                line.setLength(0);
+                line.append(chunk.getId()).append('\t')
+                        .append(chunk.getDocumentId()).append('\t')
+                        .append(chunk.getKnowledgeId()).append('\t')
+                        .append(chunk.getUserId()).append('\t');
+                appendCopyText(line, chunk.getContent());
+                line.append('\t');
+                if (Objects.isNull(chunk.getEmbedding())) {
+                    line.append("\\N");
+                } else {
+                    line.append(PgVectorUtils.toVectorString(chunk.getEmbedding()));
+                }
+                line.append('\t').append(chunk.getState()).append('\t');
+                line.append(Objects.isNull(chunk.getDimension()) ? "\\N" : chunk.getDimension()).append('\t');
+                appendCopyText(line, chunk.getFailReason());
+                line.append('\n');
+                byte[] bytes = line.toString().getBytes(StandardCharsets.UTF_8);
+                copyIn.writeToCopy(bytes, 0, bytes.length);
+            }
+            return (int) copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    /**
+     * 使用JDBC批量插入数据块，配合驱动的reWriteBatchedInserts参数可以合并为多行插入
+     */
+    private int batchInsertChunks(Connection connection, List<Chunk> chunks) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL)) {
+            for (Chunk chunk : chunks) {
+                ps.setLong(1, chunk.getId());
+                ps.setLong(2, chunk.getDocumentId());
+                ps.setLong(3, chunk.getKnowledgeId());
+                ps.setLong(4, chunk.getUserId());
+                ps.setString(5, chunk.getContent());
+                ps.setString(6, Objects.isNull(chunk.getEmbedding()) ? null : PgVectorUtils.toVectorString(chunk.getEmbedding()));
+                ps.setInt(7, chunk.getState());
+                ps.setObject(8, chunk.getDimension(), Types.INTEGER);
+                ps.setString(9, chunk.getFailReason());
+                ps.addBatch();
+            }
+            int res = 0;
+            for (int count : ps.executeBatch()) {
+                res += count == Statement.SUCCESS_NO_INFO ? 1 : count;
+            }
+            return res;
+        }
+    }
+
+    /**
+     * 按照COPY文本格式转义字段，空值写为\N
+     */
+    private void appendCopyText(StringBuilder sb, String text) {
+        if (Objects.isNull(text)) {
+            sb.append("\\N");
+            return;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\\' -> sb.append("\\\\");
+                case '\t' -> sb.append("\\t");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                // PostgreSQL文本类型不支持NUL字符
+                case '\0' -> {
+                }
+                default -> sb.append(c);
+            }
+        }
+    }
+
+    @Override
+    @DS("postgresql-embed")
+    public List<ChunkRetrievalBo> search(ChunkSearchBo searchBo) {
+        if (Objects.isNull(searchBo) || Objects.isNull(searchBo.getQueryVector()) || searchBo.getQueryVector().length == 0) {
+            throw new CustomizeAiException(ReturnCode.PARAMETER_FORMAT_MISMATCH, "参数[queryVector]不能为空");
+        }
+        if (Objects.isNull(searchBo.getLimit()) || searchBo.getLimit() <= 0) {
+            throw new CustomizeAiException(ReturnCode.PARAMETER_FORMAT_MISMATCH, "参数[limit]必须大于0");
+        }
+        int dimension = searchBo.getQueryVector().length;
+        int limit = searchBo.getLimit();
+        VectorDistanceType distanceType = ObjectUtils.defaultIfNull(searchBo.getDistanceType(), VectorDistanceType.COSINE);
+        boolean halfPrecision = ObjectUtils.defaultIfNull(searchBo.getHalfPrecision(), vectorSearchProperties.getHalfPrecision());
+        // 维度以字面量写入语句，使表达式和分区条件与对应维度的表达式索引一致，否则规划器无法使用索引
+        String vectorType = (halfPrecision ? "halfvec(" : "vector(") + dimension + ")";
+        String distanceExpression = "chunk_embedding::" + vectorType + " " + distanceType.getOperator() + " ?::" + vectorType;
+        String baseCondition = "chunk_dimension = " + dimension + " AND is_deleted = 0";
+        StringBuilder filterCondition = new StringBuilder();
+        List<Object> filterArgs = new ArrayList<>(2);
+        if (Objects.nonNull(searchBo.getKnowledgeId())) {
+            filterCondition.append(" AND chunk_knowledge_id = ?");
+            filterArgs.add(searchBo.getKnowledgeId());
+        }
+        if (Objects.nonNull(searchBo.getDocumentId())) {
+            filterCondition.append(" AND chunk_document_id = ?");
+            filterArgs.add(searchBo.getDocumentId());
+        }
+        VectorFilterStrategy filterStrategy = ObjectUtils.defaultIfNull(searchBo.getFilterStrategy(), vectorSearchProperties.getFilterStrategy());
+        String sql;
+        List<Object> args = new ArrayList<>(5);
+        // 向量只绑定一次，驱动按照PGvector的文本格式发送，省去手工拼接字面量和重复传参
+        args.add(new PGvector(searchBo.getQueryVector()));
+        if (filterArgs.isEmpty()) {
+            sql = "SELECT " + RETRIEVAL_COLUMNS + ", " + distanceExpression + " AS score FROM t_chunk WHERE " + baseCondition + " ORDER BY score LIMIT ?";
+            args.add(limit);
+        } else if (filterStrategy == VectorFilterStrategy.PRE_FILTER) {
+            // 物化CTE保证先按照条件过滤（走知识库/文档ID索引），再对过滤结果精确计算距离
+            sql = "WITH candidate AS MATERIALIZED (SELECT * FROM t_chunk WHERE " + baseCondition + filterCondition + ") "
+                    + "SELECT " + RETRIEVAL_COLUMNS + ", " + distanceExpression + " AS score FROM candidate ORDER BY score LIMIT ?";
+            args.addAll(filterArgs);
+            args.add(limit);
+        } else {
+            // 先通过近似索引取出放大后的候选集，再按照条件过滤
+            int overFetch = Math.max(limit, limit * Math.max(1, vectorSearchProperties.getOverFetchFactor()));
+            sql = "SELECT * FROM (SELECT " + RETRIEVAL_COLUMNS + ", " + distanceExpression + " AS score FROM t_chunk WHERE " + baseCondition + " ORDER BY score LIMIT ?) candidate "
+                    + "WHERE 1 = 1" + filterCondition + " ORDER BY score LIMIT ?";
+            args.add(overFetch);
+            args.addAll(filterArgs);
+            args.add(limit);
+        }
+        int efSearch = Math.max(limit, ObjectUtils.defaultIfNull(searchBo.getEfSearch(), vectorSearchProperties.getEfSearch()));
+        int probes = Math.max(1, ObjectUtils.defaultIfNull(searchBo.getProbes(), vectorSearchProperties.getProbes()));
+        return jdbcTemplate.execute((ConnectionCallback<List<ChunkRetrievalBo>>) connection -> {
+            // 索引查询参数只在当前事务内生效，没有外部事务时临时开启一个，避免污染连接池中的连接
+            boolean autoCommit = connection.getAutoCommit();
+            if (autoCommit) {
+                connection.setAutoCommit(false);
+            }
+            try {
+                try (PreparedStatement ps = connection.prepareStatement("SELECT set_config('hnsw.ef_search', ?, true), set_config('ivfflat.probes', ?, true)")) {
+                    ps.setString(1, String.valueOf(efSearch));
+                    ps.setString(2, String.valueOf(probes));
+                    ps.execute();
+                }
+                List<ChunkRetrievalBo> res = new ArrayList<>(limit);
+                try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                    for (int i = 0; i < args.size(); i++) {
+                        ps.setObject(i + 1, args.get(i));
+                    }
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            res.add(this.mapRetrieval(rs));
+                        }
+                    }
+                }
+                if (autoCommit) {
+                    connection.commit();
+                }
+                return res;
+            } catch (SQLException | RuntimeException e) {
+                if (autoCommit) {
+                    connection.rollback();
+                }
+                throw e;
+            } finally {
+                if (autoCommit) {
+                    connection.setAutoCommit(true);
+                }
+            }
+        });
+    }
+
+    @Override
+    @DS("postgresql-embed")
+    public String createIndex(VectorIndexType indexType, VectorDistanceType distanceType, Integer dimension, Boolean halfPrecision) {
+        if (ObjectUtils.anyNull(indexType, distanceType, dimension)) {
+            throw new CustomizeAiException(ReturnCode.PARAMETER_FORMAT_MISMATCH, "参数[indexType, distanceType, dimension]不能为空");
+        }
+        boolean half = ObjectUtils.defaultIfNull(halfPrecision, vectorSearchProperties.getHalfPrecision());
+        // pgvector索引支持的最大维度：vector为2000，halfvec为4000
+        int maxDimension = half ? 4000 : 2000;
+        if (dimension <= 0 || dimension > maxDimension) {
+            throw new CustomizeAiException(ReturnCode.PARAMETER_FORMAT_MISMATCH, "索引维度必须在1到" + maxDimension + "之间");
+        }
+        String type = half ? "halfvec" : "vector";
+        String indexName = "t_chunk_" + indexType.getMethod() + "_" + type + "_" + distanceType.getOpsSuffix().replace("_ops", "") + "_" + dimension + "_idx";
+        String with;
+        if (indexType == VectorIndexType.HNSW) {
+            with = "m = " + vectorSearchProperties.getHnswM() + ", ef_construction = " + vectorSearchProperties.getHnswEfConstruction();
+        } else {
+            Integer lists = vectorSearchProperties.getIvfflatLists();
+            if (Objects.isNull(lists)) {
+                Long rows = jdbcTemplate.queryForObject("SELECT count(*) FROM t_chunk WHERE chunk_dimension = ? AND is_deleted = 0", Long.class, dimension);
+                long count = Objects.isNull(rows) ? 0 : rows;
+                lists = (int) Math.max(1, count <= 1_000_000 ? count / 1000 : (long) Math.sqrt(count));
+            }
+            with = "lists = " + lists;
+        }
+        // 按照维度建立表达式分区索引，不同维度的向量共用一张表，CONCURRENTLY避免建索引期间阻塞写入
+        String sql = "CREATE INDEX CONCURRENTLY IF NOT EXISTS " + indexName + " ON t_chunk USING " + indexType.getMethod()
+                + " ((chunk_embedding::" + type + "(" + dimension + ")) " + type + "_" + distanceType.getOpsSuffix() + ") WITH (" + with + ")"
+                + " WHERE chunk_dimension = " + dimension + " AND is_deleted = 0";
+        this.executeOutsideTransaction(sql);
+        log.info("向量索引[{}]创建完成", indexName);
+        return indexName;
+    }
+
+    @Override
+    @DS("postgresql-embed")
+    public void dropIndex(String indexName) {
+        if (StringUtils.isBlank(indexName) || !VECTOR_INDEX_NAME_PATTERN.matcher(indexName).matches()) {
+            throw new CustomizeAiException(ReturnCode.PARAMETER_FORMAT_MISMATCH, "索引名称不合法");
+        }
+        this.executeOutsideTransaction("DROP INDEX CONCURRENTLY IF EXISTS " + indexName);
+        log.info("向量索引[{}]删除完成", indexName);
+    }
+
+    @Override
+    @DS("postgresql-embed")
+    public List<Tuple2<String, String>> listIndexes() {
+        return jdbcTemplate.query("SELECT indexname, indexdef FROM pg_indexes WHERE tablename = 't_chunk' AND (indexdef LIKE '%USING hnsw%' OR indexdef LIKE '%USING ivfflat%') ORDER BY indexname",
+                (rs, rowNum) -> new Tuple2<>(rs.getString("indexname"), rs.getString("indexdef")));
+    }
+
+    @Override
+    @DS("postgresql-embed")
+    public List<ChunkRetrievalBo> textSearch(String query, Long knowledgeId, Long documentId, Integer limit) {
+        if (StringUtils.isBlank(query)) {
+            throw new CustomizeAiException(ReturnCode.PARAMETER_FORMAT_MISMATCH, "参数[query]不能为空");
+        }
+        if (Objects.isNull(limit) || limit <= 0) {
+            throw new CustomizeAiException(ReturnCode.PARAMETER_FORMAT_MISMATCH, "参数[limit]必须大于0");
+        }
+        String config = hybridRetrievalProperties.getTextSearchConfig();
+        if (StringUtils.isBlank(config) || !TEXT_SEARCH_CONFIG_PATTERN.matcher(config).matches()) {
+            throw new CustomizeAiException(ReturnCode.FAIL, "文本检索配置名称不合法");
+        }
+        // 配置名称以字面量写入语句，使表达式和全文索引一致
+        String tsvector = "to_tsvector('" + config + "', chunk_content)";
+        StringBuilder sql = new StringBuilder("SELECT ").append(RETRIEVAL_COLUMNS).append(", ts_rank_cd(").append(tsvector).append(", q) AS score ")
+                .append("FROM t_chunk, websearch_to_tsquery('").append(config).append("', ?) q ")
+                .append("WHERE ").append(tsvector).append(" @@ q AND is_deleted = 0");
+        List<Object> args = new ArrayList<>(4);
+        args.add(query);
+        if (Objects.nonNull(knowledgeId)) {
+            sql.append(" AND chunk_knowledge_id = ?");
+            args.add(knowledgeId);
+        }
+        if (Objects.nonNull(documentId)) {
+            sql.append(" AND chunk_document_id = ?");
+            args.add(documentId);
+        }
+        sql.append(" ORDER BY score DESC LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> this.mapRetrieval(rs), args.toArray());
+    }
+
+    @Override
+    @DS("postgresql-embed")
+    public List<ChunkRetrievalBo> hybridSearch(ChunkHybridSearchBo searchBo) {
+        if (Objects.isNull(searchBo) || StringUtils.isBlank(searchBo.getQuery())) {
+            throw new CustomizeAiException(ReturnCode.PARAMETER_FORMAT_MISMATCH, "参数[query]不能为空");
+        }
+        if (Objects.isNull(searchBo.getEmbeddingModel())) {
+            throw new CustomizeAiException(ReturnCode.PARAMETER_FORMAT_MISMATCH, "参数[embeddingModel]不能为空");
+        }
+        if (Objects.isNull(searchBo.getLimit()) || searchBo.getLimit() <= 0) {
+            throw new CustomizeAiException(ReturnCode.PARAMETER_FORMAT_MISMATCH, "参数[limit]必须大于0");
+        }
+        int limit = searchBo.getLimit();
+        ChunkReranker reranker = Objects.equals(searchBo.getRerank(), false) ? null : chunkRerankerProvider.getIfAvailable();
+        int fusedSize = Objects.isNull(reranker) ? limit : Math.max(limit, hybridRetrievalProperties.getRerankTopK());
+        int candidateSize = Math.max(fusedSize, hybridRetrievalProperties.getCandidateSize());
+        // 两路检索并行执行，工作线程中需要重新指定数据源；一路失败时降级为另一路的结果
+        String dataSource = DynamicDataSourceContextHolder.peek();
+        AtomicReference<RuntimeException> vectorError = new AtomicReference<>();
+        AtomicReference<RuntimeException> textError = new AtomicReference<>();
+        Mono<List<ChunkRetrievalBo>> vectorMono = Mono.fromCallable(() -> this.withDataSource(dataSource, () -> this.search(new ChunkSearchBo()
+                        .setQueryVector(this.embedQuery(searchBo.getEmbeddingModel(), searchBo.getQuery()))
+                        .setDistanceType(searchBo.getDistanceType())
+                        .setKnowledgeId(searchBo.getKnowledgeId())
+                        .setDocumentId(searchBo.getDocumentId())
+                        .setLimit(candidateSize))))
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorResume(RuntimeException.class, e -> {
+                    vectorError.set(e);
+                    return Mono.just(List.of());
+                });
+        Mono<List<ChunkRetrievalBo>> textMono = Mono.fromCallable(() -> this.withDataSource(dataSource, () -> this.textSearch(searchBo.getQuery(), searchBo.getKnowledgeId(), searchBo.getDocumentId(), candidateSize)))
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorResume(RuntimeException.class, e -> {
+                    textError.set(e);
+                    return Mono.just(List.of());
+                });
+        Tuple2<List<ChunkRetrievalBo>, List<ChunkRetrievalBo>> results = Mono.zip(vectorMono, textMono)
+                .map(tuple -> new Tuple2<>(tuple.getT1(), tuple.getT2()))
+                .block();
+        if (Objects.nonNull(vectorError.get()) && Objects.nonNull(textError.get())) {
+            throw vectorError.get();
+        }
+        if (Objects.nonNull(vectorError.get())) {
+            log.warn("混合检索向量检索失败，仅使用全文检索结果: {}", vectorError.get().getMessage());
+        }
+        if (Objects.nonNull(textError.get())) {
+            log.warn("混合检索全文检索失败，仅使用向量检索结果: {}", textError.get().getMessage());
+        }
+        List<ChunkRetrievalBo> fused = this.reciprocalRankFusion(Objects.requireNonNull(results).getT1(), results.getT2(), fusedSize);
+        if (Objects.isNull(reranker) || fused.size() <= 1) {
+            return fused.size() > limit ? new ArrayList<>(fused.subList(0, limit)) : fused;
+        }
+        try {
+            List<ChunkRetrievalBo> reranked = reranker.rerank(searchBo.getQuery(), fused);
+            if (CollectionUtils.isNotEmpty(reranked)) {
+                return reranked.size() > limit ? new ArrayList<>(reranked.subList(0, limit)) : reranked;
+            }
+        } catch (RuntimeException e) {
+            log.warn("混合检索重排失败，使用融合结果: {}", e.getMessage());
+        }
+        return fused.size() > limit ? new ArrayList<>(fused.subList(0, limit)) : fused;
+    }
+
     /**
      * 向量相似性搜索 - 使用 L2 距离
      */
     @DS("postgresql-embed")
     public List<ChunkRetrievalBo> findSimilarChunksByL2(float[] queryVector, int limit) {
-        String sql = """
-                SELECT *, chunk_embedding <-> ?::vector AS score 
-                FROM t_chunk 
-                WHERE is_deleted = 0 
-                ORDER BY chunk_embedding <-> ?::vector 
-                LIMIT ?
-                """;
-
-        String vectorStr = floatArrayToVectorString(queryVector);
-        return jdbcTemplate.queryForList(sql, ChunkRetrievalBo.class, vectorStr, vectorStr, limit);
+        return this.search(new ChunkSearchBo().setQueryVector(queryVector).setDistanceType(VectorDistanceType.L2).setLimit(limit));
     }
 
     /**
@@ -69,16 +601,7 @@ public class ChunkServiceImpl extends ServiceImpl<ChunkMapper, Chunk> implements
      */
     @DS("postgresql-embed")
     public List<ChunkRetrievalBo> findSimilarChunksByCosine(float[] queryVector, int limit) {
-        String sql = """
-                SELECT *, chunk_embedding <=> ?::vector AS score 
-                FROM t_chunk 
-                WHERE is_deleted = 0 
-                ORDER BY chunk_embedding <=> ?::vector 
-                LIMIT ?
-                """;
-
-        String vectorStr = floatArrayToVectorString(queryVector);
-        return jdbcTemplate.queryForList(sql, ChunkRetrievalBo.class, vectorStr, vectorStr, limit);
+        return this.search(new ChunkSearchBo().setQueryVector(queryVector).setDistanceType(VectorDistanceType.COSINE).setLimit(limit));
     }
 
     /**
@@ -86,16 +609,7 @@ public class ChunkServiceImpl extends ServiceImpl<ChunkMapper, Chunk> implements
      */
     @DS("postgresql-embed")
     public List<ChunkRetrievalBo> findSimilarChunksByInnerProduct(float[] queryVector, int limit) {
-        String sql = """
-                SELECT *, chunk_embedding <#> ?::vector AS score 
-                FROM t_chunk 
-                WHERE is_deleted = 0 
-                ORDER BY chunk_embedding <#> ?::vector 
-                LIMIT ?
-                """;
-
-        String vectorStr = floatArrayToVectorString(queryVector);
-        return jdbcTemplate.queryForList(sql, ChunkRetrievalBo.class, vectorStr, vectorStr, limit);
+        return this.search(new ChunkSearchBo().setQueryVector(queryVector).setDistanceType(VectorDistanceType.INNER_PRODUCT).setLimit(limit));
     }
 
     /**
@@ -103,31 +617,92 @@ public class ChunkServiceImpl extends ServiceImpl<ChunkMapper, Chunk> implements
      */
     @DS("postgresql-embed")
     public List<ChunkRetrievalBo> findSimilarChunksByKnowledge(Long knowledgeId, float[] queryVector, int limit) {
-        String sql = """
-                SELECT *, chunk_embedding <-> ?::vector AS distance 
-                FROM t_chunk 
-                WHERE chunk_knowledge_id = ? AND is_deleted = 0 
-                ORDER BY chunk_embedding <-> ?::vector 
-                LIMIT ?
-                """;
+        return this.search(new ChunkSearchBo().setQueryVector(queryVector).setDistanceType(VectorDistanceType.L2).setKnowledgeId(knowledgeId).setLimit(limit));
+    }
+
+    /**
+     * 在事务外执行DDL，CONCURRENTLY语句不能在事务块中执行
+     */
+    private void executeOutsideTransaction(String sql) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            if (!connection.getAutoCommit()) {
+                throw new CustomizeAiException(ReturnCode.FAIL, "向量索引变更不能在事务中执行");
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(sql);
+            }
+            return null;
+        });
+    }
 
-        String vectorStr = floatArrayToVectorString(queryVector);
-        return jdbcTemplate.queryForList(sql, ChunkRetrievalBo.class, vectorStr, knowledgeId, vectorStr, limit);
+    /**
+     * 获取查询向量，相同模型的相同查询文本复用缓存结果
+     */
+    private float[] embedQuery(EmbeddingModelBase model, String query) {
+        String key = model.getEmbeddingServiceType().getValue() + ":" + model.getModel() + ":" + query;
+        return queryEmbeddingCache.get(key, k -> aiEmbeddingService.embedToArray(model, query));
     }
 
     /**
-     * 将 float[] 转换为 PostgreSQL vector 格式的字符串
+     * 在指定数据源下执行
      */
-    private String floatArrayToVectorString(float[] array) {
-        StringBuilder sb = new StringBuilder("[");
-        for (int i = 0; i < array.length; i++) {
-            if (i > 0) {
-                sb.append(",");
+    private <T> T withDataSource(String dataSource, Supplier<T> supplier) {
+        if (StringUtils.isBlank(dataSource)) {
+            return supplier.get();
+        }
+        DynamicDataSourceContextHolder.push(dataSource);
+        try {
+            return supplier.get();
+        } finally {
+            DynamicDataSourceContextHolder.poll();
+        }
+    }
+
+    /**
+     * 倒数排名融合，得分为各路sum(权重 / (k + 排名))，只依赖排名，不需要对不同量纲的得分做归一化
+     * 融合后的得分写入score，得分越大越相关
+     */
+    private List<ChunkRetrievalBo> reciprocalRankFusion(List<ChunkRetrievalBo> vectorResults, List<ChunkRetrievalBo> textResults, int size) {
+        int k = Math.max(1, hybridRetrievalProperties.getRrfK());
+        Map<Long, ChunkRetrievalBo> chunks = new LinkedHashMap<>();
+        Map<Long, Double> scores = new HashMap<>();
+        List<Tuple2<List<ChunkRetrievalBo>, Double>> rankings = List.of(
+                new Tuple2<>(vectorResults, hybridRetrievalProperties.getVectorWeight()),
+                new Tuple2<>(textResults, hybridRetrievalProperties.getTextWeight()));
+        for (Tuple2<List<ChunkRetrievalBo>, Double> ranking : rankings) {
+            List<ChunkRetrievalBo> results = ranking.getT1();
+            for (int i = 0; i < results.size(); i++) {
+                ChunkRetrievalBo chunk = results.get(i);
+                chunks.putIfAbsent(chunk.getId(), chunk);
+                scores.merge(chunk.getId(), ranking.getT2() / (k + i + 1), Double::sum);
             }
-            sb.append(array[i]);
         }
-        sb.append("]");
-        return sb.toString();
+        return chunks.values().stream()
+                .map(chunk -> chunk.setScore(scores.get(chunk.getId())))
+                .sorted(Comparator.comparingDouble(ChunkRetrievalBo::getScore).reversed())
+                .limit(size)
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    /**
+     * 映射检索结果，检索结果不回传向量数据以减少传输量
+     */
+    private ChunkRetrievalBo mapRetrieval(ResultSet rs) throws SQLException {
+        Timestamp createTime = rs.getTimestamp("create_time");
+        Timestamp updateTime = rs.getTimestamp("update_time");
+        return new ChunkRetrievalBo()
+                .setId(rs.getLong("chunk_id"))
+                .setDocumentId(rs.getLong("chunk_document_id"))
+                .setKnowledgeId(rs.getLong("chunk_knowledge_id"))
+                .setUserId(rs.getLong("chunk_user_id"))
+                .setContent(rs.getString("chunk_content"))
+                .setState(rs.getInt("chunk_state"))
+                .setDimension(rs.getObject("chunk_dimension", Integer.class))
+                .setFailReason(rs.getString("chunk_fail_reason"))
+                .setScore(rs.getDouble("score"))
+                .setCreateTime(Objects.isNull(createTime) ? null : createTime.toLocalDateTime())
+                .setUpdateTime(Objects.isNull(updateTime) ? null : updateTime.toLocalDateTime())
+                .setDeleted(rs.getInt("is_deleted"));
     }
 
 }
@@ -0,0 +1,28 @@
+package top.sharehome.springbootinittemplate.config.ai.spring.vector.utils;
+
+/**
+ * PostgreSQL向量工具类
+ *
+ * @author AntonyCheng
+ */
+public class PgVectorUtils {
+
+    /**
+     * 将 float[] 转换为 PostgreSQL vector 格式的字符串，用于COPY文本格式等无法绑定参数的场景
+     *
+     * @param array 向量
+     * @return vector格式字符串
+     */
+    public static String toVectorString(float[] array) {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < array.length; i++) {
+            if (i > 0) {
+                sb.append(",");
+            }
+            sb.append(array[i]);
+        }
+        sb.append("]");
+        return sb.toString();
+    }
+
+}
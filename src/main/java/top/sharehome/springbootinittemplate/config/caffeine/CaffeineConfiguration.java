@@ -5,11 +5,14 @@ import com.github.benmanes.caffeine.cache.Caffeine;
 import jakarta.annotation.PostConstruct;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RedissonClient;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Configuration;
 import top.sharehome.springbootinittemplate.config.caffeine.condition.CaffeineCondition;
+import top.sharehome.springbootinittemplate.config.caffeine.condition.NearCacheCondition;
+import top.sharehome.springbootinittemplate.config.caffeine.near.NearCacheManager;
 import top.sharehome.springbootinittemplate.config.caffeine.properties.CaffeineProperties;
 
 import java.util.concurrent.TimeUnit;
@@ -40,6 +43,12 @@ public class CaffeineConfiguration {
                 .build();
     }
 
+    @Bean(initMethod = "start", destroyMethod = "shutdown")
+    @Conditional(NearCacheCondition.class)
+    public NearCacheManager nearCacheManager(RedissonClient redissonClient) {
+        return new NearCacheManager(redissonClient, caffeineProperties.getNearCache());
+    }
+
     /**
      * 依赖注入日志输出
      */
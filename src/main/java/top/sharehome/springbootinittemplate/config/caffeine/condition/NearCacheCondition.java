@@ -0,0 +1,26 @@
+package top.sharehome.springbootinittemplate.config.caffeine.condition;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+/**
+ * 二级缓存自定义配置条件，需要同时启动Caffeine和Redisson
+ *
+ * @author AntonyCheng
+ */
+public class NearCacheCondition implements Condition {
+
+    @Override
+    public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+        String caffeineProperty = context.getEnvironment().getProperty("caffeine.enable");
+        String nearCacheProperty = context.getEnvironment().getProperty("caffeine.near-cache.enable");
+        String redissonSingleProperty = context.getEnvironment().getProperty("redisson.single-server-config.enable-single");
+        String redissonClusterProperty = context.getEnvironment().getProperty("redisson.cluster-servers-config.enable-cluster");
+        return StringUtils.equals(Boolean.TRUE.toString(), caffeineProperty)
+                && StringUtils.equals(Boolean.TRUE.toString(), nearCacheProperty)
+                && (StringUtils.equals(Boolean.TRUE.toString(), redissonSingleProperty) || StringUtils.equals(Boolean.TRUE.toString(), redissonClusterProperty));
+    }
+
+}
@@ -0,0 +1,375 @@
+package top.sharehome.springbootinittemplate.config.caffeine.near;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.listener.BaseStatusListener;
+import top.sharehome.springbootinittemplate.common.base.ReturnCode;
+import top.sharehome.springbootinittemplate.config.caffeine.near.model.NearCacheInvalidation;
+import top.sharehome.springbootinittemplate.config.caffeine.near.model.NearCacheStats;
+import top.sharehome.springbootinittemplate.config.caffeine.properties.CaffeineProperties;
+import top.sharehome.springbootinittemplate.exception.customize.CustomizeRedissonException;
+import top.sharehome.springbootinittemplate.utils.redisson.KeyPrefixConstants;
+import top.sharehome.springbootinittemplate.utils.redisson.cache.CacheUtils;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 二级缓存管理器
+ * 读取时先查Caffeine本地缓存，未命中再查Redis缓存并回填本地缓存；写入或删除时先操作Redis缓存，再通过Redisson主题通知其他节点淘汰本地副本
+ * 本地缓存按命名空间隔离，每个命名空间可以单独配置过期时间和容量，本地缓存过期时间同时兜底失效通知丢失的情况
+ * 本地缓存的每次淘汰都会递增对应分段的版本号，回填本地缓存前后都会校验版本号，避免淘汰前发起的Redis读取在淘汰后把旧值写回本地缓存
+ * 注意：本地缓存直接持有对象引用，调用方不要修改从缓存中取出的对象
+ *
+ * @author AntonyCheng
+ */
+@Slf4j
+public class NearCacheManager {
+
+    /**
+     * 每个命名空间的版本号分段数
+     */
+    private static final int EPOCH_STRIPES = 64;
+
+    private final RedissonClient redissonClient;
+
+    private final CaffeineProperties.NearCache nearCacheProperties;
+
+    /**
+     * 当前节点ID
+     */
+    private final String nodeId = UUID.randomUUID().toString();
+
+    /**
+     * 命名空间本地缓存
+     */
+    private final Map<String, Cache<String, Object>> localCaches = new ConcurrentHashMap<>();
+
+    /**
+     * 命名空间本地缓存版本号，按照缓存键哈希分段，淘汰本地缓存前递增
+     */
+    private final Map<String, AtomicLongArray> epochs = new ConcurrentHashMap<>();
+
+    /**
+     * 命名空间Redis缓存命中次数
+     */
+    private final Map<String, LongAdder> remoteHitCounts = new ConcurrentHashMap<>();
+
+    /**
+     * 命名空间Redis缓存未命中次数
+     */
+    private final Map<String, LongAdder> remoteMissCounts = new ConcurrentHashMap<>();
+
+    /**
+     * 失效通知主题
+     */
+    private RTopic topic;
+
+    /**
+     * 失效通知监听器ID
+     */
+    private int messageListenerId = -1;
+
+    /**
+     * 订阅状态监听器ID
+     */
+    private int statusListenerId = -1;
+
+    public NearCacheManager(RedissonClient redissonClient, CaffeineProperties.NearCache nearCacheProperties) {
+        this.redissonClient = redissonClient;
+        this.nearCacheProperties = nearCacheProperties;
+    }
+
+    /**
+     * 订阅失效通知
+     */
+    public void start() {
+        topic = redissonClient.getTopic(KeyPrefixConstants.NEAR_CACHE_TOPIC);
+        messageListenerId = topic.addListener(NearCacheInvalidation.class, (channel, message) -> onInvalidation(message));
+        statusListenerId = topic.addListener(new BaseStatusListener() {
+            @Override
+            public void onSubscribe(String channel) {
+                // 断线重连期间可能丢失失效通知，重新订阅后清空全部本地缓存
+                localCaches.keySet().forEach(namespace -> invalidateLocalCache(namespace, null));
+            }
+        });
+    }
+
+    /**
+     * 取消订阅失效通知并清空本地缓存
+     */
+    public void shutdown() {
+        if (Objects.nonNull(topic)) {
+            topic.removeListener(messageListenerId, statusListenerId);
+        }
+        localCaches.values().forEach(Cache::invalidateAll);
+    }
+
+    /**
+     * 获取缓存
+     *
+     * @param namespace 命名空间
+     * @param key       缓存键
+     * @param type      数据类型，为null表示不校验
+     */
+    public <T> T get(String namespace, String key, Class<T> type) {
+        verifyParameters(namespace, key);
+        Cache<String, Object> localCache = getLocalCache(namespace);
+        Object local = localCache.getIfPresent(key);
+        if (Objects.nonNull(local)) {
+            return cast(local, type);
+        }
+        // 读取Redis前记录版本号，读取期间发生淘汰时不回填本地缓存
+        AtomicLongArray namespaceEpochs = getEpochs(namespace);
+        int stripe = stripe(key);
+        long epoch = namespaceEpochs.get(stripe);
+        T remote = CacheUtils.getNoPrefix(buildRemoteKey(namespace, key), type);
+        if (Objects.isNull(remote)) {
+            remoteMissCounts.computeIfAbsent(namespace, k -> new LongAdder()).increment();
+            return null;
+        }
+        remoteHitCounts.computeIfAbsent(namespace, k -> new LongAdder()).increment();
+        if (namespaceEpochs.get(stripe) == epoch) {
+            localCache.put(key, remote);
+            // 回填后再次校验，淘汰发生在校验和回填之间时撤销回填
+            if (namespaceEpochs.get(stripe) != epoch) {
+                localCache.invalidate(key);
+            }
+        }
+        return remote;
+    }
+
+    /**
+     * 设置缓存，并通知其他节点淘汰本地副本
+     *
+     * @param namespace 命名空间
+     * @param key       缓存键
+     * @param value     缓存值
+     */
+    public <T> void put(String namespace, String key, T value) {
+        verifyParameters(namespace, key, value);
+        CacheUtils.putNoPrefix(buildRemoteKey(namespace, key), value, Duration.ofSeconds(getRemoteExpired(namespace)));
+        // 递增版本号，使并发读取到旧值的回填失效
+        bumpEpoch(namespace, key);
+        getLocalCache(namespace).put(key, value);
+        publish(namespace, List.of(key));
+    }
+
+    /**
+     * 删除缓存，并通知其他节点淘汰本地副本
+     *
+     * @param namespace 命名空间
+     * @param key       缓存键
+     */
+    public Boolean delete(String namespace, String key) {
+        verifyParameters(namespace, key);
+        Boolean res = CacheUtils.deleteNoPrefix(buildRemoteKey(namespace, key));
+        invalidateLocalCache(namespace, List.of(key));
+        publish(namespace, List.of(key));
+        return res;
+    }
+
+    /**
+     * 批量删除缓存，并通知其他节点淘汰本地副本
+     *
+     * @param namespace 命名空间
+     * @param keys      缓存键集合
+     */
+    public Long delete(String namespace, Collection<String> keys) {
+        verifyParameters(namespace, keys);
+        List<String> keyList = List.copyOf(keys);
+        Long res = CacheUtils.deleteAllNoPrefix(keyList.stream().map(key -> buildRemoteKey(namespace, key)).toList());
+        invalidateLocalCache(namespace, keyList);
+        publish(namespace, keyList);
+        return res;
+    }
+
+    /**
+     * 淘汰所有节点中命名空间的本地缓存，Redis缓存不受影响
+     *
+     * @param namespace 命名空间
+     */
+    public void invalidateLocal(String namespace) {
+        verifyParameters(namespace);
+        invalidateLocalCache(namespace, null);
+        publish(namespace, null);
+    }
+
+    /**
+     * 获取命名空间统计信息
+     *
+     * @param namespace 命名空间
+     */
+    public NearCacheStats getStats(String namespace) {
+        verifyParameters(namespace);
+        Cache<String, Object> localCache = getLocalCache(namespace);
+        CacheStats stats = localCache.stats();
+        LongAdder remoteHitCount = remoteHitCounts.get(namespace);
+        LongAdder remoteMissCount = remoteMissCounts.get(namespace);
+        return new NearCacheStats(
+                namespace,
+                stats.hitCount(),
+                stats.missCount(),
+                Objects.isNull(remoteHitCount) ? 0L : remoteHitCount.sum(),
+                Objects.isNull(remoteMissCount) ? 0L : remoteMissCount.sum(),
+                stats.evictionCount(),
+                localCache.estimatedSize()
+        );
+    }
+
+    /**
+     * 获取全部已使用命名空间的统计信息
+     */
+    public List<NearCacheStats> getStats() {
+        return localCaches.keySet().stream().sorted().map(this::getStats).toList();
+    }
+
+    /**
+     * 处理其他节点发送的失效通知
+     *
+     * @param message 失效通知
+     */
+    private void onInvalidation(NearCacheInvalidation message) {
+        if (Objects.isNull(message) || StringUtils.equals(nodeId, message.getNodeId())) {
+            return;
+        }
+        if (!localCaches.containsKey(message.getNamespace())) {
+            return;
+        }
+        invalidateLocalCache(message.getNamespace(), message.getKeys());
+    }
+
+    /**
+     * 淘汰本地缓存，先递增版本号再淘汰，保证并发回填能够感知到本次淘汰
+     *
+     * @param namespace 命名空间
+     * @param keys      淘汰的缓存键，为null表示淘汰整个命名空间
+     */
+    private void invalidateLocalCache(String namespace, Collection<String> keys) {
+        Cache<String, Object> localCache = getLocalCache(namespace);
+        if (Objects.isNull(keys)) {
+            AtomicLongArray namespaceEpochs = getEpochs(namespace);
+            for (int i = 0; i < EPOCH_STRIPES; i++) {
+                namespaceEpochs.incrementAndGet(i);
+            }
+            localCache.invalidateAll();
+        } else {
+            keys.forEach(key -> bumpEpoch(namespace, key));
+            localCache.invalidateAll(keys);
+        }
+    }
+
+    /**
+     * 递增缓存键所在分段的版本号
+     *
+     * @param namespace 命名空间
+     * @param key       缓存键
+     */
+    private void bumpEpoch(String namespace, String key) {
+        getEpochs(namespace).incrementAndGet(stripe(key));
+    }
+
+    private AtomicLongArray getEpochs(String namespace) {
+        return epochs.computeIfAbsent(namespace, name -> new AtomicLongArray(EPOCH_STRIPES));
+    }
+
+    private int stripe(String key) {
+        return Math.floorMod(key.hashCode(), EPOCH_STRIPES);
+    }
+
+    /**
+     * 发送失效通知，发送失败时其他节点的本地副本会在本地过期时间后失效
+     *
+     * @param namespace 命名空间
+     * @param keys      失效的缓存键，为null表示整个命名空间失效
+     */
+    private void publish(String namespace, List<String> keys) {
+        if (Objects.isNull(topic)) {
+            return;
+        }
+        try {
+            topic.publish(new NearCacheInvalidation(nodeId, namespace, keys));
+        } catch (Exception e) {
+            log.warn("二级缓存失效通知发送失败，命名空间：{}，原因：{}", namespace, e.getMessage());
+        }
+    }
+
+    /**
+     * 获取命名空间本地缓存，不存在时按照命名空间配置创建
+     *
+     * @param namespace 命名空间
+     */
+    private Cache<String, Object> getLocalCache(String namespace) {
+        return localCaches.computeIfAbsent(namespace, name -> {
+            CaffeineProperties.Namespace config = nearCacheProperties.getNamespaces().get(name);
+            Long localExpired = Objects.nonNull(config) && Objects.nonNull(config.getLocalExpired()) ? config.getLocalExpired() : nearCacheProperties.getLocalExpired();
+            Integer maxCapacity = Objects.nonNull(config) && Objects.nonNull(config.getMaxCapacity()) ? config.getMaxCapacity() : nearCacheProperties.getMaxCapacity();
+            return Caffeine.newBuilder()
+                    .expireAfterWrite(localExpired, TimeUnit.SECONDS)
+                    .maximumSize(maxCapacity)
+                    .recordStats()
+                    .build();
+        });
+    }
+
+    /**
+     * 获取命名空间Redis缓存过期时间，单位：秒
+     *
+     * @param namespace 命名空间
+     */
+    private Long getRemoteExpired(String namespace) {
+        CaffeineProperties.Namespace config = nearCacheProperties.getNamespaces().get(namespace);
+        return Objects.nonNull(config) && Objects.nonNull(config.getRemoteExpired()) ? config.getRemoteExpired() : nearCacheProperties.getRemoteExpired();
+    }
+
+    /**
+     * 构建Redis缓存键
+     *
+     * @param namespace 命名空间
+     * @param key       缓存键
+     */
+    private String buildRemoteKey(String namespace, String key) {
+        return KeyPrefixConstants.NEAR_CACHE_PREFIX + namespace + ":" + key;
+    }
+
+    /**
+     * 校验本地缓存值类型
+     *
+     * @param value 缓存值
+     * @param type  数据类型
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T cast(Object value, Class<T> type) {
+        if (Objects.isNull(type) || type.isInstance(value)) {
+            return (T) value;
+        }
+        throw new CustomizeRedissonException(ReturnCode.FAIL, "数据类型不一致");
+    }
+
+    /**
+     * 验证参数是否含空
+     *
+     * @param params 参数
+     */
+    private void verifyParameters(Object... params) {
+        for (Object param : params) {
+            if (Objects.isNull(param)) {
+                throw new CustomizeRedissonException(ReturnCode.PARAMETER_FORMAT_MISMATCH, "参数均不能为空");
+            }
+        }
+    }
+
+}
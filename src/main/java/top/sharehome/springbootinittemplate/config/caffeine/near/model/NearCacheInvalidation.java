@@ -0,0 +1,39 @@
+package top.sharehome.springbootinittemplate.config.caffeine.near.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 二级缓存失效通知实体类
+ *
+ * @author AntonyCheng
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearCacheInvalidation implements Serializable {
+
+    /**
+     * 发送通知的节点ID，节点收到自己发送的通知时直接忽略
+     */
+    private String nodeId;
+
+    /**
+     * 命名空间
+     */
+    private String namespace;
+
+    /**
+     * 失效的缓存键，为空表示整个命名空间失效
+     */
+    private List<String> keys;
+
+    @Serial
+    private static final long serialVersionUID = -2818826434717346614L;
+
+}
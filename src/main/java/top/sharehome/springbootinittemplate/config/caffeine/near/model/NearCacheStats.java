@@ -0,0 +1,58 @@
+package top.sharehome.springbootinittemplate.config.caffeine.near.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * 二级缓存命名空间统计实体类
+ *
+ * @author AntonyCheng
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearCacheStats implements Serializable {
+
+    /**
+     * 命名空间
+     */
+    private String namespace;
+
+    /**
+     * 本地缓存命中次数
+     */
+    private Long localHitCount;
+
+    /**
+     * 本地缓存未命中次数
+     */
+    private Long localMissCount;
+
+    /**
+     * Redis缓存命中次数
+     */
+    private Long remoteHitCount;
+
+    /**
+     * Redis缓存未命中次数
+     */
+    private Long remoteMissCount;
+
+    /**
+     * 本地缓存淘汰次数
+     */
+    private Long evictionCount;
+
+    /**
+     * 本地缓存当前条数（估算值）
+     */
+    private Long localSize;
+
+    @Serial
+    private static final long serialVersionUID = 6160516951412960284L;
+
+}
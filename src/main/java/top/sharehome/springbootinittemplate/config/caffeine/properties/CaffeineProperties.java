@@ -3,6 +3,9 @@ package top.sharehome.springbootinittemplate.config.caffeine.properties;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Caffeine配置属性
  *
@@ -37,4 +40,65 @@ public class CaffeineProperties {
      */
     private Boolean allowNullValue = true;
 
+    /**
+     * 二级缓存（Caffeine本地缓存 + Redis缓存）配置
+     */
+    private NearCache nearCache = new NearCache();
+
+    /**
+     * 二级缓存配置
+     */
+    @Data
+    public static class NearCache {
+
+        /**
+         * 是否启动，需要同时启动Caffeine和Redisson
+         */
+        private Boolean enable = false;
+
+        /**
+         * 本地缓存写入后经过固定时间过期，单位：秒，用于兜底失效通知丢失的情况
+         */
+        private Long localExpired = 60L;
+
+        /**
+         * Redis缓存写入后经过固定时间过期，单位：秒
+         */
+        private Long remoteExpired = 1800L;
+
+        /**
+         * 每个命名空间本地缓存最大容量
+         */
+        private Integer maxCapacity = 10000;
+
+        /**
+         * 命名空间单独配置，未配置的属性使用上面的默认值
+         */
+        private Map<String, Namespace> namespaces = new HashMap<>();
+
+    }
+
+    /**
+     * 二级缓存命名空间配置
+     */
+    @Data
+    public static class Namespace {
+
+        /**
+         * 本地缓存写入后经过固定时间过期，单位：秒
+         */
+        private Long localExpired;
+
+        /**
+         * Redis缓存写入后经过固定时间过期，单位：秒
+         */
+        private Long remoteExpired;
+
+        /**
+         * 本地缓存最大容量
+         */
+        private Integer maxCapacity;
+
+    }
+
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package top.sharehome.springbootinittemplate.config.idempotent.annotation;
 
+import top.sharehome.springbootinittemplate.config.idempotent.enums.RateLimitAlgorithm;
 import top.sharehome.springbootinittemplate.config.idempotent.enums.ScopeType;
 
 import java.lang.annotation.*;
@@ -32,10 +33,15 @@ public @interface RateLimit {
     long rate() default 2;
 
     /**
-     * 每个操作所要消耗的令牌数，该参数值不能大于rate参数值
+     * 每个操作所要消耗的令牌数（滑动窗口算法中为每个操作所计的次数），该参数值不能大于rate参数值
      */
     long permit() default 1;
 
+    /**
+     * 限流算法（默认令牌桶）
+     */
+    RateLimitAlgorithm algorithm() default RateLimitAlgorithm.TOKEN_BUCKET;
+
     /**
      * 作用范围
      */
@@ -18,8 +18,10 @@ import top.sharehome.springbootinittemplate.config.idempotent.enums.ScopeType;
 import top.sharehome.springbootinittemplate.config.redisson.condition.RedissonCondition;
 import top.sharehome.springbootinittemplate.exception.customize.CustomizeRedissonException;
 import top.sharehome.springbootinittemplate.exception.customize.CustomizeReturnException;
+import top.sharehome.springbootinittemplate.utils.net.NetUtils;
 import top.sharehome.springbootinittemplate.utils.redisson.KeyPrefixConstants;
 import top.sharehome.springbootinittemplate.utils.redisson.cache.CacheUtils;
+import top.sharehome.springbootinittemplate.utils.satoken.LoginUtils;
 
 import java.time.Duration;
 import java.util.Objects;
@@ -68,7 +70,14 @@ public class PreventRepeatAop {
         String uri = request.getRequestURI();
         String preventRepeatKey = null;
         // 判断作用范围
-        if (Objects.equals(preventRepeat.scopeType(), ScopeType.PERSONAL)) {
+        Long loginUserId = Objects.equals(preventRepeat.scopeType(), ScopeType.USER) ? LoginUtils.getLoginUserId() : null;
+        if (Objects.nonNull(loginUserId)) {
+            // 构造键（指定key + url + 登录用户ID）
+            preventRepeatKey = KeyPrefixConstants.PREVENT_REPEAT + requestMethod + ":" + uri + ":USER:" + loginUserId;
+        } else if (Objects.equals(preventRepeat.scopeType(), ScopeType.IP)) {
+            // 构造键（指定key + url + 客户端IP）
+            preventRepeatKey = KeyPrefixConstants.PREVENT_REPEAT + requestMethod + ":" + uri + ":IP:" + NetUtils.getIpByRequest(request);
+        } else if (Objects.equals(preventRepeat.scopeType(), ScopeType.PERSONAL) || Objects.equals(preventRepeat.scopeType(), ScopeType.USER)) {
             // 获取会话请求ID
             String sessionId = request.getSession().getId();
             // 构造唯一值
@@ -1,15 +1,19 @@
 package top.sharehome.springbootinittemplate.config.idempotent.aop;
 
 import cn.dev33.satoken.SaManager;
+import com.baomidou.mybatisplus.core.toolkit.IdWorker;
 import jakarta.servlet.http.HttpServletRequest;
 import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Before;
 import org.aspectj.lang.annotation.Pointcut;
+import org.redisson.api.RBatch;
 import org.redisson.api.RRateLimiter;
+import org.redisson.api.RScript;
 import org.redisson.api.RateType;
 import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
 import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
 import org.springframework.stereotype.Component;
@@ -22,11 +26,13 @@ import top.sharehome.springbootinittemplate.config.idempotent.enums.ScopeType;
 import top.sharehome.springbootinittemplate.config.redisson.condition.RedissonCondition;
 import top.sharehome.springbootinittemplate.exception.customize.CustomizeRedissonException;
 import top.sharehome.springbootinittemplate.exception.customize.CustomizeReturnException;
+import top.sharehome.springbootinittemplate.utils.net.NetUtils;
 import top.sharehome.springbootinittemplate.utils.redisson.KeyPrefixConstants;
 import top.sharehome.springbootinittemplate.utils.redisson.rateLimit.model.TimeModel;
+import top.sharehome.springbootinittemplate.utils.satoken.LoginUtils;
 
 import java.time.Duration;
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
@@ -47,6 +53,53 @@ public class RateLimitAop {
      */
     private static final RedissonClient REDISSON_CLIENT = SpringContextHolder.getBean(RedissonClient.class);
 
+    /**
+     * 滑动窗口日志限流脚本，使用有序集合记录窗口内每一次访问，时间以Redis服务器时间为准
+     * KEYS[1]：限流键；ARGV[1]：窗口大小（毫秒）；ARGV[2]：窗口内允许的访问次数；ARGV[3]：本次访问所计的次数；ARGV[4]：本次访问唯一标识
+     */
+    private static final String SLIDING_WINDOW_LOG_SCRIPT = """
+            redis.replicate_commands()
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local window = tonumber(ARGV[1])
+            local rate = tonumber(ARGV[2])
+            local permit = tonumber(ARGV[3])
+            redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', now - window)
+            if redis.call('ZCARD', KEYS[1]) + permit > rate then
+                return 0
+            end
+            for i = 1, permit do
+                redis.call('ZADD', KEYS[1], now, ARGV[4] .. ':' .. i)
+            end
+            redis.call('PEXPIRE', KEYS[1], window)
+            return 1
+            """;
+
+    /**
+     * 滑动窗口计数限流脚本，使用哈希记录当前窗口和上一个窗口的计数，按照上一个窗口剩余占比加权估算，时间以Redis服务器时间为准
+     * KEYS[1]：限流键；ARGV[1]：窗口大小（毫秒）；ARGV[2]：窗口内允许的访问次数；ARGV[3]：本次访问所计的次数
+     */
+    private static final String SLIDING_WINDOW_COUNTER_SCRIPT = """
+            redis.replicate_commands()
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local window = tonumber(ARGV[1])
+            local rate = tonumber(ARGV[2])
+            local permit = tonumber(ARGV[3])
+            local current = math.floor(now / window)
+            local counts = redis.call('HMGET', KEYS[1], current, current - 1)
+            local currentCount = tonumber(counts[1]) or 0
+            local previousCount = tonumber(counts[2]) or 0
+            local weight = 1 - (now % window) / window
+            if previousCount * weight + currentCount + permit > rate then
+                return 0
+            end
+            redis.call('HINCRBY', KEYS[1], current, permit)
+            redis.call('HDEL', KEYS[1], current - 2)
+            redis.call('PEXPIRE', KEYS[1], window * 2)
+            return 1
+            """;
+
     /**
      * 定义切入点方法
      */
@@ -74,40 +127,94 @@ public class RateLimitAop {
             throw new CustomizeReturnException(ReturnCode.USER_SENT_INVALID_REQUEST, "无法获取请求");
         }
         HttpServletRequest request = servletRequestAttributes.getRequest();
-        String requestMethod = request.getMethod();
-        String uri = request.getRequestURI();
-        String rateLimitKey = null;
-        // 判断作用范围
-        if (Objects.equals(rateLimit.scopeType(), ScopeType.PERSONAL)) {
+        String rateLimitKey = switch (rateLimit.algorithm()) {
+            case SLIDING_WINDOW_LOG -> KeyPrefixConstants.RATE_LIMIT_SLIDING_LOG_PREFIX + buildScopeKey(request, rateLimit.scopeType());
+            case SLIDING_WINDOW_COUNTER -> KeyPrefixConstants.RATE_LIMIT_SLIDING_COUNTER_PREFIX + buildScopeKey(request, rateLimit.scopeType());
+            default -> KeyPrefixConstants.RATE_LIMIT_ANNOTATION_PREFIX + buildScopeKey(request, rateLimit.scopeType());
+        };
+        boolean canOp = switch (rateLimit.algorithm()) {
+            case SLIDING_WINDOW_LOG -> evalSlidingWindow(SLIDING_WINDOW_LOG_SCRIPT, rateLimitKey, interval, rateLimit.rate(), rateLimit.permit());
+            case SLIDING_WINDOW_COUNTER -> evalSlidingWindow(SLIDING_WINDOW_COUNTER_SCRIPT, rateLimitKey, interval, rateLimit.rate(), rateLimit.permit());
+            default -> acquireTokenBucket(rateLimitKey, interval, rateLimit.rate(), rateLimit.permit());
+        };
+        if (!canOp) {
+            throw new CustomizeRedissonException(ReturnCode.TOO_MANY_REQUESTS, rateLimit.message());
+        }
+    }
+
+    /**
+     * 根据作用范围构造限流键（请求方法 + URI + 范围唯一值）
+     *
+     * @param request   请求
+     * @param scopeType 作用范围
+     */
+    private String buildScopeKey(HttpServletRequest request, ScopeType scopeType) {
+        String baseKey = request.getMethod() + ":" + request.getRequestURI();
+        if (Objects.equals(scopeType, ScopeType.USER)) {
+            Long loginUserId = LoginUtils.getLoginUserId();
+            if (Objects.nonNull(loginUserId)) {
+                return baseKey + ":USER:" + loginUserId;
+            }
+        }
+        if (Objects.equals(scopeType, ScopeType.IP)) {
+            return baseKey + ":IP:" + NetUtils.getIpByRequest(request);
+        }
+        if (Objects.equals(scopeType, ScopeType.PERSONAL) || Objects.equals(scopeType, ScopeType.USER)) {
             // 获取会话请求ID
             String sessionId = request.getSession().getId();
             // 构造唯一值
             String onlyKey = DigestUtils.md5Hex(StringUtils.trimToEmpty(request.getHeader(SaManager.getConfig().getTokenName())) + ":" + sessionId);
-            // 构造键（指定key + url + 唯一值）
-            rateLimitKey = KeyPrefixConstants.RATE_LIMIT_ANNOTATION_PREFIX + requestMethod + ":" + uri + ":" + onlyKey;
-        } else {
-            // 构造键（指定key + url）
-            rateLimitKey = KeyPrefixConstants.RATE_LIMIT_ANNOTATION_PREFIX + requestMethod + ":" + uri;
+            return baseKey + ":" + onlyKey;
         }
+        return baseKey;
+    }
+
+    /**
+     * 令牌桶限流，获取令牌后通过一次管道请求为限流器相关键值设定过期时间
+     *
+     * @param rateLimitKey 限流键
+     * @param interval     限流单位时间，单位：毫秒
+     * @param rate         限流单位时间内访问次数
+     * @param permit       每个操作所要消耗的令牌数
+     */
+    private boolean acquireTokenBucket(String rateLimitKey, long interval, long rate, long permit) {
         TimeModel rateInterval = new TimeModel(interval, TimeUnit.MILLISECONDS);
         RRateLimiter rateLimiter = REDISSON_CLIENT.getRateLimiter(rateLimitKey);
-
-        rateLimiter.trySetRate(RateType.OVERALL, rateLimit.rate(), Duration.ofMillis(rateInterval.toMillis()));
-        boolean canOp = rateLimiter.tryAcquire(rateLimit.permit());
-        if (!canOp) {
-            throw new CustomizeRedissonException(ReturnCode.TOO_MANY_REQUESTS, rateLimit.message());
-        }
-        String expireRateLimitKey = rateLimitKey;
-        List<String> uselessCacheKeys = new ArrayList<>() {
-            {
-                add(expireRateLimitKey);
-                add("{" + expireRateLimitKey + "}:permits");
-                add("{" + expireRateLimitKey + "}:value");
-            }
-        };
-        for (String uselessCacheKey : uselessCacheKeys) {
-            REDISSON_CLIENT.getBucket(uselessCacheKey).expire(Duration.ofMillis(rateInterval.toMillis()));
+        rateLimiter.trySetRate(RateType.OVERALL, rate, Duration.ofMillis(rateInterval.toMillis()));
+        if (!rateLimiter.tryAcquire(permit)) {
+            return false;
         }
+        Duration expire = Duration.ofMillis(rateInterval.toMillis());
+        RBatch batch = REDISSON_CLIENT.createBatch();
+        batch.getBucket(rateLimitKey).expireAsync(expire);
+        batch.getBucket("{" + rateLimitKey + "}:permits").expireAsync(expire);
+        batch.getBucket("{" + rateLimitKey + "}:value").expireAsync(expire);
+        batch.execute();
+        return true;
+    }
+
+    /**
+     * 执行滑动窗口限流脚本，检查、计数以及设置过期时间在一次原子操作中完成
+     *
+     * @param script       限流脚本
+     * @param rateLimitKey 限流键
+     * @param interval     窗口大小，单位：毫秒
+     * @param rate         窗口内允许的访问次数
+     * @param permit       每个操作所计的次数
+     */
+    private boolean evalSlidingWindow(String script, String rateLimitKey, long interval, long rate, long permit) {
+        List<Object> keys = Collections.singletonList(rateLimitKey);
+        Boolean canOp = REDISSON_CLIENT.getScript(StringCodec.INSTANCE).eval(
+                RScript.Mode.READ_WRITE,
+                script,
+                RScript.ReturnType.BOOLEAN,
+                keys,
+                String.valueOf(interval),
+                String.valueOf(rate),
+                String.valueOf(permit),
+                IdWorker.getIdStr()
+        );
+        return Boolean.TRUE.equals(canOp);
     }
 
-}
+}
\ No newline at end of file
@@ -0,0 +1,30 @@
+package top.sharehome.springbootinittemplate.config.idempotent.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 限流算法类型
+ *
+ * @author AntonyCheng
+ */
+@Getter
+@AllArgsConstructor
+public enum RateLimitAlgorithm {
+
+    /**
+     * 令牌桶，允许在令牌充足时出现突发流量
+     */
+    TOKEN_BUCKET(),
+
+    /**
+     * 滑动窗口日志，记录窗口内每一次访问的时间，限流精确但是占用内存与访问次数成正比
+     */
+    SLIDING_WINDOW_LOG(),
+
+    /**
+     * 滑动窗口计数，按照当前窗口计数和上一个窗口计数加权估算，占用内存固定，精度略低于滑动窗口日志
+     */
+    SLIDING_WINDOW_COUNTER()
+
+}
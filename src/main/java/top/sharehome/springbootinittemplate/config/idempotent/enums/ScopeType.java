@@ -20,6 +20,16 @@ public enum ScopeType {
     /**
      * 面向所有人，即接口操作和个人会话ID无关，比如A用户连续调用被限流会导致B用户调用限流
      */
-    ALL()
+    ALL(),
+
+    /**
+     * 面向登录用户，即接口操作和登录用户ID有关，同一用户在不同设备上的调用合并统计，未登录时按照面向个人处理
+     */
+    USER(),
+
+    /**
+     * 面向IP，即接口操作和客户端IP有关，比如同一IP下的多个用户调用合并统计
+     */
+    IP()
 
 }
@@ -8,14 +8,21 @@ import org.lionsoul.ip2region.xdb.Searcher;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
 import org.springframework.core.annotation.Order;
 import org.springframework.core.io.ClassPathResource;
 import top.sharehome.springbootinittemplate.config.ip2region.properties.Ip2RegionProperties;
 import top.sharehome.springbootinittemplate.config.ip2region.properties.enums.LoadType;
+import top.sharehome.springbootinittemplate.config.ip2region.searcher.Ip2RegionSearcher;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
 /**
  * 离线IP库配置
@@ -32,6 +39,10 @@ public class Ip2RegionConfiguration {
 
     private Searcher searcher = null;
 
+    private String xdbPath = null;
+
+    private byte[] contentBuffer = null;
+
     /**
      * 初始化配置类
      * 由于打包之后Ip2Region的数据文件就不能以Path形式导入进来，所以直接在系统临时文件夹创建一个ip2region.xdb文件
@@ -48,18 +59,19 @@ public class Ip2RegionConfiguration {
                 FileUtils.copyInputStreamToFile(classPathFileStream, existFile);
             }
             String path = existFile.getPath();
+            xdbPath = path;
             if (LoadType.FILE.equals(loadType)) {
                 searcher = Searcher.newWithFileOnly(path);
             } else if (LoadType.INDEX.equals(loadType)) {
                 byte[] vIndex = Searcher.loadVectorIndexFromFile(path);
                 searcher = Searcher.newWithVectorIndex(path, vIndex);
             } else if (LoadType.MEMORY.equals(loadType)) {
-                byte[] cBuff = Searcher.loadContentFromFile(path);
-                searcher = Searcher.newWithBuffer(cBuff);
+                contentBuffer = Searcher.loadContentFromFile(path);
+                searcher = Searcher.newWithBuffer(contentBuffer);
             }
             if (searcher == null) {
-                byte[] cBuff = Searcher.loadContentFromFile(path);
-                searcher = Searcher.newWithBuffer(cBuff);
+                contentBuffer = Searcher.loadContentFromFile(path);
+                searcher = Searcher.newWithBuffer(contentBuffer);
             }
             return this;
         } catch (IOException e) {
@@ -76,6 +88,24 @@ public class Ip2RegionConfiguration {
         return searcher;
     }
 
+    /**
+     * 可被多线程无锁并发调用的离线IP库查询器
+     * 内存加载时直接复用已经读入堆内存的数据，文件加载和索引加载时将数据文件以只读方式映射到内存，由操作系统页缓存按需加载，不占用堆内存
+     */
+    @Bean(destroyMethod = "close")
+    @DependsOn("Ip2RegionConfiguration0")
+    public Ip2RegionSearcher ip2RegionSearcher() {
+        if (contentBuffer != null) {
+            return new Ip2RegionSearcher(ByteBuffer.wrap(contentBuffer), ip2RegionProperties.getCacheCapacity());
+        }
+        try (FileChannel fileChannel = FileChannel.open(Path.of(xdbPath), StandardOpenOption.READ)) {
+            MappedByteBuffer mappedByteBuffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileChannel.size());
+            return new Ip2RegionSearcher(mappedByteBuffer, ip2RegionProperties.getCacheCapacity());
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     /**
      * 在Bean销毁时关闭searcher
      */
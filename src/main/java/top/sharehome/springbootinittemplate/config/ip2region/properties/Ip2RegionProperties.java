@@ -18,4 +18,9 @@ public class Ip2RegionProperties {
      */
     private LoadType loadType = LoadType.MEMORY;
 
+    /**
+     * 查询结果缓存容量，超过之后会按照最近最少策略进行缓存剔除，小于等于0表示不缓存
+     */
+    private Integer cacheCapacity = 10000;
+
 }
@@ -0,0 +1,166 @@
+package top.sharehome.springbootinittemplate.config.ip2region.searcher;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * 离线IP库查询器
+ * 直接在只读的xdb数据缓冲区（堆内存或者内存映射文件）上按照xdb格式进行二分查找，查询过程只使用绝对位置读取，不修改缓冲区状态，所以可以被任意线程无锁并发调用，
+ * 同时使用有界LRU缓存最近查询过的IP地址及其地区，避免每次记录日志或者登录时重复查询
+ *
+ * @author AntonyCheng
+ */
+@Slf4j
+public class Ip2RegionSearcher {
+
+    /**
+     * xdb文件头长度
+     */
+    private static final int HEADER_INFO_LENGTH = 256;
+
+    /**
+     * 向量索引列数
+     */
+    private static final int VECTOR_INDEX_COLS = 256;
+
+    /**
+     * 向量索引项长度
+     */
+    private static final int VECTOR_INDEX_SIZE = 8;
+
+    /**
+     * 段索引项长度
+     */
+    private static final int SEGMENT_INDEX_SIZE = 14;
+
+    /**
+     * xdb数据缓冲区，小端序
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * IP地址和地区缓存，为null表示不缓存
+     */
+    private final Cache<String, String> cache;
+
+    public Ip2RegionSearcher(ByteBuffer buffer, Integer cacheCapacity) {
+        this.buffer = buffer.asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN);
+        this.cache = Objects.nonNull(cacheCapacity) && cacheCapacity > 0
+                ? Caffeine.newBuilder().maximumSize(cacheCapacity).recordStats().build()
+                : null;
+    }
+
+    /**
+     * 根据IP地址查询地区
+     *
+     * @param ip IP地址
+     * @return 返回地区，格式为：国家|区域|省份|城市|ISP
+     */
+    public String search(String ip) {
+        if (Objects.isNull(cache)) {
+            return search(parseIp(ip));
+        }
+        return cache.get(ip, key -> search(parseIp(key)));
+    }
+
+    /**
+     * 根据数值形式的IP地址查询地区
+     *
+     * @param ip 数值形式的IP地址
+     * @return 返回地区，格式为：国家|区域|省份|城市|ISP
+     */
+    public String search(long ip) {
+        int il0 = (int) ((ip >> 24) & 0xFF);
+        int il1 = (int) ((ip >> 16) & 0xFF);
+        int idx = il0 * VECTOR_INDEX_COLS * VECTOR_INDEX_SIZE + il1 * VECTOR_INDEX_SIZE;
+        long sPtr = getUnsignedInt(HEADER_INFO_LENGTH + idx);
+        long ePtr = getUnsignedInt(HEADER_INFO_LENGTH + idx + 4);
+        long low = 0;
+        long high = (ePtr - sPtr) / SEGMENT_INDEX_SIZE;
+        while (low <= high) {
+            long middle = (low + high) >> 1;
+            int position = (int) (sPtr + middle * SEGMENT_INDEX_SIZE);
+            if (ip < getUnsignedInt(position)) {
+                high = middle - 1;
+            } else if (ip > getUnsignedInt(position + 4)) {
+                low = middle + 1;
+            } else {
+                int dataLength = buffer.getShort(position + 8) & 0xFFFF;
+                int dataPosition = (int) getUnsignedInt(position + 10);
+                byte[] region = new byte[dataLength];
+                buffer.get(dataPosition, region);
+                return new String(region, StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 获取缓存统计信息，未开启缓存时返回空统计
+     */
+    public CacheStats getStats() {
+        return Objects.isNull(cache) ? CacheStats.empty() : cache.stats();
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void close() {
+        if (Objects.nonNull(cache)) {
+            log.info("离线IP库查询缓存统计：{}", cache.stats());
+            cache.invalidateAll();
+        }
+    }
+
+    /**
+     * 读取无符号整数
+     *
+     * @param position 绝对位置
+     */
+    private long getUnsignedInt(int position) {
+        return buffer.getInt(position) & 0xFFFFFFFFL;
+    }
+
+    /**
+     * 将点分十进制IPv4地址转换为数值
+     *
+     * @param ip IP地址
+     */
+    private static long parseIp(String ip) {
+        if (Objects.isNull(ip)) {
+            throw new IllegalArgumentException("invalid ip address `null`");
+        }
+        long res = 0;
+        int part = 0;
+        int digits = 0;
+        int dots = 0;
+        for (int i = 0; i < ip.length(); i++) {
+            char c = ip.charAt(i);
+            if (c >= '0' && c <= '9') {
+                part = part * 10 + (c - '0');
+                if (++digits > 3 || part > 255) {
+                    throw new IllegalArgumentException("invalid ip address `" + ip + "`");
+                }
+            } else if (c == '.' && digits > 0 && dots < 3) {
+                res = (res << 8) | part;
+                part = 0;
+                digits = 0;
+                dots++;
+            } else {
+                throw new IllegalArgumentException("invalid ip address `" + ip + "`");
+            }
+        }
+        if (dots != 3 || digits == 0) {
+            throw new IllegalArgumentException("invalid ip address `" + ip + "`");
+        }
+        return (res << 8) | part;
+    }
+
+}
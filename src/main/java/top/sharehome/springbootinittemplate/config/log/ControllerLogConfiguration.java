@@ -0,0 +1,44 @@
+package top.sharehome.springbootinittemplate.config.log;
+
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import top.sharehome.springbootinittemplate.config.log.properties.ControllerLogProperties;
+import top.sharehome.springbootinittemplate.config.log.sink.ControllerLogSink;
+import top.sharehome.springbootinittemplate.mapper.LogMapper;
+
+/**
+ * 接口日志配置
+ *
+ * @author AntonyCheng
+ */
+@Configuration
+@EnableConfigurationProperties(ControllerLogProperties.class)
+@AllArgsConstructor
+@Slf4j
+public class ControllerLogConfiguration {
+
+    private final ControllerLogProperties controllerLogProperties;
+
+    private final LogMapper logMapper;
+
+    /**
+     * 接口日志异步批量写入器，销毁时会将缓冲区中剩余日志写入数据库
+     */
+    @Bean(initMethod = "start", destroyMethod = "shutdown")
+    public ControllerLogSink controllerLogSink() {
+        return new ControllerLogSink(logMapper, controllerLogProperties);
+    }
+
+    /**
+     * 依赖注入日志输出
+     */
+    @PostConstruct
+    private void initDi() {
+        log.info("############ {} Configuration DI.", this.getClass().getSimpleName().split("\\$\\$")[0]);
+    }
+
+}
@@ -1,38 +1,36 @@
 package top.sharehome.springbootinittemplate.config.log.aop;
 
 import com.alibaba.fastjson2.JSON;
-import com.alibaba.fastjson2.TypeReference;
 import com.alibaba.ttl.TransmittableThreadLocal;
 import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.time.StopWatch;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.*;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
 import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Component;
-import org.springframework.validation.BindingResult;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
-import org.springframework.web.multipart.MultipartFile;
 import top.sharehome.springbootinittemplate.common.base.Constants;
 import top.sharehome.springbootinittemplate.common.base.R;
 import top.sharehome.springbootinittemplate.common.base.ReturnCode;
 import top.sharehome.springbootinittemplate.config.bean.SpringContextHolder;
 import top.sharehome.springbootinittemplate.config.log.annotation.ControllerLog;
+import top.sharehome.springbootinittemplate.config.log.sink.ControllerLogSink;
 import top.sharehome.springbootinittemplate.exception.CustomizeException;
 import top.sharehome.springbootinittemplate.exception.customize.CustomizeReturnException;
-import top.sharehome.springbootinittemplate.mapper.LogMapper;
 import top.sharehome.springbootinittemplate.model.entity.Log;
 import top.sharehome.springbootinittemplate.utils.net.NetUtils;
 import top.sharehome.springbootinittemplate.utils.satoken.LoginUtils;
+import top.sharehome.springbootinittemplate.utils.servlet.ArgumentCaptureUtils;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
+import java.lang.reflect.Method;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 
@@ -48,9 +46,9 @@ import java.util.concurrent.TimeUnit;
 public class ControllerLogAop {
 
     /**
-     * 获取LogMapper
+     * 获取接口日志异步批量写入器
      */
-    private static final LogMapper LOG_MAPPER = SpringContextHolder.getBean(LogMapper.class);
+    private static final ControllerLogSink LOG_SINK = SpringContextHolder.getBean(ControllerLogSink.class);
 
     /**
      * 系统默认屏蔽的请求/响应字段
@@ -58,6 +56,11 @@ public class ControllerLogAop {
      */
     private static final String[] MASK_PARAMS = {"password", "checkPassword", "oldPassword", "newPassword", "newPassword", "checkNewPassword", "captcha", "token", "email", "passwordCode"};
 
+    /**
+     * 方法屏蔽字段缓存
+     */
+    private static final Map<Method, Set<String>> MASK_PARAMS_CACHE = new ConcurrentHashMap<>();
+
     /**
      * 记录日志操作用户ID，TransmittableThreadLocal是Alibaba继承ThreadLocal的一个类，它适用于适用于复杂的线程池、异步任务等场景，由于该日志记录过程中可能会存在这些场景，所以能够保证线程本地变量的传递性。
      */
@@ -100,7 +103,7 @@ public class ControllerLogAop {
      * @param returnResult  响应结果
      */
     @AfterReturning(value = "pointCutMethod()&&@annotation(controllerLog)", returning = "returnResult")
-    @SuppressWarnings({"CallToPrintStackTrace", "rawtypes"})
+    @SuppressWarnings({"CallToPrintStackTrace"})
     public void doAfterReturning(JoinPoint joinPoint, ControllerLog controllerLog, Object returnResult) {
         try {
             Log log = new Log();
@@ -115,30 +118,12 @@ public class ControllerLogAop {
             // 设置操作结果
             log.setResult(Objects.isNull(returnResult) || (returnResult instanceof R<?> r && r.getCode() == R.SUCCESS) ? 0 : 1);
             // 设置响应内容
-            TypeReference<HashMap<String, Object>> type = new TypeReference<>() {
-            };
-            HashMap<String, Object> resMap = JSON.parseObject(JSON.toJSONString(returnResult), type);
-            if (Objects.isNull(resMap)) {
-                log.setJson("{}");
-            } else {
-                Object data = resMap.get("data");
-                if (Objects.nonNull(data) && data instanceof Map dataMap) {
-                    Arrays.stream(MASK_PARAMS).forEach(dataMap::remove);
-                    Arrays.stream(controllerLog.maskParams()).forEach(dataMap::remove);
-                    resMap.put("data", dataMap);
-                    String json = JSON.toJSONString(resMap);
-                    if (json.length() > 2000) {
-                        json = StringUtils.substring(json, 0, 2000) + "...";
-                    }
-                    log.setJson(json);
-                } else {
-                    String json = JSON.toJSONString(resMap);
-                    if (json.length() > 2000) {
-                        json = StringUtils.substring(json, 0, 2000) + "...";
-                    }
-                    log.setJson(json);
-                }
+            Set<String> maskParams = getMaskParams(joinPoint, controllerLog);
+            String json = ArgumentCaptureUtils.captureResult(returnResult, maskParams);
+            if (json.length() > 2000) {
+                json = StringUtils.substring(json, 0, 2000) + "...";
             }
+            log.setJson(json);
             // 设置操作用户ID
             Long userId = LoginUtils.getLoginUserId();
             Long threadId = USER_ID_THREAD_LOCAL.get();
@@ -154,31 +139,13 @@ public class ControllerLogAop {
             String requestMethod = request.getMethod();
             log.setRequestMethod(requestMethod);
             // 设置操作参数
-            Map<String, String[]> parameter = Collections.unmodifiableMap(request.getParameterMap());
-            Map<String, String> parameterMap = new HashMap<>();
-            for (Map.Entry<String, String[]> entry : parameter.entrySet()) {
-                parameterMap.put(entry.getKey(), StringUtils.join(entry.getValue(), ","));
-            }
-            String param = null;
+            Map<String, String[]> parameterMap = request.getParameterMap();
+            String param;
             // 只对原本请求参数为空的POST类型请求进行请求体参数内容的获取
             if (MapUtils.isEmpty(parameterMap) && (HttpMethod.POST.name().equals(requestMethod) || HttpMethod.PUT.name().equals(requestMethod))) {
-                StringJoiner stringJoiner = new StringJoiner(",");
-                Object[] args = joinPoint.getArgs();
-                for (Object arg : args) {
-                    if (Objects.nonNull(arg) && !isFilterObject(arg)) {
-                        HashMap<String, Object> map = JSON.parseObject(JSON.toJSONString(arg), type);
-                        if (MapUtils.isNotEmpty(map)) {
-                            Arrays.stream(MASK_PARAMS).forEach(map::remove);
-                            Arrays.stream(controllerLog.maskParams()).forEach(map::remove);
-                        }
-                        stringJoiner.add(JSON.toJSONString(map));
-                    }
-                }
-                param = stringJoiner.toString();
+                param = ArgumentCaptureUtils.captureArgs(((MethodSignature) joinPoint.getSignature()).getMethod(), joinPoint.getArgs(), maskParams, 2000);
             } else {
-                Arrays.stream(MASK_PARAMS).forEach(parameterMap::remove);
-                Arrays.stream(controllerLog.maskParams()).forEach(parameterMap::remove);
-                param = JSON.toJSONString(parameterMap);
+                param = ArgumentCaptureUtils.captureParameterMap(parameterMap, maskParams);
             }
             if (param.length() > 2000) {
                 param = StringUtils.substring(param, 0, 2000) + "...";
@@ -193,8 +160,8 @@ public class ControllerLogAop {
             stopWatch.stop();
             long time = stopWatch.getDuration().toMillis();
             log.setTime(time);
-            // 插入数据库
-            LOG_MAPPER.insert(log);
+            // 交给写入器异步批量插入数据库
+            LOG_SINK.submit(log);
         } catch (Exception exception) {
             log.error("记录正常日志记录报错：{}", exception.getMessage());
             exception.printStackTrace();
@@ -261,32 +228,13 @@ public class ControllerLogAop {
             String requestMethod = request.getMethod();
             log.setRequestMethod(requestMethod);
             // 设置操作参数
-            Map<String, String[]> parameter = Collections.unmodifiableMap(request.getParameterMap());
-            Map<String, String> parameterMap = new HashMap<>();
-            for (Map.Entry<String, String[]> entry : parameter.entrySet()) {
-                parameterMap.put(entry.getKey(), StringUtils.join(entry.getValue(), ","));
-            }
-            String param = null;
+            Set<String> maskParams = getMaskParams(joinPoint, controllerLog);
+            Map<String, String[]> parameterMap = request.getParameterMap();
+            String param;
             if (MapUtils.isEmpty(parameterMap) && (HttpMethod.POST.name().equals(requestMethod) || HttpMethod.PUT.name().equals(requestMethod))) {
-                StringJoiner stringJoiner = new StringJoiner(",");
-                Object[] args = joinPoint.getArgs();
-                for (Object arg : args) {
-                    if (Objects.nonNull(arg) && !isFilterObject(arg)) {
-                        TypeReference<HashMap<String, Object>> type = new TypeReference<>() {
-                        };
-                        HashMap<String, Object> map = JSON.parseObject(JSON.toJSONString(arg), type);
-                        if (MapUtils.isNotEmpty(map)) {
-                            Arrays.stream(MASK_PARAMS).forEach(map::remove);
-                            Arrays.stream(controllerLog.maskParams()).forEach(map::remove);
-                        }
-                        stringJoiner.add(JSON.toJSONString(map));
-                    }
-                }
-                param = stringJoiner.toString();
+                param = ArgumentCaptureUtils.captureArgs(((MethodSignature) joinPoint.getSignature()).getMethod(), joinPoint.getArgs(), maskParams, 2000);
             } else {
-                Arrays.stream(MASK_PARAMS).forEach(parameterMap::remove);
-                Arrays.stream(controllerLog.maskParams()).forEach(parameterMap::remove);
-                param = JSON.toJSONString(parameterMap);
+                param = ArgumentCaptureUtils.captureParameterMap(parameterMap, maskParams);
             }
             if (param.length() > 2000 && param.charAt(2000) != '}') {
                 param = StringUtils.substring(param, 0, 2000) + "...}";
@@ -301,8 +249,8 @@ public class ControllerLogAop {
             stopWatch.stop();
             long time = stopWatch.getTime(TimeUnit.NANOSECONDS);
             log.setTime(time);
-            // 插入数据库
-            LOG_MAPPER.insert(log);
+            // 交给写入器异步批量插入数据库
+            LOG_SINK.submit(log);
         } catch (Exception exception) {
             log.error("记录异常日志记录报错：{}", exception.getMessage());
             exception.printStackTrace();
@@ -313,51 +261,17 @@ public class ControllerLogAop {
     }
 
     /**
-     * 过滤掉不可用JSON表达的参数和一些Http访问参数
+     * 获取方法需要屏蔽的请求/响应字段（系统默认屏蔽字段+注解指定屏蔽字段）
      *
-     * @param obj 校验过滤对象
+     * @param joinPoint     切点
+     * @param controllerLog 注解
      */
-    @SuppressWarnings({"rawtypes", "BooleanMethodIsAlwaysInverted"})
-    private boolean isFilterObject(Object obj) {
-        Class<?> clazz = obj.getClass();
-        if (clazz.isArray()) {
-            return clazz.getComponentType().isAssignableFrom(MultipartFile.class);
-        } else if (Collection.class.isAssignableFrom(clazz)) {
-            Collection collection = (Collection) obj;
-            for (Object value : collection) {
-                return value instanceof MultipartFile;
-            }
-        } else if (Map.class.isAssignableFrom(clazz)) {
-            Map map = (Map) obj;
-            for (Object value : map.values()) {
-                return value instanceof MultipartFile;
-            }
-        } else {
-            for (Field declaredField : clazz.getDeclaredFields()) {
-                try {
-                    int modifiers = declaredField.getModifiers();
-                    // 如果是静态属性或者final属性则不进行判断
-                    if (Modifier.isStatic(modifiers)
-                            || Modifier.isFinal(modifiers)) {
-                        continue;
-                    }
-                    declaredField.setAccessible(true);
-                    Object object = declaredField.get(obj);
-                    if (object instanceof MultipartFile
-                            || object instanceof HttpServletRequest
-                            || object instanceof HttpServletResponse
-                            || object instanceof BindingResult) {
-                        return true;
-                    }
-                } catch (IllegalAccessException e) {
-                    throw new RuntimeException(e);
-                }
-            }
-        }
-        return obj instanceof MultipartFile
-                || obj instanceof HttpServletRequest
-                || obj instanceof HttpServletResponse
-                || obj instanceof BindingResult;
+    private Set<String> getMaskParams(JoinPoint joinPoint, ControllerLog controllerLog) {
+        return MASK_PARAMS_CACHE.computeIfAbsent(((MethodSignature) joinPoint.getSignature()).getMethod(), method -> {
+            Set<String> maskParams = new HashSet<>(Arrays.asList(MASK_PARAMS));
+            maskParams.addAll(Arrays.asList(controllerLog.maskParams()));
+            return Collections.unmodifiableSet(maskParams);
+        });
     }
 
 }
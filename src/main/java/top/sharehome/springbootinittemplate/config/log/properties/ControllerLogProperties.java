@@ -0,0 +1,41 @@
+package top.sharehome.springbootinittemplate.config.log.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import top.sharehome.springbootinittemplate.config.log.properties.enums.DropPolicy;
+
+/**
+ * 接口日志配置属性
+ *
+ * @author AntonyCheng
+ */
+@Data
+@ConfigurationProperties(prefix = "controller-log")
+public class ControllerLogProperties {
+
+    /**
+     * 日志缓冲队列容量
+     */
+    private Integer queueCapacity = 8192;
+
+    /**
+     * 单次批量写入数据库的最大日志条数
+     */
+    private Integer batchSize = 200;
+
+    /**
+     * 批量写入最长等待时间，即缓冲区未满时最多等待多久就进行一次写入，单位：毫秒
+     */
+    private Long lingerTime = 1000L;
+
+    /**
+     * 缓冲队列已满时的处理策略
+     */
+    private DropPolicy dropPolicy = DropPolicy.DISCARD_OLDEST;
+
+    /**
+     * 程序关闭时等待缓冲区日志写入的最长时间，单位：毫秒
+     */
+    private Long shutdownTimeout = 10000L;
+
+}
@@ -0,0 +1,32 @@
+package top.sharehome.springbootinittemplate.config.log.properties.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 日志缓冲队列已满时的处理策略
+ *
+ * @author AntonyCheng
+ */
+@Getter
+@AllArgsConstructor
+public enum DropPolicy {
+
+    /**
+     * 丢弃新日志
+     */
+    DISCARD("丢弃新日志"),
+
+    /**
+     * 丢弃队列中最旧的日志，再放入新日志
+     */
+    DISCARD_OLDEST("丢弃最旧日志"),
+
+    /**
+     * 由请求线程直接写入数据库（即退化为同步写入）
+     */
+    CALLER_RUNS("请求线程同步写入");
+
+    private final String description;
+
+}
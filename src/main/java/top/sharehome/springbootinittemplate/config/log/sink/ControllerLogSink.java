@@ -0,0 +1,279 @@
+package top.sharehome.springbootinittemplate.config.log.sink;
+
+import com.baomidou.mybatisplus.core.toolkit.IdWorker;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.extern.slf4j.Slf4j;
+import top.sharehome.springbootinittemplate.config.log.properties.ControllerLogProperties;
+import top.sharehome.springbootinittemplate.mapper.LogMapper;
+import top.sharehome.springbootinittemplate.model.entity.Log;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 接口日志异步批量写入器
+ * 切面只负责把日志放入有界缓冲队列，由后台线程按批次（数量或等待时间先到者触发）批量写入数据库，程序关闭时会将缓冲区中剩余日志全部写入
+ *
+ * @author AntonyCheng
+ */
+@Slf4j
+public class ControllerLogSink {
+
+    private final LogMapper logMapper;
+
+    private final ControllerLogProperties controllerLogProperties;
+
+    /**
+     * 日志缓冲队列
+     */
+    private final BlockingQueue<Log> queue;
+
+    /**
+     * 已接收日志数
+     */
+    private final AtomicLong acceptedCount = new AtomicLong();
+
+    /**
+     * 已丢弃日志数
+     */
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    /**
+     * 已写入日志数
+     */
+    private final AtomicLong writtenCount = new AtomicLong();
+
+    /**
+     * 写入失败日志数
+     */
+    private final AtomicLong failedCount = new AtomicLong();
+
+    /**
+     * 后台写入线程
+     */
+    private Thread writer;
+
+    /**
+     * 是否处于运行状态
+     */
+    private volatile boolean running = false;
+
+    public ControllerLogSink(LogMapper logMapper, ControllerLogProperties controllerLogProperties) {
+        this.logMapper = logMapper;
+        this.controllerLogProperties = controllerLogProperties;
+        this.queue = new ArrayBlockingQueue<>(Math.max(controllerLogProperties.getQueueCapacity(), 1));
+    }
+
+    /**
+     * 启动后台写入线程
+     */
+    public void start() {
+        running = true;
+        writer = new ThreadFactoryBuilder()
+                .setNameFormat("controller-log-sink-%d")
+                .setDaemon(true)
+                .build()
+                .newThread(this::drainLoop);
+        writer.start();
+    }
+
+    /**
+     * 提交日志，队列已满时按照配置的处理策略进行处理
+     *
+     * @param log 日志
+     * @return 日志是否被接收
+     */
+    public boolean submit(Log log) {
+        if (Objects.isNull(log)) {
+            return false;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        log.setCreateTime(now).setUpdateTime(now).setDeleted(0);
+        if (running && queue.offer(log)) {
+            acceptedCount.incrementAndGet();
+            return true;
+        }
+        if (!running) {
+            // 写入线程已经停止，直接同步写入，避免丢失日志
+            writeOne(log);
+            return true;
+        }
+        switch (controllerLogProperties.getDropPolicy()) {
+            case CALLER_RUNS -> {
+                writeOne(log);
+                return true;
+            }
+            case DISCARD_OLDEST -> {
+                if (Objects.nonNull(queue.poll())) {
+                    onDrop();
+                }
+                if (queue.offer(log)) {
+                    acceptedCount.incrementAndGet();
+                    return true;
+                }
+                onDrop();
+                return false;
+            }
+            default -> {
+                onDrop();
+                return false;
+            }
+        }
+    }
+
+    /**
+     * 停止后台写入线程，并将缓冲区中剩余日志写入数据库
+     */
+    public void shutdown() {
+        running = false;
+        if (Objects.isNull(writer)) {
+            return;
+        }
+        try {
+            writer.join(Math.max(controllerLogProperties.getShutdownTimeout(), 0L));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            writer.interrupt();
+            log.warn("接口日志写入线程未能在限定时间内结束，剩余日志数：{}", queue.size());
+            return;
+        }
+        // 写入线程结束后仍可能有并发提交进来的日志
+        List<Log> rest = new ArrayList<>(queue.size());
+        queue.drainTo(rest);
+        writeBatch(rest);
+        log.info("接口日志写入器已关闭，接收：{}，写入：{}，丢弃：{}，失败：{}", getAcceptedCount(), getWrittenCount(), getDroppedCount(), getFailedCount());
+    }
+
+    /**
+     * 后台线程循环：等待第一条日志，随后在等待时间内尽量凑满一个批次再写入
+     */
+    private void drainLoop() {
+        int batchSize = Math.max(controllerLogProperties.getBatchSize(), 1);
+        long lingerNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(controllerLogProperties.getLingerTime(), 0L));
+        List<Log> buffer = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Log first = queue.poll(lingerNanos > 0 ? lingerNanos : TimeUnit.MILLISECONDS.toNanos(100), TimeUnit.NANOSECONDS);
+                if (Objects.isNull(first)) {
+                    continue;
+                }
+                buffer.add(first);
+                long deadline = System.nanoTime() + lingerNanos;
+                while (buffer.size() < batchSize) {
+                    if (queue.drainTo(buffer, batchSize - buffer.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0 || !running) {
+                        break;
+                    }
+                    Log next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (Objects.isNull(next)) {
+                        break;
+                    }
+                    buffer.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                writeBatch(buffer);
+                return;
+            }
+            writeBatch(buffer);
+            buffer.clear();
+        }
+    }
+
+    /**
+     * 批量写入，批量写入失败时逐条重试，避免单条异常数据导致整批日志丢失
+     *
+     * @param logs 日志列表
+     */
+    private void writeBatch(List<Log> logs) {
+        if (logs.isEmpty()) {
+            return;
+        }
+        logs.forEach(item -> {
+            if (Objects.isNull(item.getId())) {
+                item.setId(IdWorker.getId());
+            }
+        });
+        try {
+            logMapper.insertBatch(logs);
+            writtenCount.addAndGet(logs.size());
+        } catch (Exception exception) {
+            log.error("批量写入接口日志报错，转为逐条写入：{}", exception.getMessage());
+            logs.forEach(this::writeOne);
+        }
+    }
+
+    /**
+     * 单条写入
+     *
+     * @param item 日志
+     */
+    @SuppressWarnings({"CallToPrintStackTrace"})
+    private void writeOne(Log item) {
+        try {
+            logMapper.insert(item);
+            writtenCount.incrementAndGet();
+        } catch (Exception exception) {
+            failedCount.incrementAndGet();
+            log.error("记录接口日志报错：{}", exception.getMessage());
+            exception.printStackTrace();
+        }
+    }
+
+    /**
+     * 记录丢弃，每丢弃1000条日志输出一次警告
+     */
+    private void onDrop() {
+        long dropped = droppedCount.incrementAndGet();
+        if (dropped % 1000 == 1) {
+            log.warn("接口日志缓冲队列已满，累计丢弃日志数：{}", dropped);
+        }
+    }
+
+    /**
+     * 获取已接收日志数
+     */
+    public long getAcceptedCount() {
+        return acceptedCount.get();
+    }
+
+    /**
+     * 获取已丢弃日志数
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * 获取已写入日志数
+     */
+    public long getWrittenCount() {
+        return writtenCount.get();
+    }
+
+    /**
+     * 获取写入失败日志数
+     */
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    /**
+     * 获取缓冲队列中等待写入的日志数
+     */
+    public int getPendingCount() {
+        return queue.size();
+    }
+
+}
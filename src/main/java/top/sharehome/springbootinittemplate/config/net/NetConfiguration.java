@@ -0,0 +1,41 @@
+package top.sharehome.springbootinittemplate.config.net;
+
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import top.sharehome.springbootinittemplate.config.net.properties.ClientIpProperties;
+import top.sharehome.springbootinittemplate.config.net.resolver.ClientIpResolver;
+
+/**
+ * 网络配置
+ *
+ * @author AntonyCheng
+ */
+@Configuration
+@EnableConfigurationProperties(ClientIpProperties.class)
+@AllArgsConstructor
+@Slf4j
+public class NetConfiguration {
+
+    private final ClientIpProperties clientIpProperties;
+
+    /**
+     * 客户端IP解析器
+     */
+    @Bean
+    public ClientIpResolver clientIpResolver() {
+        return new ClientIpResolver(clientIpProperties);
+    }
+
+    /**
+     * 依赖注入日志输出
+     */
+    @PostConstruct
+    private void initDi() {
+        log.info("############ {} Configuration DI.", this.getClass().getSimpleName().split("\\$\\$")[0]);
+    }
+
+}
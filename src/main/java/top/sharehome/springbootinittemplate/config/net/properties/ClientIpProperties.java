@@ -0,0 +1,33 @@
+package top.sharehome.springbootinittemplate.config.net.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 客户端IP解析配置属性
+ *
+ * @author AntonyCheng
+ */
+@Data
+@ConfigurationProperties(prefix = "client-ip")
+public class ClientIpProperties {
+
+    /**
+     * 可信代理地址段（CIDR格式，也可以是单个IP），只有直连地址属于可信代理时才会读取代理请求头，否则直接使用直连地址，防止客户端伪造请求头
+     */
+    private List<String> trustedProxies = new ArrayList<>(List.of("127.0.0.0/8", "::1/128", "10.0.0.0/8", "172.16.0.0/12", "192.168.0.0/16"));
+
+    /**
+     * 代理请求头优先级，靠前的请求头优先读取，Forwarded请求头按照RFC 7239格式解析，其余请求头按照逗号分隔的地址列表解析
+     */
+    private List<String> headers = new ArrayList<>(List.of("Forwarded", "X-Forwarded-For", "X-Real-IP", "Proxy-Client-IP", "WL-Proxy-Client-IP", "HTTP_CLIENT_IP", "HTTP_X_FORWARDED_FOR"));
+
+    /**
+     * 直连地址为本机回环地址时是否替换为本机网卡地址，本机网卡地址仅在启动时解析一次
+     */
+    private Boolean resolveLocalHost = true;
+
+}
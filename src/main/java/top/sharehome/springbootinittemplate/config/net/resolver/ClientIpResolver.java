@@ -0,0 +1,291 @@
+package top.sharehome.springbootinittemplate.config.net.resolver;
+
+import com.google.common.net.InetAddresses;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import top.sharehome.springbootinittemplate.config.net.properties.ClientIpProperties;
+
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 客户端IP解析器
+ * 只有直连地址属于可信代理时才读取代理请求头，并从地址链的最右侧向左跳过可信代理，第一个不可信的地址即为客户端地址；
+ * 解析结果缓存在请求属性中，同一个请求内的日志、幂等、限流以及验证码等逻辑只解析一次；
+ * 地址解析全部基于字面量，不会触发DNS查询，本机网卡地址也只在启动时解析一次
+ *
+ * @author AntonyCheng
+ */
+@Slf4j
+public class ClientIpResolver {
+
+    /**
+     * 客户端IP请求属性名称
+     */
+    public static final String CLIENT_IP_ATTRIBUTE = ClientIpResolver.class.getName() + ".CLIENT_IP";
+
+    /**
+     * 本机回环地址
+     */
+    private static final String LOOPBACK_ADDRESS = "127.0.0.1";
+
+    /**
+     * RFC 7239 Forwarded请求头名称
+     */
+    private static final String FORWARDED_HEADER = "Forwarded";
+
+    /**
+     * 可信代理地址段
+     */
+    private final List<Cidr> trustedProxies;
+
+    /**
+     * 代理请求头优先级
+     */
+    private final List<String> headers;
+
+    /**
+     * 本机网卡地址，为null表示不替换回环地址
+     */
+    private final String localHostAddress;
+
+    public ClientIpResolver(ClientIpProperties clientIpProperties) {
+        this.trustedProxies = clientIpProperties.getTrustedProxies().stream().filter(StringUtils::isNotBlank).map(Cidr::parse).toList();
+        this.headers = clientIpProperties.getHeaders().stream().filter(StringUtils::isNotBlank).map(String::trim).toList();
+        this.localHostAddress = Boolean.TRUE.equals(clientIpProperties.getResolveLocalHost()) ? resolveLocalHostAddress() : null;
+    }
+
+    /**
+     * 解析客户端IP，同一个请求只解析一次
+     *
+     * @param request 请求
+     */
+    public String resolve(HttpServletRequest request) {
+        if (request.getAttribute(CLIENT_IP_ATTRIBUTE) instanceof String cached) {
+            return cached;
+        }
+        String ip = doResolve(request);
+        request.setAttribute(CLIENT_IP_ATTRIBUTE, ip);
+        return ip;
+    }
+
+    /**
+     * 解析客户端IP
+     *
+     * @param request 请求
+     */
+    private String doResolve(HttpServletRequest request) {
+        String remoteAddr = request.getRemoteAddr();
+        InetAddress remote = parseAddress(remoteAddr);
+        if (Objects.isNull(remote)) {
+            return StringUtils.isBlank(remoteAddr) ? LOOPBACK_ADDRESS : remoteAddr;
+        }
+        if (isTrusted(remote)) {
+            for (String header : headers) {
+                List<InetAddress> chain = readChain(request, header);
+                if (chain.isEmpty()) {
+                    continue;
+                }
+                // 从最右侧开始跳过可信代理，最右侧的地址由离服务最近的可信代理写入，客户端无法伪造
+                for (int i = chain.size() - 1; i >= 0; i--) {
+                    if (!isTrusted(chain.get(i))) {
+                        return format(chain.get(i));
+                    }
+                }
+                // 地址链上全部为可信代理，则最左侧地址即为客户端地址
+                return format(chain.get(0));
+            }
+        }
+        if (remote.isLoopbackAddress() && Objects.nonNull(localHostAddress)) {
+            return localHostAddress;
+        }
+        return format(remote);
+    }
+
+    /**
+     * 读取请求头中的地址链，无法识别的地址会被忽略
+     *
+     * @param request 请求
+     * @param header  请求头名称
+     */
+    private List<InetAddress> readChain(HttpServletRequest request, String header) {
+        List<InetAddress> chain = new ArrayList<>();
+        Enumeration<String> values = request.getHeaders(header);
+        if (Objects.isNull(values)) {
+            return chain;
+        }
+        boolean forwarded = FORWARDED_HEADER.equalsIgnoreCase(header);
+        while (values.hasMoreElements()) {
+            String value = values.nextElement();
+            if (StringUtils.isBlank(value)) {
+                continue;
+            }
+            for (String element : StringUtils.split(value, ',')) {
+                String node = forwarded ? extractForwardedFor(element) : element;
+                InetAddress address = parseNode(node);
+                if (Objects.nonNull(address)) {
+                    chain.add(address);
+                }
+            }
+        }
+        return chain;
+    }
+
+    /**
+     * 提取Forwarded请求头单个元素中的for参数，例如：for=192.0.2.60;proto=http;by=203.0.113.43
+     *
+     * @param element 请求头元素
+     */
+    private String extractForwardedFor(String element) {
+        for (String pair : StringUtils.split(element, ';')) {
+            int index = pair.indexOf('=');
+            if (index > 0 && "for".equalsIgnoreCase(pair.substring(0, index).trim())) {
+                return pair.substring(index + 1);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 解析地址链节点，支持带引号、带端口以及方括号形式的IPv6地址，unknown以及混淆标识（以下划线开头）视为无法识别
+     *
+     * @param node 节点
+     */
+    private InetAddress parseNode(String node) {
+        String value = StringUtils.strip(StringUtils.trimToNull(node), "\"");
+        if (StringUtils.isBlank(value) || "unknown".equalsIgnoreCase(value) || value.startsWith("_")) {
+            return null;
+        }
+        value = value.trim();
+        if (value.startsWith("[")) {
+            int end = value.indexOf(']');
+            return end > 0 ? parseAddress(value.substring(1, end)) : null;
+        }
+        int colon = value.indexOf(':');
+        if (colon > 0 && colon == value.lastIndexOf(':')) {
+            // IPv4地址带端口
+            value = value.substring(0, colon);
+        }
+        return parseAddress(value);
+    }
+
+    /**
+     * 判断地址是否属于可信代理
+     *
+     * @param address 地址
+     */
+    private boolean isTrusted(InetAddress address) {
+        for (Cidr cidr : trustedProxies) {
+            if (cidr.contains(address)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 格式化地址，IPv6回环地址统一返回127.0.0.1
+     *
+     * @param address 地址
+     */
+    private String format(InetAddress address) {
+        if (address.isLoopbackAddress()) {
+            return LOOPBACK_ADDRESS;
+        }
+        return InetAddresses.toAddrString(address);
+    }
+
+    /**
+     * 解析IP字面量，不会触发DNS查询
+     *
+     * @param value IP字面量
+     */
+    private static InetAddress parseAddress(String value) {
+        if (StringUtils.isBlank(value) || !InetAddresses.isInetAddress(value.trim())) {
+            return null;
+        }
+        return InetAddresses.forString(value.trim());
+    }
+
+    /**
+     * 解析本机网卡地址，只在启动时执行一次
+     */
+    private static String resolveLocalHostAddress() {
+        try {
+            return InetAddress.getLocalHost().getHostAddress();
+        } catch (Exception e) {
+            log.warn("本机网卡地址解析失败，回环地址将统一返回127.0.0.1：{}", e.getMessage());
+            return LOOPBACK_ADDRESS;
+        }
+    }
+
+    /**
+     * 地址段
+     */
+    private static class Cidr {
+
+        /**
+         * 网络地址
+         */
+        private final byte[] network;
+
+        /**
+         * 前缀长度
+         */
+        private final int prefixLength;
+
+        private Cidr(byte[] network, int prefixLength) {
+            this.network = network;
+            this.prefixLength = prefixLength;
+        }
+
+        /**
+         * 解析地址段，不带前缀长度时表示单个地址
+         *
+         * @param value 地址段
+         */
+        private static Cidr parse(String value) {
+            String[] parts = StringUtils.split(value.trim(), '/');
+            InetAddress address = parseAddress(parts[0]);
+            if (Objects.isNull(address)) {
+                throw new IllegalArgumentException("可信代理地址段格式错误：" + value);
+            }
+            byte[] network = address.getAddress();
+            int prefixLength = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : network.length * 8;
+            if (prefixLength < 0 || prefixLength > network.length * 8) {
+                throw new IllegalArgumentException("可信代理地址段前缀长度错误：" + value);
+            }
+            return new Cidr(network, prefixLength);
+        }
+
+        /**
+         * 判断地址是否属于该地址段
+         *
+         * @param address 地址
+         */
+        private boolean contains(InetAddress address) {
+            byte[] bytes = address.getAddress();
+            if (bytes.length != network.length) {
+                return false;
+            }
+            int fullBytes = prefixLength / 8;
+            for (int i = 0; i < fullBytes; i++) {
+                if (bytes[i] != network[i]) {
+                    return false;
+                }
+            }
+            int remainBits = prefixLength % 8;
+            if (remainBits == 0) {
+                return true;
+            }
+            int mask = (0xFF << (8 - remainBits)) & 0xFF;
+            return (bytes[fullBytes] & mask) == (network[fullBytes] & mask);
+        }
+
+    }
+
+}
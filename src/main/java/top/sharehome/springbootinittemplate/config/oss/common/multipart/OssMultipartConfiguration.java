@@ -0,0 +1,61 @@
+package top.sharehome.springbootinittemplate.config.oss.common.multipart;
+
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RedissonClient;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import top.sharehome.springbootinittemplate.config.oss.common.multipart.properties.OssMultipartProperties;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * OSS分片上传配置
+ *
+ * @author AntonyCheng
+ */
+@Configuration
+@EnableConfigurationProperties(OssMultipartProperties.class)
+@AllArgsConstructor
+@Slf4j
+public class OssMultipartConfiguration {
+
+    private final OssMultipartProperties ossMultipartProperties;
+
+    /**
+     * OSS传输线程池，各个OSS客户端共享，限制同时进行的分片传输数
+     */
+    @Bean(name = "ossTransferExecutor")
+    public ThreadPoolTaskExecutor ossTransferExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(ossMultipartProperties.getExecutorCoreSize());
+        executor.setMaxPoolSize(ossMultipartProperties.getExecutorMaxSize());
+        executor.setQueueCapacity(ossMultipartProperties.getExecutorQueueCapacity());
+        executor.setThreadNamePrefix("oss-transfer-");
+        // 队列已满时由提交线程执行，起到背压作用
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 分片上传任务存储
+     */
+    @Bean
+    public OssMultipartSessionStore ossMultipartSessionStore(RedissonClient redissonClient) {
+        return new OssMultipartSessionStore(redissonClient, ossMultipartProperties);
+    }
+
+    /**
+     * 依赖注入日志输出
+     */
+    @PostConstruct
+    private void initDi() {
+        log.info("############ {} Configuration DI.", this.getClass().getSimpleName().split("\\$\\$")[0]);
+    }
+
+}
@@ -0,0 +1,212 @@
+package top.sharehome.springbootinittemplate.config.oss.common.multipart;
+
+import org.apache.commons.lang3.StringUtils;
+import org.redisson.api.RMap;
+import org.redisson.api.RedissonClient;
+import top.sharehome.springbootinittemplate.common.base.ReturnCode;
+import top.sharehome.springbootinittemplate.config.oss.common.multipart.model.MultipartUploadPart;
+import top.sharehome.springbootinittemplate.config.oss.common.multipart.model.MultipartUploadSession;
+import top.sharehome.springbootinittemplate.config.oss.common.multipart.properties.OssMultipartProperties;
+import top.sharehome.springbootinittemplate.config.oss.common.upload.UploadDigests;
+import top.sharehome.springbootinittemplate.exception.customize.CustomizeFileException;
+import top.sharehome.springbootinittemplate.utils.redisson.KeyPrefixConstants;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * 分片上传任务存储
+ * 任务信息和已上传分片保存在Redis中，多节点共享，服务重启或者上传中断后客户端可以查询已上传分片并续传
+ *
+ * @author AntonyCheng
+ */
+public class OssMultipartSessionStore {
+
+    /**
+     * 除最后一个分片外每个分片的最小大小
+     */
+    public static final long MIN_PART_SIZE = 5L * 1024 * 1024;
+
+    /**
+     * 分片上传文件唯一摘要值前缀，和整体上传的内容摘要区分开
+     */
+    public static final String UNIQUE_KEY_PREFIX = "multipart:";
+
+    private final RedissonClient redissonClient;
+
+    private final OssMultipartProperties ossMultipartProperties;
+
+    public OssMultipartSessionStore(RedissonClient redissonClient, OssMultipartProperties ossMultipartProperties) {
+        this.redissonClient = redissonClient;
+        this.ossMultipartProperties = ossMultipartProperties;
+    }
+
+    /**
+     * 创建分片上传任务
+     *
+     * @param ossType         OSS类型
+     * @param key             对象键
+     * @param backendUploadId OSS服务端的分片上传ID
+     * @param originalName    文件原名称
+     * @param suffix          文件后缀
+     * @return 分片上传任务
+     */
+    public MultipartUploadSession create(String ossType, String key, String backendUploadId, String originalName, String suffix) {
+        MultipartUploadSession session = new MultipartUploadSession()
+                .setUploadId(UUID.randomUUID().toString().replaceAll("-", ""))
+                .setOssType(ossType)
+                .setKey(key)
+                .setBackendUploadId(backendUploadId)
+                .setOriginalName(originalName)
+                .setSuffix(suffix)
+                .setPartSize(Math.max(MIN_PART_SIZE, ossMultipartProperties.getPartSize()))
+                .setCreateTime(System.currentTimeMillis());
+        redissonClient.<MultipartUploadSession>getBucket(buildKey(session.getUploadId())).set(session, getExpired());
+        return session;
+    }
+
+    /**
+     * 获取分片上传任务
+     *
+     * @param uploadId 上传任务ID
+     * @param ossType  OSS类型
+     * @return 分片上传任务
+     */
+    public MultipartUploadSession get(String uploadId, String ossType) {
+        if (StringUtils.isBlank(uploadId)) {
+            throw new CustomizeFileException(ReturnCode.FILE_UPLOAD_EXCEPTION, "上传任务ID为空");
+        }
+        MultipartUploadSession session = redissonClient.<MultipartUploadSession>getBucket(buildKey(uploadId)).get();
+        if (Objects.isNull(session) || !Objects.equals(session.getOssType(), ossType)) {
+            throw new CustomizeFileException(ReturnCode.FILE_UPLOAD_EXCEPTION, "上传任务不存在或已过期");
+        }
+        return session;
+    }
+
+    /**
+     * 校验分片序号
+     *
+     * @param partNumber 分片序号
+     */
+    public void checkPartNumber(Integer partNumber) {
+        if (Objects.isNull(partNumber) || partNumber < 1 || partNumber > ossMultipartProperties.getMaxParts()) {
+            throw new CustomizeFileException(ReturnCode.FILE_UPLOAD_EXCEPTION, "分片序号必须在1到" + ossMultipartProperties.getMaxParts() + "之间");
+        }
+    }
+
+    /**
+     * 记录已上传的分片，同一序号重复上传时覆盖，同时为任务续期
+     *
+     * @param uploadId 上传任务ID
+     * @param part     已上传的分片
+     */
+    public void savePart(String uploadId, MultipartUploadPart part) {
+        RMap<Integer, MultipartUploadPart> parts = redissonClient.getMap(buildPartsKey(uploadId));
+        parts.fastPut(part.getPartNumber(), part);
+        parts.expire(getExpired());
+        redissonClient.getBucket(buildKey(uploadId)).expire(getExpired());
+    }
+
+    /**
+     * 列出已上传的分片
+     *
+     * @param uploadId 上传任务ID
+     * @return 按照分片序号排序的分片
+     */
+    public List<MultipartUploadPart> listParts(String uploadId) {
+        RMap<Integer, MultipartUploadPart> parts = redissonClient.getMap(buildPartsKey(uploadId));
+        return parts.readAllValues().stream()
+                .sorted(Comparator.comparing(MultipartUploadPart::getPartNumber))
+                .toList();
+    }
+
+    /**
+     * 列出并校验用于合并的分片：分片序号必须从1开始连续，除最后一个分片外不能小于最小分片大小
+     *
+     * @param uploadId 上传任务ID
+     * @return 按照分片序号排序的分片
+     */
+    public List<MultipartUploadPart> listCompleteParts(String uploadId) {
+        List<MultipartUploadPart> parts = listParts(uploadId);
+        if (parts.isEmpty()) {
+            throw new CustomizeFileException(ReturnCode.USER_DO_NOT_UPLOAD_FILE, "没有已上传的分片");
+        }
+        for (int i = 0; i < parts.size(); i++) {
+            MultipartUploadPart part = parts.get(i);
+            if (!Objects.equals(part.getPartNumber(), i + 1)) {
+                throw new CustomizeFileException(ReturnCode.FILE_UPLOAD_EXCEPTION, "缺少分片[" + (i + 1) + "]");
+            }
+            if (i < parts.size() - 1 && part.getSize() < MIN_PART_SIZE) {
+                throw new CustomizeFileException(ReturnCode.FILE_UPLOAD_EXCEPTION, "分片[" + part.getPartNumber() + "]小于5MB");
+            }
+        }
+        return parts;
+    }
+
+    /**
+     * 计算分片上传文件的唯一摘要值，由各个分片摘要按顺序、文件原名称和文件后缀计算，并加上{@link #UNIQUE_KEY_PREFIX}前缀
+     * 注意：该值是分片摘要的摘要而不是文件内容的摘要，只能在分片方式相同的分片上传之间秒传，
+     * 和整体上传、预检查接口使用的内容摘要不相等，同一文件分别通过两种方式上传时不会相互秒传
+     *
+     * @param session 分片上传任务
+     * @param parts   按照分片序号排序的分片
+     * @return 唯一摘要值
+     */
+    public String buildUniqueKey(MultipartUploadSession session, List<MultipartUploadPart> parts) {
+        MessageDigest messageDigest = UploadDigests.newDigest();
+        for (MultipartUploadPart part : parts) {
+            messageDigest.update(part.getDigest().getBytes(StandardCharsets.UTF_8));
+        }
+        return UNIQUE_KEY_PREFIX + UploadDigests.toUniqueKey(messageDigest, session.getOriginalName(), session.getSuffix());
+    }
+
+    /**
+     * 标记任务正在合并，防止重复合并
+     *
+     * @param uploadId 上传任务ID
+     * @return 是否标记成功
+     */
+    public boolean tryBeginComplete(String uploadId) {
+        return redissonClient.<String>getBucket(buildCompletingKey(uploadId)).setIfAbsent(uploadId, getExpired());
+    }
+
+    /**
+     * 合并失败时清除合并标记，允许客户端重试
+     *
+     * @param uploadId 上传任务ID
+     */
+    public void endComplete(String uploadId) {
+        redissonClient.getBucket(buildCompletingKey(uploadId)).delete();
+    }
+
+    /**
+     * 删除分片上传任务
+     *
+     * @param uploadId 上传任务ID
+     */
+    public void remove(String uploadId) {
+        redissonClient.getKeys().delete(buildKey(uploadId), buildPartsKey(uploadId), buildCompletingKey(uploadId));
+    }
+
+    private Duration getExpired() {
+        return Duration.ofSeconds(ossMultipartProperties.getExpired());
+    }
+
+    private String buildKey(String uploadId) {
+        return KeyPrefixConstants.OSS_MULTIPART_PREFIX + uploadId;
+    }
+
+    private String buildPartsKey(String uploadId) {
+        return KeyPrefixConstants.OSS_MULTIPART_PREFIX + uploadId + ":PARTS";
+    }
+
+    private String buildCompletingKey(String uploadId) {
+        return KeyPrefixConstants.OSS_MULTIPART_PREFIX + uploadId + ":COMPLETING";
+    }
+
+}
@@ -0,0 +1,45 @@
+package top.sharehome.springbootinittemplate.config.oss.common.multipart.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * 已上传的分片
+ *
+ * @author AntonyCheng
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Accessors(chain = true)
+public class MultipartUploadPart implements Serializable {
+
+    /**
+     * 分片序号，从1开始
+     */
+    private Integer partNumber;
+
+    /**
+     * OSS返回的分片ETag
+     */
+    private String etag;
+
+    /**
+     * 分片大小
+     */
+    private Long size;
+
+    /**
+     * 分片内容摘要
+     */
+    private String digest;
+
+    @Serial
+    private static final long serialVersionUID = -5402618841593375102L;
+
+}
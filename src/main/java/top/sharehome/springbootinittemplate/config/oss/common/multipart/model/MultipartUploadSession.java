@@ -0,0 +1,65 @@
+package top.sharehome.springbootinittemplate.config.oss.common.multipart.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * 分片上传任务
+ *
+ * @author AntonyCheng
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Accessors(chain = true)
+public class MultipartUploadSession implements Serializable {
+
+    /**
+     * 上传任务ID，返回给客户端
+     */
+    private String uploadId;
+
+    /**
+     * OSS类型
+     */
+    private String ossType;
+
+    /**
+     * 对象键
+     */
+    private String key;
+
+    /**
+     * OSS服务端的分片上传ID，不支持原生分片上传的OSS为空
+     */
+    private String backendUploadId;
+
+    /**
+     * 文件原名称
+     */
+    private String originalName;
+
+    /**
+     * 文件后缀
+     */
+    private String suffix;
+
+    /**
+     * 建议分片大小
+     */
+    private Long partSize;
+
+    /**
+     * 创建时间戳
+     */
+    private Long createTime;
+
+    @Serial
+    private static final long serialVersionUID = 3712498236514870214L;
+
+}
@@ -0,0 +1,50 @@
+package top.sharehome.springbootinittemplate.config.oss.common.multipart.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * OSS分片上传配置属性
+ *
+ * @author AntonyCheng
+ */
+@Data
+@ConfigurationProperties(prefix = "oss.multipart")
+public class OssMultipartProperties {
+
+    /**
+     * 建议分片大小，除最后一个分片外每个分片不能小于5MB，单位：字节
+     */
+    private Long partSize = 8L * 1024 * 1024;
+
+    /**
+     * 最大分片数
+     */
+    private Integer maxParts = 10000;
+
+    /**
+     * 分片上传任务过期时间，每次上传分片后续期，单位：秒
+     */
+    private Long expired = 86400L;
+
+    /**
+     * 服务端整体上传大文件时的并发分片数
+     */
+    private Integer parallelism = 4;
+
+    /**
+     * OSS传输线程池核心线程数
+     */
+    private Integer executorCoreSize = 4;
+
+    /**
+     * OSS传输线程池最大线程数
+     */
+    private Integer executorMaxSize = 16;
+
+    /**
+     * OSS传输线程池队列容量
+     */
+    private Integer executorQueueCapacity = 256;
+
+}
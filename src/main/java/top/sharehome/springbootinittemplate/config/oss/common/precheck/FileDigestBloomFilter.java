@@ -0,0 +1,200 @@
+package top.sharehome.springbootinittemplate.config.oss.common.precheck;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.redisson.api.RBloomFilter;
+import org.redisson.api.RBucket;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.core.task.TaskExecutor;
+import top.sharehome.springbootinittemplate.config.oss.common.precheck.properties.OssPreCheckProperties;
+import top.sharehome.springbootinittemplate.mapper.FileMapper;
+import top.sharehome.springbootinittemplate.model.entity.File;
+import top.sharehome.springbootinittemplate.utils.redisson.KeyPrefixConstants;
+
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 文件摘要布隆过滤器
+ * 记录所有已存在文件的唯一摘要值，秒传预检时先经过该过滤器，明确不存在的摘要值不再查询数据库
+ * 过滤器保存在Redis中多节点共享，首次使用时提交到后台线程从数据库构建，不阻塞请求线程，构建完成前预检直接查询数据库
+ * 文件删除后摘要值不会从过滤器中移除，只会造成一次多余的数据库查询，不影响正确性
+ *
+ * @author AntonyCheng
+ */
+@Slf4j
+public class FileDigestBloomFilter {
+
+    private static final String FILTER_KEY = KeyPrefixConstants.OSS_DIGEST_FILTER_PREFIX + "BLOOM";
+
+    private static final String READY_KEY = KeyPrefixConstants.OSS_DIGEST_FILTER_PREFIX + "READY";
+
+    private static final String BUILD_LOCK_KEY = KeyPrefixConstants.OSS_DIGEST_FILTER_PREFIX + "BUILD";
+
+    private final RedissonClient redissonClient;
+
+    private final FileMapper fileMapper;
+
+    private final OssPreCheckProperties ossPreCheckProperties;
+
+    /**
+     * 构建过滤器的后台线程池
+     */
+    private final TaskExecutor taskExecutor;
+
+    /**
+     * 本节点是否已提交构建任务，避免重复提交
+     */
+    private final AtomicBoolean building = new AtomicBoolean(false);
+
+    /**
+     * 本节点是否已确认过滤器构建完成，避免每次预检都查询构建标记
+     */
+    private volatile boolean ready = false;
+
+    public FileDigestBloomFilter(RedissonClient redissonClient, FileMapper fileMapper, OssPreCheckProperties ossPreCheckProperties, TaskExecutor taskExecutor) {
+        this.redissonClient = redissonClient;
+        this.fileMapper = fileMapper;
+        this.ossPreCheckProperties = ossPreCheckProperties;
+        this.taskExecutor = taskExecutor;
+    }
+
+    /**
+     * 判断摘要值是否可能已存在
+     *
+     * @param uniqueKey 文件唯一摘要值
+     * @return false表示一定不存在，true表示可能存在需要查询数据库
+     */
+    public boolean mightContain(String uniqueKey) {
+        if (!ossPreCheckProperties.getBloomFilterEnable()) {
+            return true;
+        }
+        try {
+            if (!isReady()) {
+                return true;
+            }
+            return getFilter().contains(uniqueKey);
+        } catch (Exception e) {
+            // 过滤器不可用（例如Redis数据被清空）时退化为查询数据库，下次使用时重新构建
+            log.warn("file digest bloom filter is unavailable: {}", e.getMessage());
+            ready = false;
+            return true;
+        }
+    }
+
+    /**
+     * 添加摘要值，在文件信息入库时调用
+     *
+     * @param uniqueKey 文件唯一摘要值
+     */
+    public void add(String uniqueKey) {
+        if (!ossPreCheckProperties.getBloomFilterEnable() || StringUtils.isBlank(uniqueKey)) {
+            return;
+        }
+        try {
+            RBloomFilter<String> filter = getFilter();
+            // 过滤器未初始化时不添加，构建时会从数据库加载
+            if (filter.isExists()) {
+                filter.add(uniqueKey);
+            }
+        } catch (Exception e) {
+            log.warn("failed to add digest into bloom filter: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 过滤器是否构建完成，未构建时提交后台构建任务并立即返回
+     */
+    private boolean isReady() {
+        if (ready) {
+            return true;
+        }
+        if (redissonClient.getBucket(READY_KEY).isExists()) {
+            ready = true;
+            return true;
+        }
+        buildAsync();
+        return false;
+    }
+
+    /**
+     * 提交后台构建任务，本节点同一时间只有一个构建任务
+     */
+    private void buildAsync() {
+        if (!building.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            taskExecutor.execute(() -> {
+                try {
+                    build();
+                } catch (Exception e) {
+                    log.warn("failed to build file digest bloom filter: {}", e.getMessage());
+                } finally {
+                    building.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            building.set(false);
+            log.warn("file digest bloom filter build is rejected: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 从数据库构建过滤器，同一时间只有一个节点进行构建，其他节点在构建完成前直接查询数据库
+     */
+    private void build() {
+        RBucket<Long> readyBucket = redissonClient.getBucket(READY_KEY);
+        RLock lock = redissonClient.getLock(BUILD_LOCK_KEY);
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            if (readyBucket.isExists()) {
+                ready = true;
+                return;
+            }
+            // 上次构建可能中途失败，丢弃不完整的过滤器后重新初始化
+            RBloomFilter<String> filter = getFilter();
+            filter.delete();
+            filter.tryInit(ossPreCheckProperties.getExpectedInsertions(), ossPreCheckProperties.getFalseProbability());
+            long count = 0;
+            Long lastId = null;
+            int batchSize = Math.max(1, ossPreCheckProperties.getLoadBatchSize());
+            while (true) {
+                // 按照主键游标分批加载，避免一次性把整张表读入内存
+                List<File> files = fileMapper.selectList(new LambdaQueryWrapper<File>()
+                        .select(File::getId, File::getUniqueKey)
+                        .gt(lastId != null, File::getId, lastId)
+                        .orderByAsc(File::getId)
+                        .last("LIMIT " + batchSize));
+                if (files.isEmpty()) {
+                    break;
+                }
+                for (File file : files) {
+                    if (StringUtils.isNotBlank(file.getUniqueKey())) {
+                        filter.add(file.getUniqueKey());
+                        count++;
+                    }
+                }
+                lastId = files.get(files.size() - 1).getId();
+                if (files.size() < batchSize) {
+                    break;
+                }
+            }
+            readyBucket.set(System.currentTimeMillis());
+            ready = true;
+            log.info("file digest bloom filter built with {} digests", count);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private RBloomFilter<String> getFilter() {
+        return redissonClient.getBloomFilter(FILTER_KEY);
+    }
+
+}
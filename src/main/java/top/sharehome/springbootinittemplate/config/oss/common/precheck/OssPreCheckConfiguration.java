@@ -0,0 +1,57 @@
+package top.sharehome.springbootinittemplate.config.oss.common.precheck;
+
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RedissonClient;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import top.sharehome.springbootinittemplate.config.oss.common.precheck.properties.OssPreCheckProperties;
+import top.sharehome.springbootinittemplate.mapper.FileMapper;
+
+/**
+ * 文件秒传预检配置
+ *
+ * @author AntonyCheng
+ */
+@Configuration
+@EnableConfigurationProperties(OssPreCheckProperties.class)
+@AllArgsConstructor
+@Slf4j
+public class OssPreCheckConfiguration {
+
+    private final OssPreCheckProperties ossPreCheckProperties;
+
+    /**
+     * 文件摘要布隆过滤器构建线程池，构建是一次性任务，只需要一个线程
+     */
+    @Bean(name = "ossDigestFilterExecutor")
+    public ThreadPoolTaskExecutor ossDigestFilterExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("oss-digest-filter-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 文件摘要布隆过滤器
+     */
+    @Bean
+    public FileDigestBloomFilter fileDigestBloomFilter(RedissonClient redissonClient, FileMapper fileMapper) {
+        return new FileDigestBloomFilter(redissonClient, fileMapper, ossPreCheckProperties, ossDigestFilterExecutor());
+    }
+
+    /**
+     * 依赖注入日志输出
+     */
+    @PostConstruct
+    private void initDi() {
+        log.info("############ {} Configuration DI.", this.getClass().getSimpleName().split("\\$\\$")[0]);
+    }
+
+}
@@ -0,0 +1,35 @@
+package top.sharehome.springbootinittemplate.config.oss.common.precheck.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 文件秒传预检配置属性
+ *
+ * @author AntonyCheng
+ */
+@Data
+@ConfigurationProperties(prefix = "oss.pre-check")
+public class OssPreCheckProperties {
+
+    /**
+     * 是否启用布隆过滤器，关闭后每次预检都直接查询数据库
+     */
+    private Boolean bloomFilterEnable = true;
+
+    /**
+     * 布隆过滤器预计元素数量，文件数超过该值后误判率会升高，需要调大后重建
+     */
+    private Long expectedInsertions = 1000000L;
+
+    /**
+     * 布隆过滤器期望误判率
+     */
+    private Double falseProbability = 0.01;
+
+    /**
+     * 构建布隆过滤器时每批从数据库加载的摘要值数量
+     */
+    private Integer loadBatchSize = 1000;
+
+}
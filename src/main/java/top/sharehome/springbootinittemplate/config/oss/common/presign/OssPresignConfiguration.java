@@ -0,0 +1,41 @@
+package top.sharehome.springbootinittemplate.config.oss.common.presign;
+
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RedissonClient;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import top.sharehome.springbootinittemplate.config.oss.common.presign.properties.OssPresignProperties;
+
+/**
+ * OSS预签名直传配置
+ *
+ * @author AntonyCheng
+ */
+@Configuration
+@EnableConfigurationProperties(OssPresignProperties.class)
+@AllArgsConstructor
+@Slf4j
+public class OssPresignConfiguration {
+
+    private final OssPresignProperties ossPresignProperties;
+
+    /**
+     * 预签名上传凭证存储
+     */
+    @Bean
+    public OssPresignTicketStore ossPresignTicketStore(RedissonClient redissonClient) {
+        return new OssPresignTicketStore(redissonClient, ossPresignProperties);
+    }
+
+    /**
+     * 依赖注入日志输出
+     */
+    @PostConstruct
+    private void initDi() {
+        log.info("############ {} Configuration DI.", this.getClass().getSimpleName().split("\\$\\$")[0]);
+    }
+
+}
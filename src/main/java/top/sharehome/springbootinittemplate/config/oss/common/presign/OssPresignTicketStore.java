@@ -0,0 +1,205 @@
+package top.sharehome.springbootinittemplate.config.oss.common.presign;
+
+import org.apache.commons.lang3.StringUtils;
+import org.redisson.api.RedissonClient;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.util.UriUtils;
+import top.sharehome.springbootinittemplate.common.base.ReturnCode;
+import top.sharehome.springbootinittemplate.config.oss.common.presign.model.PresignedUpload;
+import top.sharehome.springbootinittemplate.config.oss.common.presign.model.PresignedUploadTicket;
+import top.sharehome.springbootinittemplate.config.oss.common.presign.properties.OssPresignProperties;
+import top.sharehome.springbootinittemplate.exception.customize.CustomizeFileException;
+import top.sharehome.springbootinittemplate.utils.redisson.KeyPrefixConstants;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * 预签名上传凭证存储
+ * 凭证保存在Redis中多节点共享，客户端直传完成后凭借凭证登记文件信息，每个凭证只能完成一次
+ * 预签名上传地址在完成上传后仍然有效，而且并不是所有服务商都会把文件大小和类型纳入签名，
+ * 因此上传地址只指向暂存对象，完成时由服务端复制到正式对象并校验正式对象，登记的正式对象不会再被上传地址覆盖
+ *
+ * @author AntonyCheng
+ */
+public class OssPresignTicketStore {
+
+    private final RedissonClient redissonClient;
+
+    private final OssPresignProperties ossPresignProperties;
+
+    public OssPresignTicketStore(RedissonClient redissonClient, OssPresignProperties ossPresignProperties) {
+        this.redissonClient = redissonClient;
+        this.ossPresignProperties = ossPresignProperties;
+    }
+
+    /**
+     * 创建预签名上传凭证
+     *
+     * @param ossType       OSS类型
+     * @param key           对象键
+     * @param originalName  文件原名称
+     * @param suffix        文件后缀
+     * @param contentType   声明的文件类型，为空时根据文件原名称推断
+     * @param contentLength 声明的文件大小
+     * @return 预签名上传凭证
+     */
+    public PresignedUploadTicket create(String ossType, String key, String originalName, String suffix, String contentType, Long contentLength) {
+        if (Objects.isNull(contentLength) || contentLength <= 0) {
+            throw new CustomizeFileException(ReturnCode.USER_DO_NOT_UPLOAD_FILE, "文件大小必须大于0");
+        }
+        if (contentLength > ossPresignProperties.getMaxContentLength()) {
+            throw new CustomizeFileException(ReturnCode.USER_UPLOADED_FILE_IS_TOO_LARGE);
+        }
+        String resolvedContentType;
+        try {
+            resolvedContentType = StringUtils.isBlank(contentType)
+                    ? MediaTypeFactory.getMediaType(originalName).orElse(MediaType.APPLICATION_OCTET_STREAM).toString()
+                    : MediaType.parseMediaType(contentType).toString();
+        } catch (InvalidMediaTypeException e) {
+            throw new CustomizeFileException(ReturnCode.USER_UPLOADED_FILE_TYPE_MISMATCH, "文件类型格式错误");
+        }
+        String ticketId = UUID.randomUUID().toString().replaceAll("-", "");
+        PresignedUploadTicket ticket = new PresignedUploadTicket()
+                .setTicketId(ticketId)
+                .setOssType(ossType)
+                .setKey(key)
+                .setStagingKey(StringUtils.strip(ossPresignProperties.getStagingPath(), "/") + "/" + ticketId + "." + suffix)
+                .setOriginalName(originalName)
+                .setSuffix(suffix)
+                .setContentType(resolvedContentType)
+                .setContentLength(contentLength)
+                .setCreateTime(System.currentTimeMillis());
+        redissonClient.<PresignedUploadTicket>getBucket(buildKey(ticket.getTicketId())).set(ticket, Duration.ofSeconds(ossPresignProperties.getTicketExpired()));
+        return ticket;
+    }
+
+    /**
+     * 构建返回给客户端的预签名上传地址，客户端必须携带凭证中声明的文件类型和文件大小
+     *
+     * @param ticket 预签名上传凭证
+     * @param url    预签名上传地址
+     * @return 预签名上传地址
+     */
+    public PresignedUpload buildUpload(PresignedUploadTicket ticket, String url) {
+        return new PresignedUpload()
+                .setTicketId(ticket.getTicketId())
+                .setMethod("PUT")
+                .setUrl(url)
+                .setHeaders(Map.of(
+                        "Content-Type", ticket.getContentType(),
+                        "Content-Length", String.valueOf(ticket.getContentLength())))
+                .setKey(ticket.getKey())
+                .setExpireTime(ticket.getCreateTime() + getUploadExpired().toMillis());
+    }
+
+    /**
+     * 获取预签名上传凭证
+     *
+     * @param ticketId 上传凭证ID
+     * @param ossType  OSS类型
+     * @return 预签名上传凭证
+     */
+    public PresignedUploadTicket get(String ticketId, String ossType) {
+        if (StringUtils.isBlank(ticketId)) {
+            throw new CustomizeFileException(ReturnCode.FILE_UPLOAD_EXCEPTION, "上传凭证ID为空");
+        }
+        PresignedUploadTicket ticket = redissonClient.<PresignedUploadTicket>getBucket(buildKey(ticketId)).get();
+        if (Objects.isNull(ticket) || !Objects.equals(ticket.getOssType(), ossType)) {
+            throw new CustomizeFileException(ReturnCode.FILE_UPLOAD_EXCEPTION, "上传凭证不存在或已过期");
+        }
+        return ticket;
+    }
+
+    /**
+     * 标记凭证正在完成，同一个凭证的完成过程串行执行，避免并发完成时相互删除正式对象
+     *
+     * @param ticketId 上传凭证ID
+     * @return 是否标记成功
+     */
+    public boolean tryBeginComplete(String ticketId) {
+        return redissonClient.<String>getBucket(buildCompletingKey(ticketId)).setIfAbsent(ticketId, getUploadExpired());
+    }
+
+    /**
+     * 清除完成标记
+     *
+     * @param ticketId 上传凭证ID
+     */
+    public void endComplete(String ticketId) {
+        redissonClient.getBucket(buildCompletingKey(ticketId)).delete();
+    }
+
+    /**
+     * 消费预签名上传凭证，并发完成同一个凭证时只有一个能成功
+     *
+     * @param ticketId 上传凭证ID
+     * @return 是否消费成功
+     */
+    public boolean claim(String ticketId) {
+        return redissonClient.getBucket(buildKey(ticketId)).delete();
+    }
+
+    /**
+     * 校验存储桶中的对象是否与凭证中声明的文件大小和文件类型一致
+     *
+     * @param ticket        预签名上传凭证
+     * @param contentLength 对象实际大小
+     * @param contentType   对象实际类型
+     * @return 是否一致
+     */
+    public boolean matches(PresignedUploadTicket ticket, long contentLength, String contentType) {
+        if (!Objects.equals(ticket.getContentLength(), contentLength)) {
+            return false;
+        }
+        try {
+            MediaType actual = StringUtils.isBlank(contentType) ? MediaType.APPLICATION_OCTET_STREAM : MediaType.parseMediaType(contentType);
+            return MediaType.parseMediaType(ticket.getContentType()).equalsTypeAndSubtype(actual);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 构建直传文件的唯一摘要值
+     * 服务端无法得到直传文件的内容摘要，这里使用凭证ID，保证不会与内容摘要混淆，也不会参与秒传
+     *
+     * @param ticket 预签名上传凭证
+     * @return 唯一摘要值
+     */
+    public String buildUniqueKey(PresignedUploadTicket ticket) {
+        return "presigned:" + ticket.getTicketId();
+    }
+
+    /**
+     * 构建下载时的Content-Disposition响应头，使用文件原名称作为下载文件名
+     *
+     * @param originalName 文件原名称
+     * @return Content-Disposition响应头
+     */
+    public String buildContentDisposition(String originalName) {
+        return "attachment; filename*=UTF-8''" + UriUtils.encode(originalName, StandardCharsets.UTF_8);
+    }
+
+    public Duration getUploadExpired() {
+        return Duration.ofSeconds(ossPresignProperties.getUploadExpired());
+    }
+
+    public Duration getDownloadExpired() {
+        return Duration.ofSeconds(ossPresignProperties.getDownloadExpired());
+    }
+
+    private String buildKey(String ticketId) {
+        return KeyPrefixConstants.OSS_PRESIGN_PREFIX + ticketId;
+    }
+
+    private String buildCompletingKey(String ticketId) {
+        return KeyPrefixConstants.OSS_PRESIGN_PREFIX + "COMPLETING:" + ticketId;
+    }
+
+}
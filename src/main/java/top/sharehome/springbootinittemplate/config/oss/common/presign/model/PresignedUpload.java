@@ -0,0 +1,56 @@
+package top.sharehome.springbootinittemplate.config.oss.common.presign.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Map;
+
+/**
+ * 预签名上传地址，客户端使用其中的地址和请求头直接把文件上传到存储桶，完成后使用ticketId登记文件信息
+ *
+ * @author AntonyCheng
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Accessors(chain = true)
+public class PresignedUpload implements Serializable {
+
+    /**
+     * 上传凭证ID
+     */
+    private String ticketId;
+
+    /**
+     * 请求方法
+     */
+    private String method;
+
+    /**
+     * 预签名上传地址
+     */
+    private String url;
+
+    /**
+     * 上传时必须携带的请求头
+     */
+    private Map<String, String> headers;
+
+    /**
+     * 完成上传后登记的对象键，上传地址指向的是暂存对象键
+     */
+    private String key;
+
+    /**
+     * 上传地址过期时间戳
+     */
+    private Long expireTime;
+
+    @Serial
+    private static final long serialVersionUID = -3375064142157207496L;
+
+}
@@ -0,0 +1,70 @@
+package top.sharehome.springbootinittemplate.config.oss.common.presign.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * 预签名上传凭证，签发上传地址时保存，完成上传时据此校验对象并登记文件信息
+ *
+ * @author AntonyCheng
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Accessors(chain = true)
+public class PresignedUploadTicket implements Serializable {
+
+    /**
+     * 上传凭证ID，返回给客户端
+     */
+    private String ticketId;
+
+    /**
+     * OSS类型
+     */
+    private String ossType;
+
+    /**
+     * 对象键，完成上传时由暂存对象复制而来，预签名地址不覆盖该键
+     */
+    private String key;
+
+    /**
+     * 暂存对象键，预签名上传地址指向该键，完成上传后删除
+     */
+    private String stagingKey;
+
+    /**
+     * 文件原名称
+     */
+    private String originalName;
+
+    /**
+     * 文件后缀
+     */
+    private String suffix;
+
+    /**
+     * 声明的文件类型
+     */
+    private String contentType;
+
+    /**
+     * 声明的文件大小
+     */
+    private Long contentLength;
+
+    /**
+     * 创建时间戳
+     */
+    private Long createTime;
+
+    @Serial
+    private static final long serialVersionUID = 6079428310947712385L;
+
+}
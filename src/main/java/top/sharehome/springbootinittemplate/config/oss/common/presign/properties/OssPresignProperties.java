@@ -0,0 +1,41 @@
+package top.sharehome.springbootinittemplate.config.oss.common.presign.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * OSS预签名直传配置属性
+ *
+ * @author AntonyCheng
+ */
+@Data
+@ConfigurationProperties(prefix = "oss.presign")
+public class OssPresignProperties {
+
+    /**
+     * 预签名上传地址有效期，单位：秒
+     */
+    private Long uploadExpired = 900L;
+
+    /**
+     * 预签名下载地址有效期，单位：秒
+     */
+    private Long downloadExpired = 3600L;
+
+    /**
+     * 上传凭证有效期，超过后不能再完成上传，单位：秒
+     */
+    private Long ticketExpired = 86400L;
+
+    /**
+     * 单个文件最大大小，单次PUT上传不能超过5GB，单位：字节
+     */
+    private Long maxContentLength = 5L * 1024 * 1024 * 1024;
+
+    /**
+     * 直传暂存对象的路径，预签名地址只指向该路径下的对象，完成上传时复制到正式路径后删除
+     * 建议在存储桶中为该路径配置生命周期规则，清理未完成上传以及上传地址过期前被重新写入的对象
+     */
+    private String stagingPath = "presign-staging";
+
+}
@@ -0,0 +1,127 @@
+package top.sharehome.springbootinittemplate.config.oss.common.upload;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import top.sharehome.springbootinittemplate.common.base.ReturnCode;
+import top.sharehome.springbootinittemplate.exception.customize.CustomizeFileException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.Objects;
+
+/**
+ * 暂存的上传文件
+ * 上传流在写入临时文件的同时增量计算SHA3-256摘要，内存占用与文件大小无关，各个OSS从临时文件上传，关闭时删除临时文件
+ *
+ * @author AntonyCheng
+ */
+@Getter
+@Slf4j
+public class StagedUpload implements AutoCloseable {
+
+    /**
+     * 临时文件前缀
+     */
+    private static final String TEMP_FILE_PREFIX = "oss-upload-";
+
+    /**
+     * 临时文件路径
+     */
+    private final Path path;
+
+    /**
+     * 文件大小
+     */
+    private final long size;
+
+    /**
+     * 唯一摘要值，由文件内容、文件原名称和文件后缀计算
+     */
+    private final String uniqueKey;
+
+    private StagedUpload(Path path, long size, String uniqueKey) {
+        this.path = path;
+        this.size = size;
+        this.uniqueKey = uniqueKey;
+    }
+
+    /**
+     * 暂存上传流
+     *
+     * @param inputStream  待上传的文件流，读取完毕后关闭
+     * @param originalName 文件原名称
+     * @param suffix       文件后缀
+     * @return 暂存的上传文件
+     */
+    public static StagedUpload stage(InputStream inputStream, String originalName, String suffix) throws IOException {
+        if (Objects.isNull(inputStream)) {
+            throw new CustomizeFileException(ReturnCode.USER_DO_NOT_UPLOAD_FILE);
+        }
+        try (inputStream) {
+            MessageDigest messageDigest = UploadDigests.newDigest();
+            Path temp = Files.createTempFile(TEMP_FILE_PREFIX, ".tmp");
+            try {
+                long size = Files.copy(new DigestInputStream(inputStream, messageDigest), temp, StandardCopyOption.REPLACE_EXISTING);
+                return new StagedUpload(temp, size, UploadDigests.toUniqueKey(messageDigest, originalName, suffix));
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(temp);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * 打开临时文件输入流
+     */
+    public InputStream openStream() throws IOException {
+        return Files.newInputStream(path);
+    }
+
+    /**
+     * 获取临时文件
+     */
+    public java.io.File toFile() {
+        return path.toFile();
+    }
+
+    /**
+     * 获取数据库中记录的文件大小，文件大小字段为int类型，超过上限时记为上限
+     */
+    public int getRecordSize() {
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 把临时文件移动到目标位置，同一文件系统内只是重命名，不会再次复制数据
+     *
+     * @param target 目标位置，已存在时不覆盖
+     */
+    public void moveTo(Path target) throws IOException {
+        if (Files.exists(target)) {
+            return;
+        }
+        Path parent = target.getParent();
+        if (Objects.nonNull(parent)) {
+            Files.createDirectories(parent);
+        }
+        Files.move(path, target);
+    }
+
+    /**
+     * 删除临时文件
+     */
+    @Override
+    public void close() {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("临时上传文件[{}]删除失败: {}", path, e.getMessage());
+        }
+    }
+
+}
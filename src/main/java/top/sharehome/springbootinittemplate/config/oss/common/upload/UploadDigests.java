@@ -0,0 +1,57 @@
+package top.sharehome.springbootinittemplate.config.oss.common.upload;
+
+import top.sharehome.springbootinittemplate.common.base.ReturnCode;
+import top.sharehome.springbootinittemplate.exception.customize.CustomizeFileException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * 上传文件摘要工具
+ *
+ * @author AntonyCheng
+ */
+public class UploadDigests {
+
+    /**
+     * 摘要算法
+     */
+    private static final String ALGORITHM = "SHA3-256";
+
+    /**
+     * 创建摘要对象
+     */
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new CustomizeFileException(ReturnCode.FILE_UPLOAD_EXCEPTION, "摘要算法不可用");
+        }
+    }
+
+    /**
+     * 完成摘要计算，只包含内容本身
+     *
+     * @param messageDigest 已写入内容的摘要对象
+     * @return 十六进制摘要
+     */
+    public static String toHex(MessageDigest messageDigest) {
+        return HexFormat.of().formatHex(messageDigest.digest());
+    }
+
+    /**
+     * 完成唯一摘要值计算，在内容之后追加文件原名称和文件后缀
+     *
+     * @param messageDigest 已写入内容的摘要对象
+     * @param originalName  文件原名称
+     * @param suffix        文件后缀
+     * @return 十六进制唯一摘要值
+     */
+    public static String toUniqueKey(MessageDigest messageDigest, String originalName, String suffix) {
+        messageDigest.update((originalName + suffix).getBytes(StandardCharsets.UTF_8));
+        return toHex(messageDigest);
+    }
+
+}
@@ -4,10 +4,23 @@ import com.aliyun.oss.*;
 import com.aliyun.oss.common.auth.CredentialsProvider;
 import com.aliyun.oss.common.auth.DefaultCredentialProvider;
 import com.aliyun.oss.common.comm.Protocol;
+import com.aliyun.oss.model.AbortMultipartUploadRequest;
+import com.aliyun.oss.model.CompleteMultipartUploadRequest;
+import com.aliyun.oss.model.GeneratePresignedUrlRequest;
+import com.aliyun.oss.model.InitiateMultipartUploadRequest;
+import com.aliyun.oss.model.InitiateMultipartUploadResult;
+import com.aliyun.oss.model.ObjectMetadata;
+import com.aliyun.oss.model.PartETag;
 import com.aliyun.oss.model.PutObjectRequest;
+import com.aliyun.oss.model.ResponseHeaderOverrides;
+import com.aliyun.oss.model.UploadFileRequest;
+import com.aliyun.oss.model.UploadPartCopyRequest;
+import com.aliyun.oss.model.UploadPartRequest;
+import com.aliyun.oss.model.UploadPartResult;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import jakarta.annotation.PostConstruct;
-import lombok.AllArgsConstructor;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.ObjectUtils;
@@ -21,19 +34,32 @@ import org.springframework.web.multipart.MultipartFile;
 import top.sharehome.springbootinittemplate.common.base.Constants;
 import top.sharehome.springbootinittemplate.common.base.ReturnCode;
 import top.sharehome.springbootinittemplate.config.oss.common.enums.OssType;
+import top.sharehome.springbootinittemplate.config.oss.common.multipart.OssMultipartSessionStore;
+import top.sharehome.springbootinittemplate.config.oss.common.multipart.model.MultipartUploadPart;
+import top.sharehome.springbootinittemplate.config.oss.common.multipart.model.MultipartUploadSession;
+import top.sharehome.springbootinittemplate.config.oss.common.multipart.properties.OssMultipartProperties;
+import top.sharehome.springbootinittemplate.config.oss.common.presign.OssPresignTicketStore;
+import top.sharehome.springbootinittemplate.config.oss.common.presign.model.PresignedUpload;
+import top.sharehome.springbootinittemplate.config.oss.common.presign.model.PresignedUploadTicket;
+import top.sharehome.springbootinittemplate.config.oss.common.upload.StagedUpload;
+import top.sharehome.springbootinittemplate.config.oss.common.upload.UploadDigests;
 import top.sharehome.springbootinittemplate.config.oss.service.ali.condition.OssAliCondition;
 import top.sharehome.springbootinittemplate.config.oss.service.ali.properties.OssAliProperties;
 import top.sharehome.springbootinittemplate.exception.customize.CustomizeFileException;
 import top.sharehome.springbootinittemplate.model.entity.File;
 import top.sharehome.springbootinittemplate.service.FileService;
-import top.sharehome.springbootinittemplate.utils.encrypt.SHA3Utils;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 /**
  * 阿里云OSS配置
@@ -42,15 +68,36 @@ import java.util.UUID;
  */
 @Configuration
 @EnableConfigurationProperties(OssAliProperties.class)
-@AllArgsConstructor
+@RequiredArgsConstructor
 @Slf4j
 @Conditional(OssAliCondition.class)
 public class OssAliConfiguration {
 
+    /**
+     * 简单复制支持的最大对象大小，超过后按分片复制
+     */
+    private static final long MAX_SIMPLE_COPY_SIZE = 1024L * 1024 * 1024;
+
+    /**
+     * 分片复制时每个分片的大小
+     */
+    private static final long COPY_PART_SIZE = 100L * 1024 * 1024;
+
     private final OssAliProperties ossAliProperties;
 
     private final FileService fileService;
 
+    private final OssMultipartSessionStore ossMultipartSessionStore;
+
+    private final OssMultipartProperties ossMultipartProperties;
+
+    private final OssPresignTicketStore ossPresignTicketStore;
+
+    /**
+     * 共享的OSSClient客户端，首次使用时创建
+     */
+    private volatile OSS ossClient;
+
     /**
      * 上传文件到OSS
      *
@@ -100,23 +147,22 @@ public class OssAliConfiguration {
      */
     @Transactional(rollbackFor = Exception.class)
     public File uploadToOss(InputStream inputStream, String originalName, String suffix, String rootPath) {
+        if (Objects.isNull(inputStream)) {
+            throw new CustomizeFileException(ReturnCode.USER_DO_NOT_UPLOAD_FILE);
+        }
+        if (StringUtils.isEmpty(suffix)) {
+            suffix = Constants.UNKNOWN_FILE_TYPE_SUFFIX;
+        } else {
+            suffix = suffix.toLowerCase();
+        }
+        if (StringUtils.isBlank(originalName)) {
+            originalName = "none" + "." + suffix;
+        }
         OSS ossClient = getOssClient();
-        try (inputStream) {
-            if (Objects.isNull(inputStream)) {
-                throw new CustomizeFileException(ReturnCode.USER_DO_NOT_UPLOAD_FILE);
-            }
-            if (StringUtils.isEmpty(suffix)) {
-                suffix = Constants.UNKNOWN_FILE_TYPE_SUFFIX;
-            } else {
-                suffix = suffix.toLowerCase();
-            }
-            if (StringUtils.isBlank(originalName)) {
-                originalName = "none" + "." + suffix;
-            }
-            byte[] dataBytes = inputStream.readAllBytes();
-            String plainKey = new String(dataBytes) + originalName + suffix;
+        // 边写入临时文件边计算摘要，不把文件整体读入内存
+        try (StagedUpload stagedUpload = StagedUpload.stage(inputStream, originalName, suffix)) {
             // 检查是否能进行秒传，如果能就直接返回秒传结果，否则进行普通上传
-            String uniqueKey = SHA3Utils.encrypt(plainKey);
+            String uniqueKey = stagedUpload.getUniqueKey();
             File fastUploadResult = existAndFastUpload(uniqueKey);
             if (Objects.nonNull(fastUploadResult)) {
                 return fastUploadResult;
@@ -125,18 +171,30 @@ public class OssAliConfiguration {
             String fileName = UUID.randomUUID().toString().replaceAll("-", "") + System.currentTimeMillis() + "." + suffix;
             // 对象键(Key)是对象在存储桶中的唯一标识。
             String key = StringUtils.isBlank(StringUtils.trim(rootPath)) ? fileName : rootPath + "/" + fileName;
-            // 封装输出流为ByteArrayInputStream
-            ByteArrayInputStream tempInputStream = new ByteArrayInputStream(dataBytes);
-            // 上传文件的同时指定进度条参数。此处PutObjectProgressListenerDemo为调用类的类名，请在实际使用时替换为相应的类名。
-            ossClient.putObject(new PutObjectRequest(ossAliProperties.getBucketName(), key, tempInputStream).withProgressListener(new PutObjectProgressListener()));
+            if (stagedUpload.getSize() > ossMultipartProperties.getPartSize()) {
+                // 大文件从临时文件并发分片上传
+                UploadFileRequest uploadFileRequest = new UploadFileRequest(ossAliProperties.getBucketName(), key);
+                uploadFileRequest.setUploadFile(stagedUpload.getPath().toString());
+                uploadFileRequest.setPartSize(Math.max(OssMultipartSessionStore.MIN_PART_SIZE, ossMultipartProperties.getPartSize()));
+                uploadFileRequest.setTaskNum(Math.max(1, ossMultipartProperties.getParallelism()));
+                uploadFileRequest.setProgressListener(new PutObjectProgressListener());
+                try {
+                    ossClient.uploadFile(uploadFileRequest);
+                } catch (Throwable e) {
+                    throw new IOException(e.getMessage(), e);
+                }
+            } else {
+                // 从临时文件上传，上传文件的同时指定进度条参数。
+                ossClient.putObject(new PutObjectRequest(ossAliProperties.getBucketName(), key, stagedUpload.toFile()).withProgressListener(new PutObjectProgressListener()));
+            }
             // 添加新文件
-            String url = Constants.HTTPS + ossAliProperties.getBucketName() + "." + ossAliProperties.getEndpoint().split(Constants.HTTPS)[1] + "/" + key;
+            String url = getObjectUrl(key);
             File newFile = new File()
                     .setUniqueKey(uniqueKey)
                     .setName(key)
                     .setOriginalName(originalName)
                     .setSuffix(suffix)
-                    .setSize(dataBytes.length)
+                    .setSize(stagedUpload.getRecordSize())
                     .setUrl(url)
                     .setOssType(OssType.ALI.getTypeName());
             if (fileService.save(newFile)) {
@@ -147,10 +205,337 @@ public class OssAliConfiguration {
         } catch (OSSException | ClientException | IOException e) {
             log.error(e.getMessage());
             throw new CustomizeFileException(ReturnCode.FILE_UPLOAD_EXCEPTION);
+        }
+    }
+
+    /**
+     * 初始化分片上传
+     *
+     * @param originalName 文件原名称
+     * @param suffix       文件后缀
+     * @param rootPath     上传的路径
+     * @return 分片上传任务，客户端使用其中的uploadId上传分片
+     */
+    public MultipartUploadSession initMultipartUpload(String originalName, String suffix, String rootPath) {
+        if (StringUtils.isEmpty(suffix)) {
+            suffix = Constants.UNKNOWN_FILE_TYPE_SUFFIX;
+        } else {
+            suffix = suffix.toLowerCase();
+        }
+        if (StringUtils.isBlank(originalName)) {
+            originalName = "none" + "." + suffix;
+        }
+        String fileName = UUID.randomUUID().toString().replaceAll("-", "") + System.currentTimeMillis() + "." + suffix;
+        String key = StringUtils.isBlank(StringUtils.trim(rootPath)) ? fileName : rootPath + "/" + fileName;
+        try {
+            InitiateMultipartUploadResult result = getOssClient().initiateMultipartUpload(new InitiateMultipartUploadRequest(ossAliProperties.getBucketName(), key));
+            return ossMultipartSessionStore.create(OssType.ALI.getTypeName(), key, result.getUploadId(), originalName, suffix);
+        } catch (OSSException | ClientException e) {
+            log.error("OSS分片上传初始化失败：{}", e.getMessage());
+            throw new CustomizeFileException(ReturnCode.FILE_UPLOAD_EXCEPTION);
+        }
+    }
+
+    /**
+     * 上传分片，同一序号重复上传时覆盖
+     *
+     * @param uploadId   上传任务ID
+     * @param partNumber 分片序号，从1开始
+     * @param file       分片数据
+     * @return 已上传的分片
+     */
+    public MultipartUploadPart uploadPart(String uploadId, Integer partNumber, MultipartFile file) {
+        if (Objects.isNull(file)) {
+            throw new CustomizeFileException(ReturnCode.USER_DO_NOT_UPLOAD_FILE);
+        }
+        try {
+            return uploadPart(uploadId, partNumber, file.getInputStream(), file.getSize());
+        } catch (IOException e) {
+            throw new CustomizeFileException(ReturnCode.FILE_UPLOAD_EXCEPTION);
+        }
+    }
+
+    /**
+     * 上传分片，同一序号重复上传时覆盖
+     *
+     * @param uploadId    上传任务ID
+     * @param partNumber  分片序号，从1开始
+     * @param inputStream 分片数据流
+     * @param size        分片大小
+     * @return 已上传的分片
+     */
+    public MultipartUploadPart uploadPart(String uploadId, Integer partNumber, InputStream inputStream, long size) {
+        MultipartUploadSession session = ossMultipartSessionStore.get(uploadId, OssType.ALI.getTypeName());
+        ossMultipartSessionStore.checkPartNumber(partNumber);
+        MessageDigest messageDigest = UploadDigests.newDigest();
+        try (DigestInputStream digestInputStream = new DigestInputStream(inputStream, messageDigest)) {
+            UploadPartRequest uploadPartRequest = new UploadPartRequest();
+            uploadPartRequest.setBucketName(ossAliProperties.getBucketName());
+            uploadPartRequest.setKey(session.getKey());
+            uploadPartRequest.setUploadId(session.getBackendUploadId());
+            uploadPartRequest.setPartNumber(partNumber);
+            uploadPartRequest.setInputStream(digestInputStream);
+            uploadPartRequest.setPartSize(size);
+            UploadPartResult result = getOssClient().uploadPart(uploadPartRequest);
+            MultipartUploadPart part = new MultipartUploadPart()
+                    .setPartNumber(partNumber)
+                    .setEtag(result.getETag())
+                    .setSize(size)
+                    .setDigest(UploadDigests.toHex(messageDigest));
+            ossMultipartSessionStore.savePart(session.getUploadId(), part);
+            return part;
+        } catch (OSSException | ClientException | IOException e) {
+            log.error("OSS分片上传失败：{}", e.getMessage());
+            throw new CustomizeFileException(ReturnCode.FILE_UPLOAD_EXCEPTION);
+        }
+    }
+
+    /**
+     * 列出已上传的分片，用于中断后续传
+     *
+     * @param uploadId 上传任务ID
+     * @return 按照分片序号排序的分片
+     */
+    public List<MultipartUploadPart> listUploadedParts(String uploadId) {
+        ossMultipartSessionStore.get(uploadId, OssType.ALI.getTypeName());
+        return ossMultipartSessionStore.listParts(uploadId);
+    }
+
+    /**
+     * 完成分片上传，由OSS服务端合并分片
+     *
+     * @param uploadId 上传任务ID
+     * @return 文件信息
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public File completeMultipartUpload(String uploadId) {
+        MultipartUploadSession session = ossMultipartSessionStore.get(uploadId, OssType.ALI.getTypeName());
+        if (!ossMultipartSessionStore.tryBeginComplete(uploadId)) {
+            throw new CustomizeFileException(ReturnCode.FILE_UPLOAD_EXCEPTION, "上传任务正在合并");
+        }
+        try {
+            List<MultipartUploadPart> parts = ossMultipartSessionStore.listCompleteParts(uploadId);
+            String uniqueKey = ossMultipartSessionStore.buildUniqueKey(session, parts);
+            File result = existAndFastUpload(uniqueKey);
+            if (Objects.nonNull(result)) {
+                // 已存在相同文件，放弃本次上传的分片
+                getOssClient().abortMultipartUpload(new AbortMultipartUploadRequest(ossAliProperties.getBucketName(), session.getKey(), session.getBackendUploadId()));
+            } else {
+                getOssClient().completeMultipartUpload(new CompleteMultipartUploadRequest(ossAliProperties.getBucketName(), session.getKey(), session.getBackendUploadId(),
+                        parts.stream().map(part -> new PartETag(part.getPartNumber(), part.getEtag())).collect(Collectors.toList())));
+                long size = parts.stream().mapToLong(MultipartUploadPart::getSize).sum();
+                result = new File()
+                        .setUniqueKey(uniqueKey)
+                        .setName(session.getKey())
+                        .setOriginalName(session.getOriginalName())
+                        .setSuffix(session.getSuffix())
+                        .setSize((int) Math.min(size, Integer.MAX_VALUE))
+                        .setUrl(getObjectUrl(session.getKey()))
+                        .setOssType(OssType.ALI.getTypeName());
+                if (!fileService.save(result)) {
+                    throw new CustomizeFileException(ReturnCode.ERRORS_OCCURRED_IN_THE_DATABASE_SERVICE);
+                }
+            }
+            ossMultipartSessionStore.remove(uploadId);
+            return result;
+        } catch (OSSException | ClientException e) {
+            ossMultipartSessionStore.endComplete(uploadId);
+            log.error("OSS分片合并失败：{}", e.getMessage());
+            throw new CustomizeFileException(ReturnCode.FILE_UPLOAD_EXCEPTION);
+        } catch (RuntimeException e) {
+            ossMultipartSessionStore.endComplete(uploadId);
+            throw e;
+        }
+    }
+
+    /**
+     * 取消分片上传，删除已上传的分片
+     *
+     * @param uploadId 上传任务ID
+     */
+    public void abortMultipartUpload(String uploadId) {
+        MultipartUploadSession session = ossMultipartSessionStore.get(uploadId, OssType.ALI.getTypeName());
+        ossMultipartSessionStore.remove(uploadId);
+        try {
+            getOssClient().abortMultipartUpload(new AbortMultipartUploadRequest(ossAliProperties.getBucketName(), session.getKey(), session.getBackendUploadId()));
+        } catch (OSSException | ClientException e) {
+            log.warn("OSS分片上传取消失败：{}", e.getMessage());
+        }
+    }
+
+    /**
+     * 签发预签名上传地址，客户端直接把文件PUT到存储桶中的暂存对象，文件内容不经过服务端
+     *
+     * @param originalName  文件原名称
+     * @param suffix        文件后缀
+     * @param contentType   文件类型，为空时根据文件原名称推断
+     * @param contentLength 文件大小
+     * @param rootPath      上传的路径
+     * @return 预签名上传地址，上传完成后使用其中的ticketId登记文件信息
+     */
+    public PresignedUpload presignUpload(String originalName, String suffix, String contentType, Long contentLength, String rootPath) {
+        if (StringUtils.isBlank(suffix)) {
+            suffix = Constants.UNKNOWN_FILE_TYPE_SUFFIX;
+        } else {
+            suffix = suffix.toLowerCase();
+        }
+        if (StringUtils.isBlank(originalName)) {
+            originalName = "none" + "." + suffix;
+        }
+        String fileName = UUID.randomUUID().toString().replaceAll("-", "") + System.currentTimeMillis() + "." + suffix;
+        String key = StringUtils.isBlank(StringUtils.trim(rootPath)) ? fileName : rootPath + "/" + fileName;
+        PresignedUploadTicket ticket = ossPresignTicketStore.create(OssType.ALI.getTypeName(), key, originalName, suffix, contentType, contentLength);
+        try {
+            GeneratePresignedUrlRequest request = new GeneratePresignedUrlRequest(ossAliProperties.getBucketName(), ticket.getStagingKey(), HttpMethod.PUT);
+            request.setExpiration(new Date(System.currentTimeMillis() + ossPresignTicketStore.getUploadExpired().toMillis()));
+            // Content-Type参与签名，客户端必须使用声明的文件类型上传
+            request.setContentType(ticket.getContentType());
+            return ossPresignTicketStore.buildUpload(ticket, getOssClient().generatePresignedUrl(request).toString());
+        } catch (OSSException | ClientException e) {
+            ossPresignTicketStore.claim(ticket.getTicketId());
+            log.error("OSS预签名上传地址生成失败：{}", e.getMessage());
+            throw new CustomizeFileException(ReturnCode.FILE_UPLOAD_EXCEPTION);
+        }
+    }
+
+    /**
+     * 完成预签名直传，把暂存对象复制为正式对象，校验正式对象与签发时声明的大小和类型一致后登记文件信息
+     * 预签名地址在完成后仍然有效，而且签名不包含文件大小，因此只校验和登记上传地址覆盖不到的正式对象，
+     * 不一致的正式对象会被删除，暂存对象在完成后删除
+     *
+     * @param ticketId 上传凭证ID
+     * @return 文件信息
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public File completePresignedUpload(String ticketId) {
+        PresignedUploadTicket ticket = ossPresignTicketStore.get(ticketId, OssType.ALI.getTypeName());
+        if (!ossPresignTicketStore.tryBeginComplete(ticketId)) {
+            throw new CustomizeFileException(ReturnCode.FILE_UPLOAD_EXCEPTION, "上传凭证正在完成");
+        }
+        try {
+            ObjectMetadata metadata;
+            try {
+                ObjectMetadata stagingMetadata = getOssClient().getObjectMetadata(ossAliProperties.getBucketName(), ticket.getStagingKey());
+                // 先复制再校验复制出的正式对象，复制之后客户端再写入暂存对象也不会影响正式对象
+                copyPresignedObject(ticket.getStagingKey(), ticket.getKey(), stagingMetadata);
+                metadata = getOssClient().getObjectMetadata(ossAliProperties.getBucketName(), ticket.getKey());
+            } catch (OSSException e) {
+                if (Objects.equals(e.getErrorCode(), OSSErrorCode.NO_SUCH_KEY)) {
+                    throw new CustomizeFileException(ReturnCode.USER_DO_NOT_UPLOAD_FILE, "文件尚未上传完成");
+                }
+                log.error("OSS直传对象复制失败：{}", e.getMessage());
+                throw new CustomizeFileException(ReturnCode.FILE_UPLOAD_EXCEPTION);
+            } catch (ClientException e) {
+                log.error("OSS直传对象复制失败：{}", e.getMessage());
+                throw new CustomizeFileException(ReturnCode.FILE_UPLOAD_EXCEPTION);
+            }
+            if (!ossPresignTicketStore.matches(ticket, metadata.getContentLength(), metadata.getContentType())) {
+                ossPresignTicketStore.claim(ticketId);
+                removePresignedObject(ticket.getKey());
+                removePresignedObject(ticket.getStagingKey());
+                throw new CustomizeFileException(ReturnCode.USER_UPLOADED_FILE_TYPE_MISMATCH, "上传文件与声明的大小或类型不一致");
+            }
+            File newFile = new File()
+                    .setUniqueKey(ossPresignTicketStore.buildUniqueKey(ticket))
+                    .setName(ticket.getKey())
+                    .setOriginalName(ticket.getOriginalName())
+                    .setSuffix(ticket.getSuffix())
+                    .setSize((int) Math.min(metadata.getContentLength(), Integer.MAX_VALUE))
+                    .setUrl(getObjectUrl(ticket.getKey()))
+                    .setOssType(OssType.ALI.getTypeName());
+            try {
+                if (!fileService.save(newFile)) {
+                    throw new CustomizeFileException(ReturnCode.ERRORS_OCCURRED_IN_THE_DATABASE_SERVICE);
+                }
+                // 最后消费凭证，凭证已经失效时回滚数据库
+                if (!ossPresignTicketStore.claim(ticketId)) {
+                    throw new CustomizeFileException(ReturnCode.FILE_UPLOAD_EXCEPTION, "上传凭证已被使用");
+                }
+            } catch (RuntimeException e) {
+                removePresignedObject(ticket.getKey());
+                throw e;
+            }
+            removePresignedObject(ticket.getStagingKey());
+            return newFile;
         } finally {
-            if (ossClient != null) {
-                ossClient.shutdown();
+            ossPresignTicketStore.endComplete(ticketId);
+        }
+    }
+
+    /**
+     * 在存储桶内复制直传对象，简单复制最多支持1GB，更大的对象按分片复制
+     *
+     * @param sourceKey      源对象键
+     * @param targetKey      目标对象键
+     * @param sourceMetadata 源对象元数据
+     */
+    private void copyPresignedObject(String sourceKey, String targetKey, ObjectMetadata sourceMetadata) {
+        String bucketName = ossAliProperties.getBucketName();
+        long contentLength = sourceMetadata.getContentLength();
+        if (contentLength <= MAX_SIMPLE_COPY_SIZE) {
+            getOssClient().copyObject(bucketName, sourceKey, bucketName, targetKey);
+            return;
+        }
+        // 分片复制不会复制源对象的元数据，需要在初始化时指定文件类型
+        ObjectMetadata targetMetadata = new ObjectMetadata();
+        targetMetadata.setContentType(sourceMetadata.getContentType());
+        String uploadId = getOssClient().initiateMultipartUpload(new InitiateMultipartUploadRequest(bucketName, targetKey, targetMetadata)).getUploadId();
+        try {
+            List<PartETag> partETags = new ArrayList<>();
+            for (long position = 0; position < contentLength; position += COPY_PART_SIZE) {
+                UploadPartCopyRequest request = new UploadPartCopyRequest(bucketName, sourceKey, bucketName, targetKey, uploadId,
+                        partETags.size() + 1, position, Math.min(COPY_PART_SIZE, contentLength - position));
+                partETags.add(getOssClient().uploadPartCopy(request).getPartETag());
+            }
+            getOssClient().completeMultipartUpload(new CompleteMultipartUploadRequest(bucketName, targetKey, uploadId, partETags));
+        } catch (OSSException | ClientException e) {
+            try {
+                getOssClient().abortMultipartUpload(new AbortMultipartUploadRequest(bucketName, targetKey, uploadId));
+            } catch (OSSException | ClientException abortException) {
+                log.warn("OSS分片复制任务[{}]取消失败：{}", uploadId, abortException.getMessage());
             }
+            throw e;
+        }
+    }
+
+    /**
+     * 删除直传相关对象，失败时只记录日志，残留的暂存对象由存储桶生命周期规则清理
+     *
+     * @param key 对象键
+     */
+    private void removePresignedObject(String key) {
+        try {
+            getOssClient().deleteObject(ossAliProperties.getBucketName(), key);
+        } catch (OSSException | ClientException e) {
+            log.warn("OSS直传对象[{}]删除失败：{}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * 签发预签名下载地址，客户端直接从存储桶下载文件
+     *
+     * @param id 文件ID
+     * @return 预签名下载地址
+     */
+    public String presignDownload(Long id) {
+        File fileInDatabase = fileService.getOne(
+                new LambdaQueryWrapper<File>()
+                        .eq(File::getId, id)
+                        .eq(File::getOssType, OssType.ALI.getTypeName())
+        );
+        if (Objects.isNull(fileInDatabase)) {
+            throw new CustomizeFileException(ReturnCode.USER_FILE_ADDRESS_IS_ABNORMAL, "文件不存在");
+        }
+        try {
+            GeneratePresignedUrlRequest request = new GeneratePresignedUrlRequest(ossAliProperties.getBucketName(), fileInDatabase.getName(), HttpMethod.GET);
+            request.setExpiration(new Date(System.currentTimeMillis() + ossPresignTicketStore.getDownloadExpired().toMillis()));
+            ResponseHeaderOverrides responseHeaders = new ResponseHeaderOverrides();
+            responseHeaders.setContentDisposition(ossPresignTicketStore.buildContentDisposition(fileInDatabase.getOriginalName()));
+            request.setResponseHeaders(responseHeaders);
+            return getOssClient().generatePresignedUrl(request).toString();
+        } catch (OSSException | ClientException e) {
+            log.error("OSS预签名下载地址生成失败：{}", e.getMessage());
+            throw new CustomizeFileException(ReturnCode.USER_FILE_ADDRESS_IS_ABNORMAL);
         }
     }
 
@@ -193,33 +578,50 @@ public class OssAliConfiguration {
         if (StringUtils.isEmpty(url)) {
             throw new CustomizeFileException(ReturnCode.USER_FILE_ADDRESS_IS_ABNORMAL, "被删除地址为空");
         }
-        OSS ossClient = getOssClient();
         String[] split = url.split(ossAliProperties.getBucketName() + "." + ossAliProperties.getEndpoint().split(Constants.HTTPS)[1] + "/");
         if (split.length != 2) {
             throw new CustomizeFileException(ReturnCode.USER_FILE_ADDRESS_IS_ABNORMAL);
         }
         String key = split[1];
         try {
-            ossClient.deleteObject(ossAliProperties.getBucketName(), key);
+            getOssClient().deleteObject(ossAliProperties.getBucketName(), key);
         } catch (OSSException | ClientException e) {
             throw new CustomizeFileException(ReturnCode.USER_FILE_DELETION_IS_ABNORMAL);
         }
     }
 
     /**
-     * 获取OSSClient客户端
+     * 获取共享的OSSClient客户端，OSSClient线程安全，所有上传、删除共用同一个连接池
      *
      * @return 返回OSSClient客户端
      */
     private OSS getOssClient() {
-        CredentialsProvider credentialsProvider = new DefaultCredentialProvider(ossAliProperties.getSecretId(), ossAliProperties.getSecretKey());
-        // 获取配置类中的域名
-        String endpoint = ossAliProperties.getEndpoint();
-        // 创建ClientBuilderConfiguration。
-        // ClientBuilderConfiguration是OSSClient的配置类，可配置代理、连接超时、最大连接数等参数。
-        ClientBuilderConfiguration conf = new ClientBuilderConfiguration();
-        conf.setProtocol(Protocol.HTTPS);
-        return new OSSClientBuilder().build(endpoint, credentialsProvider, conf);
+        OSS client = this.ossClient;
+        if (Objects.nonNull(client)) {
+            return client;
+        }
+        synchronized (this) {
+            if (Objects.isNull(this.ossClient)) {
+                CredentialsProvider credentialsProvider = new DefaultCredentialProvider(ossAliProperties.getSecretId(), ossAliProperties.getSecretKey());
+                // 获取配置类中的域名
+                String endpoint = ossAliProperties.getEndpoint();
+                // 创建ClientBuilderConfiguration。
+                // ClientBuilderConfiguration是OSSClient的配置类，可配置代理、连接超时、最大连接数等参数。
+                ClientBuilderConfiguration conf = new ClientBuilderConfiguration();
+                conf.setProtocol(Protocol.HTTPS);
+                this.ossClient = new OSSClientBuilder().build(endpoint, credentialsProvider, conf);
+            }
+            return this.ossClient;
+        }
+    }
+
+    /**
+     * 获取对象访问地址
+     *
+     * @param key 对象键
+     */
+    private String getObjectUrl(String key) {
+        return Constants.HTTPS + ossAliProperties.getBucketName() + "." + ossAliProperties.getEndpoint().split(Constants.HTTPS)[1] + "/" + key;
     }
 
     /**
@@ -246,6 +648,16 @@ public class OssAliConfiguration {
         }
     }
 
+    /**
+     * 关闭共享的OSSClient客户端
+     */
+    @PreDestroy
+    private void destroyClient() {
+        if (Objects.nonNull(this.ossClient)) {
+            this.ossClient.shutdown();
+        }
+    }
+
     /**
      * 依赖注入日志输出
      */
@@ -21,16 +21,17 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import top.sharehome.springbootinittemplate.common.base.Constants;
 import top.sharehome.springbootinittemplate.common.base.ReturnCode;
 import top.sharehome.springbootinittemplate.config.oss.common.enums.OssType;
+import top.sharehome.springbootinittemplate.config.oss.common.upload.StagedUpload;
 import top.sharehome.springbootinittemplate.config.oss.service.local.condition.OssLocalCondition;
 import top.sharehome.springbootinittemplate.config.oss.service.local.properties.OssLocalProperties;
 import top.sharehome.springbootinittemplate.exception.customize.CustomizeFileException;
 import top.sharehome.springbootinittemplate.model.entity.File;
 import top.sharehome.springbootinittemplate.service.FileService;
-import top.sharehome.springbootinittemplate.utils.encrypt.SHA3Utils;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Paths;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
@@ -107,22 +108,21 @@ public class OssLocalConfiguration implements WebMvcConfigurer {
      */
     @Transactional(rollbackFor = Exception.class)
     public File uploadToOss(InputStream inputStream, String originalName, String suffix, String rootPath) {
-        try (inputStream) {
-            if (Objects.isNull(inputStream)) {
-                throw new CustomizeFileException(ReturnCode.USER_DO_NOT_UPLOAD_FILE);
-            }
-            if (StringUtils.isEmpty(suffix)) {
-                suffix = Constants.UNKNOWN_FILE_TYPE_SUFFIX;
-            } else {
-                suffix = suffix.toLowerCase();
-            }
-            if (StringUtils.isBlank(originalName)) {
-                originalName = "none" + "." + suffix;
-            }
-            byte[] dataBytes = inputStream.readAllBytes();
-            String plainKey = new String(dataBytes) + originalName + suffix;
+        if (Objects.isNull(inputStream)) {
+            throw new CustomizeFileException(ReturnCode.USER_DO_NOT_UPLOAD_FILE);
+        }
+        if (StringUtils.isEmpty(suffix)) {
+            suffix = Constants.UNKNOWN_FILE_TYPE_SUFFIX;
+        } else {
+            suffix = suffix.toLowerCase();
+        }
+        if (StringUtils.isBlank(originalName)) {
+            originalName = "none" + "." + suffix;
+        }
+        // 边写入临时文件边计算摘要，不把文件整体读入内存
+        try (StagedUpload stagedUpload = StagedUpload.stage(inputStream, originalName, suffix)) {
             // 检查是否能进行秒传，如果能就直接返回秒传结果，否则进行普通上传
-            String uniqueKey = SHA3Utils.encrypt(plainKey);
+            String uniqueKey = stagedUpload.getUniqueKey();
             File fastUploadResult = existAndFastUpload(uniqueKey);
             if (Objects.nonNull(fastUploadResult)) {
                 return fastUploadResult;
@@ -131,25 +131,21 @@ public class OssLocalConfiguration implements WebMvcConfigurer {
             String fileName = UUID.randomUUID().toString().replaceAll("-", "") + System.currentTimeMillis() + "." + suffix;
             // 对象键(Key)是对象在存储桶中的唯一标识。
             String key = StringUtils.isBlank(StringUtils.trim(rootPath)) ? fileName : rootPath + "/" + fileName;
-            // 封装输出流为ByteArrayInputStream
-            ByteArrayInputStream tempInputStream = new ByteArrayInputStream(dataBytes);
             String path = ossLocalProperties.getPath();
             if (StringUtils.endsWith(path, "/")) {
                 path = path + key;
             } else {
                 path = path + "/" + key;
             }
-            java.io.File existFile = new java.io.File(path);
-            if (!existFile.exists()) {
-                FileUtils.copyInputStreamToFile(tempInputStream, existFile);
-            }
+            // 把临时文件移动到存储目录
+            stagedUpload.moveTo(Paths.get(path));
             String url = getAccessUrl() + key;
             File newFile = new File()
                     .setUniqueKey(uniqueKey)
                     .setName(key)
                     .setOriginalName(originalName)
                     .setSuffix(suffix)
-                    .setSize(dataBytes.length)
+                    .setSize(stagedUpload.getRecordSize())
                     .setUrl(url)
                     .setOssType(OssType.LOCAL.getTypeName());
             if (fileService.save(newFile)) {
@@ -0,0 +1,302 @@
+package top.sharehome.springbootinittemplate.config.oss.service.local.handler;
+
+import cn.dev33.satoken.stp.StpUtil;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.util.concurrent.RateLimiter;
+import io.undertow.servlet.spec.ServletOutputStreamImpl;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.HttpRequestHandler;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.util.UriUtils;
+import top.sharehome.springbootinittemplate.config.oss.common.enums.OssType;
+import top.sharehome.springbootinittemplate.config.oss.service.local.properties.OssLocalProperties;
+import top.sharehome.springbootinittemplate.mapper.FileMapper;
+import top.sharehome.springbootinittemplate.model.entity.File;
+import top.sharehome.springbootinittemplate.utils.net.NetUtils;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 本地OSS文件下载处理器
+ * 支持Range和多Range请求、基于文件唯一摘要值的强ETag、条件请求以及按用户限速
+ * 不限速时整段传输到文件末尾的响应使用Undertow的sendfile零拷贝，其余情况使用FileChannel.transferTo分段传输
+ *
+ * @author AntonyCheng
+ */
+@Slf4j
+public class OssLocalDownloadHandler implements HttpRequestHandler {
+
+    /**
+     * 限速时每次传输的最大字节数
+     */
+    private static final long THROTTLE_CHUNK_SIZE = 64 * 1024;
+
+    /**
+     * 不限速时每次传输的最大字节数
+     */
+    private static final long TRANSFER_CHUNK_SIZE = 8 * 1024 * 1024;
+
+    private static final String CRLF = "\r\n";
+
+    private final OssLocalProperties ossLocalProperties;
+
+    private final FileMapper fileMapper;
+
+    private final Path storageRoot;
+
+    /**
+     * 对象键到文件唯一摘要值的缓存，数据库中不存在时缓存空字符串
+     */
+    private final Cache<String, String> etagCache;
+
+    /**
+     * 用户限速器缓存，一段时间不下载后自动释放
+     */
+    private final Cache<String, RateLimiter> rateLimiterCache;
+
+    public OssLocalDownloadHandler(OssLocalProperties ossLocalProperties, FileMapper fileMapper) {
+        this.ossLocalProperties = ossLocalProperties;
+        this.fileMapper = fileMapper;
+        this.storageRoot = Paths.get(ossLocalProperties.getPath()).toAbsolutePath().normalize();
+        this.etagCache = Caffeine.newBuilder()
+                .maximumSize(10000)
+                .expireAfterWrite(Duration.ofSeconds(ossLocalProperties.getEtagCacheExpired()))
+                .build();
+        this.rateLimiterCache = Caffeine.newBuilder()
+                .maximumSize(10000)
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+    }
+
+    @Override
+    public void handleRequest(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        boolean headRequest = HttpMethod.HEAD.matches(request.getMethod());
+        if (!headRequest && !HttpMethod.GET.matches(request.getMethod())) {
+            response.setHeader(HttpHeaders.ALLOW, "GET, HEAD");
+            response.sendError(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
+            return;
+        }
+        String key = resolveKey(request);
+        Path path = resolvePath(key);
+        if (Objects.isNull(path) || !Files.isRegularFile(path)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        long length = Files.size(path);
+        long lastModified = Files.getLastModifiedTime(path).toMillis();
+        String etag = buildETag(key, length, lastModified);
+        // 处理If-None-Match、If-Modified-Since等条件请求，命中时已经写入304或者412
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return;
+        }
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.maxAge(Duration.ofSeconds(ossLocalProperties.getCacheMaxAge())).getHeaderValue());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        String contentType = MediaTypeFactory.getMediaType(path.getFileName().toString())
+                .map(MediaType::toString)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+
+        List<long[]> ranges;
+        try {
+            ranges = resolveRanges(request, etag, lastModified, length);
+        } catch (IllegalArgumentException e) {
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+            response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            RateLimiter rateLimiter = getRateLimiter(request);
+            if (ranges.isEmpty()) {
+                response.setStatus(HttpServletResponse.SC_OK);
+                response.setContentType(contentType);
+                response.setContentLengthLong(length);
+                if (!headRequest) {
+                    transfer(channel, 0, length, response.getOutputStream(), rateLimiter);
+                }
+            } else if (ranges.size() == 1) {
+                long start = ranges.get(0)[0];
+                long end = ranges.get(0)[1];
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setContentType(contentType);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+                response.setContentLengthLong(end - start + 1);
+                if (!headRequest) {
+                    transfer(channel, start, end - start + 1, response.getOutputStream(), rateLimiter);
+                }
+            } else {
+                String boundary = MimeTypeUtils.generateMultipartBoundaryString();
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setContentType("multipart/byteranges; boundary=" + boundary);
+                if (headRequest) {
+                    return;
+                }
+                ServletOutputStream outputStream = response.getOutputStream();
+                for (long[] range : ranges) {
+                    String partHeader = CRLF + "--" + boundary + CRLF
+                            + HttpHeaders.CONTENT_TYPE + ": " + contentType + CRLF
+                            + HttpHeaders.CONTENT_RANGE + ": bytes " + range[0] + "-" + range[1] + "/" + length + CRLF
+                            + CRLF;
+                    outputStream.write(partHeader.getBytes(StandardCharsets.US_ASCII));
+                    transfer(channel, range[0], range[1] - range[0] + 1, outputStream, rateLimiter);
+                }
+                outputStream.write((CRLF + "--" + boundary + "--" + CRLF).getBytes(StandardCharsets.US_ASCII));
+            }
+        }
+    }
+
+    /**
+     * 从请求路径中解析对象键
+     */
+    private String resolveKey(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        String contextPath = request.getContextPath();
+        if (StringUtils.isNotEmpty(contextPath) && uri.startsWith(contextPath)) {
+            uri = uri.substring(contextPath.length());
+        }
+        String prefix = "/" + ossLocalProperties.getPrefix() + "/";
+        if (!uri.startsWith(prefix)) {
+            return null;
+        }
+        return UriUtils.decode(uri.substring(prefix.length()), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 把对象键解析为存储目录内的文件路径，越出存储目录的路径返回null
+     */
+    private Path resolvePath(String key) {
+        if (StringUtils.isBlank(key) || key.indexOf('\0') >= 0) {
+            return null;
+        }
+        Path path = storageRoot.resolve(key).normalize();
+        return path.startsWith(storageRoot) ? path : null;
+    }
+
+    /**
+     * 构建ETag，存在文件信息时使用文件唯一摘要值作为强ETag，否则根据文件大小和修改时间构建弱ETag
+     */
+    private String buildETag(String key, long length, long lastModified) {
+        String uniqueKey = etagCache.get(key, k -> {
+            File file = fileMapper.selectOne(new LambdaQueryWrapper<File>()
+                    .select(File::getUniqueKey)
+                    .eq(File::getName, k)
+                    .eq(File::getOssType, OssType.LOCAL.getTypeName())
+                    .last("LIMIT 1"));
+            return Objects.isNull(file) || StringUtils.isBlank(file.getUniqueKey()) ? "" : file.getUniqueKey();
+        });
+        if (StringUtils.isNotEmpty(uniqueKey)) {
+            return "\"" + uniqueKey + "\"";
+        }
+        return "W/\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+    }
+
+    /**
+     * 解析Range请求头
+     *
+     * @return 需要返回的区间（闭区间），为空时返回完整文件
+     * @throws IllegalArgumentException 区间不合法或者无法满足时抛出
+     */
+    private List<long[]> resolveRanges(HttpServletRequest request, String etag, long lastModified, long length) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (StringUtils.isBlank(rangeHeader) || !matchIfRange(request, etag, lastModified)) {
+            return List.of();
+        }
+        List<HttpRange> httpRanges = HttpRange.parseRanges(rangeHeader);
+        List<long[]> ranges = new ArrayList<>(httpRanges.size());
+        long total = 0;
+        for (HttpRange httpRange : httpRanges) {
+            long start = httpRange.getRangeStart(length);
+            long end = httpRange.getRangeEnd(length);
+            total += end - start + 1;
+            ranges.add(new long[]{start, end});
+        }
+        // 多个区间的总长度超过文件大小时可能是恶意请求，直接拒绝
+        if (ranges.size() > 1 && total > length) {
+            throw new IllegalArgumentException("The sum of all ranges exceeds the file length");
+        }
+        return ranges;
+    }
+
+    /**
+     * 校验If-Range请求头，不匹配时忽略Range返回完整文件
+     */
+    private boolean matchIfRange(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (StringUtils.isBlank(ifRange)) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            // If-Range只能使用强比较
+            return !etag.startsWith("W/") && Objects.equals(ifRange, etag);
+        }
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == lastModified / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 获取当前用户的限速器，未开启限速时返回null
+     */
+    private RateLimiter getRateLimiter(HttpServletRequest request) {
+        long bandwidth = ossLocalProperties.getBandwidthPerUser();
+        if (bandwidth <= 0) {
+            return null;
+        }
+        Object loginId = StpUtil.getLoginIdDefaultNull();
+        String limitKey = Objects.nonNull(loginId) ? "user:" + loginId : "ip:" + NetUtils.getIpByRequest(request);
+        return rateLimiterCache.get(limitKey, k -> RateLimiter.create(bandwidth));
+    }
+
+    /**
+     * 把文件区间写入响应
+     */
+    private void transfer(FileChannel channel, long position, long count, ServletOutputStream outputStream, RateLimiter rateLimiter) throws IOException {
+        // 不限速且传输到文件末尾时交给Undertow使用sendfile，数据不经过用户态
+        if (Objects.isNull(rateLimiter) && position + count == channel.size() && outputStream instanceof ServletOutputStreamImpl undertowOutputStream) {
+            channel.position(position);
+            undertowOutputStream.transferFrom(channel);
+            return;
+        }
+        WritableByteChannel target = Channels.newChannel(outputStream);
+        long chunkSize = Objects.isNull(rateLimiter) ? TRANSFER_CHUNK_SIZE : THROTTLE_CHUNK_SIZE;
+        while (count > 0) {
+            long size = Math.min(count, chunkSize);
+            if (Objects.nonNull(rateLimiter)) {
+                rateLimiter.acquire((int) size);
+            }
+            long transferred = channel.transferTo(position, size, target);
+            if (transferred <= 0) {
+                break;
+            }
+            position += transferred;
+            count -= transferred;
+        }
+    }
+
+}
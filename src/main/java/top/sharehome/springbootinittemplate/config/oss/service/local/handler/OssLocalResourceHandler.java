@@ -5,16 +5,17 @@ import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
-import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.handler.SimpleUrlHandlerMapping;
 import top.sharehome.springbootinittemplate.config.oss.service.local.condition.OssLocalCondition;
 import top.sharehome.springbootinittemplate.config.oss.service.local.properties.OssLocalProperties;
+import top.sharehome.springbootinittemplate.mapper.FileMapper;
 
 import java.io.File;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.util.Map;
 
 /**
  * 本地OSS静态资源处理器
@@ -25,7 +26,7 @@ import java.nio.file.Paths;
 @EnableConfigurationProperties(OssLocalProperties.class)
 @Slf4j
 @Conditional(OssLocalCondition.class)
-public class OssLocalResourceHandler implements WebMvcConfigurer {
+public class OssLocalResourceHandler {
 
     @Value("${server.port}")
     private Integer port;
@@ -36,19 +37,25 @@ public class OssLocalResourceHandler implements WebMvcConfigurer {
     @Resource
     private OssLocalProperties ossLocalProperties;
 
-    @Override
-    public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        String storagePath = ossLocalProperties.getPath();
-        String prefix = ossLocalProperties.getPrefix();
-
-        String resourceLocation = buildResourceLocation(storagePath);
+    /**
+     * 本地OSS文件下载处理器
+     */
+    @Bean
+    public OssLocalDownloadHandler ossLocalDownloadHandler(FileMapper fileMapper) {
+        return new OssLocalDownloadHandler(ossLocalProperties, fileMapper);
+    }
 
-        registry.addResourceHandler("/" + prefix + "/**")
-                .addResourceLocations(resourceLocation)
-                // 缓存一个小时
-                .setCachePeriod(3600)
-                .resourceChain(true);
-        log.info("############ Local OSS static resource mapping is successful: /{}/** <==> {}**", prefix, resourceLocation);
+    /**
+     * 本地OSS下载路径映射，代替静态资源处理器，访问地址保持不变
+     */
+    @Bean
+    public SimpleUrlHandlerMapping ossLocalDownloadHandlerMapping(OssLocalDownloadHandler ossLocalDownloadHandler) {
+        String prefix = ossLocalProperties.getPrefix();
+        SimpleUrlHandlerMapping handlerMapping = new SimpleUrlHandlerMapping(Map.of("/" + prefix + "/**", ossLocalDownloadHandler));
+        // 优先于静态资源处理器匹配
+        handlerMapping.setOrder(Ordered.LOWEST_PRECEDENCE - 2);
+        log.info("############ Local OSS download mapping is successful: /{}/** <==> {}", prefix, ossLocalProperties.getPath());
+        return handlerMapping;
     }
 
     @PostConstruct
@@ -83,19 +90,4 @@ public class OssLocalResourceHandler implements WebMvcConfigurer {
         log.info("############ Local OSS access address: {}", accessUrl);
     }
 
-    /**
-     * 构建跨平台的资源位置URL
-     *
-     * @param storagePath 存储路径
-     * @return 资源位置URL
-     */
-    private String buildResourceLocation(String storagePath) {
-        Path path = Paths.get(storagePath).toAbsolutePath().normalize();
-        String fileUri = path.toUri().toString();
-        if (!fileUri.endsWith("/")) {
-            fileUri += "/";
-        }
-        return fileUri;
-    }
-
 }
\ No newline at end of file
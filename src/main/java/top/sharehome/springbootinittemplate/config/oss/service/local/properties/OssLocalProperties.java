@@ -37,4 +37,19 @@ public class OssLocalProperties {
      */
     private String prefix = "download";
 
+    /**
+     * 下载响应的缓存时间，单位：秒
+     */
+    private Long cacheMaxAge = 3600L;
+
+    /**
+     * 每个用户（未登录时按照IP）的下载限速，单位：字节/秒，小于等于0表示不限速
+     */
+    private Long bandwidthPerUser = 0L;
+
+    /**
+     * 文件ETag缓存时间，单位：秒
+     */
+    private Long etagCacheExpired = 600L;
+
 }
\ No newline at end of file
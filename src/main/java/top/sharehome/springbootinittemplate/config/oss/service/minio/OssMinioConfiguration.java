@@ -1,11 +1,27 @@
 package top.sharehome.springbootinittemplate.config.oss.service.minio;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import io.minio.ComposeObjectArgs;
+import io.minio.ComposeSource;
+import io.minio.CopyObjectArgs;
+import io.minio.CopySource;
+import io.minio.GetPresignedObjectUrlArgs;
 import io.minio.MinioClient;
+import io.minio.ObjectWriteResponse;
 import io.minio.PutObjectArgs;
 import io.minio.RemoveObjectArgs;
+import io.minio.RemoveObjectsArgs;
+import io.minio.Result;
+import io.minio.StatObjectArgs;
+import io.minio.StatObjectResponse;
+import io.minio.UploadObjectArgs;
+import io.minio.errors.ErrorResponseException;
+import io.minio.http.Method;
+import io.minio.messages.DeleteError;
+import io.minio.messages.DeleteObject;
 import jakarta.annotation.PostConstruct;
-import lombok.AllArgsConstructor;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.ObjectUtils;
@@ -14,24 +30,36 @@ import org.springframework.aop.framework.AopContext;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 import top.sharehome.springbootinittemplate.common.base.Constants;
 import top.sharehome.springbootinittemplate.common.base.ReturnCode;
 import top.sharehome.springbootinittemplate.config.oss.common.enums.OssType;
+import top.sharehome.springbootinittemplate.config.oss.common.multipart.OssMultipartSessionStore;
+import top.sharehome.springbootinittemplate.config.oss.common.multipart.model.MultipartUploadPart;
+import top.sharehome.springbootinittemplate.config.oss.common.multipart.model.MultipartUploadSession;
+import top.sharehome.springbootinittemplate.config.oss.common.presign.OssPresignTicketStore;
+import top.sharehome.springbootinittemplate.config.oss.common.presign.model.PresignedUpload;
+import top.sharehome.springbootinittemplate.config.oss.common.presign.model.PresignedUploadTicket;
+import top.sharehome.springbootinittemplate.config.oss.common.upload.StagedUpload;
+import top.sharehome.springbootinittemplate.config.oss.common.upload.UploadDigests;
 import top.sharehome.springbootinittemplate.config.oss.service.minio.condition.OssMinioCondition;
 import top.sharehome.springbootinittemplate.config.oss.service.minio.properties.OssMinioProperties;
 import top.sharehome.springbootinittemplate.exception.customize.CustomizeFileException;
 import top.sharehome.springbootinittemplate.model.entity.File;
 import top.sharehome.springbootinittemplate.service.FileService;
-import top.sharehome.springbootinittemplate.utils.encrypt.SHA3Utils;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 /**
  * MinIO配置
@@ -40,7 +68,7 @@ import java.util.UUID;
  */
 @Configuration
 @EnableConfigurationProperties(OssMinioProperties.class)
-@AllArgsConstructor
+@RequiredArgsConstructor
 @Slf4j
 @Conditional(OssMinioCondition.class)
 public class OssMinioConfiguration {
@@ -49,6 +77,17 @@ public class OssMinioConfiguration {
 
     private final FileService fileService;
 
+    private final OssMultipartSessionStore ossMultipartSessionStore;
+
+    private final ThreadPoolTaskExecutor ossTransferExecutor;
+
+    private final OssPresignTicketStore ossPresignTicketStore;
+
+    /**
+     * 共享的MinioClient客户端，首次使用时创建
+     */
+    private volatile MinioClient minioClient;
+
     /**
      * 上传文件到MinIO
      *
@@ -98,22 +137,22 @@ public class OssMinioConfiguration {
      */
     @Transactional(rollbackFor = Exception.class)
     public File uploadToMinio(InputStream inputStream, String originalName, String suffix, String rootPath) {
-        try (MinioClient minioClient = getMinioClient(); inputStream) {
-            if (Objects.isNull(inputStream)) {
-                throw new CustomizeFileException(ReturnCode.USER_DO_NOT_UPLOAD_FILE);
-            }
-            if (StringUtils.isBlank(suffix)) {
-                suffix = Constants.UNKNOWN_FILE_TYPE_SUFFIX;
-            } else {
-                suffix = suffix.toLowerCase();
-            }
-            if (StringUtils.isBlank(originalName)) {
-                originalName = "none" + "." + suffix;
-            }
-            byte[] dataBytes = inputStream.readAllBytes();
-            String plainKey = new String(dataBytes) + originalName + suffix;
+        if (Objects.isNull(inputStream)) {
+            throw new CustomizeFileException(ReturnCode.USER_DO_NOT_UPLOAD_FILE);
+        }
+        if (StringUtils.isBlank(suffix)) {
+            suffix = Constants.UNKNOWN_FILE_TYPE_SUFFIX;
+        } else {
+            suffix = suffix.toLowerCase();
+        }
+        if (StringUtils.isBlank(originalName)) {
+            originalName = "none" + "." + suffix;
+        }
+        // 边写入临时文件边计算摘要，不把文件整体读入内存
+        MinioClient minioClient = getMinioClient();
+        try (StagedUpload stagedUpload = StagedUpload.stage(inputStream, originalName, suffix)) {
             // 检查是否能进行秒传，如果能就直接返回秒传结果，否则进行普通上传
-            String uniqueKey = SHA3Utils.encrypt(plainKey);
+            String uniqueKey = stagedUpload.getUniqueKey();
             File fastUploadResult = existAndFastUpload(uniqueKey);
             if (Objects.nonNull(fastUploadResult)) {
                 return fastUploadResult;
@@ -122,21 +161,19 @@ public class OssMinioConfiguration {
             String fileName = UUID.randomUUID().toString().replaceAll("-", "") + System.currentTimeMillis() + "." + suffix;
             // 对象键(Key)是对象在存储桶中的唯一标识。
             String key = StringUtils.isBlank(StringUtils.trim(rootPath)) ? fileName : rootPath + "/" + fileName;
-            // 封装输出流为ByteArrayInputStream
-            ByteArrayInputStream tempInputStream = new ByteArrayInputStream(dataBytes);
-            minioClient.putObject(PutObjectArgs.builder()
+            // 从临时文件上传，大文件由客户端分片上传
+            minioClient.uploadObject(UploadObjectArgs.builder()
                     .bucket(ossMinioProperties.getBucketName())
                     .object(key)
-                    .stream(tempInputStream, tempInputStream.available(), 5 * 1024 * 1024).build());
+                    .filename(stagedUpload.getPath().toString()).build());
             // 添加新文件
-            String url = (ossMinioProperties.getEnableTls() ? Constants.HTTPS : Constants.HTTP)
-                    + ossMinioProperties.getEndpoint() + "/" + ossMinioProperties.getBucketName() + "/" + key;
+            String url = getObjectUrl(key);
             File newFile = new File()
                     .setUniqueKey(uniqueKey)
                     .setName(key)
                     .setOriginalName(originalName)
                     .setSuffix(suffix)
-                    .setSize(dataBytes.length)
+                    .setSize(stagedUpload.getRecordSize())
                     .setUrl(url)
                     .setOssType(OssType.MINIO.getTypeName());
             if (fileService.save(newFile)) {
@@ -150,6 +187,304 @@ public class OssMinioConfiguration {
         }
     }
 
+    /**
+     * 初始化分片上传
+     *
+     * @param originalName 文件原名称
+     * @param suffix       文件后缀
+     * @param rootPath     上传的路径
+     * @return 分片上传任务，客户端使用其中的uploadId上传分片
+     */
+    public MultipartUploadSession initMultipartUpload(String originalName, String suffix, String rootPath) {
+        if (StringUtils.isBlank(suffix)) {
+            suffix = Constants.UNKNOWN_FILE_TYPE_SUFFIX;
+        } else {
+            suffix = suffix.toLowerCase();
+        }
+        if (StringUtils.isBlank(originalName)) {
+            originalName = "none" + "." + suffix;
+        }
+        String fileName = UUID.randomUUID().toString().replaceAll("-", "") + System.currentTimeMillis() + "." + suffix;
+        String key = StringUtils.isBlank(StringUtils.trim(rootPath)) ? fileName : rootPath + "/" + fileName;
+        // MinIO客户端没有公开原生分片上传接口，分片作为临时对象上传，合并时由服务端组合
+        return ossMultipartSessionStore.create(OssType.MINIO.getTypeName(), key, null, originalName, suffix);
+    }
+
+    /**
+     * 上传分片，同一序号重复上传时覆盖
+     *
+     * @param uploadId   上传任务ID
+     * @param partNumber 分片序号，从1开始
+     * @param file       分片数据
+     * @return 已上传的分片
+     */
+    public MultipartUploadPart uploadPart(String uploadId, Integer partNumber, MultipartFile file) {
+        if (Objects.isNull(file)) {
+            throw new CustomizeFileException(ReturnCode.USER_DO_NOT_UPLOAD_FILE);
+        }
+        try {
+            return uploadPart(uploadId, partNumber, file.getInputStream(), file.getSize());
+        } catch (IOException e) {
+            throw new CustomizeFileException(ReturnCode.FILE_UPLOAD_EXCEPTION);
+        }
+    }
+
+    /**
+     * 上传分片，同一序号重复上传时覆盖
+     *
+     * @param uploadId    上传任务ID
+     * @param partNumber  分片序号，从1开始
+     * @param inputStream 分片数据流
+     * @param size        分片大小
+     * @return 已上传的分片
+     */
+    public MultipartUploadPart uploadPart(String uploadId, Integer partNumber, InputStream inputStream, long size) {
+        MultipartUploadSession session = ossMultipartSessionStore.get(uploadId, OssType.MINIO.getTypeName());
+        ossMultipartSessionStore.checkPartNumber(partNumber);
+        MessageDigest messageDigest = UploadDigests.newDigest();
+        try (DigestInputStream digestInputStream = new DigestInputStream(inputStream, messageDigest)) {
+            ObjectWriteResponse response = getMinioClient().putObject(PutObjectArgs.builder()
+                    .bucket(ossMinioProperties.getBucketName())
+                    .object(getPartObject(uploadId, partNumber))
+                    .stream(digestInputStream, size, -1).build());
+            MultipartUploadPart part = new MultipartUploadPart()
+                    .setPartNumber(partNumber)
+                    .setEtag(response.etag())
+                    .setSize(size)
+                    .setDigest(UploadDigests.toHex(messageDigest));
+            ossMultipartSessionStore.savePart(session.getUploadId(), part);
+            return part;
+        } catch (Exception e) {
+            log.error("MinIO分片上传失败：{}", e.getMessage());
+            throw new CustomizeFileException(ReturnCode.FILE_UPLOAD_EXCEPTION);
+        }
+    }
+
+    /**
+     * 列出已上传的分片，用于中断后续传
+     *
+     * @param uploadId 上传任务ID
+     * @return 按照分片序号排序的分片
+     */
+    public List<MultipartUploadPart> listUploadedParts(String uploadId) {
+        ossMultipartSessionStore.get(uploadId, OssType.MINIO.getTypeName());
+        return ossMultipartSessionStore.listParts(uploadId);
+    }
+
+    /**
+     * 完成分片上传，在MinIO服务端按照分片序号组合对象
+     *
+     * @param uploadId 上传任务ID
+     * @return 文件信息
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public File completeMultipartUpload(String uploadId) {
+        MultipartUploadSession session = ossMultipartSessionStore.get(uploadId, OssType.MINIO.getTypeName());
+        if (!ossMultipartSessionStore.tryBeginComplete(uploadId)) {
+            throw new CustomizeFileException(ReturnCode.FILE_UPLOAD_EXCEPTION, "上传任务正在合并");
+        }
+        try {
+            List<MultipartUploadPart> parts = ossMultipartSessionStore.listCompleteParts(uploadId);
+            String uniqueKey = ossMultipartSessionStore.buildUniqueKey(session, parts);
+            File result = existAndFastUpload(uniqueKey);
+            if (Objects.isNull(result)) {
+                getMinioClient().composeObject(ComposeObjectArgs.builder()
+                        .bucket(ossMinioProperties.getBucketName())
+                        .object(session.getKey())
+                        .sources(parts.stream().map(part -> ComposeSource.builder()
+                                .bucket(ossMinioProperties.getBucketName())
+                                .object(getPartObject(uploadId, part.getPartNumber())).build()).toList())
+                        .build());
+                long size = parts.stream().mapToLong(MultipartUploadPart::getSize).sum();
+                result = new File()
+                        .setUniqueKey(uniqueKey)
+                        .setName(session.getKey())
+                        .setOriginalName(session.getOriginalName())
+                        .setSuffix(session.getSuffix())
+                        .setSize((int) Math.min(size, Integer.MAX_VALUE))
+                        .setUrl(getObjectUrl(session.getKey()))
+                        .setOssType(OssType.MINIO.getTypeName());
+                if (!fileService.save(result)) {
+                    throw new CustomizeFileException(ReturnCode.ERRORS_OCCURRED_IN_THE_DATABASE_SERVICE);
+                }
+            }
+            removePartObjects(uploadId, parts.stream().map(MultipartUploadPart::getPartNumber).toList());
+            ossMultipartSessionStore.remove(uploadId);
+            return result;
+        } catch (CustomizeFileException e) {
+            ossMultipartSessionStore.endComplete(uploadId);
+            throw e;
+        } catch (Exception e) {
+            ossMultipartSessionStore.endComplete(uploadId);
+            log.error("MinIO分片合并失败：{}", e.getMessage());
+            throw new CustomizeFileException(ReturnCode.FILE_UPLOAD_EXCEPTION);
+        }
+    }
+
+    /**
+     * 取消分片上传，删除已上传的分片
+     *
+     * @param uploadId 上传任务ID
+     */
+    public void abortMultipartUpload(String uploadId) {
+        ossMultipartSessionStore.get(uploadId, OssType.MINIO.getTypeName());
+        List<Integer> partNumbers = ossMultipartSessionStore.listParts(uploadId).stream().map(MultipartUploadPart::getPartNumber).toList();
+        ossMultipartSessionStore.remove(uploadId);
+        removePartObjects(uploadId, partNumbers);
+    }
+
+    /**
+     * 签发预签名上传地址，客户端直接把文件PUT到存储桶中的暂存对象，文件内容不经过服务端
+     *
+     * @param originalName  文件原名称
+     * @param suffix        文件后缀
+     * @param contentType   文件类型，为空时根据文件原名称推断
+     * @param contentLength 文件大小
+     * @param rootPath      上传的路径
+     * @return 预签名上传地址，上传完成后使用其中的ticketId登记文件信息
+     */
+    public PresignedUpload presignUpload(String originalName, String suffix, String contentType, Long contentLength, String rootPath) {
+        if (StringUtils.isBlank(suffix)) {
+            suffix = Constants.UNKNOWN_FILE_TYPE_SUFFIX;
+        } else {
+            suffix = suffix.toLowerCase();
+        }
+        if (StringUtils.isBlank(originalName)) {
+            originalName = "none" + "." + suffix;
+        }
+        String fileName = UUID.randomUUID().toString().replaceAll("-", "") + System.currentTimeMillis() + "." + suffix;
+        String key = StringUtils.isBlank(StringUtils.trim(rootPath)) ? fileName : rootPath + "/" + fileName;
+        PresignedUploadTicket ticket = ossPresignTicketStore.create(OssType.MINIO.getTypeName(), key, originalName, suffix, contentType, contentLength);
+        try {
+            String url = getMinioClient().getPresignedObjectUrl(GetPresignedObjectUrlArgs.builder()
+                    .method(Method.PUT)
+                    .bucket(ossMinioProperties.getBucketName())
+                    .object(ticket.getStagingKey())
+                    .expiry((int) ossPresignTicketStore.getUploadExpired().toSeconds(), TimeUnit.SECONDS)
+                    .build());
+            return ossPresignTicketStore.buildUpload(ticket, url);
+        } catch (Exception e) {
+            ossPresignTicketStore.claim(ticket.getTicketId());
+            log.error("MinIO预签名上传地址生成失败：{}", e.getMessage());
+            throw new CustomizeFileException(ReturnCode.FILE_UPLOAD_EXCEPTION);
+        }
+    }
+
+    /**
+     * 完成预签名直传，把暂存对象复制为正式对象，校验正式对象与签发时声明的大小和类型一致后登记文件信息
+     * 预签名地址在完成后仍然有效，而且MinIO的预签名地址不能约束请求头，因此只校验和登记上传地址覆盖不到的正式对象，
+     * 不一致的正式对象会被删除，暂存对象在完成后删除
+     *
+     * @param ticketId 上传凭证ID
+     * @return 文件信息
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public File completePresignedUpload(String ticketId) {
+        PresignedUploadTicket ticket = ossPresignTicketStore.get(ticketId, OssType.MINIO.getTypeName());
+        if (!ossPresignTicketStore.tryBeginComplete(ticketId)) {
+            throw new CustomizeFileException(ReturnCode.FILE_UPLOAD_EXCEPTION, "上传凭证正在完成");
+        }
+        try {
+            StatObjectResponse stat;
+            try {
+                // 先复制再校验复制出的正式对象，复制之后客户端再写入暂存对象也不会影响正式对象
+                getMinioClient().copyObject(CopyObjectArgs.builder()
+                        .bucket(ossMinioProperties.getBucketName())
+                        .object(ticket.getKey())
+                        .source(CopySource.builder()
+                                .bucket(ossMinioProperties.getBucketName())
+                                .object(ticket.getStagingKey()).build())
+                        .build());
+                stat = getMinioClient().statObject(StatObjectArgs.builder()
+                        .bucket(ossMinioProperties.getBucketName())
+                        .object(ticket.getKey()).build());
+            } catch (ErrorResponseException e) {
+                if (Objects.equals(e.errorResponse().code(), "NoSuchKey")) {
+                    throw new CustomizeFileException(ReturnCode.USER_DO_NOT_UPLOAD_FILE, "文件尚未上传完成");
+                }
+                log.error("MinIO直传对象复制失败：{}", e.getMessage());
+                throw new CustomizeFileException(ReturnCode.FILE_UPLOAD_EXCEPTION);
+            } catch (Exception e) {
+                log.error("MinIO直传对象复制失败：{}", e.getMessage());
+                throw new CustomizeFileException(ReturnCode.FILE_UPLOAD_EXCEPTION);
+            }
+            if (!ossPresignTicketStore.matches(ticket, stat.size(), stat.contentType())) {
+                ossPresignTicketStore.claim(ticketId);
+                removePresignedObject(ticket.getKey());
+                removePresignedObject(ticket.getStagingKey());
+                throw new CustomizeFileException(ReturnCode.USER_UPLOADED_FILE_TYPE_MISMATCH, "上传文件与声明的大小或类型不一致");
+            }
+            File newFile = new File()
+                    .setUniqueKey(ossPresignTicketStore.buildUniqueKey(ticket))
+                    .setName(ticket.getKey())
+                    .setOriginalName(ticket.getOriginalName())
+                    .setSuffix(ticket.getSuffix())
+                    .setSize((int) Math.min(stat.size(), Integer.MAX_VALUE))
+                    .setUrl(getObjectUrl(ticket.getKey()))
+                    .setOssType(OssType.MINIO.getTypeName());
+            try {
+                if (!fileService.save(newFile)) {
+                    throw new CustomizeFileException(ReturnCode.ERRORS_OCCURRED_IN_THE_DATABASE_SERVICE);
+                }
+                // 最后消费凭证，凭证已经失效时回滚数据库
+                if (!ossPresignTicketStore.claim(ticketId)) {
+                    throw new CustomizeFileException(ReturnCode.FILE_UPLOAD_EXCEPTION, "上传凭证已被使用");
+                }
+            } catch (RuntimeException e) {
+                removePresignedObject(ticket.getKey());
+                throw e;
+            }
+            removePresignedObject(ticket.getStagingKey());
+            return newFile;
+        } finally {
+            ossPresignTicketStore.endComplete(ticketId);
+        }
+    }
+
+    /**
+     * 删除直传相关对象，失败时只记录日志，残留的暂存对象由存储桶生命周期规则清理
+     *
+     * @param key 对象键
+     */
+    private void removePresignedObject(String key) {
+        try {
+            getMinioClient().removeObject(RemoveObjectArgs.builder()
+                    .bucket(ossMinioProperties.getBucketName())
+                    .object(key).build());
+        } catch (Exception e) {
+            log.warn("MinIO直传对象[{}]删除失败：{}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * 签发预签名下载地址，客户端直接从存储桶下载文件
+     *
+     * @param id 文件ID
+     * @return 预签名下载地址
+     */
+    public String presignDownload(Long id) {
+        File fileInDatabase = fileService.getOne(
+                new LambdaQueryWrapper<File>()
+                        .eq(File::getId, id)
+                        .eq(File::getOssType, OssType.MINIO.getTypeName())
+        );
+        if (Objects.isNull(fileInDatabase)) {
+            throw new CustomizeFileException(ReturnCode.USER_FILE_ADDRESS_IS_ABNORMAL, "文件不存在");
+        }
+        try {
+            return getMinioClient().getPresignedObjectUrl(GetPresignedObjectUrlArgs.builder()
+                    .method(Method.GET)
+                    .bucket(ossMinioProperties.getBucketName())
+                    .object(fileInDatabase.getName())
+                    .expiry((int) ossPresignTicketStore.getDownloadExpired().toSeconds(), TimeUnit.SECONDS)
+                    .extraQueryParams(Map.of("response-content-disposition", ossPresignTicketStore.buildContentDisposition(fileInDatabase.getOriginalName())))
+                    .build());
+        } catch (Exception e) {
+            log.error("MinIO预签名下载地址生成失败：{}", e.getMessage());
+            throw new CustomizeFileException(ReturnCode.USER_FILE_ADDRESS_IS_ABNORMAL);
+        }
+    }
+
     /**
      * 从MinIO中删除文件
      *
@@ -189,14 +524,13 @@ public class OssMinioConfiguration {
         if (StringUtils.isEmpty(url)) {
             throw new CustomizeFileException(ReturnCode.USER_FILE_ADDRESS_IS_ABNORMAL, "被删除地址为空");
         }
-        MinioClient minioClient = getMinioClient();
         String[] split = url.split(ossMinioProperties.getEndpoint() + "/" + ossMinioProperties.getBucketName() + "/");
         if (split.length != 2) {
             throw new CustomizeFileException(ReturnCode.USER_FILE_ADDRESS_IS_ABNORMAL);
         }
         String key = split[1];
         try {
-            minioClient.removeObject(RemoveObjectArgs.builder()
+            getMinioClient().removeObject(RemoveObjectArgs.builder()
                     .bucket(ossMinioProperties.getBucketName())
                     .object(key).build());
         } catch (Exception e) {
@@ -205,21 +539,77 @@ public class OssMinioConfiguration {
     }
 
     /**
-     * 获取MinioClient客户端
+     * 获取共享的MinioClient客户端，MinioClient线程安全，所有上传、删除共用同一个连接池
      *
      * @return 返回MinioClient客户端
      */
     private MinioClient getMinioClient() {
-        try {
-            String[] ipAndPort = ossMinioProperties.getEndpoint().split(":");
-            return MinioClient.builder()
-                    .endpoint(ipAndPort[0], Integer.parseInt(ipAndPort[1]), ossMinioProperties.getEnableTls())
-                    .credentials(ossMinioProperties.getSecretId(), ossMinioProperties.getSecretKey())
-                    .build();
-        } catch (Exception e) {
-            log.error("MinIO服务器构建异常：{}", e.getMessage());
-            throw new CustomizeFileException(ReturnCode.FILE_UPLOAD_EXCEPTION);
+        MinioClient client = this.minioClient;
+        if (Objects.nonNull(client)) {
+            return client;
+        }
+        synchronized (this) {
+            if (Objects.isNull(this.minioClient)) {
+                try {
+                    String[] ipAndPort = ossMinioProperties.getEndpoint().split(":");
+                    this.minioClient = MinioClient.builder()
+                            .endpoint(ipAndPort[0], Integer.parseInt(ipAndPort[1]), ossMinioProperties.getEnableTls())
+                            .credentials(ossMinioProperties.getSecretId(), ossMinioProperties.getSecretKey())
+                            .build();
+                } catch (Exception e) {
+                    log.error("MinIO服务器构建异常：{}", e.getMessage());
+                    throw new CustomizeFileException(ReturnCode.FILE_UPLOAD_EXCEPTION);
+                }
+            }
+            return this.minioClient;
+        }
+    }
+
+    /**
+     * 获取对象访问地址
+     *
+     * @param key 对象键
+     */
+    private String getObjectUrl(String key) {
+        return (ossMinioProperties.getEnableTls() ? Constants.HTTPS : Constants.HTTP)
+                + ossMinioProperties.getEndpoint() + "/" + ossMinioProperties.getBucketName() + "/" + key;
+    }
+
+    /**
+     * 获取分片临时对象键
+     *
+     * @param uploadId   上传任务ID
+     * @param partNumber 分片序号
+     */
+    private String getPartObject(String uploadId, Integer partNumber) {
+        return ".multipart/" + uploadId + "/" + partNumber;
+    }
+
+    /**
+     * 异步删除分片临时对象
+     *
+     * @param uploadId    上传任务ID
+     * @param partNumbers 分片序号
+     */
+    private void removePartObjects(String uploadId, List<Integer> partNumbers) {
+        if (partNumbers.isEmpty()) {
+            return;
         }
+        ossTransferExecutor.execute(() -> {
+            Iterable<Result<DeleteError>> results = getMinioClient().removeObjects(RemoveObjectsArgs.builder()
+                    .bucket(ossMinioProperties.getBucketName())
+                    .objects(partNumbers.stream().map(partNumber -> new DeleteObject(getPartObject(uploadId, partNumber))).toList())
+                    .build());
+            // 删除结果是惰性的，需要遍历才会真正执行
+            for (Result<DeleteError> result : results) {
+                try {
+                    DeleteError error = result.get();
+                    log.warn("MinIO分片临时对象[{}]删除失败：{}", error.objectName(), error.message());
+                } catch (Exception e) {
+                    log.warn("MinIO分片临时对象删除失败：{}", e.getMessage());
+                }
+            }
+        });
     }
 
     /**
@@ -246,6 +636,20 @@ public class OssMinioConfiguration {
         }
     }
 
+    /**
+     * 关闭共享的MinioClient客户端
+     */
+    @PreDestroy
+    private void destroyClient() {
+        if (Objects.nonNull(this.minioClient)) {
+            try {
+                this.minioClient.close();
+            } catch (Exception e) {
+                log.warn("MinIO客户端关闭异常：{}", e.getMessage());
+            }
+        }
+    }
+
     /**
      * 依赖注入日志输出
      */
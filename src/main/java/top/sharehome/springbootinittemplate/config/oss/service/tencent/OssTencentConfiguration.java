@@ -1,20 +1,32 @@
 package top.sharehome.springbootinittemplate.config.oss.service.tencent;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.qcloud.cos.COSClient;
 import com.qcloud.cos.ClientConfig;
+import com.qcloud.cos.Headers;
 import com.qcloud.cos.auth.BasicCOSCredentials;
 import com.qcloud.cos.auth.COSCredentials;
 import com.qcloud.cos.exception.CosClientException;
+import com.qcloud.cos.exception.CosServiceException;
+import com.qcloud.cos.http.HttpMethodName;
 import com.qcloud.cos.http.HttpProtocol;
+import com.qcloud.cos.model.AbortMultipartUploadRequest;
+import com.qcloud.cos.model.CompleteMultipartUploadRequest;
+import com.qcloud.cos.model.GeneratePresignedUrlRequest;
+import com.qcloud.cos.model.InitiateMultipartUploadRequest;
+import com.qcloud.cos.model.InitiateMultipartUploadResult;
 import com.qcloud.cos.model.ObjectMetadata;
+import com.qcloud.cos.model.PartETag;
 import com.qcloud.cos.model.PutObjectRequest;
+import com.qcloud.cos.model.ResponseHeaderOverrides;
 import com.qcloud.cos.model.StorageClass;
+import com.qcloud.cos.model.UploadPartRequest;
+import com.qcloud.cos.model.UploadPartResult;
 import com.qcloud.cos.region.Region;
 import com.qcloud.cos.transfer.*;
 import jakarta.annotation.PostConstruct;
-import lombok.AllArgsConstructor;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.ObjectUtils;
@@ -24,26 +36,38 @@ import org.springframework.aop.framework.AopContext;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 import top.sharehome.springbootinittemplate.common.base.Constants;
 import top.sharehome.springbootinittemplate.common.base.ReturnCode;
 import top.sharehome.springbootinittemplate.config.oss.common.enums.OssType;
+import top.sharehome.springbootinittemplate.config.oss.common.multipart.OssMultipartSessionStore;
+import top.sharehome.springbootinittemplate.config.oss.common.multipart.model.MultipartUploadPart;
+import top.sharehome.springbootinittemplate.config.oss.common.multipart.model.MultipartUploadSession;
+import top.sharehome.springbootinittemplate.config.oss.common.multipart.properties.OssMultipartProperties;
+import top.sharehome.springbootinittemplate.config.oss.common.presign.OssPresignTicketStore;
+import top.sharehome.springbootinittemplate.config.oss.common.presign.model.PresignedUpload;
+import top.sharehome.springbootinittemplate.config.oss.common.presign.model.PresignedUploadTicket;
+import top.sharehome.springbootinittemplate.config.oss.common.upload.StagedUpload;
+import top.sharehome.springbootinittemplate.config.oss.common.upload.UploadDigests;
 import top.sharehome.springbootinittemplate.config.oss.service.tencent.condition.OssTencentCondition;
 import top.sharehome.springbootinittemplate.config.oss.service.tencent.properties.OssTencentProperties;
 import top.sharehome.springbootinittemplate.exception.customize.CustomizeFileException;
 import top.sharehome.springbootinittemplate.model.entity.File;
 import top.sharehome.springbootinittemplate.service.FileService;
-import top.sharehome.springbootinittemplate.utils.encrypt.SHA3Utils;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
 import java.time.Duration;
+import java.util.Date;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
-import java.util.concurrent.*;
+import java.util.stream.Collectors;
 
 /**
  * 腾讯云COS配置
@@ -52,7 +76,7 @@ import java.util.concurrent.*;
  */
 @Configuration
 @EnableConfigurationProperties(OssTencentProperties.class)
-@AllArgsConstructor
+@RequiredArgsConstructor
 @Slf4j
 @Conditional(OssTencentCondition.class)
 public class OssTencentConfiguration {
@@ -61,6 +85,24 @@ public class OssTencentConfiguration {
 
     private final FileService fileService;
 
+    private final OssMultipartSessionStore ossMultipartSessionStore;
+
+    private final OssMultipartProperties ossMultipartProperties;
+
+    private final OssPresignTicketStore ossPresignTicketStore;
+
+    private final ThreadPoolTaskExecutor ossTransferExecutor;
+
+    /**
+     * 共享的COSClient客户端，首次使用时创建
+     */
+    private volatile COSClient cosClient;
+
+    /**
+     * 共享的TransferManager实例，首次使用时创建
+     */
+    private volatile TransferManager transferManager;
+
     /**
      * 上传文件到COS
      *
@@ -110,22 +152,21 @@ public class OssTencentConfiguration {
      */
     @Transactional(rollbackFor = Exception.class)
     public File uploadToCos(InputStream inputStream, String originalName, String suffix, String rootPath) {
-        try (inputStream) {
-            if (Objects.isNull(inputStream)) {
-                throw new CustomizeFileException(ReturnCode.USER_DO_NOT_UPLOAD_FILE);
-            }
-            if (StringUtils.isEmpty(suffix)) {
-                suffix = Constants.UNKNOWN_FILE_TYPE_SUFFIX;
-            } else {
-                suffix = suffix.toLowerCase();
-            }
-            if (StringUtils.isBlank(originalName)) {
-                originalName = "none" + "." + suffix;
-            }
-            byte[] dataBytes = inputStream.readAllBytes();
-            String plainKey = new String(dataBytes) + originalName + suffix;
+        if (Objects.isNull(inputStream)) {
+            throw new CustomizeFileException(ReturnCode.USER_DO_NOT_UPLOAD_FILE);
+        }
+        if (StringUtils.isEmpty(suffix)) {
+            suffix = Constants.UNKNOWN_FILE_TYPE_SUFFIX;
+        } else {
+            suffix = suffix.toLowerCase();
+        }
+        if (StringUtils.isBlank(originalName)) {
+            originalName = "none" + "." + suffix;
+        }
+        // 边写入临时文件边计算摘要，不把文件整体读入内存
+        try (StagedUpload stagedUpload = StagedUpload.stage(inputStream, originalName, suffix)) {
             // 检查是否能进行秒传，如果能就直接返回秒传结果，否则进行普通上传
-            String uniqueKey = SHA3Utils.encrypt(plainKey);
+            String uniqueKey = stagedUpload.getUniqueKey();
             File fastUploadResult = existAndFastUpload(uniqueKey);
             if (Objects.nonNull(fastUploadResult)) {
                 return fastUploadResult;
@@ -134,15 +175,10 @@ public class OssTencentConfiguration {
             String fileName = UUID.randomUUID().toString().replaceAll("-", "") + System.currentTimeMillis() + "." + suffix;
             // 对象键(Key)是对象在存储桶中的唯一标识。
             String key = StringUtils.isBlank(StringUtils.trim(rootPath)) ? fileName : rootPath + "/" + fileName;
-            // 封装输出流为ByteArrayInputStream
-            ByteArrayInputStream tempInputStream = new ByteArrayInputStream(dataBytes);
-            // 使用高级接口必须先保证本进程存在一个 TransferManager 实例，如果没有则创建
-            // 详细代码参见本页：高级接口 -> 创建 TransferManager
-            TransferManager transferManager = createTransferManager();
-            // 这里创建一个 ByteArrayInputStream 来作为示例，实际中这里应该是您要上传的 InputStream 类型的流
-            ObjectMetadata objectMetadata = new ObjectMetadata();
-            objectMetadata.setContentLength(tempInputStream.available());
-            PutObjectRequest putObjectRequest = new PutObjectRequest(ossTencentProperties.getBucketName(), key, tempInputStream, objectMetadata);
+            // 使用进程内共享的 TransferManager 实例
+            TransferManager transferManager = getTransferManager();
+            // 从临时文件上传，超过分块上传阈值时由 TransferManager 并发分块上传
+            PutObjectRequest putObjectRequest = new PutObjectRequest(ossTencentProperties.getBucketName(), key, stagedUpload.toFile());
             // 设置存储类型（如有需要，不需要请忽略此行代码）, 默认是标准(Standard), 低频(standard_ia)
             // 更多存储类型请参见 https://cloud.tencent.com/document/product/436/33417
             putObjectRequest.setStorageClass(StorageClass.Standard_IA);
@@ -157,17 +193,14 @@ public class OssTencentConfiguration {
             } catch (CosClientException e) {
                 throw new CustomizeFileException(ReturnCode.FILE_UPLOAD_EXCEPTION);
             }
-            // 确定本进程不再使用 transferManager 实例之后，关闭即可
-            // 详细代码参见本页：高级接口 -> 关闭 TransferManager
-            shutdownTransferManager(transferManager);
             // 添加新文件
-            String url = Constants.HTTPS + ossTencentProperties.getBucketName() + ".cos." + ossTencentProperties.getRegion() + ".myqcloud.com/" + key;
+            String url = getObjectUrl(key);
             File newFile = new File()
                     .setUniqueKey(uniqueKey)
                     .setName(key)
                     .setOriginalName(originalName)
                     .setSuffix(suffix)
-                    .setSize(dataBytes.length)
+                    .setSize(stagedUpload.getRecordSize())
                     .setUrl(url)
                     .setOssType(OssType.TENCENT.getTypeName());
             if (fileService.save(newFile)) {
@@ -181,6 +214,302 @@ public class OssTencentConfiguration {
         }
     }
 
+    /**
+     * 初始化分片上传
+     *
+     * @param originalName 文件原名称
+     * @param suffix       文件后缀
+     * @param rootPath     上传的路径
+     * @return 分片上传任务，客户端使用其中的uploadId上传分片
+     */
+    public MultipartUploadSession initMultipartUpload(String originalName, String suffix, String rootPath) {
+        if (StringUtils.isEmpty(suffix)) {
+            suffix = Constants.UNKNOWN_FILE_TYPE_SUFFIX;
+        } else {
+            suffix = suffix.toLowerCase();
+        }
+        if (StringUtils.isBlank(originalName)) {
+            originalName = "none" + "." + suffix;
+        }
+        String fileName = UUID.randomUUID().toString().replaceAll("-", "") + System.currentTimeMillis() + "." + suffix;
+        String key = StringUtils.isBlank(StringUtils.trim(rootPath)) ? fileName : rootPath + "/" + fileName;
+        try {
+            InitiateMultipartUploadRequest request = new InitiateMultipartUploadRequest(ossTencentProperties.getBucketName(), key);
+            request.setStorageClass(StorageClass.Standard_IA);
+            InitiateMultipartUploadResult result = getCosClient().initiateMultipartUpload(request);
+            return ossMultipartSessionStore.create(OssType.TENCENT.getTypeName(), key, result.getUploadId(), originalName, suffix);
+        } catch (CosClientException e) {
+            log.error("COS分片上传初始化失败：{}", e.getMessage());
+            throw new CustomizeFileException(ReturnCode.FILE_UPLOAD_EXCEPTION);
+        }
+    }
+
+    /**
+     * 上传分片，同一序号重复上传时覆盖
+     *
+     * @param uploadId   上传任务ID
+     * @param partNumber 分片序号，从1开始
+     * @param file       分片数据
+     * @return 已上传的分片
+     */
+    public MultipartUploadPart uploadPart(String uploadId, Integer partNumber, MultipartFile file) {
+        if (Objects.isNull(file)) {
+            throw new CustomizeFileException(ReturnCode.USER_DO_NOT_UPLOAD_FILE);
+        }
+        try {
+            return uploadPart(uploadId, partNumber, file.getInputStream(), file.getSize());
+        } catch (IOException e) {
+            throw new CustomizeFileException(ReturnCode.FILE_UPLOAD_EXCEPTION);
+        }
+    }
+
+    /**
+     * 上传分片，同一序号重复上传时覆盖
+     *
+     * @param uploadId    上传任务ID
+     * @param partNumber  分片序号，从1开始
+     * @param inputStream 分片数据流
+     * @param size        分片大小
+     * @return 已上传的分片
+     */
+    public MultipartUploadPart uploadPart(String uploadId, Integer partNumber, InputStream inputStream, long size) {
+        MultipartUploadSession session = ossMultipartSessionStore.get(uploadId, OssType.TENCENT.getTypeName());
+        ossMultipartSessionStore.checkPartNumber(partNumber);
+        MessageDigest messageDigest = UploadDigests.newDigest();
+        try (DigestInputStream digestInputStream = new DigestInputStream(inputStream, messageDigest)) {
+            UploadPartRequest uploadPartRequest = new UploadPartRequest();
+            uploadPartRequest.setBucketName(ossTencentProperties.getBucketName());
+            uploadPartRequest.setKey(session.getKey());
+            uploadPartRequest.setUploadId(session.getBackendUploadId());
+            uploadPartRequest.setPartNumber(partNumber);
+            uploadPartRequest.setInputStream(digestInputStream);
+            uploadPartRequest.setPartSize(size);
+            UploadPartResult result = getCosClient().uploadPart(uploadPartRequest);
+            MultipartUploadPart part = new MultipartUploadPart()
+                    .setPartNumber(partNumber)
+                    .setEtag(result.getETag())
+                    .setSize(size)
+                    .setDigest(UploadDigests.toHex(messageDigest));
+            ossMultipartSessionStore.savePart(session.getUploadId(), part);
+            return part;
+        } catch (CosClientException | IOException e) {
+            log.error("COS分片上传失败：{}", e.getMessage());
+            throw new CustomizeFileException(ReturnCode.FILE_UPLOAD_EXCEPTION);
+        }
+    }
+
+    /**
+     * 列出已上传的分片，用于中断后续传
+     *
+     * @param uploadId 上传任务ID
+     * @return 按照分片序号排序的分片
+     */
+    public List<MultipartUploadPart> listUploadedParts(String uploadId) {
+        ossMultipartSessionStore.get(uploadId, OssType.TENCENT.getTypeName());
+        return ossMultipartSessionStore.listParts(uploadId);
+    }
+
+    /**
+     * 完成分片上传，由COS服务端合并分片
+     *
+     * @param uploadId 上传任务ID
+     * @return 文件信息
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public File completeMultipartUpload(String uploadId) {
+        MultipartUploadSession session = ossMultipartSessionStore.get(uploadId, OssType.TENCENT.getTypeName());
+        if (!ossMultipartSessionStore.tryBeginComplete(uploadId)) {
+            throw new CustomizeFileException(ReturnCode.FILE_UPLOAD_EXCEPTION, "上传任务正在合并");
+        }
+        try {
+            List<MultipartUploadPart> parts = ossMultipartSessionStore.listCompleteParts(uploadId);
+            String uniqueKey = ossMultipartSessionStore.buildUniqueKey(session, parts);
+            File result = existAndFastUpload(uniqueKey);
+            if (Objects.nonNull(result)) {
+                // 已存在相同文件，放弃本次上传的分片
+                getCosClient().abortMultipartUpload(new AbortMultipartUploadRequest(ossTencentProperties.getBucketName(), session.getKey(), session.getBackendUploadId()));
+            } else {
+                getCosClient().completeMultipartUpload(new CompleteMultipartUploadRequest(ossTencentProperties.getBucketName(), session.getKey(), session.getBackendUploadId(),
+                        parts.stream().map(part -> new PartETag(part.getPartNumber(), part.getEtag())).collect(Collectors.toList())));
+                long size = parts.stream().mapToLong(MultipartUploadPart::getSize).sum();
+                result = new File()
+                        .setUniqueKey(uniqueKey)
+                        .setName(session.getKey())
+                        .setOriginalName(session.getOriginalName())
+                        .setSuffix(session.getSuffix())
+                        .setSize((int) Math.min(size, Integer.MAX_VALUE))
+                        .setUrl(getObjectUrl(session.getKey()))
+                        .setOssType(OssType.TENCENT.getTypeName());
+                if (!fileService.save(result)) {
+                    throw new CustomizeFileException(ReturnCode.ERRORS_OCCURRED_IN_THE_DATABASE_SERVICE);
+                }
+            }
+            ossMultipartSessionStore.remove(uploadId);
+            return result;
+        } catch (CosClientException e) {
+            ossMultipartSessionStore.endComplete(uploadId);
+            log.error("COS分片合并失败：{}", e.getMessage());
+            throw new CustomizeFileException(ReturnCode.FILE_UPLOAD_EXCEPTION);
+        } catch (RuntimeException e) {
+            ossMultipartSessionStore.endComplete(uploadId);
+            throw e;
+        }
+    }
+
+    /**
+     * 取消分片上传，删除已上传的分片
+     *
+     * @param uploadId 上传任务ID
+     */
+    public void abortMultipartUpload(String uploadId) {
+        MultipartUploadSession session = ossMultipartSessionStore.get(uploadId, OssType.TENCENT.getTypeName());
+        ossMultipartSessionStore.remove(uploadId);
+        try {
+            getCosClient().abortMultipartUpload(new AbortMultipartUploadRequest(ossTencentProperties.getBucketName(), session.getKey(), session.getBackendUploadId()));
+        } catch (CosClientException e) {
+            log.warn("COS分片上传取消失败：{}", e.getMessage());
+        }
+    }
+
+    /**
+     * 签发预签名上传地址，客户端直接把文件PUT到存储桶中的暂存对象，文件内容不经过服务端
+     *
+     * @param originalName  文件原名称
+     * @param suffix        文件后缀
+     * @param contentType   文件类型，为空时根据文件原名称推断
+     * @param contentLength 文件大小
+     * @param rootPath      上传的路径
+     * @return 预签名上传地址，上传完成后使用其中的ticketId登记文件信息
+     */
+    public PresignedUpload presignUpload(String originalName, String suffix, String contentType, Long contentLength, String rootPath) {
+        if (StringUtils.isBlank(suffix)) {
+            suffix = Constants.UNKNOWN_FILE_TYPE_SUFFIX;
+        } else {
+            suffix = suffix.toLowerCase();
+        }
+        if (StringUtils.isBlank(originalName)) {
+            originalName = "none" + "." + suffix;
+        }
+        String fileName = UUID.randomUUID().toString().replaceAll("-", "") + System.currentTimeMillis() + "." + suffix;
+        String key = StringUtils.isBlank(StringUtils.trim(rootPath)) ? fileName : rootPath + "/" + fileName;
+        PresignedUploadTicket ticket = ossPresignTicketStore.create(OssType.TENCENT.getTypeName(), key, originalName, suffix, contentType, contentLength);
+        try {
+            GeneratePresignedUrlRequest request = new GeneratePresignedUrlRequest(ossTencentProperties.getBucketName(), ticket.getStagingKey(), HttpMethodName.PUT);
+            request.setExpiration(new Date(System.currentTimeMillis() + ossPresignTicketStore.getUploadExpired().toMillis()));
+            // Content-Type和Content-Length参与签名，客户端必须使用声明的文件类型和文件大小上传
+            request.putCustomRequestHeader(Headers.CONTENT_TYPE, ticket.getContentType());
+            request.putCustomRequestHeader(Headers.CONTENT_LENGTH, String.valueOf(ticket.getContentLength()));
+            return ossPresignTicketStore.buildUpload(ticket, getCosClient().generatePresignedUrl(request).toString());
+        } catch (CosClientException e) {
+            ossPresignTicketStore.claim(ticket.getTicketId());
+            log.error("COS预签名上传地址生成失败：{}", e.getMessage());
+            throw new CustomizeFileException(ReturnCode.FILE_UPLOAD_EXCEPTION);
+        }
+    }
+
+    /**
+     * 完成预签名直传，把暂存对象复制为正式对象，校验正式对象与签发时声明的大小和类型一致后登记文件信息
+     * 预签名地址在完成后仍然有效，因此只校验和登记上传地址覆盖不到的正式对象，不一致的正式对象会被删除，暂存对象在完成后删除
+     *
+     * @param ticketId 上传凭证ID
+     * @return 文件信息
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public File completePresignedUpload(String ticketId) {
+        PresignedUploadTicket ticket = ossPresignTicketStore.get(ticketId, OssType.TENCENT.getTypeName());
+        if (!ossPresignTicketStore.tryBeginComplete(ticketId)) {
+            throw new CustomizeFileException(ReturnCode.FILE_UPLOAD_EXCEPTION, "上传凭证正在完成");
+        }
+        try {
+            ObjectMetadata metadata;
+            try {
+                // 先复制再校验复制出的正式对象，复制之后客户端再写入暂存对象也不会影响正式对象，简单复制最多支持5GB，与直传大小上限一致
+                getCosClient().copyObject(ossTencentProperties.getBucketName(), ticket.getStagingKey(), ossTencentProperties.getBucketName(), ticket.getKey());
+                metadata = getCosClient().getObjectMetadata(ossTencentProperties.getBucketName(), ticket.getKey());
+            } catch (CosServiceException e) {
+                if (Objects.equals(e.getStatusCode(), 404)) {
+                    throw new CustomizeFileException(ReturnCode.USER_DO_NOT_UPLOAD_FILE, "文件尚未上传完成");
+                }
+                log.error("COS直传对象复制失败：{}", e.getMessage());
+                throw new CustomizeFileException(ReturnCode.FILE_UPLOAD_EXCEPTION);
+            } catch (CosClientException e) {
+                log.error("COS直传对象复制失败：{}", e.getMessage());
+                throw new CustomizeFileException(ReturnCode.FILE_UPLOAD_EXCEPTION);
+            }
+            if (!ossPresignTicketStore.matches(ticket, metadata.getContentLength(), metadata.getContentType())) {
+                ossPresignTicketStore.claim(ticketId);
+                removePresignedObject(ticket.getKey());
+                removePresignedObject(ticket.getStagingKey());
+                throw new CustomizeFileException(ReturnCode.USER_UPLOADED_FILE_TYPE_MISMATCH, "上传文件与声明的大小或类型不一致");
+            }
+            File newFile = new File()
+                    .setUniqueKey(ossPresignTicketStore.buildUniqueKey(ticket))
+                    .setName(ticket.getKey())
+                    .setOriginalName(ticket.getOriginalName())
+                    .setSuffix(ticket.getSuffix())
+                    .setSize((int) Math.min(metadata.getContentLength(), Integer.MAX_VALUE))
+                    .setUrl(getObjectUrl(ticket.getKey()))
+                    .setOssType(OssType.TENCENT.getTypeName());
+            try {
+                if (!fileService.save(newFile)) {
+                    throw new CustomizeFileException(ReturnCode.ERRORS_OCCURRED_IN_THE_DATABASE_SERVICE);
+                }
+                // 最后消费凭证，凭证已经失效时回滚数据库
+                if (!ossPresignTicketStore.claim(ticketId)) {
+                    throw new CustomizeFileException(ReturnCode.FILE_UPLOAD_EXCEPTION, "上传凭证已被使用");
+                }
+            } catch (RuntimeException e) {
+                removePresignedObject(ticket.getKey());
+                throw e;
+            }
+            removePresignedObject(ticket.getStagingKey());
+            return newFile;
+        } finally {
+            ossPresignTicketStore.endComplete(ticketId);
+        }
+    }
+
+    /**
+     * 删除直传相关对象，失败时只记录日志，残留的暂存对象由存储桶生命周期规则清理
+     *
+     * @param key 对象键
+     */
+    private void removePresignedObject(String key) {
+        try {
+            getCosClient().deleteObject(ossTencentProperties.getBucketName(), key);
+        } catch (CosClientException e) {
+            log.warn("COS直传对象[{}]删除失败：{}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * 签发预签名下载地址，客户端直接从存储桶下载文件
+     *
+     * @param id 文件ID
+     * @return 预签名下载地址
+     */
+    public String presignDownload(Long id) {
+        File fileInDatabase = fileService.getOne(
+                new LambdaQueryWrapper<File>()
+                        .eq(File::getId, id)
+                        .eq(File::getOssType, OssType.TENCENT.getTypeName())
+        );
+        if (Objects.isNull(fileInDatabase)) {
+            throw new CustomizeFileException(ReturnCode.USER_FILE_ADDRESS_IS_ABNORMAL, "文件不存在");
+        }
+        try {
+            GeneratePresignedUrlRequest request = new GeneratePresignedUrlRequest(ossTencentProperties.getBucketName(), fileInDatabase.getName(), HttpMethodName.GET);
+            request.setExpiration(new Date(System.currentTimeMillis() + ossPresignTicketStore.getDownloadExpired().toMillis()));
+            ResponseHeaderOverrides responseHeaders = new ResponseHeaderOverrides();
+            responseHeaders.setContentDisposition(ossPresignTicketStore.buildContentDisposition(fileInDatabase.getOriginalName()));
+            request.setResponseHeaders(responseHeaders);
+            return getCosClient().generatePresignedUrl(request).toString();
+        } catch (CosClientException e) {
+            log.error("COS预签名下载地址生成失败：{}", e.getMessage());
+            throw new CustomizeFileException(ReturnCode.USER_FILE_ADDRESS_IS_ABNORMAL);
+        }
+    }
+
     /**
      * 从COS中删除文件
      *
@@ -220,78 +549,78 @@ public class OssTencentConfiguration {
         if (StringUtils.isEmpty(url)) {
             throw new CustomizeFileException(ReturnCode.USER_FILE_ADDRESS_IS_ABNORMAL, "被删除地址为空");
         }
-        COSClient cosClient = getCosClient();
         String[] split = url.split(ossTencentProperties.getBucketName() + ".cos." + ossTencentProperties.getRegion() + ".myqcloud.com/");
         if (split.length != 2) {
             throw new CustomizeFileException(ReturnCode.USER_FILE_ADDRESS_IS_ABNORMAL);
         }
         String key = split[1];
         try {
-            cosClient.deleteObject(ossTencentProperties.getBucketName(), key);
+            getCosClient().deleteObject(ossTencentProperties.getBucketName(), key);
         } catch (CosClientException e) {
             throw new CustomizeFileException(ReturnCode.USER_FILE_DELETION_IS_ABNORMAL);
         }
     }
 
     /**
-     * 获取COSClient客户端
+     * 获取共享的COSClient客户端，COSClient线程安全，所有上传、删除共用同一个连接池
      *
      * @return 返回COSClient客户端
      */
     private COSClient getCosClient() {
-        COSCredentials cred = new BasicCOSCredentials(ossTencentProperties.getSecretId(), ossTencentProperties.getSecretKey());
-        // 设置 bucket 的地域
-        // clientConfig 中包含了设置 region, https(默认 http), 超时, 代理等 set 方法, 使用可参见源码或者常见问题 Java SDK 部分。
-        Region region = new Region(ossTencentProperties.getRegion());
-        ClientConfig clientConfig = new ClientConfig(region);
-        // 这里建议设置使用 https 协议
-        // 从 5.6.54 版本开始，默认使用了 https
-        clientConfig.setHttpProtocol(HttpProtocol.https);
-        // 禁止打印关闭时的堆栈信息，绝大多数场景下是无效信息
-        clientConfig.setPrintShutdownStackTrace(false);
-        // 生成 cos 客户端并且上传文件
-        return new COSClient(cred, clientConfig);
+        COSClient client = this.cosClient;
+        if (Objects.nonNull(client)) {
+            return client;
+        }
+        synchronized (this) {
+            if (Objects.isNull(this.cosClient)) {
+                COSCredentials cred = new BasicCOSCredentials(ossTencentProperties.getSecretId(), ossTencentProperties.getSecretKey());
+                // 设置 bucket 的地域
+                // clientConfig 中包含了设置 region, https(默认 http), 超时, 代理等 set 方法, 使用可参见源码或者常见问题 Java SDK 部分。
+                Region region = new Region(ossTencentProperties.getRegion());
+                ClientConfig clientConfig = new ClientConfig(region);
+                // 这里建议设置使用 https 协议
+                // 从 5.6.54 版本开始，默认使用了 https
+                clientConfig.setHttpProtocol(HttpProtocol.https);
+                // 禁止打印关闭时的堆栈信息，绝大多数场景下是无效信息
+                clientConfig.setPrintShutdownStackTrace(false);
+                // 生成 cos 客户端
+                this.cosClient = new COSClient(cred, clientConfig);
+            }
+            return this.cosClient;
+        }
     }
 
     /**
-     * 创建 TransferManager 实例，这个实例用来后续调用高级接口
+     * 获取共享的 TransferManager 实例，用来调用高级接口
+     * 分块使用共享的OSS传输线程池并发上传，不再为每次上传单独创建和销毁线程池
      */
-    private TransferManager createTransferManager() {
-        // 创建一个 COSClient 实例，这是访问 COS 服务的基础实例。
-        // 详细代码参见本页: 简单操作 -> 创建 COSClient
-        COSClient cosClient = getCosClient();
-
-        // 自定义线程池大小，建议在客户端与 COS 网络充足（例如使用腾讯云的 CVM，同地域上传 COS）的情况下，设置成16或32即可，可较充分的利用网络资源
-        // 对于使用公网传输且网络带宽质量不高的情况，建议减小该值，避免因网速过慢，造成请求超时。
-        // ExecutorService threadPool = Executors.newFixedThreadPool(16);
-        int nThreads = Runtime.getRuntime().availableProcessors();
-        ThreadFactory namedThreadFactory = new ThreadFactoryBuilder().setNameFormat("demo-pool-%d").build();
-        ExecutorService threadPool = new ThreadPoolExecutor(nThreads, 200,
-                0L, TimeUnit.MILLISECONDS,
-                new LinkedBlockingQueue<Runnable>(1024), namedThreadFactory, new ThreadPoolExecutor.AbortPolicy());
-
-        // 传入一个 threadpool, 若不传入线程池，默认 TransferManager 中会生成一个单线程的线程池。
-        TransferManager transferManager = new TransferManager(cosClient, threadPool);
-
-        // 设置高级接口的配置项
-        // 分块上传阈值和分块大小分别为 3MB 和 1MB
-        TransferManagerConfiguration transferManagerConfiguration = new TransferManagerConfiguration();
-        transferManagerConfiguration.setMultipartUploadThreshold(3 * 1024 * 1024);
-        transferManagerConfiguration.setMinimumUploadPartSize(1024 * 1024);
-        transferManager.setConfiguration(transferManagerConfiguration);
-
-        return transferManager;
+    private TransferManager getTransferManager() {
+        TransferManager manager = this.transferManager;
+        if (Objects.nonNull(manager)) {
+            return manager;
+        }
+        synchronized (this) {
+            if (Objects.isNull(this.transferManager)) {
+                TransferManager newTransferManager = new TransferManager(getCosClient(), ossTransferExecutor.getThreadPoolExecutor());
+                // 设置高级接口的配置项，分块上传阈值和分块大小与分片上传配置保持一致
+                long partSize = Math.max(OssMultipartSessionStore.MIN_PART_SIZE, ossMultipartProperties.getPartSize());
+                TransferManagerConfiguration transferManagerConfiguration = new TransferManagerConfiguration();
+                transferManagerConfiguration.setMultipartUploadThreshold(partSize);
+                transferManagerConfiguration.setMinimumUploadPartSize(partSize);
+                newTransferManager.setConfiguration(transferManagerConfiguration);
+                this.transferManager = newTransferManager;
+            }
+            return this.transferManager;
+        }
     }
 
     /**
-     * 确定不再通过TransferManager实例进行调用高级接口后，一定要关闭掉这个实例
+     * 获取对象访问地址
      *
-     * @param transferManager 需要关闭的实例
+     * @param key 对象键
      */
-    private void shutdownTransferManager(TransferManager transferManager) {
-        // 指定参数为 true, 则同时会关闭 transferManager 内部的 COSClient 实例。
-        // 指定参数为 false, 则不会关闭 transferManager 内部的 COSClient 实例。
-        transferManager.shutdownNow(true);
+    private String getObjectUrl(String key) {
+        return Constants.HTTPS + ossTencentProperties.getBucketName() + ".cos." + ossTencentProperties.getRegion() + ".myqcloud.com/" + key;
     }
 
     /**
@@ -344,6 +673,16 @@ public class OssTencentConfiguration {
         }
     }
 
+    /**
+     * 关闭共享的客户端，线程池由Spring管理，这里不关闭
+     */
+    @PreDestroy
+    private void destroyClient() {
+        if (Objects.nonNull(this.cosClient)) {
+            this.cosClient.shutdown();
+        }
+    }
+
     /**
      * 依赖注入日志输出
      */
@@ -18,13 +18,17 @@ import top.sharehome.springbootinittemplate.config.log.enums.Operator;
 import top.sharehome.springbootinittemplate.exception.customize.CustomizeReturnException;
 import top.sharehome.springbootinittemplate.model.dto.file.FileAddDto;
 import top.sharehome.springbootinittemplate.model.dto.file.FilePageDto;
+import top.sharehome.springbootinittemplate.model.dto.file.FilePreCheckDto;
+import top.sharehome.springbootinittemplate.model.entity.File;
 import top.sharehome.springbootinittemplate.model.common.PageModel;
 import top.sharehome.springbootinittemplate.model.vo.file.FileExportVo;
 import top.sharehome.springbootinittemplate.model.vo.file.FilePageVo;
+import top.sharehome.springbootinittemplate.model.vo.file.FilePreCheckVo;
 import top.sharehome.springbootinittemplate.service.FileService;
 import top.sharehome.springbootinittemplate.utils.document.excel.ExcelUtils;
 
 import java.util.List;
+import java.util.Objects;
 
 /**
  * 文件控制器
@@ -81,6 +85,31 @@ public class FileController {
         return R.ok("添加成功");
     }
 
+    /**
+     * 管理员文件秒传预检
+     * 客户端先计算文件摘要值，命中已存在的文件时直接返回文件信息，未命中时再调用添加接口上传文件内容
+     *
+     * @param filePreCheckDto 秒传预检信息
+     * @return 预检结果
+     */
+    @PostMapping("/pre-check")
+    @ControllerLog(description = "管理员文件秒传预检", operator = Operator.INSERT)
+    @SaCheckRole(value = {Constants.ROLE_ADMIN})
+    public R<FilePreCheckVo> preCheckFile(@RequestBody @Validated({PostGroup.class}) FilePreCheckDto filePreCheckDto) {
+        File file = fileService.preCheckFile(filePreCheckDto);
+        if (Objects.isNull(file)) {
+            return R.ok(new FilePreCheckVo().setExist(false));
+        }
+        FilePreCheckVo filePreCheckVo = new FilePreCheckVo()
+                .setExist(true)
+                .setId(file.getId())
+                .setOriginalName(file.getOriginalName())
+                .setSuffix(file.getSuffix())
+                .setUrl(file.getUrl())
+                .setOssType(file.getOssType());
+        return R.ok(filePreCheckVo);
+    }
+
     /**
      * 管理员删除文件信息
      *
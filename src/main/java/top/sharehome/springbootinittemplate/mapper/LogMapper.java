@@ -1,8 +1,11 @@
 package top.sharehome.springbootinittemplate.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Param;
 import top.sharehome.springbootinittemplate.model.entity.Log;
 
+import java.util.List;
+
 /**
  * 日志Mapper类
  *
@@ -10,4 +13,11 @@ import top.sharehome.springbootinittemplate.model.entity.Log;
  */
 public interface LogMapper extends BaseMapper<Log> {
 
-}
\ No newline at end of file
+    /**
+     * 多值插入批量写入日志（ID、创建时间等字段不会自动填充，需调用方提前设置）
+     *
+     * @param list 日志列表
+     */
+    int insertBatch(@Param("list") List<Log> list);
+
+}
@@ -0,0 +1,49 @@
+package top.sharehome.springbootinittemplate.model.dto.file;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+import top.sharehome.springbootinittemplate.common.validate.PostGroup;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * 管理员文件秒传预检Dto类
+ *
+ * @author AntonyCheng
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Accessors(chain = true)
+public class FilePreCheckDto implements Serializable {
+
+    /**
+     * 文件唯一摘要值，由客户端计算：SHA3-256(文件内容 + UTF-8编码的文件原名称 + UTF-8编码的小写文件后缀)，十六进制表示
+     */
+    @NotBlank(message = "文件摘要值不能为空", groups = {PostGroup.class})
+    @Pattern(regexp = "^[0-9a-fA-F]{64}$", message = "文件摘要值格式错误", groups = {PostGroup.class})
+    private String uniqueKey;
+
+    /**
+     * 文件大小（单位：byte）
+     */
+    @NotNull(message = "文件大小不能为空", groups = {PostGroup.class})
+    @Positive(message = "文件大小必须大于0", groups = {PostGroup.class})
+    private Long size;
+
+    /**
+     * OSS类型，为空时默认为local
+     */
+    private String ossType;
+
+    @Serial
+    private static final long serialVersionUID = -2213517309469853367L;
+
+}
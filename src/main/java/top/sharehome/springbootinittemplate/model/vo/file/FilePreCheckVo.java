@@ -0,0 +1,55 @@
+package top.sharehome.springbootinittemplate.model.vo.file;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * 管理员文件秒传预检Vo类
+ *
+ * @author AntonyCheng
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Accessors(chain = true)
+public class FilePreCheckVo implements Serializable {
+
+    /**
+     * 是否已存在（true表示秒传成功，客户端无需再上传文件内容）
+     */
+    private Boolean exist;
+
+    /**
+     * ID
+     */
+    private Long id;
+
+    /**
+     * 原名称
+     */
+    private String originalName;
+
+    /**
+     * 扩展名
+     */
+    private String suffix;
+
+    /**
+     * 地址
+     */
+    private String url;
+
+    /**
+     * OSS类型
+     */
+    private String ossType;
+
+    @Serial
+    private static final long serialVersionUID = 4418076392537910462L;
+
+}
@@ -4,6 +4,7 @@ import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.IService;
 import org.springframework.web.multipart.MultipartFile;
 import top.sharehome.springbootinittemplate.model.dto.file.FilePageDto;
+import top.sharehome.springbootinittemplate.model.dto.file.FilePreCheckDto;
 import top.sharehome.springbootinittemplate.model.entity.File;
 import top.sharehome.springbootinittemplate.model.common.PageModel;
 import top.sharehome.springbootinittemplate.model.vo.file.FileExportVo;
@@ -47,4 +48,12 @@ public interface FileService extends IService<File> {
      * @param file 被添加文件
      */
     void addFile(MultipartFile file);
+
+    /**
+     * 管理员文件秒传预检，根据客户端计算的摘要值和文件大小查找已存在的文件，存在时直接生成文件信息，无需再上传文件内容
+     *
+     * @param filePreCheckDto 秒传预检信息
+     * @return 新生成的文件信息，文件不存在时返回null
+     */
+    File preCheckFile(FilePreCheckDto filePreCheckDto);
 }
@@ -2,6 +2,7 @@ package top.sharehome.springbootinittemplate.service;
 
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.IService;
+import top.sharehome.springbootinittemplate.config.ai.spring.service.chat.model.ChatResult;
 import top.sharehome.springbootinittemplate.model.common.PageModel;
 import top.sharehome.springbootinittemplate.model.dto.model.ModelAddOrUpdateDto;
 import top.sharehome.springbootinittemplate.model.dto.model.ModelPageDto;
@@ -66,4 +67,23 @@ public interface ModelService extends IService<Model> {
      */
     List<ModelExportVo> exportExcelList();
 
+    /**
+     * 使用指定模型对话，指定模型熔断或者调用失败时自动切换到其他已启用的对话模型
+     *
+     * @param id           优先使用的模型ID
+     * @param systemPrompt 系统提示词，可以为空
+     * @param prompt       提示词
+     * @return 对话结果
+     */
+    ChatResult chat(Long id, String systemPrompt, String prompt);
+
+    /**
+     * 使用指定模型向量化文本，指定模型熔断或者调用失败时自动切换到同服务同名称的其他已启用向量模型
+     *
+     * @param id   优先使用的模型ID
+     * @param text 文本
+     * @return 向量
+     */
+    float[] embed(Long id, String text);
+
 }
@@ -9,9 +9,15 @@ import org.springframework.beans.BeanUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
+import top.sharehome.springbootinittemplate.common.base.ReturnCode;
+import top.sharehome.springbootinittemplate.config.oss.common.enums.OssType;
+import top.sharehome.springbootinittemplate.config.oss.common.precheck.FileDigestBloomFilter;
+import top.sharehome.springbootinittemplate.exception.customize.CustomizeFileException;
+import top.sharehome.springbootinittemplate.exception.customize.CustomizeReturnException;
 import top.sharehome.springbootinittemplate.mapper.FileMapper;
 import top.sharehome.springbootinittemplate.model.common.PageModel;
 import top.sharehome.springbootinittemplate.model.dto.file.FilePageDto;
+import top.sharehome.springbootinittemplate.model.dto.file.FilePreCheckDto;
 import top.sharehome.springbootinittemplate.model.entity.File;
 import top.sharehome.springbootinittemplate.model.vo.file.FileExportVo;
 import top.sharehome.springbootinittemplate.model.vo.file.FilePageVo;
@@ -20,7 +26,9 @@ import top.sharehome.springbootinittemplate.utils.oss.local.OssLocalUtils;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * 文件服务实现类
@@ -33,6 +41,21 @@ public class FileServiceImpl extends ServiceImpl<FileMapper, File> implements Fi
     @Resource
     private FileMapper fileMapper;
 
+    @Resource
+    private FileDigestBloomFilter fileDigestBloomFilter;
+
+    /**
+     * 保存文件信息，同时把唯一摘要值加入布隆过滤器，各个OSS上传成功后都经过这里入库
+     */
+    @Override
+    public boolean save(File entity) {
+        boolean result = super.save(entity);
+        if (result) {
+            fileDigestBloomFilter.add(entity.getUniqueKey());
+        }
+        return result;
+    }
+
     @Override
     @Transactional(readOnly = true, rollbackFor = Exception.class)
     public Page<FilePageVo> pageFile(FilePageDto filePageDto, PageModel pageModel) {
@@ -99,6 +122,39 @@ public class FileServiceImpl extends ServiceImpl<FileMapper, File> implements Fi
         OssLocalUtils.upload(file, filePath);
     }
 
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public File preCheckFile(FilePreCheckDto filePreCheckDto) {
+        String ossType = StringUtils.isBlank(filePreCheckDto.getOssType()) ? OssType.LOCAL.getTypeName() : filePreCheckDto.getOssType().toLowerCase();
+        if (Arrays.stream(OssType.values()).noneMatch(type -> Objects.equals(type.getTypeName(), ossType))) {
+            throw new CustomizeReturnException(ReturnCode.PARAMETER_FORMAT_MISMATCH, "OSS类型不存在");
+        }
+        // 摘要值统一使用小写十六进制，与服务端计算结果保持一致
+        String uniqueKey = filePreCheckDto.getUniqueKey().toLowerCase();
+        // 布隆过滤器判定不存在时一定是新文件，直接返回，不查询数据库
+        if (!fileDigestBloomFilter.mightContain(uniqueKey)) {
+            return null;
+        }
+        // 同时校验文件大小，客户端必须同时知道摘要值和大小才能命中，降低仅凭摘要值获取他人文件的风险
+        int recordSize = (int) Math.min(filePreCheckDto.getSize(), Integer.MAX_VALUE);
+        LambdaQueryWrapper<File> fileLambdaQueryWrapper = new LambdaQueryWrapper<>();
+        fileLambdaQueryWrapper
+                .eq(File::getUniqueKey, uniqueKey)
+                .eq(File::getOssType, ossType)
+                .eq(File::getSize, recordSize)
+                .last("LIMIT 1");
+        File fileInDatabase = fileMapper.selectOne(fileLambdaQueryWrapper);
+        if (Objects.isNull(fileInDatabase)) {
+            return null;
+        }
+        // 与服务端秒传一致，复用已存在的对象生成一条新的文件信息
+        if (save(fileInDatabase.setId(null))) {
+            return fileInDatabase;
+        } else {
+            throw new CustomizeFileException(ReturnCode.ERRORS_OCCURRED_IN_THE_DATABASE_SERVICE);
+        }
+    }
+
     /**
      * 计算文件大小以及合理单位
      *
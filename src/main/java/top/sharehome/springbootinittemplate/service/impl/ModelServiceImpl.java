@@ -6,16 +6,22 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import jakarta.annotation.PostConstruct;
 import jakarta.annotation.Resource;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.ai.chat.prompt.Prompt;
 import org.springframework.beans.BeanUtils;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import top.sharehome.springbootinittemplate.common.base.ReturnCode;
 import top.sharehome.springbootinittemplate.config.ai.spring.enums.*;
+import top.sharehome.springbootinittemplate.config.ai.spring.scheduler.AiExecutionScheduler;
 import top.sharehome.springbootinittemplate.config.ai.spring.service.chat.impl.AiChatServiceImpl;
 import top.sharehome.springbootinittemplate.config.ai.spring.service.chat.model.ChatModelBase;
 import top.sharehome.springbootinittemplate.config.ai.spring.service.chat.model.ChatResult;
@@ -56,10 +62,10 @@ import top.sharehome.springbootinittemplate.service.ModelService;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.CompletableFuture;
 
 /**
  * 模型服务实现类
@@ -87,6 +93,20 @@ public class ModelServiceImpl extends ServiceImpl<ModelMapper, Model> implements
     @Resource
     private AiTtsServiceImpl ttsService;
 
+    @Resource
+    private AiExecutionScheduler aiExecutionScheduler;
+
+    @Resource
+    private ThreadPoolTaskExecutor aiTaskExecutor;
+
+    /**
+     * 模型熔断时标记为不可用，恢复时重新启用
+     */
+    @PostConstruct
+    private void registerBreakerListener() {
+        aiExecutionScheduler.addBreakerListener(this::handleBreakerStateChange);
+    }
+
     @Override
     @Transactional(readOnly = true, rollbackFor = Exception.class)
     public Page<ModelPageVo> pageModel(ModelPageDto modelPageDto, PageModel pageModel) {
@@ -131,17 +151,20 @@ public class ModelServiceImpl extends ServiceImpl<ModelMapper, Model> implements
     public void addModel(ModelAddOrUpdateDto modelAddOrUpdateDto) {
         Model model = this.getModelByDto(modelAddOrUpdateDto);
         int insertResult = modelMapper.insert(model);
-        CompletableFuture.runAsync(() -> {
-            try {
-                validateModel(model);
-            } catch (CustomizeReturnException e) {
-
-            }
-            // todo 继续
-        });
         if (insertResult == 0) {
             throw new CustomizeReturnException(ReturnCode.ERRORS_OCCURRED_IN_THE_DATABASE_SERVICE);
         }
+        // 事务提交后再验证模型，验证涉及远程调用，交给AI异步任务线程池执行
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    aiTaskExecutor.execute(() -> validateAndUpdateState(model));
+                }
+            });
+        } else {
+            aiTaskExecutor.execute(() -> validateAndUpdateState(model));
+        }
     }
 
     @Override
@@ -183,6 +206,104 @@ public class ModelServiceImpl extends ServiceImpl<ModelMapper, Model> implements
         return List.of();
     }
 
+    @Override
+    public ChatResult chat(Long id, String systemPrompt, String prompt) {
+        List<Model> candidates = this.getFailoverCandidates(id, "chat");
+        return aiExecutionScheduler.executeWithFailover(candidates, this::getSchedulerKey,
+                model -> chatService.chatString(this.buildChatModel(model, null), systemPrompt, new Prompt(prompt)));
+    }
+
+    @Override
+    public float[] embed(Long id, String text) {
+        List<Model> candidates = this.getFailoverCandidates(id, "embedding");
+        return aiExecutionScheduler.executeWithFailover(candidates, this::getSchedulerKey,
+                model -> embeddingService.embedToArray(this.buildEmbeddingModel(model), text));
+    }
+
+    /**
+     * 获取故障转移候选模型，指定模型排在首位，其余为同类型已启用的模型
+     * 向量模型只会转移到同服务同名称的模型，保证向量维度和语义空间一致
+     *
+     * @param id   指定模型ID
+     * @param type 模型类型
+     */
+    private List<Model> getFailoverCandidates(Long id, String type) {
+        Model modelInDatabase = modelMapper.selectById(id);
+        if (Objects.isNull(modelInDatabase) || !StringUtils.equals(type, modelInDatabase.getType())) {
+            throw new CustomizeReturnException(ReturnCode.DATA_DOES_NOT_EXIST);
+        }
+        List<Model> res = new ArrayList<>();
+        // 熔断导致不可用的指定模型仍然保留，到期后由调度器放行试探调用
+        if (Objects.equals(modelInDatabase.getState(), 1) || Objects.equals(modelInDatabase.getState(), 2)) {
+            res.add(modelInDatabase);
+        }
+        LambdaQueryWrapper<Model> modelLambdaQueryWrapper = new LambdaQueryWrapper<>();
+        modelLambdaQueryWrapper
+                .eq(Model::getType, type)
+                .eq(Model::getState, 1)
+                .ne(Model::getId, id)
+                .eq("embedding".equals(type), Model::getService, modelInDatabase.getService())
+                .eq("embedding".equals(type), Model::getName, modelInDatabase.getName())
+                .orderByAsc(Model::getCreateTime);
+        res.addAll(modelMapper.selectList(modelLambdaQueryWrapper));
+        if (res.isEmpty()) {
+            throw new CustomizeReturnException(ReturnCode.FAIL, "没有可用的模型");
+        }
+        return res;
+    }
+
+    /**
+     * 获取模型在调度器中的模型键，按照模型ID区分，同一服务同一名称的模型互不影响
+     *
+     * @param model 模型信息
+     */
+    private String getSchedulerKey(Model model) {
+        return AiExecutionScheduler.getModelKey(model.getId());
+    }
+
+    /**
+     * 处理模型熔断状态变化，只修改启用和不可用之间的状态，验证中和禁用的模型不受影响
+     * 只处理模型表中模型的模型键，直接构造的模型没有对应的数据
+     *
+     * @param modelKey 模型键
+     * @param open     是否熔断
+     * @param error    错误信息
+     */
+    private void handleBreakerStateChange(String modelKey, boolean open, String error) {
+        Long id = AiExecutionScheduler.parseModelId(modelKey);
+        if (Objects.isNull(id)) {
+            return;
+        }
+        LambdaUpdateWrapper<Model> modelLambdaUpdateWrapper = new LambdaUpdateWrapper<>();
+        modelLambdaUpdateWrapper
+                .eq(Model::getId, id)
+                .eq(Model::getState, open ? 1 : 2)
+                .set(Model::getState, open ? 2 : 1)
+                .set(Model::getError, open ? error : null);
+        modelMapper.update(modelLambdaUpdateWrapper);
+    }
+
+    /**
+     * 验证模型并回写状态，验证通过则启用，否则标记为不可用并记录错误信息
+     *
+     * @param model 模型信息
+     */
+    private void validateAndUpdateState(Model model) {
+        String error = null;
+        try {
+            this.validateModel(model);
+        } catch (Exception e) {
+            error = StringUtils.abbreviate(StringUtils.defaultIfBlank(e.getMessage(), e.getClass().getSimpleName()), 100);
+        }
+        LambdaUpdateWrapper<Model> modelLambdaUpdateWrapper = new LambdaUpdateWrapper<>();
+        modelLambdaUpdateWrapper
+                .eq(Model::getId, model.getId())
+                .eq(Model::getState, 0)
+                .set(Model::getState, Objects.isNull(error) ? 1 : 2)
+                .set(Model::getError, error);
+        modelMapper.update(modelLambdaUpdateWrapper);
+    }
+
     private Model getModelByDto(ModelAddOrUpdateDto modelAddOrUpdateDto) {
         // 获取参数
         Long id = modelAddOrUpdateDto.getId();
@@ -389,57 +510,13 @@ public class ModelServiceImpl extends ServiceImpl<ModelMapper, Model> implements
         String service = model.getService();
         String prompt = "Only say 'hi'";
         if ("chat".equals(type)) {
-            ChatModelBase chatModel;
-            if (ChatServiceType.DeepSeek.getValue().equals(service)) {
-                chatModel = new DeepSeekChatEntity(model.getName(), model.getApiKey(), model.getBaseUrl(), 10);
-            } else if (ChatServiceType.OpenAI.getValue().equals(service)) {
-                chatModel = new OpenAiChatEntity(model.getName(), model.getApiKey(), model.getBaseUrl(), 10);
-            } else if (ChatServiceType.Ollama.getValue().equals(service)) {
-                chatModel = new OllamaChatEntity(model.getName(), model.getBaseUrl());
-            } else if (ChatServiceType.ZhiPuAI.getValue().equals(service)) {
-                chatModel = new ZhiPuAiChatEntity(model.getName(), model.getApiKey(), 10);
-            } else if (ChatServiceType.MistralAI.getValue().equals(service)) {
-                chatModel = new MistralAiChatEntity(model.getName(), model.getApiKey(), 10);
-            } else if (ChatServiceType.MiniMax.getValue().equals(service)) {
-                chatModel = new MiniMaxChatEntity(model.getName(), model.getApiKey(), 10);
-            } else if (ChatServiceType.AzureOpenAI.getValue().equals(service)) {
-                OpenAIServiceVersion res = OpenAIServiceVersion.valueOf(Arrays
-                        .stream(OpenAIServiceVersion.values())
-                        .filter((x) -> model.getInfo().getString("version").equals(x.getVersion()))
-                        .findFirst()
-                        .orElseThrow(() -> new CustomizeReturnException(ReturnCode.FAIL, "Azure OpenAI模型版本无效"))
-                        .name());
-                chatModel = new AzureOpenAiChatEntity(model.getName(), res, model.getApiKey(), model.getBaseUrl(), 10);
-            } else {
-                throw new CustomizeReturnException(ReturnCode.FAIL, "模型类型和服务无法匹配");
-            }
+            ChatModelBase chatModel = this.buildChatModel(model, 10);
             ChatResult result = chatService.chatString(chatModel, prompt);
             if (StringUtils.isAllBlank(result.getContent(), result.getReasoningContent())) {
                 throw new CustomizeReturnException(ReturnCode.FAIL, "模型无法输出内容");
             }
         } else if ("embedding".equals(type)) {
-            EmbeddingModelBase embeddingModel;
-            if (EmbeddingServiceType.OpenAI.getValue().equals(service)) {
-                embeddingModel = new OpenAiEmbeddingEntity(model.getName(), model.getApiKey(), model.getBaseUrl());
-            } else if (EmbeddingServiceType.Ollama.getValue().equals(service)) {
-                embeddingModel = new OllamaEmbeddingEntity(model.getName(), model.getBaseUrl());
-            } else if (EmbeddingServiceType.ZhiPuAI.getValue().equals(service)) {
-                embeddingModel = new ZhiPuAiEmbeddingEntity(model.getName(), model.getApiKey());
-            } else if (EmbeddingServiceType.MistralAI.getValue().equals(service)) {
-                embeddingModel = new MistralAiEmbeddingEntity(model.getName(), model.getApiKey());
-            } else if (EmbeddingServiceType.MiniMax.getValue().equals(service)) {
-                embeddingModel = new MiniMaxEmbeddingEntity(model.getName(), model.getApiKey());
-            } else if (EmbeddingServiceType.AzureOpenAI.getValue().equals(service)) {
-                OpenAIServiceVersion res = OpenAIServiceVersion.valueOf(Arrays
-                        .stream(OpenAIServiceVersion.values())
-                        .filter((x) -> model.getInfo().getString("version").equals(x.getVersion()))
-                        .findFirst()
-                        .orElseThrow(() -> new CustomizeReturnException(ReturnCode.FAIL, "Azure OpenAI模型版本无效"))
-                        .name());
-                embeddingModel = new AzureOpenAiEmbeddingEntity(model.getName(), res, model.getApiKey(), model.getBaseUrl());
-            } else {
-                throw new CustomizeReturnException(ReturnCode.FAIL, "模型类型和服务无法匹配");
-            }
+            EmbeddingModelBase embeddingModel = this.buildEmbeddingModel(model);
             float[] result = embeddingService.embedToArray(embeddingModel, prompt);
             if (ArrayUtils.isEmpty(result)) {
                 throw new CustomizeReturnException(ReturnCode.FAIL, "模型无法输出内容");
@@ -495,4 +572,73 @@ public class ModelServiceImpl extends ServiceImpl<ModelMapper, Model> implements
         }
     }
 
+    /**
+     * 根据模型信息构建对话模型
+     *
+     * @param model     模型信息
+     * @param maxTokens 最大输出Token数，为空表示不限制
+     */
+    private ChatModelBase buildChatModel(Model model, Integer maxTokens) {
+        String service = model.getService();
+        ChatModelBase chatModel;
+        if (ChatServiceType.DeepSeek.getValue().equals(service)) {
+            chatModel = new DeepSeekChatEntity(model.getName(), model.getApiKey(), model.getBaseUrl(), maxTokens);
+        } else if (ChatServiceType.OpenAI.getValue().equals(service)) {
+            chatModel = new OpenAiChatEntity(model.getName(), model.getApiKey(), model.getBaseUrl(), maxTokens);
+        } else if (ChatServiceType.Ollama.getValue().equals(service)) {
+            chatModel = new OllamaChatEntity(model.getName(), model.getBaseUrl());
+        } else if (ChatServiceType.ZhiPuAI.getValue().equals(service)) {
+            chatModel = new ZhiPuAiChatEntity(model.getName(), model.getApiKey(), maxTokens);
+        } else if (ChatServiceType.MistralAI.getValue().equals(service)) {
+            chatModel = new MistralAiChatEntity(model.getName(), model.getApiKey(), maxTokens);
+        } else if (ChatServiceType.MiniMax.getValue().equals(service)) {
+            chatModel = new MiniMaxChatEntity(model.getName(), model.getApiKey(), maxTokens);
+        } else if (ChatServiceType.AzureOpenAI.getValue().equals(service)) {
+            OpenAIServiceVersion res = OpenAIServiceVersion.valueOf(Arrays
+                    .stream(OpenAIServiceVersion.values())
+                    .filter((x) -> model.getInfo().getString("version").equals(x.getVersion()))
+                    .findFirst()
+                    .orElseThrow(() -> new CustomizeReturnException(ReturnCode.FAIL, "Azure OpenAI模型版本无效"))
+                    .name());
+            chatModel = new AzureOpenAiChatEntity(model.getName(), res, model.getApiKey(), model.getBaseUrl(), maxTokens);
+        } else {
+            throw new CustomizeReturnException(ReturnCode.FAIL, "模型类型和服务无法匹配");
+        }
+        chatModel.setSchedulerKey(this.getSchedulerKey(model));
+        return chatModel;
+    }
+
+    /**
+     * 根据模型信息构建向量模型
+     *
+     * @param model 模型信息
+     */
+    private EmbeddingModelBase buildEmbeddingModel(Model model) {
+        String service = model.getService();
+        EmbeddingModelBase embeddingModel;
+        if (EmbeddingServiceType.OpenAI.getValue().equals(service)) {
+            embeddingModel = new OpenAiEmbeddingEntity(model.getName(), model.getApiKey(), model.getBaseUrl());
+        } else if (EmbeddingServiceType.Ollama.getValue().equals(service)) {
+            embeddingModel = new OllamaEmbeddingEntity(model.getName(), model.getBaseUrl());
+        } else if (EmbeddingServiceType.ZhiPuAI.getValue().equals(service)) {
+            embeddingModel = new ZhiPuAiEmbeddingEntity(model.getName(), model.getApiKey());
+        } else if (EmbeddingServiceType.MistralAI.getValue().equals(service)) {
+            embeddingModel = new MistralAiEmbeddingEntity(model.getName(), model.getApiKey());
+        } else if (EmbeddingServiceType.MiniMax.getValue().equals(service)) {
+            embeddingModel = new MiniMaxEmbeddingEntity(model.getName(), model.getApiKey());
+        } else if (EmbeddingServiceType.AzureOpenAI.getValue().equals(service)) {
+            OpenAIServiceVersion res = OpenAIServiceVersion.valueOf(Arrays
+                    .stream(OpenAIServiceVersion.values())
+                    .filter((x) -> model.getInfo().getString("version").equals(x.getVersion()))
+                    .findFirst()
+                    .orElseThrow(() -> new CustomizeReturnException(ReturnCode.FAIL, "Azure OpenAI模型版本无效"))
+                    .name());
+            embeddingModel = new AzureOpenAiEmbeddingEntity(model.getName(), res, model.getApiKey(), model.getBaseUrl());
+        } else {
+            throw new CustomizeReturnException(ReturnCode.FAIL, "模型类型和服务无法匹配");
+        }
+        embeddingModel.setSchedulerKey(this.getSchedulerKey(model));
+        return embeddingModel;
+    }
+
 }
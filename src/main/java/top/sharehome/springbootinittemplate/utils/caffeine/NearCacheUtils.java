@@ -0,0 +1,104 @@
+package top.sharehome.springbootinittemplate.utils.caffeine;
+
+import lombok.extern.slf4j.Slf4j;
+import top.sharehome.springbootinittemplate.config.bean.SpringContextHolder;
+import top.sharehome.springbootinittemplate.config.caffeine.near.NearCacheManager;
+import top.sharehome.springbootinittemplate.config.caffeine.near.model.NearCacheStats;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 二级缓存工具类
+ * 适用于读多写少的热点数据，例如登录用户视图、字典数据等
+ *
+ * @author AntonyCheng
+ */
+@Slf4j
+public class NearCacheUtils {
+
+    /**
+     * 被封装的二级缓存管理器
+     */
+    private static final NearCacheManager NEAR_CACHE_MANAGER = SpringContextHolder.getBean(NearCacheManager.class);
+
+    /**
+     * 设置缓存
+     *
+     * @param namespace 命名空间
+     * @param key       缓存键
+     * @param value     缓存值
+     * @param <T>       泛型T
+     */
+    public static <T> void put(String namespace, String key, T value) {
+        NEAR_CACHE_MANAGER.put(namespace, key, value);
+    }
+
+    /**
+     * 获取缓存
+     *
+     * @param namespace 命名空间
+     * @param key       缓存键
+     */
+    public static Object get(String namespace, String key) {
+        return NEAR_CACHE_MANAGER.get(namespace, key, null);
+    }
+
+    /**
+     * 获取缓存
+     *
+     * @param namespace 命名空间
+     * @param key       缓存键
+     * @param type      数据类型
+     * @param <T>       泛型T
+     */
+    public static <T> T get(String namespace, String key, Class<T> type) {
+        return NEAR_CACHE_MANAGER.get(namespace, key, type);
+    }
+
+    /**
+     * 删除缓存
+     *
+     * @param namespace 命名空间
+     * @param key       缓存键
+     */
+    public static Boolean delete(String namespace, String key) {
+        return NEAR_CACHE_MANAGER.delete(namespace, key);
+    }
+
+    /**
+     * 删除批量缓存
+     *
+     * @param namespace 命名空间
+     * @param keys      缓存键集合
+     */
+    public static Long delete(String namespace, Collection<String> keys) {
+        return NEAR_CACHE_MANAGER.delete(namespace, keys);
+    }
+
+    /**
+     * 淘汰所有节点中命名空间的本地缓存
+     *
+     * @param namespace 命名空间
+     */
+    public static void invalidateLocal(String namespace) {
+        NEAR_CACHE_MANAGER.invalidateLocal(namespace);
+    }
+
+    /**
+     * 获取命名空间统计信息
+     *
+     * @param namespace 命名空间
+     */
+    public static NearCacheStats getStats(String namespace) {
+        return NEAR_CACHE_MANAGER.getStats(namespace);
+    }
+
+    /**
+     * 获取全部已使用命名空间的统计信息
+     */
+    public static List<NearCacheStats> getStats() {
+        return NEAR_CACHE_MANAGER.getStats();
+    }
+
+}
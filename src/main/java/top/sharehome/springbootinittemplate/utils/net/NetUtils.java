@@ -2,12 +2,9 @@ package top.sharehome.springbootinittemplate.utils.net;
 
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
-import org.lionsoul.ip2region.xdb.Searcher;
-import top.sharehome.springbootinittemplate.common.base.ReturnCode;
 import top.sharehome.springbootinittemplate.config.bean.SpringContextHolder;
-import top.sharehome.springbootinittemplate.exception.customize.CustomizeReturnException;
-
-import java.net.InetAddress;
+import top.sharehome.springbootinittemplate.config.ip2region.searcher.Ip2RegionSearcher;
+import top.sharehome.springbootinittemplate.config.net.resolver.ClientIpResolver;
 
 /**
  * 网络工具类
@@ -18,67 +15,24 @@ import java.net.InetAddress;
 public class NetUtils {
 
     /**
-     * 引入离线IP库
+     * 引入离线IP库查询器
+     */
+    private static final Ip2RegionSearcher SEARCHER = SpringContextHolder.getBean(Ip2RegionSearcher.class);
+
+    /**
+     * 引入客户端IP解析器
      */
-    private static final Searcher SEARCHER = SpringContextHolder.getBean(Searcher.class);
+    private static final ClientIpResolver CLIENT_IP_RESOLVER = SpringContextHolder.getBean(ClientIpResolver.class);
 
     /**
      * 通过请求获取客户端可能存在的IP地址
+     * 解析规则见客户端IP解析配置（client-ip），同一个请求只解析一次
      *
      * @param request 请求
      * @return 返回IP地址
      */
     public static String getIpByRequest(HttpServletRequest request) {
-        String ipAddress = request.getHeader("x-forwarded-for");
-        if (ipAddress == null || ipAddress.isEmpty() || "unknown".equalsIgnoreCase(ipAddress)) {
-            ipAddress = request.getHeader("Proxy-Client-IP");
-        }
-        if (ipAddress == null || ipAddress.isEmpty() || "unknown".equalsIgnoreCase(ipAddress)) {
-            ipAddress = request.getHeader("WL-Proxy-Client-IP");
-        }
-        if (ipAddress == null || ipAddress.isEmpty() || "unknown".equalsIgnoreCase(ipAddress)) {
-            ipAddress = request.getHeader("HTTP_X_FORWARDED_FOR");
-        }
-        if (ipAddress == null || ipAddress.isEmpty() || "unknown".equalsIgnoreCase(ipAddress)) {
-            ipAddress = request.getHeader("HTTP_X_FORWARDED");
-        }
-        if (ipAddress == null || ipAddress.isEmpty() || "unknown".equalsIgnoreCase(ipAddress)) {
-            ipAddress = request.getHeader("HTTP_X_CLUSTER_CLIENT_IP");
-        }
-        if (ipAddress == null || ipAddress.isEmpty() || "unknown".equalsIgnoreCase(ipAddress)) {
-            ipAddress = request.getHeader("HTTP_CLIENT_IP");
-        }
-        if (ipAddress == null || ipAddress.isEmpty() || "unknown".equalsIgnoreCase(ipAddress)) {
-            ipAddress = request.getHeader("HTTP_FORWARDED_FOR");
-        }
-        if (ipAddress == null || ipAddress.isEmpty() || "unknown".equalsIgnoreCase(ipAddress)) {
-            ipAddress = request.getHeader("HTTP_FORWARDED");
-        }
-        if (ipAddress == null || ipAddress.isEmpty() || "unknown".equalsIgnoreCase(ipAddress)) {
-            ipAddress = request.getRemoteAddr();
-            if ("127.0.0.1".equals(ipAddress)) {
-                // 根据网卡取本机配置的 IP
-                InetAddress inet = null;
-                try {
-                    inet = InetAddress.getLocalHost();
-                } catch (Exception e) {
-                    throw new CustomizeReturnException(ReturnCode.ABNORMAL_USER_EQUIPMENT);
-                }
-                if (inet != null) {
-                    ipAddress = inet.getHostAddress();
-                }
-            }
-        }
-        // 多个代理的情况，第一个IP为客户端真实IP,多个IP按照','分割
-        if (ipAddress != null && ipAddress.length() > 15) {
-            if (ipAddress.indexOf(",") > 0) {
-                ipAddress = ipAddress.substring(0, ipAddress.indexOf(","));
-            }
-        }
-        if (ipAddress == null) {
-            return "127.0.0.1";
-        }
-        return "0:0:0:0:0:0:0:1".equals(ipAddress) ? "127.0.0.1" : ipAddress;
+        return CLIENT_IP_RESOLVER.resolve(request);
     }
 
     /**
@@ -88,11 +42,7 @@ public class NetUtils {
      * @return 返回地区
      */
     public static String getRegionByIp(String ip) {
-        try {
-            return SEARCHER.search(ip);
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        }
+        return SEARCHER.search(ip);
     }
 
     /**
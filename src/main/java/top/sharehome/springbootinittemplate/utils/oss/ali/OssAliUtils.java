@@ -3,10 +3,14 @@ package top.sharehome.springbootinittemplate.utils.oss.ali;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.multipart.MultipartFile;
 import top.sharehome.springbootinittemplate.config.bean.SpringContextHolder;
+import top.sharehome.springbootinittemplate.config.oss.common.multipart.model.MultipartUploadPart;
+import top.sharehome.springbootinittemplate.config.oss.common.multipart.model.MultipartUploadSession;
+import top.sharehome.springbootinittemplate.config.oss.common.presign.model.PresignedUpload;
 import top.sharehome.springbootinittemplate.config.oss.service.ali.OssAliConfiguration;
 import top.sharehome.springbootinittemplate.model.entity.File;
 
 import java.io.InputStream;
+import java.util.List;
 
 /**
  * 阿里云OSS工具类
@@ -89,4 +93,91 @@ public class OssAliUtils {
         OSS_ALI_CONFIGURATION.deleteInOss(id);
     }
 
-}
\ No newline at end of file
+    /**
+     * 初始化分片上传
+     *
+     * @param originalName 文件原名称
+     * @param suffix       文件后缀
+     * @param rootPath     上传的路径
+     * @return 分片上传任务，客户端使用其中的uploadId上传分片
+     */
+    public static MultipartUploadSession initMultipartUpload(String originalName, String suffix, String rootPath) {
+        return OSS_ALI_CONFIGURATION.initMultipartUpload(originalName, suffix, rootPath);
+    }
+
+    /**
+     * 上传分片，同一序号重复上传时覆盖，除最后一个分片外每个分片不能小于5MB
+     *
+     * @param uploadId   上传任务ID
+     * @param partNumber 分片序号，从1开始
+     * @param file       分片数据
+     * @return 已上传的分片
+     */
+    public static MultipartUploadPart uploadPart(String uploadId, Integer partNumber, MultipartFile file) {
+        return OSS_ALI_CONFIGURATION.uploadPart(uploadId, partNumber, file);
+    }
+
+    /**
+     * 列出已上传的分片，用于中断后续传
+     *
+     * @param uploadId 上传任务ID
+     * @return 按照分片序号排序的分片
+     */
+    public static List<MultipartUploadPart> listUploadedParts(String uploadId) {
+        return OSS_ALI_CONFIGURATION.listUploadedParts(uploadId);
+    }
+
+    /**
+     * 完成分片上传
+     *
+     * @param uploadId 上传任务ID
+     * @return 文件信息
+     */
+    public static File completeMultipartUpload(String uploadId) {
+        return OSS_ALI_CONFIGURATION.completeMultipartUpload(uploadId);
+    }
+
+    /**
+     * 取消分片上传
+     *
+     * @param uploadId 上传任务ID
+     */
+    public static void abortMultipartUpload(String uploadId) {
+        OSS_ALI_CONFIGURATION.abortMultipartUpload(uploadId);
+    }
+
+    /**
+     * 签发预签名上传地址，客户端直接上传到存储桶
+     *
+     * @param originalName  文件原名称
+     * @param suffix        文件后缀
+     * @param contentType   文件类型，为空时根据文件原名称推断
+     * @param contentLength 文件大小
+     * @param rootPath      上传的路径
+     * @return 预签名上传地址
+     */
+    public static PresignedUpload presignUpload(String originalName, String suffix, String contentType, Long contentLength, String rootPath) {
+        return OSS_ALI_CONFIGURATION.presignUpload(originalName, suffix, contentType, contentLength, rootPath);
+    }
+
+    /**
+     * 完成预签名直传并登记文件信息
+     *
+     * @param ticketId 上传凭证ID
+     * @return 文件信息
+     */
+    public static File completePresignedUpload(String ticketId) {
+        return OSS_ALI_CONFIGURATION.completePresignedUpload(ticketId);
+    }
+
+    /**
+     * 签发预签名下载地址
+     *
+     * @param id 文件ID
+     * @return 预签名下载地址
+     */
+    public static String presignDownload(Long id) {
+        return OSS_ALI_CONFIGURATION.presignDownload(id);
+    }
+
+}
@@ -39,6 +39,26 @@ public interface KeyPrefixConstants {
      */
     String CACHE_MAP_PREFIX = CACHE_PREFIX + "MAP:";
 
+    /**
+     * 二级缓存Key前缀，独立于CACHE_PREFIX，避免缓存工具类按模式查询或删除时误操作二级缓存
+     */
+    String NEAR_CACHE_PREFIX = "NEAR_CACHE:";
+
+    /**
+     * 二级缓存失效通知主题
+     */
+    String NEAR_CACHE_TOPIC = "NEAR_CACHE:INVALIDATION";
+
+    /**
+     * 空结果缓存Key前缀
+     */
+    String CACHE_NULL_PREFIX = "CACHE_NULL:";
+
+    /**
+     * 缓存加载锁Key前缀
+     */
+    String CACHE_LOAD_LOCK_PREFIX = "CACHE_LOAD:";
+
     // todo 队列相关键前缀
 
     String QUEUE_PREFIX = "QUEUE:";
@@ -74,6 +94,16 @@ public interface KeyPrefixConstants {
      */
     String RATE_LIMIT_ANNOTATION_PREFIX = RATE_LIMIT_PREFIX + "ANNOTATION:";
 
+    /**
+     * 注解滑动窗口日志限流Key前缀
+     */
+    String RATE_LIMIT_SLIDING_LOG_PREFIX = RATE_LIMIT_PREFIX + "SLIDING_LOG:";
+
+    /**
+     * 注解滑动窗口计数限流Key前缀
+     */
+    String RATE_LIMIT_SLIDING_COUNTER_PREFIX = RATE_LIMIT_PREFIX + "SLIDING_COUNTER:";
+
     // todo 分布式锁相关键前缀
 
     /**
@@ -105,4 +135,33 @@ public interface KeyPrefixConstants {
      */
     String EMAIL_REGISTER_ACTIVATE_PREFIX = EMAIL_PREFIX + "REGISTER_ACTIVATE:";
 
-}
\ No newline at end of file
+    // todo AI对话相关键前缀
+
+    /**
+     * AI对话记忆Key前缀
+     */
+    String CHAT_MEMORY_PREFIX = "CHAT_MEMORY:";
+
+    /**
+     * AI对话语义缓存Key前缀
+     */
+    String CHAT_CACHE_PREFIX = "CHAT_CACHE:";
+
+    // todo OSS相关键前缀
+
+    /**
+     * OSS分片上传任务Key前缀
+     */
+    String OSS_MULTIPART_PREFIX = "OSS_MULTIPART:";
+
+    /**
+     * OSS文件摘要过滤器Key前缀
+     */
+    String OSS_DIGEST_FILTER_PREFIX = "OSS_DIGEST_FILTER:";
+
+    /**
+     * OSS预签名上传凭证Key前缀
+     */
+    String OSS_PRESIGN_PREFIX = "OSS_PRESIGN:";
+
+}
@@ -1,5 +1,7 @@
 package top.sharehome.springbootinittemplate.utils.redisson.cache;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.ObjectUtils;
 import org.redisson.api.*;
@@ -9,10 +11,24 @@ import top.sharehome.springbootinittemplate.common.base.ReturnCode;
 import top.sharehome.springbootinittemplate.config.bean.SpringContextHolder;
 import top.sharehome.springbootinittemplate.exception.customize.CustomizeRedissonException;
 import top.sharehome.springbootinittemplate.utils.redisson.KeyPrefixConstants;
+import top.sharehome.springbootinittemplate.utils.redisson.cache.model.LoadOptions;
+import top.sharehome.springbootinittemplate.utils.redisson.lock.LockUtils;
+import top.sharehome.springbootinittemplate.utils.redisson.lock.model.TimeModel;
 
 import java.time.Duration;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * 缓存工具类
@@ -28,6 +44,34 @@ public class CacheUtils {
      */
     private static final RedissonClient REDISSON_CLIENT = SpringContextHolder.getBean(RedissonClient.class);
 
+    /**
+     * 批量操作以及模糊查询键值对时每批处理的默认键数量
+     */
+    private static final int DEFAULT_CHUNK_SIZE = 500;
+
+    /**
+     * 正在加载中的键，用于同一JVM中合并并发加载
+     */
+    private static final Map<String, CompletableFuture<Object>> IN_FLIGHT_LOADS = new ConcurrentHashMap<>();
+
+    /**
+     * 正在提前刷新的键
+     */
+    private static final Set<String> REFRESHING_KEYS = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 提前刷新线程池
+     */
+    private static final ThreadPoolExecutor REFRESH_THREAD_POOL = new ThreadPoolExecutor(
+            2,
+            4,
+            1L,
+            TimeUnit.MINUTES,
+            new ArrayBlockingQueue<>(256),
+            new ThreadFactoryBuilder().setNameFormat("cache-refresh-%d").setDaemon(true).build(),
+            new ThreadPoolExecutor.AbortPolicy()
+    );
+
     /**
      * 设置缓存
      *
@@ -275,6 +319,87 @@ public class CacheUtils {
         }
     }
 
+    /**
+     * 获取缓存，不存在时调用加载方法加载并写入缓存，同一JVM中同一个键同时只会有一个线程执行加载，其余线程等待并共享其结果
+     *
+     * @param key     缓存键
+     * @param type    数据类型
+     * @param expired 过期时间
+     * @param loader  加载方法，返回null表示数据不存在
+     * @param <T>     泛型T
+     */
+    public static <T> T getOrLoad(String key, Class<T> type, Duration expired, Supplier<T> loader) {
+        return getOrLoad0(key, Boolean.TRUE, type, expired, loader, null);
+    }
+
+    /**
+     * 获取缓存，不存在时调用加载方法加载并写入缓存，可选分布式合并加载、提前刷新和空结果缓存
+     *
+     * @param key     缓存键
+     * @param type    数据类型
+     * @param expired 过期时间
+     * @param loader  加载方法，返回null表示数据不存在
+     * @param options 加载选项
+     * @param <T>     泛型T
+     */
+    public static <T> T getOrLoad(String key, Class<T> type, Duration expired, Supplier<T> loader, LoadOptions options) {
+        return getOrLoad0(key, Boolean.TRUE, type, expired, loader, options);
+    }
+
+    /**
+     * 不需要默认前缀，获取缓存，不存在时调用加载方法加载并写入缓存，同一JVM中同一个键同时只会有一个线程执行加载，其余线程等待并共享其结果
+     *
+     * @param key     缓存键
+     * @param type    数据类型
+     * @param expired 过期时间
+     * @param loader  加载方法，返回null表示数据不存在
+     * @param <T>     泛型T
+     */
+    public static <T> T getOrLoadNoPrefix(String key, Class<T> type, Duration expired, Supplier<T> loader) {
+        return getOrLoad0(key, Boolean.FALSE, type, expired, loader, null);
+    }
+
+    /**
+     * 不需要默认前缀，获取缓存，不存在时调用加载方法加载并写入缓存，可选分布式合并加载、提前刷新和空结果缓存
+     *
+     * @param key     缓存键
+     * @param type    数据类型
+     * @param expired 过期时间
+     * @param loader  加载方法，返回null表示数据不存在
+     * @param options 加载选项
+     * @param <T>     泛型T
+     */
+    public static <T> T getOrLoadNoPrefix(String key, Class<T> type, Duration expired, Supplier<T> loader, LoadOptions options) {
+        return getOrLoad0(key, Boolean.FALSE, type, expired, loader, options);
+    }
+
+    /**
+     * getOrLoad基础方法
+     *
+     * @param key       缓存键
+     * @param hasPrefix 是否默认前缀
+     * @param type      数据类型
+     * @param expired   过期时间
+     * @param loader    加载方法
+     * @param options   加载选项，为null表示使用默认选项
+     */
+    private static <T> T getOrLoad0(String key, Boolean hasPrefix, Class<T> type, Duration expired, Supplier<T> loader, LoadOptions options) {
+        verifyParameters(key, expired, loader);
+        LoadOptions loadOptions = Objects.isNull(options) ? new LoadOptions() : options;
+        String fullKey = Objects.equals(hasPrefix, Boolean.TRUE) ? KeyPrefixConstants.CACHE_PREFIX + key : key;
+        LoadSnapshot snapshot = readSnapshot0(fullKey);
+        if (Objects.nonNull(snapshot.value)) {
+            if (shouldRefreshAhead0(snapshot.remainTime, expired, loadOptions)) {
+                refreshAhead0(fullKey, expired, loader, loadOptions);
+            }
+            return checkType0(snapshot.value, type);
+        }
+        if (snapshot.nullCached) {
+            return null;
+        }
+        return checkType0(singleFlight0(fullKey, () -> load0(fullKey, expired, loader, loadOptions)), type);
+    }
+
     /**
      * 使用通配符模糊获取缓存键
      * * 表示匹配零个或多个字符。
@@ -398,15 +523,52 @@ public class CacheUtils {
      * @param hasPrefix  是否默认前缀
      * @param limit      限制数量
      */
-    @SuppressWarnings("unchecked")
     private static <T> Map<String, T> getKeyValuesByPattern0(String keyPattern, Boolean hasPrefix, Integer limit) {
-        verifyParameters(keyPattern);
-        return getKeysByPattern0(keyPattern, hasPrefix, limit).stream().map(c -> {
-            HashMap<String, Object> hashMap = new LinkedHashMap<>();
-            hashMap.put("key", c);
-            hashMap.put("value", get0(c, hasPrefix, null));
-            return hashMap;
-        }).collect(Collectors.toMap(map -> (String) map.get("key"), map -> (T) map.get("value")));
+        Map<String, T> res = new LinkedHashMap<>();
+        forEachKeyValueByPattern0(keyPattern, hasPrefix, limit, null, res::put);
+        return res;
+    }
+
+    /**
+     * 使用通配符模糊遍历缓存键值对，按批次管道化读取并逐批回调，不会将全部结果一次性加载到内存
+     * * 表示匹配零个或多个字符。
+     * ? 表示匹配一个字符。
+     *
+     * @param keyPattern key通配符
+     * @param limit      限制数量，为null表示不限制
+     * @param chunkSize  每批读取的键数量，为null或者小于等于0时使用默认值
+     * @param consumer   键值对消费者
+     */
+    public static <T> void forEachKeyValueByPattern(String keyPattern, Integer limit, Integer chunkSize, BiConsumer<String, T> consumer) {
+        forEachKeyValueByPattern0(keyPattern, Boolean.TRUE, limit, chunkSize, consumer);
+    }
+
+    /**
+     * 不需要默认前缀，使用通配符模糊遍历缓存键值对，按批次管道化读取并逐批回调，不会将全部结果一次性加载到内存
+     * * 表示匹配零个或多个字符。
+     * ? 表示匹配一个字符。
+     *
+     * @param keyPattern key通配符
+     * @param limit      限制数量，为null表示不限制
+     * @param chunkSize  每批读取的键数量，为null或者小于等于0时使用默认值
+     * @param consumer   键值对消费者
+     */
+    public static <T> void forEachKeyValueNoPrefixByPattern(String keyPattern, Integer limit, Integer chunkSize, BiConsumer<String, T> consumer) {
+        forEachKeyValueByPattern0(keyPattern, Boolean.FALSE, limit, chunkSize, consumer);
+    }
+
+    /**
+     * forEachKeyValueByPattern基础方法
+     *
+     * @param keyPattern key通配符
+     * @param hasPrefix  是否默认前缀
+     * @param limit      限制数量
+     * @param chunkSize  每批读取的键数量
+     * @param consumer   键值对消费者
+     */
+    private static <T> void forEachKeyValueByPattern0(String keyPattern, Boolean hasPrefix, Integer limit, Integer chunkSize, BiConsumer<String, T> consumer) {
+        verifyParameters(keyPattern, consumer);
+        scanKeyValues0(keyPattern, hasPrefix, KeyPrefixConstants.CACHE_PREFIX, RType.OBJECT, limit, chunkSize, CacheUtils::fetchBuckets0, consumer);
     }
 
     /**
@@ -500,6 +662,221 @@ public class CacheUtils {
         return REDISSON_CLIENT.getBucket(Objects.equals(hasPrefix, Boolean.TRUE) ? KeyPrefixConstants.CACHE_PREFIX + key : key).delete();
     }
 
+    /**
+     * 批量设置缓存
+     *
+     * @param keyValues 缓存键值对
+     */
+    public static <T> void putAll(Map<String, T> keyValues) {
+        putAll0(keyValues, Boolean.TRUE, null, null, Boolean.FALSE);
+    }
+
+    /**
+     * 批量设置缓存，同时设置过期时间
+     *
+     * @param keyValues 缓存键值对
+     * @param expired   过期时间
+     */
+    public static <T> void putAll(Map<String, T> keyValues, Duration expired) {
+        putAll0(keyValues, Boolean.TRUE, expired, null, Boolean.FALSE);
+    }
+
+    /**
+     * 批量设置缓存，同时设置过期时间，按批次通过管道提交
+     *
+     * @param keyValues 缓存键值对
+     * @param expired   过期时间，为null表示不过期
+     * @param chunkSize 每批处理的键数量，为null或者小于等于0时使用默认值
+     * @param atomic    每批命令是否以事务方式原子执行
+     */
+    public static <T> void putAll(Map<String, T> keyValues, Duration expired, Integer chunkSize, Boolean atomic) {
+        putAll0(keyValues, Boolean.TRUE, expired, chunkSize, atomic);
+    }
+
+    /**
+     * 不需要默认前缀，批量设置缓存
+     *
+     * @param keyValues 缓存键值对
+     */
+    public static <T> void putAllNoPrefix(Map<String, T> keyValues) {
+        putAll0(keyValues, Boolean.FALSE, null, null, Boolean.FALSE);
+    }
+
+    /**
+     * 不需要默认前缀，批量设置缓存，同时设置过期时间
+     *
+     * @param keyValues 缓存键值对
+     * @param expired   过期时间
+     */
+    public static <T> void putAllNoPrefix(Map<String, T> keyValues, Duration expired) {
+        putAll0(keyValues, Boolean.FALSE, expired, null, Boolean.FALSE);
+    }
+
+    /**
+     * 不需要默认前缀，批量设置缓存，同时设置过期时间，按批次通过管道提交
+     *
+     * @param keyValues 缓存键值对
+     * @param expired   过期时间，为null表示不过期
+     * @param chunkSize 每批处理的键数量，为null或者小于等于0时使用默认值
+     * @param atomic    每批命令是否以事务方式原子执行
+     */
+    public static <T> void putAllNoPrefix(Map<String, T> keyValues, Duration expired, Integer chunkSize, Boolean atomic) {
+        putAll0(keyValues, Boolean.FALSE, expired, chunkSize, atomic);
+    }
+
+    /**
+     * putAll基础方法
+     *
+     * @param keyValues 缓存键值对
+     * @param hasPrefix 是否默认前缀
+     * @param expired   过期时间
+     * @param chunkSize 每批处理的键数量，为null或者小于等于0时使用默认值
+     * @param atomic    每批命令是否以事务方式原子执行
+     */
+    private static <T> void putAll0(Map<String, T> keyValues, Boolean hasPrefix, Duration expired, Integer chunkSize, Boolean atomic) {
+        batchPut0(keyValues, Objects.equals(hasPrefix, Boolean.TRUE) ? KeyPrefixConstants.CACHE_PREFIX : null, chunkSize, atomic, (batch, key, value) -> {
+            RBucketAsync<T> bucket = batch.getBucket(key);
+            if (Objects.nonNull(expired)) {
+                bucket.setAsync(value, expired);
+            } else {
+                bucket.setAsync(value);
+            }
+        });
+    }
+
+    /**
+     * 批量获取缓存，不存在的键不会出现在结果中
+     *
+     * @param keys 缓存键集合
+     */
+    public static Map<String, Object> getAll(Collection<String> keys) {
+        return getAll0(keys, Boolean.TRUE, null, null);
+    }
+
+    /**
+     * 批量获取缓存，不存在的键不会出现在结果中
+     *
+     * @param keys 缓存键集合
+     * @param type 数据类型
+     */
+    public static <T> Map<String, T> getAll(Collection<String> keys, Class<T> type) {
+        return getAll0(keys, Boolean.TRUE, type, null);
+    }
+
+    /**
+     * 批量获取缓存，按批次通过MGET读取，不存在的键不会出现在结果中
+     *
+     * @param keys      缓存键集合
+     * @param type      数据类型
+     * @param chunkSize 每批处理的键数量，为null或者小于等于0时使用默认值
+     */
+    public static <T> Map<String, T> getAll(Collection<String> keys, Class<T> type, Integer chunkSize) {
+        return getAll0(keys, Boolean.TRUE, type, chunkSize);
+    }
+
+    /**
+     * 不需要默认前缀，批量获取缓存，不存在的键不会出现在结果中
+     *
+     * @param keys 缓存键集合
+     */
+    public static Map<String, Object> getAllNoPrefix(Collection<String> keys) {
+        return getAll0(keys, Boolean.FALSE, null, null);
+    }
+
+    /**
+     * 不需要默认前缀，批量获取缓存，不存在的键不会出现在结果中
+     *
+     * @param keys 缓存键集合
+     * @param type 数据类型
+     */
+    public static <T> Map<String, T> getAllNoPrefix(Collection<String> keys, Class<T> type) {
+        return getAll0(keys, Boolean.FALSE, type, null);
+    }
+
+    /**
+     * 不需要默认前缀，批量获取缓存，按批次通过MGET读取，不存在的键不会出现在结果中
+     *
+     * @param keys      缓存键集合
+     * @param type      数据类型
+     * @param chunkSize 每批处理的键数量，为null或者小于等于0时使用默认值
+     */
+    public static <T> Map<String, T> getAllNoPrefix(Collection<String> keys, Class<T> type, Integer chunkSize) {
+        return getAll0(keys, Boolean.FALSE, type, chunkSize);
+    }
+
+    /**
+     * getAll基础方法
+     *
+     * @param keys      缓存键集合
+     * @param hasPrefix 是否默认前缀
+     * @param type      数据类型，为null表示不校验
+     * @param chunkSize 每批处理的键数量，为null或者小于等于0时使用默认值
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> Map<String, T> getAll0(Collection<String> keys, Boolean hasPrefix, Class<T> type, Integer chunkSize) {
+        Map<String, Object> res = batchGet0(keys, Objects.equals(hasPrefix, Boolean.TRUE) ? KeyPrefixConstants.CACHE_PREFIX : null, chunkSize, CacheUtils::fetchBuckets0);
+        if (Objects.nonNull(type)) {
+            for (Object value : res.values()) {
+                if (!type.isInstance(value)) {
+                    throw new CustomizeRedissonException(ReturnCode.FAIL, "数据类型不一致");
+                }
+            }
+        }
+        return (Map<String, T>) res;
+    }
+
+    /**
+     * 批量删除缓存，返回实际删除的数量
+     *
+     * @param keys 缓存键集合
+     */
+    public static Long deleteAll(Collection<String> keys) {
+        return deleteAll0(keys, Boolean.TRUE, null, Boolean.FALSE);
+    }
+
+    /**
+     * 批量删除缓存，按批次通过管道提交，返回实际删除的数量
+     *
+     * @param keys      缓存键集合
+     * @param chunkSize 每批处理的键数量，为null或者小于等于0时使用默认值
+     * @param atomic    每批命令是否以事务方式原子执行
+     */
+    public static Long deleteAll(Collection<String> keys, Integer chunkSize, Boolean atomic) {
+        return deleteAll0(keys, Boolean.TRUE, chunkSize, atomic);
+    }
+
+    /**
+     * 不需要默认前缀，批量删除缓存，返回实际删除的数量
+     *
+     * @param keys 缓存键集合
+     */
+    public static Long deleteAllNoPrefix(Collection<String> keys) {
+        return deleteAll0(keys, Boolean.FALSE, null, Boolean.FALSE);
+    }
+
+    /**
+     * 不需要默认前缀，批量删除缓存，按批次通过管道提交，返回实际删除的数量
+     *
+     * @param keys      缓存键集合
+     * @param chunkSize 每批处理的键数量，为null或者小于等于0时使用默认值
+     * @param atomic    每批命令是否以事务方式原子执行
+     */
+    public static Long deleteAllNoPrefix(Collection<String> keys, Integer chunkSize, Boolean atomic) {
+        return deleteAll0(keys, Boolean.FALSE, chunkSize, atomic);
+    }
+
+    /**
+     * deleteAll基础方法
+     *
+     * @param keys      缓存键集合
+     * @param hasPrefix 是否默认前缀
+     * @param chunkSize 每批处理的键数量，为null或者小于等于0时使用默认值
+     * @param atomic    每批命令是否以事务方式原子执行
+     */
+    private static Long deleteAll0(Collection<String> keys, Boolean hasPrefix, Integer chunkSize, Boolean atomic) {
+        return batchDelete0(keys, Objects.equals(hasPrefix, Boolean.TRUE) ? KeyPrefixConstants.CACHE_PREFIX : null, chunkSize, atomic);
+    }
+
     /**
      * 使用通配符模糊删除缓存
      * * 表示匹配零个或多个字符。
@@ -867,13 +1244,51 @@ public class CacheUtils {
      * @param limit      限制数量
      */
     private static Map<String, String> getStringKeyValuesByPattern0(String keyPattern, Boolean hasPrefix, Integer limit) {
-        verifyParameters(keyPattern);
-        return getStringKeysByPattern0(keyPattern, hasPrefix, limit).stream().map(c -> {
-            HashMap<String, Object> hashMap = new LinkedHashMap<>();
-            hashMap.put("key", c);
-            hashMap.put("value", getString0(c, hasPrefix));
-            return hashMap;
-        }).collect(Collectors.toMap(map -> (String) map.get("key"), map -> (String) map.get("value")));
+        Map<String, String> res = new LinkedHashMap<>();
+        forEachStringKeyValueByPattern0(keyPattern, hasPrefix, limit, null, res::put);
+        return res;
+    }
+
+    /**
+     * 使用通配符模糊遍历String类型缓存键值对，按批次管道化读取并逐批回调，不会将全部结果一次性加载到内存
+     * * 表示匹配零个或多个字符。
+     * ? 表示匹配一个字符。
+     *
+     * @param keyPattern key通配符
+     * @param limit      限制数量，为null表示不限制
+     * @param chunkSize  每批读取的键数量，为null或者小于等于0时使用默认值
+     * @param consumer   键值对消费者
+     */
+    public static void forEachStringKeyValueByPattern(String keyPattern, Integer limit, Integer chunkSize, BiConsumer<String, String> consumer) {
+        forEachStringKeyValueByPattern0(keyPattern, Boolean.TRUE, limit, chunkSize, consumer);
+    }
+
+    /**
+     * 不需要默认前缀，使用通配符模糊遍历String类型缓存键值对，按批次管道化读取并逐批回调，不会将全部结果一次性加载到内存
+     * * 表示匹配零个或多个字符。
+     * ? 表示匹配一个字符。
+     *
+     * @param keyPattern key通配符
+     * @param limit      限制数量，为null表示不限制
+     * @param chunkSize  每批读取的键数量，为null或者小于等于0时使用默认值
+     * @param consumer   键值对消费者
+     */
+    public static void forEachStringKeyValueNoPrefixByPattern(String keyPattern, Integer limit, Integer chunkSize, BiConsumer<String, String> consumer) {
+        forEachStringKeyValueByPattern0(keyPattern, Boolean.FALSE, limit, chunkSize, consumer);
+    }
+
+    /**
+     * forEachStringKeyValueByPattern基础方法
+     *
+     * @param keyPattern key通配符
+     * @param hasPrefix  是否默认前缀
+     * @param limit      限制数量
+     * @param chunkSize  每批读取的键数量
+     * @param consumer   键值对消费者
+     */
+    private static void forEachStringKeyValueByPattern0(String keyPattern, Boolean hasPrefix, Integer limit, Integer chunkSize, BiConsumer<String, String> consumer) {
+        verifyParameters(keyPattern, consumer);
+        scanKeyValues0(keyPattern, hasPrefix, KeyPrefixConstants.CACHE_STRING_PREFIX, RType.OBJECT, limit, chunkSize, CacheUtils::fetchStringBuckets0, consumer);
     }
 
     /**
@@ -968,85 +1383,268 @@ public class CacheUtils {
     }
 
     /**
-     * 使用通配符模糊删除String类型缓存
-     * * 表示匹配零个或多个字符。
-     * ? 表示匹配一个字符。
+     * 批量设置String类型缓存
      *
-     * @param keyPattern key通配符
+     * @param keyValues 缓存键值对
      */
-    public static void deleteStringByPattern(String keyPattern) {
-        deleteStringByPattern0(keyPattern, Boolean.TRUE);
+    public static void putAllString(Map<String, ? extends CharSequence> keyValues) {
+        putAllString0(keyValues, Boolean.TRUE, null, null, Boolean.FALSE);
     }
 
     /**
-     * 不需要默认前缀，使用通配符模糊删除String类型缓存
-     * * 表示匹配零个或多个字符。
-     * ? 表示匹配一个字符。
+     * 批量设置String类型缓存，同时设置过期时间
      *
-     * @param keyPattern key通配符
+     * @param keyValues 缓存键值对
+     * @param expired   过期时间
      */
-    public static void deleteStringNoPrefixByPattern(String keyPattern) {
-        deleteStringByPattern0(keyPattern, Boolean.FALSE);
+    public static void putAllString(Map<String, ? extends CharSequence> keyValues, Duration expired) {
+        putAllString0(keyValues, Boolean.TRUE, expired, null, Boolean.FALSE);
     }
 
     /**
-     * deleteStringByPattern基础方法
+     * 批量设置String类型缓存，同时设置过期时间，按批次通过管道提交
      *
-     * @param keyPattern  key通配符
-     * @param hasPrefix  是否默认前缀
+     * @param keyValues 缓存键值对
+     * @param expired   过期时间，为null表示不过期
+     * @param chunkSize 每批处理的键数量，为null或者小于等于0时使用默认值
+     * @param atomic    每批命令是否以事务方式原子执行
      */
-    private static void deleteStringByPattern0(String keyPattern, Boolean hasPrefix) {
-        verifyParameters(keyPattern);
-        REDISSON_CLIENT.getKeys().deleteByPattern(Objects.equals(hasPrefix, Boolean.TRUE) ? KeyPrefixConstants.CACHE_STRING_PREFIX + keyPattern : keyPattern);
+    public static void putAllString(Map<String, ? extends CharSequence> keyValues, Duration expired, Integer chunkSize, Boolean atomic) {
+        putAllString0(keyValues, Boolean.TRUE, expired, chunkSize, atomic);
     }
 
     /**
-     * 设置Number类型缓存
+     * 不需要默认前缀，批量设置String类型缓存
      *
-     * @param key   缓存键
-     * @param value 缓存值
+     * @param keyValues 缓存键值对
      */
-    public static void putNumber(String key, Number value) {
-        putNumber0(key, Boolean.TRUE, value, null);
+    public static void putAllStringNoPrefix(Map<String, ? extends CharSequence> keyValues) {
+        putAllString0(keyValues, Boolean.FALSE, null, null, Boolean.FALSE);
     }
 
     /**
-     * 不需要默认前缀，设置Number类型缓存
+     * 不需要默认前缀，批量设置String类型缓存，同时设置过期时间
      *
-     * @param key   缓存键
-     * @param value 缓存值
+     * @param keyValues 缓存键值对
+     * @param expired   过期时间
      */
-    public static void putNumberNoPrefix(String key, Number value) {
-        putNumber0(key, Boolean.FALSE, value, null);
+    public static void putAllStringNoPrefix(Map<String, ? extends CharSequence> keyValues, Duration expired) {
+        putAllString0(keyValues, Boolean.FALSE, expired, null, Boolean.FALSE);
     }
 
     /**
-     * 设置Number类型缓存，同时设置过期时间
+     * 不需要默认前缀，批量设置String类型缓存，同时设置过期时间，按批次通过管道提交
      *
-     * @param key     缓存键
-     * @param value   缓存值
-     * @param expired 过期时间
+     * @param keyValues 缓存键值对
+     * @param expired   过期时间，为null表示不过期
+     * @param chunkSize 每批处理的键数量，为null或者小于等于0时使用默认值
+     * @param atomic    每批命令是否以事务方式原子执行
      */
-    public static void putNumber(String key, Number value, Duration expired) {
-        putNumber0(key, Boolean.TRUE, value, expired);
+    public static void putAllStringNoPrefix(Map<String, ? extends CharSequence> keyValues, Duration expired, Integer chunkSize, Boolean atomic) {
+        putAllString0(keyValues, Boolean.FALSE, expired, chunkSize, atomic);
     }
 
     /**
-     * 不需要默认前缀，设置Number类型缓存，同时设置过期时间
+     * putAllString基础方法
      *
-     * @param key     缓存键
-     * @param value   缓存值
-     * @param expired 过期时间
+     * @param keyValues 缓存键值对
+     * @param hasPrefix 是否默认前缀
+     * @param expired   过期时间
+     * @param chunkSize 每批处理的键数量，为null或者小于等于0时使用默认值
+     * @param atomic    每批命令是否以事务方式原子执行
      */
-    public static void putNumberNoPrefix(String key, Number value, Duration expired) {
-        putNumber0(key, Boolean.FALSE, value, expired);
+    private static void putAllString0(Map<String, ? extends CharSequence> keyValues, Boolean hasPrefix, Duration expired, Integer chunkSize, Boolean atomic) {
+        batchPut0(keyValues, Objects.equals(hasPrefix, Boolean.TRUE) ? KeyPrefixConstants.CACHE_STRING_PREFIX : null, chunkSize, atomic, (batch, key, value) -> {
+            RBucketAsync<CharSequence> bucket = batch.getBucket(key, StringCodec.INSTANCE);
+            if (Objects.nonNull(expired)) {
+                bucket.setAsync(value, expired);
+            } else {
+                bucket.setAsync(value);
+            }
+        });
     }
 
     /**
-     * putNumber基础方法
+     * 批量获取String类型缓存，不存在的键不会出现在结果中
      *
-     * @param key       缓存键
-     * @param hasPrefix 是否默认前缀
+     * @param keys 缓存键集合
+     */
+    public static Map<String, String> getAllString(Collection<String> keys) {
+        return getAllString0(keys, Boolean.TRUE, null);
+    }
+
+    /**
+     * 批量获取String类型缓存，按批次通过MGET读取，不存在的键不会出现在结果中
+     *
+     * @param keys      缓存键集合
+     * @param chunkSize 每批处理的键数量，为null或者小于等于0时使用默认值
+     */
+    public static Map<String, String> getAllString(Collection<String> keys, Integer chunkSize) {
+        return getAllString0(keys, Boolean.TRUE, chunkSize);
+    }
+
+    /**
+     * 不需要默认前缀，批量获取String类型缓存，不存在的键不会出现在结果中
+     *
+     * @param keys 缓存键集合
+     */
+    public static Map<String, String> getAllStringNoPrefix(Collection<String> keys) {
+        return getAllString0(keys, Boolean.FALSE, null);
+    }
+
+    /**
+     * 不需要默认前缀，批量获取String类型缓存，按批次通过MGET读取，不存在的键不会出现在结果中
+     *
+     * @param keys      缓存键集合
+     * @param chunkSize 每批处理的键数量，为null或者小于等于0时使用默认值
+     */
+    public static Map<String, String> getAllStringNoPrefix(Collection<String> keys, Integer chunkSize) {
+        return getAllString0(keys, Boolean.FALSE, chunkSize);
+    }
+
+    /**
+     * getAllString基础方法
+     *
+     * @param keys      缓存键集合
+     * @param hasPrefix 是否默认前缀
+     * @param chunkSize 每批处理的键数量，为null或者小于等于0时使用默认值
+     */
+    private static Map<String, String> getAllString0(Collection<String> keys, Boolean hasPrefix, Integer chunkSize) {
+        return batchGet0(keys, Objects.equals(hasPrefix, Boolean.TRUE) ? KeyPrefixConstants.CACHE_STRING_PREFIX : null, chunkSize, CacheUtils::fetchStringBuckets0);
+    }
+
+    /**
+     * 批量删除String类型缓存，返回实际删除的数量
+     *
+     * @param keys 缓存键集合
+     */
+    public static Long deleteAllString(Collection<String> keys) {
+        return deleteAllString0(keys, Boolean.TRUE, null, Boolean.FALSE);
+    }
+
+    /**
+     * 批量删除String类型缓存，按批次通过管道提交，返回实际删除的数量
+     *
+     * @param keys      缓存键集合
+     * @param chunkSize 每批处理的键数量，为null或者小于等于0时使用默认值
+     * @param atomic    每批命令是否以事务方式原子执行
+     */
+    public static Long deleteAllString(Collection<String> keys, Integer chunkSize, Boolean atomic) {
+        return deleteAllString0(keys, Boolean.TRUE, chunkSize, atomic);
+    }
+
+    /**
+     * 不需要默认前缀，批量删除String类型缓存，返回实际删除的数量
+     *
+     * @param keys 缓存键集合
+     */
+    public static Long deleteAllStringNoPrefix(Collection<String> keys) {
+        return deleteAllString0(keys, Boolean.FALSE, null, Boolean.FALSE);
+    }
+
+    /**
+     * 不需要默认前缀，批量删除String类型缓存，按批次通过管道提交，返回实际删除的数量
+     *
+     * @param keys      缓存键集合
+     * @param chunkSize 每批处理的键数量，为null或者小于等于0时使用默认值
+     * @param atomic    每批命令是否以事务方式原子执行
+     */
+    public static Long deleteAllStringNoPrefix(Collection<String> keys, Integer chunkSize, Boolean atomic) {
+        return deleteAllString0(keys, Boolean.FALSE, chunkSize, atomic);
+    }
+
+    /**
+     * deleteAllString基础方法
+     *
+     * @param keys      缓存键集合
+     * @param hasPrefix 是否默认前缀
+     * @param chunkSize 每批处理的键数量，为null或者小于等于0时使用默认值
+     * @param atomic    每批命令是否以事务方式原子执行
+     */
+    private static Long deleteAllString0(Collection<String> keys, Boolean hasPrefix, Integer chunkSize, Boolean atomic) {
+        return batchDelete0(keys, Objects.equals(hasPrefix, Boolean.TRUE) ? KeyPrefixConstants.CACHE_STRING_PREFIX : null, chunkSize, atomic);
+    }
+
+    /**
+     * 使用通配符模糊删除String类型缓存
+     * * 表示匹配零个或多个字符。
+     * ? 表示匹配一个字符。
+     *
+     * @param keyPattern key通配符
+     */
+    public static void deleteStringByPattern(String keyPattern) {
+        deleteStringByPattern0(keyPattern, Boolean.TRUE);
+    }
+
+    /**
+     * 不需要默认前缀，使用通配符模糊删除String类型缓存
+     * * 表示匹配零个或多个字符。
+     * ? 表示匹配一个字符。
+     *
+     * @param keyPattern key通配符
+     */
+    public static void deleteStringNoPrefixByPattern(String keyPattern) {
+        deleteStringByPattern0(keyPattern, Boolean.FALSE);
+    }
+
+    /**
+     * deleteStringByPattern基础方法
+     *
+     * @param keyPattern  key通配符
+     * @param hasPrefix  是否默认前缀
+     */
+    private static void deleteStringByPattern0(String keyPattern, Boolean hasPrefix) {
+        verifyParameters(keyPattern);
+        REDISSON_CLIENT.getKeys().deleteByPattern(Objects.equals(hasPrefix, Boolean.TRUE) ? KeyPrefixConstants.CACHE_STRING_PREFIX + keyPattern : keyPattern);
+    }
+
+    /**
+     * 设置Number类型缓存
+     *
+     * @param key   缓存键
+     * @param value 缓存值
+     */
+    public static void putNumber(String key, Number value) {
+        putNumber0(key, Boolean.TRUE, value, null);
+    }
+
+    /**
+     * 不需要默认前缀，设置Number类型缓存
+     *
+     * @param key   缓存键
+     * @param value 缓存值
+     */
+    public static void putNumberNoPrefix(String key, Number value) {
+        putNumber0(key, Boolean.FALSE, value, null);
+    }
+
+    /**
+     * 设置Number类型缓存，同时设置过期时间
+     *
+     * @param key     缓存键
+     * @param value   缓存值
+     * @param expired 过期时间
+     */
+    public static void putNumber(String key, Number value, Duration expired) {
+        putNumber0(key, Boolean.TRUE, value, expired);
+    }
+
+    /**
+     * 不需要默认前缀，设置Number类型缓存，同时设置过期时间
+     *
+     * @param key     缓存键
+     * @param value   缓存值
+     * @param expired 过期时间
+     */
+    public static void putNumberNoPrefix(String key, Number value, Duration expired) {
+        putNumber0(key, Boolean.FALSE, value, expired);
+    }
+
+    /**
+     * putNumber基础方法
+     *
+     * @param key       缓存键
+     * @param hasPrefix 是否默认前缀
      * @param value     缓存值
      * @param expired   过期时间
      */
@@ -1442,13 +2040,51 @@ public class CacheUtils {
      * @param limit      限制数量
      */
     private static Map<String, Number> getNumberKeyValuesByPattern0(String keyPattern, Boolean hasPrefix, Integer limit) {
-        verifyParameters(keyPattern);
-        return getNumberKeysByPattern0(keyPattern, hasPrefix, limit).stream().map(c -> {
-            HashMap<String, Object> hashMap = new LinkedHashMap<>();
-            hashMap.put("key", c);
-            hashMap.put("value", getNumber0(c, hasPrefix));
-            return hashMap;
-        }).collect(Collectors.toMap(map -> (String) map.get("key"), map -> (Number) map.get("value")));
+        Map<String, Number> res = new LinkedHashMap<>();
+        forEachNumberKeyValueByPattern0(keyPattern, hasPrefix, limit, null, res::put);
+        return res;
+    }
+
+    /**
+     * 使用通配符模糊遍历Number类型缓存键值对，按批次管道化读取并逐批回调，不会将全部结果一次性加载到内存
+     * * 表示匹配零个或多个字符。
+     * ? 表示匹配一个字符。
+     *
+     * @param keyPattern key通配符
+     * @param limit      限制数量，为null表示不限制
+     * @param chunkSize  每批读取的键数量，为null或者小于等于0时使用默认值
+     * @param consumer   键值对消费者
+     */
+    public static void forEachNumberKeyValueByPattern(String keyPattern, Integer limit, Integer chunkSize, BiConsumer<String, Number> consumer) {
+        forEachNumberKeyValueByPattern0(keyPattern, Boolean.TRUE, limit, chunkSize, consumer);
+    }
+
+    /**
+     * 不需要默认前缀，使用通配符模糊遍历Number类型缓存键值对，按批次管道化读取并逐批回调，不会将全部结果一次性加载到内存
+     * * 表示匹配零个或多个字符。
+     * ? 表示匹配一个字符。
+     *
+     * @param keyPattern key通配符
+     * @param limit      限制数量，为null表示不限制
+     * @param chunkSize  每批读取的键数量，为null或者小于等于0时使用默认值
+     * @param consumer   键值对消费者
+     */
+    public static void forEachNumberKeyValueNoPrefixByPattern(String keyPattern, Integer limit, Integer chunkSize, BiConsumer<String, Number> consumer) {
+        forEachNumberKeyValueByPattern0(keyPattern, Boolean.FALSE, limit, chunkSize, consumer);
+    }
+
+    /**
+     * forEachNumberKeyValueByPattern基础方法
+     *
+     * @param keyPattern key通配符
+     * @param hasPrefix  是否默认前缀
+     * @param limit      限制数量
+     * @param chunkSize  每批读取的键数量
+     * @param consumer   键值对消费者
+     */
+    private static void forEachNumberKeyValueByPattern0(String keyPattern, Boolean hasPrefix, Integer limit, Integer chunkSize, BiConsumer<String, Number> consumer) {
+        verifyParameters(keyPattern, consumer);
+        scanKeyValues0(keyPattern, hasPrefix, KeyPrefixConstants.CACHE_NUMBER_PREFIX, RType.OBJECT, limit, chunkSize, CacheUtils::fetchBuckets0, consumer);
     }
 
     /**
@@ -1542,6 +2178,189 @@ public class CacheUtils {
         return REDISSON_CLIENT.getBucket(Objects.equals(hasPrefix, Boolean.TRUE) ? KeyPrefixConstants.CACHE_NUMBER_PREFIX + key : key).delete();
     }
 
+    /**
+     * 批量设置Number类型缓存
+     *
+     * @param keyValues 缓存键值对
+     */
+    public static void putAllNumber(Map<String, ? extends Number> keyValues) {
+        putAllNumber0(keyValues, Boolean.TRUE, null, null, Boolean.FALSE);
+    }
+
+    /**
+     * 批量设置Number类型缓存，同时设置过期时间
+     *
+     * @param keyValues 缓存键值对
+     * @param expired   过期时间
+     */
+    public static void putAllNumber(Map<String, ? extends Number> keyValues, Duration expired) {
+        putAllNumber0(keyValues, Boolean.TRUE, expired, null, Boolean.FALSE);
+    }
+
+    /**
+     * 批量设置Number类型缓存，同时设置过期时间，按批次通过管道提交
+     *
+     * @param keyValues 缓存键值对
+     * @param expired   过期时间，为null表示不过期
+     * @param chunkSize 每批处理的键数量，为null或者小于等于0时使用默认值
+     * @param atomic    每批命令是否以事务方式原子执行
+     */
+    public static void putAllNumber(Map<String, ? extends Number> keyValues, Duration expired, Integer chunkSize, Boolean atomic) {
+        putAllNumber0(keyValues, Boolean.TRUE, expired, chunkSize, atomic);
+    }
+
+    /**
+     * 不需要默认前缀，批量设置Number类型缓存
+     *
+     * @param keyValues 缓存键值对
+     */
+    public static void putAllNumberNoPrefix(Map<String, ? extends Number> keyValues) {
+        putAllNumber0(keyValues, Boolean.FALSE, null, null, Boolean.FALSE);
+    }
+
+    /**
+     * 不需要默认前缀，批量设置Number类型缓存，同时设置过期时间
+     *
+     * @param keyValues 缓存键值对
+     * @param expired   过期时间
+     */
+    public static void putAllNumberNoPrefix(Map<String, ? extends Number> keyValues, Duration expired) {
+        putAllNumber0(keyValues, Boolean.FALSE, expired, null, Boolean.FALSE);
+    }
+
+    /**
+     * 不需要默认前缀，批量设置Number类型缓存，同时设置过期时间，按批次通过管道提交
+     *
+     * @param keyValues 缓存键值对
+     * @param expired   过期时间，为null表示不过期
+     * @param chunkSize 每批处理的键数量，为null或者小于等于0时使用默认值
+     * @param atomic    每批命令是否以事务方式原子执行
+     */
+    public static void putAllNumberNoPrefix(Map<String, ? extends Number> keyValues, Duration expired, Integer chunkSize, Boolean atomic) {
+        putAllNumber0(keyValues, Boolean.FALSE, expired, chunkSize, atomic);
+    }
+
+    /**
+     * putAllNumber基础方法
+     *
+     * @param keyValues 缓存键值对
+     * @param hasPrefix 是否默认前缀
+     * @param expired   过期时间
+     * @param chunkSize 每批处理的键数量，为null或者小于等于0时使用默认值
+     * @param atomic    每批命令是否以事务方式原子执行
+     */
+    private static void putAllNumber0(Map<String, ? extends Number> keyValues, Boolean hasPrefix, Duration expired, Integer chunkSize, Boolean atomic) {
+        batchPut0(keyValues, Objects.equals(hasPrefix, Boolean.TRUE) ? KeyPrefixConstants.CACHE_NUMBER_PREFIX : null, chunkSize, atomic, (batch, key, value) -> {
+            RBucketAsync<Number> bucket = batch.getBucket(key);
+            if (Objects.nonNull(expired)) {
+                bucket.setAsync(value, expired);
+            } else {
+                bucket.setAsync(value);
+            }
+        });
+    }
+
+    /**
+     * 批量获取Number类型缓存，不存在的键不会出现在结果中
+     *
+     * @param keys 缓存键集合
+     */
+    public static Map<String, Number> getAllNumber(Collection<String> keys) {
+        return getAllNumber0(keys, Boolean.TRUE, null);
+    }
+
+    /**
+     * 批量获取Number类型缓存，按批次通过MGET读取，不存在的键不会出现在结果中
+     *
+     * @param keys      缓存键集合
+     * @param chunkSize 每批处理的键数量，为null或者小于等于0时使用默认值
+     */
+    public static Map<String, Number> getAllNumber(Collection<String> keys, Integer chunkSize) {
+        return getAllNumber0(keys, Boolean.TRUE, chunkSize);
+    }
+
+    /**
+     * 不需要默认前缀，批量获取Number类型缓存，不存在的键不会出现在结果中
+     *
+     * @param keys 缓存键集合
+     */
+    public static Map<String, Number> getAllNumberNoPrefix(Collection<String> keys) {
+        return getAllNumber0(keys, Boolean.FALSE, null);
+    }
+
+    /**
+     * 不需要默认前缀，批量获取Number类型缓存，按批次通过MGET读取，不存在的键不会出现在结果中
+     *
+     * @param keys      缓存键集合
+     * @param chunkSize 每批处理的键数量，为null或者小于等于0时使用默认值
+     */
+    public static Map<String, Number> getAllNumberNoPrefix(Collection<String> keys, Integer chunkSize) {
+        return getAllNumber0(keys, Boolean.FALSE, chunkSize);
+    }
+
+    /**
+     * getAllNumber基础方法
+     *
+     * @param keys      缓存键集合
+     * @param hasPrefix 是否默认前缀
+     * @param chunkSize 每批处理的键数量，为null或者小于等于0时使用默认值
+     */
+    private static Map<String, Number> getAllNumber0(Collection<String> keys, Boolean hasPrefix, Integer chunkSize) {
+        return batchGet0(keys, Objects.equals(hasPrefix, Boolean.TRUE) ? KeyPrefixConstants.CACHE_NUMBER_PREFIX : null, chunkSize, CacheUtils::fetchBuckets0);
+    }
+
+    /**
+     * 批量删除Number类型缓存，返回实际删除的数量
+     *
+     * @param keys 缓存键集合
+     */
+    public static Long deleteAllNumber(Collection<String> keys) {
+        return deleteAllNumber0(keys, Boolean.TRUE, null, Boolean.FALSE);
+    }
+
+    /**
+     * 批量删除Number类型缓存，按批次通过管道提交，返回实际删除的数量
+     *
+     * @param keys      缓存键集合
+     * @param chunkSize 每批处理的键数量，为null或者小于等于0时使用默认值
+     * @param atomic    每批命令是否以事务方式原子执行
+     */
+    public static Long deleteAllNumber(Collection<String> keys, Integer chunkSize, Boolean atomic) {
+        return deleteAllNumber0(keys, Boolean.TRUE, chunkSize, atomic);
+    }
+
+    /**
+     * 不需要默认前缀，批量删除Number类型缓存，返回实际删除的数量
+     *
+     * @param keys 缓存键集合
+     */
+    public static Long deleteAllNumberNoPrefix(Collection<String> keys) {
+        return deleteAllNumber0(keys, Boolean.FALSE, null, Boolean.FALSE);
+    }
+
+    /**
+     * 不需要默认前缀，批量删除Number类型缓存，按批次通过管道提交，返回实际删除的数量
+     *
+     * @param keys      缓存键集合
+     * @param chunkSize 每批处理的键数量，为null或者小于等于0时使用默认值
+     * @param atomic    每批命令是否以事务方式原子执行
+     */
+    public static Long deleteAllNumberNoPrefix(Collection<String> keys, Integer chunkSize, Boolean atomic) {
+        return deleteAllNumber0(keys, Boolean.FALSE, chunkSize, atomic);
+    }
+
+    /**
+     * deleteAllNumber基础方法
+     *
+     * @param keys      缓存键集合
+     * @param hasPrefix 是否默认前缀
+     * @param chunkSize 每批处理的键数量，为null或者小于等于0时使用默认值
+     * @param atomic    每批命令是否以事务方式原子执行
+     */
+    private static Long deleteAllNumber0(Collection<String> keys, Boolean hasPrefix, Integer chunkSize, Boolean atomic) {
+        return batchDelete0(keys, Objects.equals(hasPrefix, Boolean.TRUE) ? KeyPrefixConstants.CACHE_NUMBER_PREFIX : null, chunkSize, atomic);
+    }
+
     /**
      * 使用通配符模糊删除Number类型缓存
      * * 表示匹配零个或多个字符。
@@ -1923,23 +2742,60 @@ public class CacheUtils {
      * @param hasPrefix  是否默认前缀
      * @param limit      限制数量
      */
-    @SuppressWarnings("unchecked")
     private static Map<String, List<Object>> getListKeyValuesByPattern0(String keyPattern, Boolean hasPrefix, Integer limit) {
-        verifyParameters(keyPattern);
-        return getListKeysByPattern0(keyPattern, hasPrefix, limit).stream().map(c -> {
-            HashMap<String, Object> hashMap = new LinkedHashMap<>();
-            hashMap.put("key", c);
-            hashMap.put("value", getList0(c, hasPrefix));
-            return hashMap;
-        }).collect(Collectors.toMap(map -> (String) map.get("key"), map -> (List<Object>) map.get("value")));
+        Map<String, List<Object>> res = new LinkedHashMap<>();
+        forEachListKeyValueByPattern0(keyPattern, hasPrefix, limit, null, res::put);
+        return res;
     }
 
     /**
-     * 获取List类型缓存剩余过期时间
+     * 使用通配符模糊遍历List类型缓存键值对，按批次管道化读取并逐批回调，不会将全部结果一次性加载到内存
+     * * 表示匹配零个或多个字符。
+     * ? 表示匹配一个字符。
      *
-     * @param key 缓存键
+     * @param keyPattern key通配符
+     * @param limit      限制数量，为null表示不限制
+     * @param chunkSize  每批读取的键数量，为null或者小于等于0时使用默认值
+     * @param consumer   键值对消费者
      */
-    public static Long getListExpired(String key) {
+    public static void forEachListKeyValueByPattern(String keyPattern, Integer limit, Integer chunkSize, BiConsumer<String, List<Object>> consumer) {
+        forEachListKeyValueByPattern0(keyPattern, Boolean.TRUE, limit, chunkSize, consumer);
+    }
+
+    /**
+     * 不需要默认前缀，使用通配符模糊遍历List类型缓存键值对，按批次管道化读取并逐批回调，不会将全部结果一次性加载到内存
+     * * 表示匹配零个或多个字符。
+     * ? 表示匹配一个字符。
+     *
+     * @param keyPattern key通配符
+     * @param limit      限制数量，为null表示不限制
+     * @param chunkSize  每批读取的键数量，为null或者小于等于0时使用默认值
+     * @param consumer   键值对消费者
+     */
+    public static void forEachListKeyValueNoPrefixByPattern(String keyPattern, Integer limit, Integer chunkSize, BiConsumer<String, List<Object>> consumer) {
+        forEachListKeyValueByPattern0(keyPattern, Boolean.FALSE, limit, chunkSize, consumer);
+    }
+
+    /**
+     * forEachListKeyValueByPattern基础方法
+     *
+     * @param keyPattern key通配符
+     * @param hasPrefix  是否默认前缀
+     * @param limit      限制数量
+     * @param chunkSize  每批读取的键数量
+     * @param consumer   键值对消费者
+     */
+    private static void forEachListKeyValueByPattern0(String keyPattern, Boolean hasPrefix, Integer limit, Integer chunkSize, BiConsumer<String, List<Object>> consumer) {
+        verifyParameters(keyPattern, consumer);
+        scanKeyValues0(keyPattern, hasPrefix, KeyPrefixConstants.CACHE_LIST_PREFIX, RType.LIST, limit, chunkSize, CacheUtils::fetchLists0, consumer);
+    }
+
+    /**
+     * 获取List类型缓存剩余过期时间
+     *
+     * @param key 缓存键
+     */
+    public static Long getListExpired(String key) {
         return getListExpired0(key, Boolean.TRUE);
     }
 
@@ -2025,6 +2881,188 @@ public class CacheUtils {
         return REDISSON_CLIENT.getList(Objects.equals(hasPrefix, Boolean.TRUE) ? KeyPrefixConstants.CACHE_LIST_PREFIX + key : key).delete();
     }
 
+    /**
+     * 批量设置List类型缓存
+     *
+     * @param keyValues 缓存键值对
+     */
+    public static <T> void putAllList(Map<String, List<T>> keyValues) {
+        putAllList0(keyValues, Boolean.TRUE, null, null, Boolean.FALSE);
+    }
+
+    /**
+     * 批量设置List类型缓存，同时设置过期时间
+     *
+     * @param keyValues 缓存键值对
+     * @param expired   过期时间
+     */
+    public static <T> void putAllList(Map<String, List<T>> keyValues, Duration expired) {
+        putAllList0(keyValues, Boolean.TRUE, expired, null, Boolean.FALSE);
+    }
+
+    /**
+     * 批量设置List类型缓存，同时设置过期时间，按批次通过管道提交
+     *
+     * @param keyValues 缓存键值对
+     * @param expired   过期时间，为null表示不过期
+     * @param chunkSize 每批处理的键数量，为null或者小于等于0时使用默认值
+     * @param atomic    每批命令是否以事务方式原子执行
+     */
+    public static <T> void putAllList(Map<String, List<T>> keyValues, Duration expired, Integer chunkSize, Boolean atomic) {
+        putAllList0(keyValues, Boolean.TRUE, expired, chunkSize, atomic);
+    }
+
+    /**
+     * 不需要默认前缀，批量设置List类型缓存
+     *
+     * @param keyValues 缓存键值对
+     */
+    public static <T> void putAllListNoPrefix(Map<String, List<T>> keyValues) {
+        putAllList0(keyValues, Boolean.FALSE, null, null, Boolean.FALSE);
+    }
+
+    /**
+     * 不需要默认前缀，批量设置List类型缓存，同时设置过期时间
+     *
+     * @param keyValues 缓存键值对
+     * @param expired   过期时间
+     */
+    public static <T> void putAllListNoPrefix(Map<String, List<T>> keyValues, Duration expired) {
+        putAllList0(keyValues, Boolean.FALSE, expired, null, Boolean.FALSE);
+    }
+
+    /**
+     * 不需要默认前缀，批量设置List类型缓存，同时设置过期时间，按批次通过管道提交
+     *
+     * @param keyValues 缓存键值对
+     * @param expired   过期时间，为null表示不过期
+     * @param chunkSize 每批处理的键数量，为null或者小于等于0时使用默认值
+     * @param atomic    每批命令是否以事务方式原子执行
+     */
+    public static <T> void putAllListNoPrefix(Map<String, List<T>> keyValues, Duration expired, Integer chunkSize, Boolean atomic) {
+        putAllList0(keyValues, Boolean.FALSE, expired, chunkSize, atomic);
+    }
+
+    /**
+     * putAllList基础方法
+     *
+     * @param keyValues 缓存键值对
+     * @param hasPrefix 是否默认前缀
+     * @param expired   过期时间
+     * @param chunkSize 每批处理的键数量，为null或者小于等于0时使用默认值
+     * @param atomic    每批命令是否以事务方式原子执行
+     */
+    private static <T> void putAllList0(Map<String, List<T>> keyValues, Boolean hasPrefix, Duration expired, Integer chunkSize, Boolean atomic) {
+        batchPut0(keyValues, Objects.equals(hasPrefix, Boolean.TRUE) ? KeyPrefixConstants.CACHE_LIST_PREFIX : null, chunkSize, atomic, (batch, key, value) -> {
+            RListAsync<T> list = batch.getList(key);
+            list.addAllAsync(value);
+            if (Objects.nonNull(expired)) {
+                list.expireAsync(expired);
+            }
+        });
+    }
+
+    /**
+     * 批量获取List类型缓存，不存在的键不会出现在结果中
+     *
+     * @param keys 缓存键集合
+     */
+    public static Map<String, List<Object>> getAllList(Collection<String> keys) {
+        return getAllList0(keys, Boolean.TRUE, null);
+    }
+
+    /**
+     * 批量获取List类型缓存，按批次通过管道读取，不存在的键不会出现在结果中
+     *
+     * @param keys      缓存键集合
+     * @param chunkSize 每批处理的键数量，为null或者小于等于0时使用默认值
+     */
+    public static Map<String, List<Object>> getAllList(Collection<String> keys, Integer chunkSize) {
+        return getAllList0(keys, Boolean.TRUE, chunkSize);
+    }
+
+    /**
+     * 不需要默认前缀，批量获取List类型缓存，不存在的键不会出现在结果中
+     *
+     * @param keys 缓存键集合
+     */
+    public static Map<String, List<Object>> getAllListNoPrefix(Collection<String> keys) {
+        return getAllList0(keys, Boolean.FALSE, null);
+    }
+
+    /**
+     * 不需要默认前缀，批量获取List类型缓存，按批次通过管道读取，不存在的键不会出现在结果中
+     *
+     * @param keys      缓存键集合
+     * @param chunkSize 每批处理的键数量，为null或者小于等于0时使用默认值
+     */
+    public static Map<String, List<Object>> getAllListNoPrefix(Collection<String> keys, Integer chunkSize) {
+        return getAllList0(keys, Boolean.FALSE, chunkSize);
+    }
+
+    /**
+     * getAllList基础方法
+     *
+     * @param keys      缓存键集合
+     * @param hasPrefix 是否默认前缀
+     * @param chunkSize 每批处理的键数量，为null或者小于等于0时使用默认值
+     */
+    private static Map<String, List<Object>> getAllList0(Collection<String> keys, Boolean hasPrefix, Integer chunkSize) {
+        return batchGet0(keys, Objects.equals(hasPrefix, Boolean.TRUE) ? KeyPrefixConstants.CACHE_LIST_PREFIX : null, chunkSize, CacheUtils::fetchLists0);
+    }
+
+    /**
+     * 批量删除List类型缓存，返回实际删除的数量
+     *
+     * @param keys 缓存键集合
+     */
+    public static Long deleteAllList(Collection<String> keys) {
+        return deleteAllList0(keys, Boolean.TRUE, null, Boolean.FALSE);
+    }
+
+    /**
+     * 批量删除List类型缓存，按批次通过管道提交，返回实际删除的数量
+     *
+     * @param keys      缓存键集合
+     * @param chunkSize 每批处理的键数量，为null或者小于等于0时使用默认值
+     * @param atomic    每批命令是否以事务方式原子执行
+     */
+    public static Long deleteAllList(Collection<String> keys, Integer chunkSize, Boolean atomic) {
+        return deleteAllList0(keys, Boolean.TRUE, chunkSize, atomic);
+    }
+
+    /**
+     * 不需要默认前缀，批量删除List类型缓存，返回实际删除的数量
+     *
+     * @param keys 缓存键集合
+     */
+    public static Long deleteAllListNoPrefix(Collection<String> keys) {
+        return deleteAllList0(keys, Boolean.FALSE, null, Boolean.FALSE);
+    }
+
+    /**
+     * 不需要默认前缀，批量删除List类型缓存，按批次通过管道提交，返回实际删除的数量
+     *
+     * @param keys      缓存键集合
+     * @param chunkSize 每批处理的键数量，为null或者小于等于0时使用默认值
+     * @param atomic    每批命令是否以事务方式原子执行
+     */
+    public static Long deleteAllListNoPrefix(Collection<String> keys, Integer chunkSize, Boolean atomic) {
+        return deleteAllList0(keys, Boolean.FALSE, chunkSize, atomic);
+    }
+
+    /**
+     * deleteAllList基础方法
+     *
+     * @param keys      缓存键集合
+     * @param hasPrefix 是否默认前缀
+     * @param chunkSize 每批处理的键数量，为null或者小于等于0时使用默认值
+     * @param atomic    每批命令是否以事务方式原子执行
+     */
+    private static Long deleteAllList0(Collection<String> keys, Boolean hasPrefix, Integer chunkSize, Boolean atomic) {
+        return batchDelete0(keys, Objects.equals(hasPrefix, Boolean.TRUE) ? KeyPrefixConstants.CACHE_LIST_PREFIX : null, chunkSize, atomic);
+    }
+
     /**
      * 使用通配符模糊删除List类型缓存
      * * 表示匹配零个或多个字符。
@@ -2405,15 +3443,52 @@ public class CacheUtils {
      * @param hasPrefix  是否默认前缀
      * @param limit      限制数量
      */
-    @SuppressWarnings("unchecked")
     private static Map<String, Set<Object>> getSetKeyValuesByPattern0(String keyPattern, Boolean hasPrefix, Integer limit) {
-        verifyParameters(keyPattern);
-        return getSetKeysByPattern0(keyPattern, hasPrefix, limit).stream().map(c -> {
-            HashMap<String, Object> hashMap = new LinkedHashMap<>();
-            hashMap.put("key", c);
-            hashMap.put("value", getSet0(c, hasPrefix));
-            return hashMap;
-        }).collect(Collectors.toMap(map -> (String) map.get("key"), map -> (Set<Object>) map.get("value")));
+        Map<String, Set<Object>> res = new LinkedHashMap<>();
+        forEachSetKeyValueByPattern0(keyPattern, hasPrefix, limit, null, res::put);
+        return res;
+    }
+
+    /**
+     * 使用通配符模糊遍历Set类型缓存键值对，按批次管道化读取并逐批回调，不会将全部结果一次性加载到内存
+     * * 表示匹配零个或多个字符。
+     * ? 表示匹配一个字符。
+     *
+     * @param keyPattern key通配符
+     * @param limit      限制数量，为null表示不限制
+     * @param chunkSize  每批读取的键数量，为null或者小于等于0时使用默认值
+     * @param consumer   键值对消费者
+     */
+    public static void forEachSetKeyValueByPattern(String keyPattern, Integer limit, Integer chunkSize, BiConsumer<String, Set<Object>> consumer) {
+        forEachSetKeyValueByPattern0(keyPattern, Boolean.TRUE, limit, chunkSize, consumer);
+    }
+
+    /**
+     * 不需要默认前缀，使用通配符模糊遍历Set类型缓存键值对，按批次管道化读取并逐批回调，不会将全部结果一次性加载到内存
+     * * 表示匹配零个或多个字符。
+     * ? 表示匹配一个字符。
+     *
+     * @param keyPattern key通配符
+     * @param limit      限制数量，为null表示不限制
+     * @param chunkSize  每批读取的键数量，为null或者小于等于0时使用默认值
+     * @param consumer   键值对消费者
+     */
+    public static void forEachSetKeyValueNoPrefixByPattern(String keyPattern, Integer limit, Integer chunkSize, BiConsumer<String, Set<Object>> consumer) {
+        forEachSetKeyValueByPattern0(keyPattern, Boolean.FALSE, limit, chunkSize, consumer);
+    }
+
+    /**
+     * forEachSetKeyValueByPattern基础方法
+     *
+     * @param keyPattern key通配符
+     * @param hasPrefix  是否默认前缀
+     * @param limit      限制数量
+     * @param chunkSize  每批读取的键数量
+     * @param consumer   键值对消费者
+     */
+    private static void forEachSetKeyValueByPattern0(String keyPattern, Boolean hasPrefix, Integer limit, Integer chunkSize, BiConsumer<String, Set<Object>> consumer) {
+        verifyParameters(keyPattern, consumer);
+        scanKeyValues0(keyPattern, hasPrefix, KeyPrefixConstants.CACHE_SET_PREFIX, RType.SET, limit, chunkSize, CacheUtils::fetchSets0, consumer);
     }
 
     /**
@@ -2507,6 +3582,188 @@ public class CacheUtils {
         return REDISSON_CLIENT.getSet(Objects.equals(hasPrefix, Boolean.TRUE) ? KeyPrefixConstants.CACHE_SET_PREFIX + key : key).delete();
     }
 
+    /**
+     * 批量设置Set类型缓存
+     *
+     * @param keyValues 缓存键值对
+     */
+    public static <T> void putAllSet(Map<String, Set<T>> keyValues) {
+        putAllSet0(keyValues, Boolean.TRUE, null, null, Boolean.FALSE);
+    }
+
+    /**
+     * 批量设置Set类型缓存，同时设置过期时间
+     *
+     * @param keyValues 缓存键值对
+     * @param expired   过期时间
+     */
+    public static <T> void putAllSet(Map<String, Set<T>> keyValues, Duration expired) {
+        putAllSet0(keyValues, Boolean.TRUE, expired, null, Boolean.FALSE);
+    }
+
+    /**
+     * 批量设置Set类型缓存，同时设置过期时间，按批次通过管道提交
+     *
+     * @param keyValues 缓存键值对
+     * @param expired   过期时间，为null表示不过期
+     * @param chunkSize 每批处理的键数量，为null或者小于等于0时使用默认值
+     * @param atomic    每批命令是否以事务方式原子执行
+     */
+    public static <T> void putAllSet(Map<String, Set<T>> keyValues, Duration expired, Integer chunkSize, Boolean atomic) {
+        putAllSet0(keyValues, Boolean.TRUE, expired, chunkSize, atomic);
+    }
+
+    /**
+     * 不需要默认前缀，批量设置Set类型缓存
+     *
+     * @param keyValues 缓存键值对
+     */
+    public static <T> void putAllSetNoPrefix(Map<String, Set<T>> keyValues) {
+        putAllSet0(keyValues, Boolean.FALSE, null, null, Boolean.FALSE);
+    }
+
+    /**
+     * 不需要默认前缀，批量设置Set类型缓存，同时设置过期时间
+     *
+     * @param keyValues 缓存键值对
+     * @param expired   过期时间
+     */
+    public static <T> void putAllSetNoPrefix(Map<String, Set<T>> keyValues, Duration expired) {
+        putAllSet0(keyValues, Boolean.FALSE, expired, null, Boolean.FALSE);
+    }
+
+    /**
+     * 不需要默认前缀，批量设置Set类型缓存，同时设置过期时间，按批次通过管道提交
+     *
+     * @param keyValues 缓存键值对
+     * @param expired   过期时间，为null表示不过期
+     * @param chunkSize 每批处理的键数量，为null或者小于等于0时使用默认值
+     * @param atomic    每批命令是否以事务方式原子执行
+     */
+    public static <T> void putAllSetNoPrefix(Map<String, Set<T>> keyValues, Duration expired, Integer chunkSize, Boolean atomic) {
+        putAllSet0(keyValues, Boolean.FALSE, expired, chunkSize, atomic);
+    }
+
+    /**
+     * putAllSet基础方法
+     *
+     * @param keyValues 缓存键值对
+     * @param hasPrefix 是否默认前缀
+     * @param expired   过期时间
+     * @param chunkSize 每批处理的键数量，为null或者小于等于0时使用默认值
+     * @param atomic    每批命令是否以事务方式原子执行
+     */
+    private static <T> void putAllSet0(Map<String, Set<T>> keyValues, Boolean hasPrefix, Duration expired, Integer chunkSize, Boolean atomic) {
+        batchPut0(keyValues, Objects.equals(hasPrefix, Boolean.TRUE) ? KeyPrefixConstants.CACHE_SET_PREFIX : null, chunkSize, atomic, (batch, key, value) -> {
+            RSetAsync<T> set = batch.getSet(key);
+            set.addAllAsync(value);
+            if (Objects.nonNull(expired)) {
+                set.expireAsync(expired);
+            }
+        });
+    }
+
+    /**
+     * 批量获取Set类型缓存，不存在的键不会出现在结果中
+     *
+     * @param keys 缓存键集合
+     */
+    public static Map<String, Set<Object>> getAllSet(Collection<String> keys) {
+        return getAllSet0(keys, Boolean.TRUE, null);
+    }
+
+    /**
+     * 批量获取Set类型缓存，按批次通过管道读取，不存在的键不会出现在结果中
+     *
+     * @param keys      缓存键集合
+     * @param chunkSize 每批处理的键数量，为null或者小于等于0时使用默认值
+     */
+    public static Map<String, Set<Object>> getAllSet(Collection<String> keys, Integer chunkSize) {
+        return getAllSet0(keys, Boolean.TRUE, chunkSize);
+    }
+
+    /**
+     * 不需要默认前缀，批量获取Set类型缓存，不存在的键不会出现在结果中
+     *
+     * @param keys 缓存键集合
+     */
+    public static Map<String, Set<Object>> getAllSetNoPrefix(Collection<String> keys) {
+        return getAllSet0(keys, Boolean.FALSE, null);
+    }
+
+    /**
+     * 不需要默认前缀，批量获取Set类型缓存，按批次通过管道读取，不存在的键不会出现在结果中
+     *
+     * @param keys      缓存键集合
+     * @param chunkSize 每批处理的键数量，为null或者小于等于0时使用默认值
+     */
+    public static Map<String, Set<Object>> getAllSetNoPrefix(Collection<String> keys, Integer chunkSize) {
+        return getAllSet0(keys, Boolean.FALSE, chunkSize);
+    }
+
+    /**
+     * getAllSet基础方法
+     *
+     * @param keys      缓存键集合
+     * @param hasPrefix 是否默认前缀
+     * @param chunkSize 每批处理的键数量，为null或者小于等于0时使用默认值
+     */
+    private static Map<String, Set<Object>> getAllSet0(Collection<String> keys, Boolean hasPrefix, Integer chunkSize) {
+        return batchGet0(keys, Objects.equals(hasPrefix, Boolean.TRUE) ? KeyPrefixConstants.CACHE_SET_PREFIX : null, chunkSize, CacheUtils::fetchSets0);
+    }
+
+    /**
+     * 批量删除Set类型缓存，返回实际删除的数量
+     *
+     * @param keys 缓存键集合
+     */
+    public static Long deleteAllSet(Collection<String> keys) {
+        return deleteAllSet0(keys, Boolean.TRUE, null, Boolean.FALSE);
+    }
+
+    /**
+     * 批量删除Set类型缓存，按批次通过管道提交，返回实际删除的数量
+     *
+     * @param keys      缓存键集合
+     * @param chunkSize 每批处理的键数量，为null或者小于等于0时使用默认值
+     * @param atomic    每批命令是否以事务方式原子执行
+     */
+    public static Long deleteAllSet(Collection<String> keys, Integer chunkSize, Boolean atomic) {
+        return deleteAllSet0(keys, Boolean.TRUE, chunkSize, atomic);
+    }
+
+    /**
+     * 不需要默认前缀，批量删除Set类型缓存，返回实际删除的数量
+     *
+     * @param keys 缓存键集合
+     */
+    public static Long deleteAllSetNoPrefix(Collection<String> keys) {
+        return deleteAllSet0(keys, Boolean.FALSE, null, Boolean.FALSE);
+    }
+
+    /**
+     * 不需要默认前缀，批量删除Set类型缓存，按批次通过管道提交，返回实际删除的数量
+     *
+     * @param keys      缓存键集合
+     * @param chunkSize 每批处理的键数量，为null或者小于等于0时使用默认值
+     * @param atomic    每批命令是否以事务方式原子执行
+     */
+    public static Long deleteAllSetNoPrefix(Collection<String> keys, Integer chunkSize, Boolean atomic) {
+        return deleteAllSet0(keys, Boolean.FALSE, chunkSize, atomic);
+    }
+
+    /**
+     * deleteAllSet基础方法
+     *
+     * @param keys      缓存键集合
+     * @param hasPrefix 是否默认前缀
+     * @param chunkSize 每批处理的键数量，为null或者小于等于0时使用默认值
+     * @param atomic    每批命令是否以事务方式原子执行
+     */
+    private static Long deleteAllSet0(Collection<String> keys, Boolean hasPrefix, Integer chunkSize, Boolean atomic) {
+        return batchDelete0(keys, Objects.equals(hasPrefix, Boolean.TRUE) ? KeyPrefixConstants.CACHE_SET_PREFIX : null, chunkSize, atomic);
+    }
+
     /**
      * 使用通配符模糊删除Set类型缓存
      * * 表示匹配零个或多个字符。
@@ -2909,15 +4166,52 @@ public class CacheUtils {
      * @param hasPrefix  是否默认前缀
      * @param limit      限制数量
      */
-    @SuppressWarnings("unchecked")
     private static Map<String, Map<Object, Object>> getMapKeyValuesByPattern0(String keyPattern, Boolean hasPrefix, Integer limit) {
-        verifyParameters(keyPattern);
-        return getMapKeysByPattern0(keyPattern, hasPrefix, limit).stream().map(c -> {
-            HashMap<String, Object> hashMap = new LinkedHashMap<>();
-            hashMap.put("key", c);
-            hashMap.put("value", getMap0(c, hasPrefix));
-            return hashMap;
-        }).collect(Collectors.toMap(map -> (String) map.get("key"), map -> (Map<Object, Object>) map.get("value")));
+        Map<String, Map<Object, Object>> res = new LinkedHashMap<>();
+        forEachMapKeyValueByPattern0(keyPattern, hasPrefix, limit, null, res::put);
+        return res;
+    }
+
+    /**
+     * 使用通配符模糊遍历Map类型缓存键值对，按批次管道化读取并逐批回调，不会将全部结果一次性加载到内存
+     * * 表示匹配零个或多个字符。
+     * ? 表示匹配一个字符。
+     *
+     * @param keyPattern key通配符
+     * @param limit      限制数量，为null表示不限制
+     * @param chunkSize  每批读取的键数量，为null或者小于等于0时使用默认值
+     * @param consumer   键值对消费者
+     */
+    public static void forEachMapKeyValueByPattern(String keyPattern, Integer limit, Integer chunkSize, BiConsumer<String, Map<Object, Object>> consumer) {
+        forEachMapKeyValueByPattern0(keyPattern, Boolean.TRUE, limit, chunkSize, consumer);
+    }
+
+    /**
+     * 不需要默认前缀，使用通配符模糊遍历Map类型缓存键值对，按批次管道化读取并逐批回调，不会将全部结果一次性加载到内存
+     * * 表示匹配零个或多个字符。
+     * ? 表示匹配一个字符。
+     *
+     * @param keyPattern key通配符
+     * @param limit      限制数量，为null表示不限制
+     * @param chunkSize  每批读取的键数量，为null或者小于等于0时使用默认值
+     * @param consumer   键值对消费者
+     */
+    public static void forEachMapKeyValueNoPrefixByPattern(String keyPattern, Integer limit, Integer chunkSize, BiConsumer<String, Map<Object, Object>> consumer) {
+        forEachMapKeyValueByPattern0(keyPattern, Boolean.FALSE, limit, chunkSize, consumer);
+    }
+
+    /**
+     * forEachMapKeyValueByPattern基础方法
+     *
+     * @param keyPattern key通配符
+     * @param hasPrefix  是否默认前缀
+     * @param limit      限制数量
+     * @param chunkSize  每批读取的键数量
+     * @param consumer   键值对消费者
+     */
+    private static void forEachMapKeyValueByPattern0(String keyPattern, Boolean hasPrefix, Integer limit, Integer chunkSize, BiConsumer<String, Map<Object, Object>> consumer) {
+        verifyParameters(keyPattern, consumer);
+        scanKeyValues0(keyPattern, hasPrefix, KeyPrefixConstants.CACHE_MAP_PREFIX, RType.MAP, limit, chunkSize, CacheUtils::fetchMaps0, consumer);
     }
 
     /**
@@ -3010,6 +4304,188 @@ public class CacheUtils {
         return REDISSON_CLIENT.getMap(Objects.equals(hasPrefix, Boolean.TRUE) ? KeyPrefixConstants.CACHE_MAP_PREFIX + key : key).delete();
     }
 
+    /**
+     * 批量设置Map类型缓存
+     *
+     * @param keyValues 缓存键值对
+     */
+    public static <K, V> void putAllMap(Map<String, Map<K, V>> keyValues) {
+        putAllMap0(keyValues, Boolean.TRUE, null, null, Boolean.FALSE);
+    }
+
+    /**
+     * 批量设置Map类型缓存，同时设置过期时间
+     *
+     * @param keyValues 缓存键值对
+     * @param expired   过期时间
+     */
+    public static <K, V> void putAllMap(Map<String, Map<K, V>> keyValues, Duration expired) {
+        putAllMap0(keyValues, Boolean.TRUE, expired, null, Boolean.FALSE);
+    }
+
+    /**
+     * 批量设置Map类型缓存，同时设置过期时间，按批次通过管道提交
+     *
+     * @param keyValues 缓存键值对
+     * @param expired   过期时间，为null表示不过期
+     * @param chunkSize 每批处理的键数量，为null或者小于等于0时使用默认值
+     * @param atomic    每批命令是否以事务方式原子执行
+     */
+    public static <K, V> void putAllMap(Map<String, Map<K, V>> keyValues, Duration expired, Integer chunkSize, Boolean atomic) {
+        putAllMap0(keyValues, Boolean.TRUE, expired, chunkSize, atomic);
+    }
+
+    /**
+     * 不需要默认前缀，批量设置Map类型缓存
+     *
+     * @param keyValues 缓存键值对
+     */
+    public static <K, V> void putAllMapNoPrefix(Map<String, Map<K, V>> keyValues) {
+        putAllMap0(keyValues, Boolean.FALSE, null, null, Boolean.FALSE);
+    }
+
+    /**
+     * 不需要默认前缀，批量设置Map类型缓存，同时设置过期时间
+     *
+     * @param keyValues 缓存键值对
+     * @param expired   过期时间
+     */
+    public static <K, V> void putAllMapNoPrefix(Map<String, Map<K, V>> keyValues, Duration expired) {
+        putAllMap0(keyValues, Boolean.FALSE, expired, null, Boolean.FALSE);
+    }
+
+    /**
+     * 不需要默认前缀，批量设置Map类型缓存，同时设置过期时间，按批次通过管道提交
+     *
+     * @param keyValues 缓存键值对
+     * @param expired   过期时间，为null表示不过期
+     * @param chunkSize 每批处理的键数量，为null或者小于等于0时使用默认值
+     * @param atomic    每批命令是否以事务方式原子执行
+     */
+    public static <K, V> void putAllMapNoPrefix(Map<String, Map<K, V>> keyValues, Duration expired, Integer chunkSize, Boolean atomic) {
+        putAllMap0(keyValues, Boolean.FALSE, expired, chunkSize, atomic);
+    }
+
+    /**
+     * putAllMap基础方法
+     *
+     * @param keyValues 缓存键值对
+     * @param hasPrefix 是否默认前缀
+     * @param expired   过期时间
+     * @param chunkSize 每批处理的键数量，为null或者小于等于0时使用默认值
+     * @param atomic    每批命令是否以事务方式原子执行
+     */
+    private static <K, V> void putAllMap0(Map<String, Map<K, V>> keyValues, Boolean hasPrefix, Duration expired, Integer chunkSize, Boolean atomic) {
+        batchPut0(keyValues, Objects.equals(hasPrefix, Boolean.TRUE) ? KeyPrefixConstants.CACHE_MAP_PREFIX : null, chunkSize, atomic, (batch, key, value) -> {
+            RMapAsync<K, V> map = batch.getMap(key);
+            map.putAllAsync(value);
+            if (Objects.nonNull(expired)) {
+                map.expireAsync(expired);
+            }
+        });
+    }
+
+    /**
+     * 批量获取Map类型缓存，不存在的键不会出现在结果中
+     *
+     * @param keys 缓存键集合
+     */
+    public static Map<String, Map<Object, Object>> getAllMap(Collection<String> keys) {
+        return getAllMap0(keys, Boolean.TRUE, null);
+    }
+
+    /**
+     * 批量获取Map类型缓存，按批次通过管道读取，不存在的键不会出现在结果中
+     *
+     * @param keys      缓存键集合
+     * @param chunkSize 每批处理的键数量，为null或者小于等于0时使用默认值
+     */
+    public static Map<String, Map<Object, Object>> getAllMap(Collection<String> keys, Integer chunkSize) {
+        return getAllMap0(keys, Boolean.TRUE, chunkSize);
+    }
+
+    /**
+     * 不需要默认前缀，批量获取Map类型缓存，不存在的键不会出现在结果中
+     *
+     * @param keys 缓存键集合
+     */
+    public static Map<String, Map<Object, Object>> getAllMapNoPrefix(Collection<String> keys) {
+        return getAllMap0(keys, Boolean.FALSE, null);
+    }
+
+    /**
+     * 不需要默认前缀，批量获取Map类型缓存，按批次通过管道读取，不存在的键不会出现在结果中
+     *
+     * @param keys      缓存键集合
+     * @param chunkSize 每批处理的键数量，为null或者小于等于0时使用默认值
+     */
+    public static Map<String, Map<Object, Object>> getAllMapNoPrefix(Collection<String> keys, Integer chunkSize) {
+        return getAllMap0(keys, Boolean.FALSE, chunkSize);
+    }
+
+    /**
+     * getAllMap基础方法
+     *
+     * @param keys      缓存键集合
+     * @param hasPrefix 是否默认前缀
+     * @param chunkSize 每批处理的键数量，为null或者小于等于0时使用默认值
+     */
+    private static Map<String, Map<Object, Object>> getAllMap0(Collection<String> keys, Boolean hasPrefix, Integer chunkSize) {
+        return batchGet0(keys, Objects.equals(hasPrefix, Boolean.TRUE) ? KeyPrefixConstants.CACHE_MAP_PREFIX : null, chunkSize, CacheUtils::fetchMaps0);
+    }
+
+    /**
+     * 批量删除Map类型缓存，返回实际删除的数量
+     *
+     * @param keys 缓存键集合
+     */
+    public static Long deleteAllMap(Collection<String> keys) {
+        return deleteAllMap0(keys, Boolean.TRUE, null, Boolean.FALSE);
+    }
+
+    /**
+     * 批量删除Map类型缓存，按批次通过管道提交，返回实际删除的数量
+     *
+     * @param keys      缓存键集合
+     * @param chunkSize 每批处理的键数量，为null或者小于等于0时使用默认值
+     * @param atomic    每批命令是否以事务方式原子执行
+     */
+    public static Long deleteAllMap(Collection<String> keys, Integer chunkSize, Boolean atomic) {
+        return deleteAllMap0(keys, Boolean.TRUE, chunkSize, atomic);
+    }
+
+    /**
+     * 不需要默认前缀，批量删除Map类型缓存，返回实际删除的数量
+     *
+     * @param keys 缓存键集合
+     */
+    public static Long deleteAllMapNoPrefix(Collection<String> keys) {
+        return deleteAllMap0(keys, Boolean.FALSE, null, Boolean.FALSE);
+    }
+
+    /**
+     * 不需要默认前缀，批量删除Map类型缓存，按批次通过管道提交，返回实际删除的数量
+     *
+     * @param keys      缓存键集合
+     * @param chunkSize 每批处理的键数量，为null或者小于等于0时使用默认值
+     * @param atomic    每批命令是否以事务方式原子执行
+     */
+    public static Long deleteAllMapNoPrefix(Collection<String> keys, Integer chunkSize, Boolean atomic) {
+        return deleteAllMap0(keys, Boolean.FALSE, chunkSize, atomic);
+    }
+
+    /**
+     * deleteAllMap基础方法
+     *
+     * @param keys      缓存键集合
+     * @param hasPrefix 是否默认前缀
+     * @param chunkSize 每批处理的键数量，为null或者小于等于0时使用默认值
+     * @param atomic    每批命令是否以事务方式原子执行
+     */
+    private static Long deleteAllMap0(Collection<String> keys, Boolean hasPrefix, Integer chunkSize, Boolean atomic) {
+        return batchDelete0(keys, Objects.equals(hasPrefix, Boolean.TRUE) ? KeyPrefixConstants.CACHE_MAP_PREFIX : null, chunkSize, atomic);
+    }
+
     /**
      * 使用通配符模糊删除Map类型缓存
      * * 表示匹配零个或多个字符。
@@ -3043,6 +4519,389 @@ public class CacheUtils {
         REDISSON_CLIENT.getKeys().deleteByPattern(Objects.equals(hasPrefix, Boolean.TRUE) ? KeyPrefixConstants.CACHE_MAP_PREFIX + keyPattern : keyPattern);
     }
 
+    /**
+     * 按批次扫描并读取键值对，每凑满一批键就通过一次管道请求读取其值，值为空（读取前已被删除）的键会被跳过
+     *
+     * @param keyPattern key通配符
+     * @param hasPrefix  是否默认前缀
+     * @param prefix     默认前缀
+     * @param type       键的数据类型
+     * @param limit      限制数量
+     * @param chunkSize  每批读取的键数量
+     * @param fetcher    批量读取方法，入参为完整键，返回完整键和值的映射
+     * @param consumer   键值对消费者
+     */
+    private static <V> void scanKeyValues0(String keyPattern, Boolean hasPrefix, String prefix, RType type, Integer limit, Integer chunkSize, Function<String[], Map<String, V>> fetcher, BiConsumer<String, V> consumer) {
+        boolean withPrefix = Objects.equals(hasPrefix, Boolean.TRUE);
+        int size = Objects.isNull(chunkSize) || chunkSize <= 0 ? DEFAULT_CHUNK_SIZE : chunkSize;
+        KeysScanOptions keysScanOptions = KeysScanOptions
+                .defaults()
+                .type(type)
+                .chunkSize(size)
+                .pattern(withPrefix ? prefix + keyPattern : keyPattern);
+        if (Objects.nonNull(limit)) {
+            keysScanOptions.limit(limit);
+        }
+        List<String> chunk = new ArrayList<>(size);
+        for (String key : REDISSON_CLIENT.getKeys().getKeys(keysScanOptions)) {
+            chunk.add(key);
+            if (chunk.size() >= size) {
+                consumeChunk0(chunk, withPrefix ? prefix : null, fetcher, consumer);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            consumeChunk0(chunk, withPrefix ? prefix : null, fetcher, consumer);
+        }
+    }
+
+    /**
+     * 读取一批键的值并回调
+     *
+     * @param keys     完整键
+     * @param prefix   需要去除的前缀，为null表示不去除
+     * @param fetcher  批量读取方法
+     * @param consumer 键值对消费者
+     */
+    private static <V> void consumeChunk0(List<String> keys, String prefix, Function<String[], Map<String, V>> fetcher, BiConsumer<String, V> consumer) {
+        Map<String, V> values = fetcher.apply(keys.toArray(new String[0]));
+        for (String key : keys) {
+            V value = values.get(key);
+            if (Objects.isNull(value)) {
+                continue;
+            }
+            consumer.accept(Objects.nonNull(prefix) && key.startsWith(prefix) ? key.substring(prefix.length()) : key, value);
+        }
+    }
+
+    /**
+     * 同一JVM中合并同一个键的并发加载，加载期间到达的线程等待并共享首个线程的结果或异常
+     *
+     * @param fullKey  完整键
+     * @param supplier 加载方法
+     */
+    private static Object singleFlight0(String fullKey, Supplier<Object> supplier) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = IN_FLIGHT_LOADS.putIfAbsent(fullKey, future);
+        if (Objects.nonNull(existing)) {
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new CustomizeRedissonException(ReturnCode.FAIL, "缓存加载失败", e.getCause());
+            }
+        }
+        try {
+            Object value = supplier.get();
+            future.complete(value);
+            return value;
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            IN_FLIGHT_LOADS.remove(fullKey, future);
+        }
+    }
+
+    /**
+     * 加载数据，需要分布式合并加载时先获取分布式锁，获取锁后再次检查缓存，避免重复加载
+     *
+     * @param fullKey 完整键
+     * @param expired 过期时间
+     * @param loader  加载方法
+     * @param options 加载选项
+     */
+    private static Object load0(String fullKey, Duration expired, Supplier<?> loader, LoadOptions options) {
+        if (!Objects.equals(options.getDistributed(), Boolean.TRUE)) {
+            return loadAndStore0(fullKey, expired, loader, options);
+        }
+        Supplier<Object> recheckAndLoad = () -> {
+            LoadSnapshot snapshot = readSnapshot0(fullKey);
+            if (Objects.nonNull(snapshot.value) || snapshot.nullCached) {
+                return snapshot.value;
+            }
+            return loadAndStore0(fullKey, expired, loader, options);
+        };
+        // 等待锁超时说明其他节点加载较慢，此时再次检查缓存，仍不存在则直接加载，避免请求失败
+        return LockUtils.lockEvent(KeyPrefixConstants.CACHE_LOAD_LOCK_PREFIX + fullKey, new TimeModel(options.getLockWaitTime(), TimeUnit.MILLISECONDS), recheckAndLoad, recheckAndLoad);
+    }
+
+    /**
+     * 调用加载方法并写入缓存，结果为空时删除旧值，并按照选项写入空结果标记
+     *
+     * @param fullKey 完整键
+     * @param expired 过期时间
+     * @param loader  加载方法
+     * @param options 加载选项
+     */
+    private static Object loadAndStore0(String fullKey, Duration expired, Supplier<?> loader, LoadOptions options) {
+        Object value = loader.get();
+        RBatch batch = REDISSON_CLIENT.createBatch();
+        RBucketAsync<String> nullBucket = batch.getBucket(KeyPrefixConstants.CACHE_NULL_PREFIX + fullKey, StringCodec.INSTANCE);
+        if (Objects.nonNull(value)) {
+            batch.getBucket(fullKey).setAsync(value, expired);
+            nullBucket.deleteAsync();
+        } else {
+            batch.getBucket(fullKey).deleteAsync();
+            if (Objects.nonNull(options.getNullExpired())) {
+                nullBucket.setAsync(Boolean.TRUE.toString(), options.getNullExpired());
+            }
+        }
+        batch.execute();
+        return value;
+    }
+
+    /**
+     * 通过一次管道请求读取缓存值、剩余过期时间以及空结果标记
+     *
+     * @param fullKey 完整键
+     */
+    private static LoadSnapshot readSnapshot0(String fullKey) {
+        RBatch batch = REDISSON_CLIENT.createBatch();
+        RBucketAsync<Object> bucket = batch.getBucket(fullKey);
+        RFuture<Object> valueFuture = bucket.getAsync();
+        RFuture<Long> remainTimeFuture = bucket.remainTimeToLiveAsync();
+        RFuture<Boolean> nullFuture = batch.getBucket(KeyPrefixConstants.CACHE_NULL_PREFIX + fullKey, StringCodec.INSTANCE).isExistsAsync();
+        batch.execute();
+        return new LoadSnapshot(valueFuture.toCompletableFuture().join(), remainTimeFuture.toCompletableFuture().join(), Boolean.TRUE.equals(nullFuture.toCompletableFuture().join()));
+    }
+
+    /**
+     * 判断是否需要提前刷新，剩余过期时间进入刷新窗口后，越接近过期触发概率越高，避免多个节点在同一时刻集中刷新
+     *
+     * @param remainTime 剩余过期时间，单位：毫秒
+     * @param expired    过期时间
+     * @param options    加载选项
+     */
+    private static boolean shouldRefreshAhead0(long remainTime, Duration expired, LoadOptions options) {
+        if (Objects.isNull(options.getRefreshAheadRatio()) || options.getRefreshAheadRatio() <= 0 || remainTime < 0) {
+            return false;
+        }
+        double window = expired.toMillis() * Math.min(options.getRefreshAheadRatio(), 1D);
+        return remainTime < window && ThreadLocalRandom.current().nextDouble() >= remainTime / window;
+    }
+
+    /**
+     * 在后台提前刷新缓存，同一个键同时只会有一个刷新任务，线程池已满时放弃本次刷新
+     *
+     * @param fullKey 完整键
+     * @param expired 过期时间
+     * @param loader  加载方法
+     * @param options 加载选项
+     */
+    private static void refreshAhead0(String fullKey, Duration expired, Supplier<?> loader, LoadOptions options) {
+        if (!REFRESHING_KEYS.add(fullKey)) {
+            return;
+        }
+        try {
+            REFRESH_THREAD_POOL.execute(() -> {
+                try {
+                    loadAndStore0(fullKey, expired, loader, options);
+                } catch (Exception e) {
+                    log.warn("缓存[{}]提前刷新失败：{}", fullKey, e.getMessage());
+                } finally {
+                    REFRESHING_KEYS.remove(fullKey);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            REFRESHING_KEYS.remove(fullKey);
+        }
+    }
+
+    /**
+     * 校验数据类型
+     *
+     * @param value 缓存值
+     * @param type  数据类型，为null表示不校验
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T checkType0(Object value, Class<T> type) {
+        if (Objects.isNull(value) || Objects.isNull(type) || type.isInstance(value)) {
+            return (T) value;
+        }
+        throw new CustomizeRedissonException(ReturnCode.FAIL, "数据类型不一致");
+    }
+
+    /**
+     * 按批次通过管道批量写入，写入前会先校验全部键值对，避免出现部分写入
+     *
+     * @param keyValues 缓存键值对
+     * @param prefix    需要添加的前缀，为null表示不添加
+     * @param chunkSize 每批处理的键数量
+     * @param atomic    每批命令是否以事务方式原子执行
+     * @param action    将单个键值对写入批次的方法，入参为完整键
+     */
+    private static <V> void batchPut0(Map<String, ? extends V> keyValues, String prefix, Integer chunkSize, Boolean atomic, BatchPutAction<V> action) {
+        verifyParameters(keyValues);
+        keyValues.forEach((key, value) -> verifyParameters(key, value));
+        forEachChunk0(new ArrayList<>(keyValues.entrySet()), chunkSize, chunk -> {
+            RBatch batch = createBatch0(atomic);
+            for (Map.Entry<String, ? extends V> entry : chunk) {
+                action.accept(batch, Objects.isNull(prefix) ? entry.getKey() : prefix + entry.getKey(), entry.getValue());
+            }
+            batch.execute();
+        });
+    }
+
+    /**
+     * 按批次批量读取，结果中的键不含前缀，值为空的键会被跳过
+     *
+     * @param keys      缓存键集合
+     * @param prefix    需要添加的前缀，为null表示不添加
+     * @param chunkSize 每批处理的键数量
+     * @param fetcher   批量读取方法，入参为完整键，返回完整键和值的映射
+     */
+    private static <V> Map<String, V> batchGet0(Collection<String> keys, String prefix, Integer chunkSize, Function<String[], Map<String, V>> fetcher) {
+        verifyParameters(keys);
+        keys.forEach(CacheUtils::verifyParameters);
+        Map<String, V> res = new LinkedHashMap<>();
+        forEachChunk0(new ArrayList<>(keys), chunkSize, chunk -> {
+            String[] fullKeys = new String[chunk.size()];
+            for (int i = 0; i < fullKeys.length; i++) {
+                fullKeys[i] = Objects.isNull(prefix) ? chunk.get(i) : prefix + chunk.get(i);
+            }
+            Map<String, V> values = fetcher.apply(fullKeys);
+            for (int i = 0; i < fullKeys.length; i++) {
+                V value = values.get(fullKeys[i]);
+                if (Objects.nonNull(value)) {
+                    res.put(chunk.get(i), value);
+                }
+            }
+        });
+        return res;
+    }
+
+    /**
+     * 按批次通过管道批量删除，返回实际删除的数量
+     *
+     * @param keys      缓存键集合
+     * @param prefix    需要添加的前缀，为null表示不添加
+     * @param chunkSize 每批处理的键数量
+     * @param atomic    每批命令是否以事务方式原子执行
+     */
+    private static Long batchDelete0(Collection<String> keys, String prefix, Integer chunkSize, Boolean atomic) {
+        verifyParameters(keys);
+        keys.forEach(CacheUtils::verifyParameters);
+        long[] deleted = {0L};
+        forEachChunk0(new ArrayList<>(keys), chunkSize, chunk -> {
+            RBatch batch = createBatch0(atomic);
+            List<RFuture<Boolean>> futures = new ArrayList<>(chunk.size());
+            for (String key : chunk) {
+                futures.add(batch.getBucket(Objects.isNull(prefix) ? key : prefix + key).deleteAsync());
+            }
+            batch.execute();
+            for (RFuture<Boolean> future : futures) {
+                if (Boolean.TRUE.equals(future.toCompletableFuture().join())) {
+                    deleted[0]++;
+                }
+            }
+        });
+        return deleted[0];
+    }
+
+    /**
+     * 按批次切分处理
+     *
+     * @param items     待处理元素
+     * @param chunkSize 每批处理的数量，为null或者小于等于0时使用默认值
+     * @param action    每批的处理方法
+     */
+    private static <E> void forEachChunk0(List<E> items, Integer chunkSize, Consumer<List<E>> action) {
+        int size = Objects.isNull(chunkSize) || chunkSize <= 0 ? DEFAULT_CHUNK_SIZE : chunkSize;
+        for (int from = 0; from < items.size(); from += size) {
+            action.accept(items.subList(from, Math.min(from + size, items.size())));
+        }
+    }
+
+    /**
+     * 创建批次，原子执行时使用MULTI/EXEC包裹每一批命令
+     *
+     * @param atomic 是否原子执行
+     */
+    private static RBatch createBatch0(Boolean atomic) {
+        BatchOptions batchOptions = BatchOptions.defaults();
+        if (Objects.equals(atomic, Boolean.TRUE)) {
+            batchOptions.executionMode(BatchOptions.ExecutionMode.IN_MEMORY_ATOMIC);
+        }
+        return REDISSON_CLIENT.createBatch(batchOptions);
+    }
+
+    /**
+     * 使用MGET批量读取对象类型缓存
+     *
+     * @param keys 完整键
+     */
+    private static <V> Map<String, V> fetchBuckets0(String[] keys) {
+        return REDISSON_CLIENT.getBuckets().get(keys);
+    }
+
+    /**
+     * 使用MGET批量读取String类型缓存
+     *
+     * @param keys 完整键
+     */
+    private static Map<String, String> fetchStringBuckets0(String[] keys) {
+        return REDISSON_CLIENT.getBuckets(StringCodec.INSTANCE).get(keys);
+    }
+
+    /**
+     * 使用管道批量读取List类型缓存
+     *
+     * @param keys 完整键
+     */
+    private static Map<String, List<Object>> fetchLists0(String[] keys) {
+        RBatch batch = REDISSON_CLIENT.createBatch();
+        Map<String, RFuture<List<Object>>> futures = new LinkedHashMap<>();
+        for (String key : keys) {
+            futures.put(key, batch.<Object>getList(key).readAllAsync());
+        }
+        batch.execute();
+        return joinFutures0(futures);
+    }
+
+    /**
+     * 使用管道批量读取Set类型缓存
+     *
+     * @param keys 完整键
+     */
+    private static Map<String, Set<Object>> fetchSets0(String[] keys) {
+        RBatch batch = REDISSON_CLIENT.createBatch();
+        Map<String, RFuture<Set<Object>>> futures = new LinkedHashMap<>();
+        for (String key : keys) {
+            futures.put(key, batch.<Object>getSet(key).readAllAsync());
+        }
+        batch.execute();
+        return joinFutures0(futures);
+    }
+
+    /**
+     * 使用管道批量读取Map类型缓存
+     *
+     * @param keys 完整键
+     */
+    private static Map<String, Map<Object, Object>> fetchMaps0(String[] keys) {
+        RBatch batch = REDISSON_CLIENT.createBatch();
+        Map<String, RFuture<Map<Object, Object>>> futures = new LinkedHashMap<>();
+        for (String key : keys) {
+            futures.put(key, batch.<Object, Object>getMap(key).readAllMapAsync());
+        }
+        batch.execute();
+        return joinFutures0(futures);
+    }
+
+    /**
+     * 收集已执行管道中的结果
+     *
+     * @param futures 键和异步结果的映射
+     */
+    private static <V> Map<String, V> joinFutures0(Map<String, RFuture<V>> futures) {
+        Map<String, V> res = new HashMap<>(Math.max(futures.size() * 4 / 3 + 1, 16));
+        futures.forEach((key, future) -> res.put(key, future.toCompletableFuture().join()));
+        return res;
+    }
+
     /**
      * 验证参数是否含空
      *
@@ -3054,4 +4913,46 @@ public class CacheUtils {
         }
     }
 
+    /**
+     * 缓存加载快照
+     */
+    @AllArgsConstructor
+    private static class LoadSnapshot {
+
+        /**
+         * 缓存值
+         */
+        private final Object value;
+
+        /**
+         * 剩余过期时间，单位：毫秒，-1表示永不过期，-2表示不存在
+         */
+        private final long remainTime;
+
+        /**
+         * 是否存在空结果标记
+         */
+        private final boolean nullCached;
+
+    }
+
+    /**
+     * 批量写入时将单个键值对写入批次的方法
+     *
+     * @param <V> 值类型
+     */
+    @FunctionalInterface
+    private interface BatchPutAction<V> {
+
+        /**
+         * 写入批次
+         *
+         * @param batch 批次
+         * @param key   完整键
+         * @param value 缓存值
+         */
+        void accept(RBatch batch, String key, V value);
+
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+package top.sharehome.springbootinittemplate.utils.redisson.cache.model;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Duration;
+
+/**
+ * 缓存加载选项实体类
+ *
+ * @author AntonyCheng
+ */
+@Data
+@Accessors(chain = true)
+public class LoadOptions implements Serializable {
+
+    /**
+     * 是否使用分布式锁在多个节点之间合并加载，默认只在当前JVM中合并加载
+     */
+    private Boolean distributed = false;
+
+    /**
+     * 等待分布式锁的最大时间，单位：毫秒，超时后再次读取缓存，仍不存在则直接加载
+     */
+    private Long lockWaitTime = 3000L;
+
+    /**
+     * 提前刷新比例，剩余过期时间低于总过期时间的该比例后，按照越接近过期概率越高的方式在后台提前刷新，0表示不提前刷新
+     */
+    private Double refreshAheadRatio = 0D;
+
+    /**
+     * 空结果缓存时间，为null表示不缓存空结果
+     */
+    private Duration nullExpired;
+
+    @Serial
+    private static final long serialVersionUID = -1645139781407853512L;
+
+}
@@ -1,11 +1,15 @@
 package top.sharehome.springbootinittemplate.utils.redisson.rateLimit;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import lombok.AllArgsConstructor;
+import org.redisson.api.RBatch;
 import org.redisson.api.RRateLimiter;
 import org.redisson.api.RateType;
 import org.redisson.api.RedissonClient;
+import org.redisson.client.RedisException;
 import org.springframework.context.annotation.Conditional;
 import org.springframework.stereotype.Component;
 import top.sharehome.springbootinittemplate.common.base.ReturnCode;
@@ -16,8 +20,9 @@ import top.sharehome.springbootinittemplate.utils.redisson.KeyPrefixConstants;
 import top.sharehome.springbootinittemplate.utils.redisson.rateLimit.model.TimeModel;
 
 import java.time.Duration;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 限流工具类
@@ -34,6 +39,27 @@ public class RateLimitUtils {
      */
     private static final RedissonClient REDISSON_CLIENT = SpringContextHolder.getBean(RedissonClient.class);
 
+    /**
+     * 已经设置过速率的限流器，值为速率签名，避免每次限流都重复发送trySetRate
+     */
+    private static final Cache<String, String> INITIALIZED_RATES = Caffeine.newBuilder()
+            .expireAfterAccess(10, TimeUnit.MINUTES)
+            .maximumSize(100000)
+            .build();
+
+    /**
+     * 租约有效期为限流单位时间的几分之一
+     */
+    private static final long LEASE_VALIDITY_DIVISOR = 4L;
+
+    /**
+     * 本地租约令牌桶
+     */
+    private static final Cache<String, LocalBucket> LOCAL_BUCKETS = Caffeine.newBuilder()
+            .expireAfterAccess(10, TimeUnit.MINUTES)
+            .maximumSize(100000)
+            .build();
+
     /**
      * 初始化参数以及校验参数
      */
@@ -55,6 +81,8 @@ public class RateLimitUtils {
      * 删除Redis中的工具类限流键值对
      */
     private void deleteUtilsRateLimitValues() {
+        INITIALIZED_RATES.invalidateAll();
+        LOCAL_BUCKETS.invalidateAll();
         REDISSON_CLIENT.getKeys().deleteByPattern("{" + KeyPrefixConstants.RATE_LIMIT_UTILS_PREFIX + "*}:permits");
         REDISSON_CLIENT.getKeys().deleteByPattern("{" + KeyPrefixConstants.RATE_LIMIT_UTILS_PREFIX + "*}:value");
         REDISSON_CLIENT.getKeys().deleteByPattern(KeyPrefixConstants.RATE_LIMIT_UTILS_PREFIX + "*");
@@ -72,9 +100,7 @@ public class RateLimitUtils {
         if (rate < permit) {
             throw new CustomizeRedissonException(ReturnCode.PARAMETER_FORMAT_MISMATCH, "令牌数不足");
         }
-        RRateLimiter rateLimiter = REDISSON_CLIENT.getRateLimiter(KeyPrefixConstants.RATE_LIMIT_UTILS_PREFIX + key);
-        rateLimiter.trySetRate(RateType.OVERALL, rate, Duration.ofMillis(rateInterval.toMillis()));
-        boolean canOp = rateLimiter.tryAcquire(permit);
+        boolean canOp = tryAcquireRemote(KeyPrefixConstants.RATE_LIMIT_UTILS_PREFIX + key, rateInterval, rate, permit);
         if (!canOp) {
             throw new CustomizeRedissonException(ReturnCode.TOO_MANY_REQUESTS);
         }
@@ -91,17 +117,173 @@ public class RateLimitUtils {
      */
     public static void doRateLimitAndExpire(String key, TimeModel rateInterval, Long rate, Long permit, TimeModel expire) {
         doRateLimit(key, rateInterval, rate, permit);
-        String baseKey = KeyPrefixConstants.RATE_LIMIT_UTILS_PREFIX + key;
-        List<String> uselessCacheKeys = new ArrayList<>() {
-            {
-                add(baseKey);
-                add("{" + baseKey + "}:permits");
-                add("{" + baseKey + "}:value");
+        expireRemote(KeyPrefixConstants.RATE_LIMIT_UTILS_PREFIX + key, rateInterval, expire);
+    }
+
+    /**
+     * 本地租约限流
+     * 每次从Redis中批量租借lease个令牌放入本地令牌桶，本地令牌足够时直接扣减，不需要访问Redis，只有本地令牌耗尽或者租约过期时才会再次访问Redis，
+     * 租约有效期为四分之一个限流单位时间，过期后未用完的令牌直接作废；
+     * 注意：租借的令牌在Redis中计入租借时刻，但是在本地使用时刻才真正放行，所以在任意一个限流单位时间内，集群最多可能放行
+     * rate + 节点数 × (lease - permit) 次，超出部分只来自该时间段开始前四分之一个限流单位时间内租借、尚未用完的令牌，lease越小越接近rate，
+     * 适合单个限流键访问量很大、能够接受少量超发以及节点之间令牌分配略不均匀的场景
+     *
+     * @param key          区分不同的限流器，比如不同的用户 id 应该分别统计
+     * @param rateInterval 限流单位时间
+     * @param rate         限流单位时间内访问次数，也能看做单位时间内系统分发的令牌数
+     * @param permit       每个操作所要消耗的令牌数，该参数值不能大于rate参数值
+     * @param lease        每次从Redis中租借的令牌数，取值会被限制在[permit, rate]之间
+     */
+    public static void doLeaseRateLimit(String key, TimeModel rateInterval, Long rate, Long permit, Long lease) {
+        doLeaseRateLimit0(key, rateInterval, rate, permit, lease, null);
+    }
+
+    /**
+     * 本地租约限流并且为限流键值设定过期时间，只有访问Redis租借令牌时才会刷新过期时间
+     *
+     * @param key          区分不同的限流器，比如不同的用户 id 应该分别统计
+     * @param rateInterval 限流单位时间
+     * @param rate         限流单位时间内访问次数，也能看做单位时间内系统分发的令牌数
+     * @param permit       每个操作所要消耗的令牌数，该参数值不能大于rate参数值
+     * @param lease        每次从Redis中租借的令牌数，取值会被限制在[permit, rate]之间
+     * @param expire       限流器键值过期时间，过期时间不能小于限流单位时间，否则默认使用限流单位时间作为过期时间
+     */
+    public static void doLeaseRateLimitAndExpire(String key, TimeModel rateInterval, Long rate, Long permit, Long lease, TimeModel expire) {
+        doLeaseRateLimit0(key, rateInterval, rate, permit, lease, expire);
+    }
+
+    /**
+     * 本地租约限流基础方法
+     *
+     * @param key          区分不同的限流器
+     * @param rateInterval 限流单位时间
+     * @param rate         限流单位时间内访问次数
+     * @param permit       每个操作所要消耗的令牌数
+     * @param lease        每次从Redis中租借的令牌数
+     * @param expire       限流器键值过期时间，为null表示不设置过期时间
+     */
+    private static void doLeaseRateLimit0(String key, TimeModel rateInterval, Long rate, Long permit, Long lease, TimeModel expire) {
+        if (rate < permit) {
+            throw new CustomizeRedissonException(ReturnCode.PARAMETER_FORMAT_MISMATCH, "令牌数不足");
+        }
+        String limiterKey = KeyPrefixConstants.RATE_LIMIT_UTILS_PREFIX + key;
+        LocalBucket localBucket = LOCAL_BUCKETS.get(limiterKey, k -> new LocalBucket());
+        if (localBucket.tryAcquire(permit)) {
+            return;
+        }
+        // 本地令牌不足时只允许一个线程去Redis租借令牌，其他线程等待后优先使用新租借的令牌
+        synchronized (localBucket) {
+            if (localBucket.tryAcquire(permit)) {
+                return;
+            }
+            long leaseSize = Math.min(Math.max(Objects.isNull(lease) ? permit : lease, permit), rate);
+            boolean canOp;
+            if (tryAcquireRemote(limiterKey, rateInterval, rate, leaseSize)) {
+                // 缩短租约有效期，限制租借令牌跨越限流窗口使用的时间
+                localBucket.refill(leaseSize - permit, System.currentTimeMillis() + Math.max(1L, rateInterval.toMillis() / LEASE_VALIDITY_DIVISOR));
+                canOp = true;
+            } else {
+                // 剩余令牌不足一个租约时按需获取，避免在临近限流阈值时拒绝本可以放行的请求
+                canOp = leaseSize > permit && tryAcquireRemote(limiterKey, rateInterval, rate, permit);
+            }
+            if (Objects.nonNull(expire)) {
+                expireRemote(limiterKey, rateInterval, expire);
+            }
+            if (!canOp) {
+                throw new CustomizeRedissonException(ReturnCode.TOO_MANY_REQUESTS);
+            }
+        }
+    }
+
+    /**
+     * 从Redis限流器中获取令牌，限流器速率只在首次使用或者限流器键值过期后设置一次
+     *
+     * @param limiterKey   限流器键
+     * @param rateInterval 限流单位时间
+     * @param rate         限流单位时间内访问次数
+     * @param permit       需要获取的令牌数
+     */
+    private static boolean tryAcquireRemote(String limiterKey, TimeModel rateInterval, Long rate, Long permit) {
+        RRateLimiter rateLimiter = REDISSON_CLIENT.getRateLimiter(limiterKey);
+        String rateSignature = rate + "/" + rateInterval.toMillis();
+        if (!rateSignature.equals(INITIALIZED_RATES.getIfPresent(limiterKey))) {
+            rateLimiter.trySetRate(RateType.OVERALL, rate, Duration.ofMillis(rateInterval.toMillis()));
+            INITIALIZED_RATES.put(limiterKey, rateSignature);
+        }
+        try {
+            return rateLimiter.tryAcquire(permit);
+        } catch (RedisException e) {
+            if (Objects.isNull(e.getMessage()) || !e.getMessage().contains("RateLimiter is not initialized")) {
+                throw e;
+            }
+            // 限流器键值已过期或者被删除，重新设置速率后再获取一次
+            rateLimiter.trySetRate(RateType.OVERALL, rate, Duration.ofMillis(rateInterval.toMillis()));
+            INITIALIZED_RATES.put(limiterKey, rateSignature);
+            return rateLimiter.tryAcquire(permit);
+        }
+    }
+
+    /**
+     * 通过一次管道请求为限流器相关键值设定过期时间
+     *
+     * @param limiterKey   限流器键
+     * @param rateInterval 限流单位时间
+     * @param expire       限流器键值过期时间
+     */
+    private static void expireRemote(String limiterKey, TimeModel rateInterval, TimeModel expire) {
+        Duration duration = Duration.ofMillis(Math.max(expire.toMillis(), rateInterval.toMillis()));
+        RBatch batch = REDISSON_CLIENT.createBatch();
+        batch.getBucket(limiterKey).expireAsync(duration);
+        batch.getBucket("{" + limiterKey + "}:permits").expireAsync(duration);
+        batch.getBucket("{" + limiterKey + "}:value").expireAsync(duration);
+        batch.execute();
+    }
+
+    /**
+     * 本地令牌桶，令牌扣减使用CAS无锁完成
+     */
+    private static class LocalBucket {
+
+        /**
+         * 剩余令牌数
+         */
+        private final AtomicLong permits = new AtomicLong();
+
+        /**
+         * 租约过期时间戳，单位：毫秒
+         */
+        private volatile long expireAt = 0L;
+
+        /**
+         * 尝试扣减令牌
+         *
+         * @param permit 需要扣减的令牌数
+         */
+        private boolean tryAcquire(long permit) {
+            if (System.currentTimeMillis() >= expireAt) {
+                return false;
             }
-        };
-        for (String uselessCacheKey : uselessCacheKeys) {
-            REDISSON_CLIENT.getBucket(uselessCacheKey).expire(Duration.ofMillis(Math.max(expire.toMillis(), rateInterval.toMillis())));
+            long current;
+            do {
+                current = permits.get();
+                if (current < permit) {
+                    return false;
+                }
+            } while (!permits.compareAndSet(current, current - permit));
+            return true;
+        }
+
+        /**
+         * 重新填充令牌，旧租约剩余的令牌直接作废
+         *
+         * @param permits  令牌数
+         * @param expireAt 租约过期时间戳
+         */
+        private void refill(long permits, long expireAt) {
+            this.permits.set(permits);
+            this.expireAt = expireAt;
         }
+
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,312 @@
+package top.sharehome.springbootinittemplate.utils.servlet;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.filter.PropertyFilter;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.multipart.MultipartFile;
+import top.sharehome.springbootinittemplate.common.base.R;
+
+import java.lang.reflect.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 请求参数捕获工具类
+ * 供日志、幂等等切面使用，按方法预先计算哪些参数需要跳过（文件、请求/响应对象、校验结果），按类型预先计算哪些字段可能持有这类对象，
+ * 然后一次序列化即可得到屏蔽了指定字段的JSON，避免“序列化->反序列化为Map->删除字段->再序列化”的重复开销以及每次请求的反射遍历
+ *
+ * @author AntonyCheng
+ */
+@Slf4j
+public class ArgumentCaptureUtils {
+
+    /**
+     * 不可用JSON表达的参数类型和一些Http访问参数类型
+     */
+    private static final Class<?>[] FILTER_TYPES = {MultipartFile.class, ServletRequest.class, ServletResponse.class, BindingResult.class};
+
+    /**
+     * 方法参数捕获计划缓存，true表示该位置的参数直接跳过
+     */
+    private static final Map<Method, boolean[]> METHOD_PLAN_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * 类型捕获计划缓存
+     */
+    private static final Map<Class<?>, ClassPlan> CLASS_PLAN_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * 捕获方法参数，将需要记录的参数以JSON形式用逗号拼接
+     *
+     * @param method     方法
+     * @param args       参数值
+     * @param maskParams 需要屏蔽的顶层字段名称
+     * @param maxLength  最大长度，拼接结果超过该长度后不再序列化后续参数，小于等于0表示不限制，截断由调用方自行处理
+     */
+    public static String captureArgs(Method method, Object[] args, Set<String> maskParams, int maxLength) {
+        if (Objects.isNull(args) || args.length == 0) {
+            return "";
+        }
+        boolean[] skips = METHOD_PLAN_CACHE.computeIfAbsent(method, ArgumentCaptureUtils::buildMethodPlan);
+        StringBuilder builder = new StringBuilder();
+        boolean first = true;
+        for (int i = 0; i < args.length; i++) {
+            Object arg = args[i];
+            if (Objects.isNull(arg) || (i < skips.length && skips[i]) || isFilterObject(arg)) {
+                continue;
+            }
+            if (!first) {
+                builder.append(',');
+            }
+            first = false;
+            builder.append(toMaskedJson(arg, arg, maskParams));
+            if (maxLength > 0 && builder.length() > maxLength) {
+                break;
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 捕获请求参数Map（多值参数使用逗号拼接）
+     *
+     * @param parameterMap 请求参数
+     * @param maskParams   需要屏蔽的字段名称
+     */
+    public static String captureParameterMap(Map<String, String[]> parameterMap, Set<String> maskParams) {
+        Map<String, String> map = new HashMap<>(Math.max(parameterMap.size() * 4 / 3 + 1, 16));
+        for (Map.Entry<String, String[]> entry : parameterMap.entrySet()) {
+            if (Objects.isNull(maskParams) || !maskParams.contains(entry.getKey())) {
+                map.put(entry.getKey(), StringUtils.join(entry.getValue(), ","));
+            }
+        }
+        return JSON.toJSONString(map);
+    }
+
+    /**
+     * 捕获响应结果，如果是统一响应对象R，则屏蔽其data中的指定字段
+     *
+     * @param result     响应结果
+     * @param maskParams 需要屏蔽的字段名称
+     */
+    public static String captureResult(Object result, Set<String> maskParams) {
+        if (Objects.isNull(result)) {
+            return "{}";
+        }
+        Object maskTarget = result instanceof R<?> r ? r.getData() : null;
+        return toMaskedJson(result, maskTarget, maskParams);
+    }
+
+    /**
+     * 判断对象是否是不可用JSON表达的参数或者一些Http访问参数
+     *
+     * @param obj 校验过滤对象
+     */
+    @SuppressWarnings("rawtypes")
+    public static boolean isFilterObject(Object obj) {
+        ClassPlan plan = CLASS_PLAN_CACHE.computeIfAbsent(obj.getClass(), ArgumentCaptureUtils::buildClassPlan);
+        switch (plan.kind) {
+            case SKIP -> {
+                return true;
+            }
+            case ARRAY -> {
+                return obj.getClass().getComponentType().isAssignableFrom(MultipartFile.class);
+            }
+            case COLLECTION -> {
+                Iterator iterator = ((Collection) obj).iterator();
+                return iterator.hasNext() && iterator.next() instanceof MultipartFile;
+            }
+            case MAP -> {
+                Iterator iterator = ((Map) obj).values().iterator();
+                return iterator.hasNext() && iterator.next() instanceof MultipartFile;
+            }
+            default -> {
+                for (Field field : plan.suspectFields) {
+                    try {
+                        if (isFilterType(field.get(obj))) {
+                            return true;
+                        }
+                    } catch (IllegalAccessException e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+                return false;
+            }
+        }
+    }
+
+    /**
+     * 序列化对象，并屏蔽目标对象的指定顶层字段
+     *
+     * @param obj        待序列化对象
+     * @param maskTarget 需要屏蔽字段的目标对象
+     * @param maskParams 需要屏蔽的字段名称
+     */
+    private static String toMaskedJson(Object obj, Object maskTarget, Set<String> maskParams) {
+        if (Objects.isNull(maskTarget) || Objects.isNull(maskParams) || maskParams.isEmpty()) {
+            return JSON.toJSONString(obj);
+        }
+        PropertyFilter filter = (owner, name, value) -> owner != maskTarget || !maskParams.contains(name);
+        return JSON.toJSONString(obj, filter);
+    }
+
+    /**
+     * 根据方法参数声明类型构建捕获计划
+     *
+     * @param method 方法
+     */
+    private static boolean[] buildMethodPlan(Method method) {
+        Parameter[] parameters = method.getParameters();
+        boolean[] skips = new boolean[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            Class<?> type = parameters[i].getType();
+            if (type.isArray()) {
+                skips[i] = MultipartFile.class.isAssignableFrom(type.getComponentType());
+            } else if (Collection.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type)) {
+                skips[i] = isMultipartContainer(parameters[i].getParameterizedType());
+            } else {
+                skips[i] = isFilterClass(type);
+            }
+        }
+        return skips;
+    }
+
+    /**
+     * 根据运行时类型构建捕获计划
+     *
+     * @param clazz 运行时类型
+     */
+    private static ClassPlan buildClassPlan(Class<?> clazz) {
+        if (isFilterClass(clazz)) {
+            return new ClassPlan(Kind.SKIP, new Field[0]);
+        }
+        if (clazz.isArray()) {
+            return new ClassPlan(Kind.ARRAY, new Field[0]);
+        }
+        if (Collection.class.isAssignableFrom(clazz)) {
+            return new ClassPlan(Kind.COLLECTION, new Field[0]);
+        }
+        if (Map.class.isAssignableFrom(clazz)) {
+            return new ClassPlan(Kind.MAP, new Field[0]);
+        }
+        List<Field> suspectFields = new ArrayList<>();
+        for (Field declaredField : clazz.getDeclaredFields()) {
+            int modifiers = declaredField.getModifiers();
+            // 如果是静态属性或者final属性则不进行判断
+            if (Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers)) {
+                continue;
+            }
+            // 只有声明类型可能持有过滤类型对象的字段才需要在运行时检查
+            Class<?> fieldType = declaredField.getType();
+            boolean suspect = false;
+            for (Class<?> filterType : FILTER_TYPES) {
+                if (filterType.isAssignableFrom(fieldType) || fieldType.isAssignableFrom(filterType)) {
+                    suspect = true;
+                    break;
+                }
+            }
+            if (suspect) {
+                try {
+                    declaredField.setAccessible(true);
+                    suspectFields.add(declaredField);
+                } catch (RuntimeException e) {
+                    log.warn("无法访问字段[{}.{}]：{}", clazz.getName(), declaredField.getName(), e.getMessage());
+                }
+            }
+        }
+        return new ClassPlan(Kind.POJO, suspectFields.toArray(new Field[0]));
+    }
+
+    /**
+     * 判断泛型容器的元素（Map则为值）是否为文件类型
+     *
+     * @param genericType 泛型类型
+     */
+    private static boolean isMultipartContainer(Type genericType) {
+        if (genericType instanceof ParameterizedType parameterizedType) {
+            Type[] typeArguments = parameterizedType.getActualTypeArguments();
+            Type elementType = typeArguments[typeArguments.length - 1];
+            return elementType instanceof Class<?> elementClass && MultipartFile.class.isAssignableFrom(elementClass);
+        }
+        return false;
+    }
+
+    /**
+     * 判断类型是否属于过滤类型
+     *
+     * @param clazz 类型
+     */
+    private static boolean isFilterClass(Class<?> clazz) {
+        for (Class<?> filterType : FILTER_TYPES) {
+            if (filterType.isAssignableFrom(clazz)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 判断对象是否属于过滤类型
+     *
+     * @param obj 对象
+     */
+    private static boolean isFilterType(Object obj) {
+        return obj instanceof MultipartFile || obj instanceof ServletRequest || obj instanceof ServletResponse || obj instanceof BindingResult;
+    }
+
+    /**
+     * 类型捕获方式
+     */
+    private enum Kind {
+
+        /**
+         * 直接跳过
+         */
+        SKIP,
+
+        /**
+         * 数组，运行时判断元素类型
+         */
+        ARRAY,
+
+        /**
+         * 集合，运行时判断第一个元素
+         */
+        COLLECTION,
+
+        /**
+         * Map，运行时判断第一个值
+         */
+        MAP,
+
+        /**
+         * 普通实体类，运行时只检查可疑字段
+         */
+        POJO
+
+    }
+
+    /**
+     * 类型捕获计划
+     */
+    @AllArgsConstructor
+    private static class ClassPlan {
+
+        /**
+         * 捕获方式
+         */
+        private final Kind kind;
+
+        /**
+         * 需要运行时检查的字段
+         */
+        private final Field[] suspectFields;
+
+    }
+
+}
@@ -2,14 +2,15 @@ package top.sharehome.springbootinittemplate.utils.tokenizers;
 
 import com.alibaba.fastjson2.JSON;
 import com.alibaba.fastjson2.TypeReference;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.ObjectUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.ai.chat.messages.Message;
 import org.springframework.ai.chat.prompt.Prompt;
 import org.springframework.core.io.ClassPathResource;
 import top.sharehome.springbootinittemplate.common.base.ReturnCode;
 import top.sharehome.springbootinittemplate.exception.customize.CustomizeAiException;
-import top.sharehome.springbootinittemplate.model.common.TupleN;
 
 import java.io.File;
 import java.io.IOException;
@@ -18,13 +19,13 @@ import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 /**
  * BPE算法提示词分词工具
  * 这个分词工具比较通用，如果不区分模型大小，推荐使用这个工具进行分词计算
  * 💡源自GPT2 BPE（字节对编码）算法（https://github.com/openai/gpt-2/blob/master/src/encoder.py）
+ * 合并过程全部基于Token ID进行：字节对打包成long作为键查询合并优先级，在int数组上原地合并，不产生中间字符串；
+ * 单词分词结果缓存在有界并发缓存中，多线程并发调用安全，计算Token数量时不生成Token列表
  *
  * @author AntonyCheng
  */
@@ -33,22 +34,46 @@ public class BpeTokenUtils {
 
     private static final Pattern PATTERN = Pattern.compile("'s|'t|'re|'ve|'m|'ll|'d| ?\\p{L}+| ?\\p{N}+| ?[^\\s\\p{L}\\p{N}]+|\\s+(?!\\S)|\\s+", Pattern.UNICODE_CHARACTER_CLASS);
 
-    private static final HashMap<String, Integer> ENCODER;
+    /**
+     * 单词分词结果缓存容量
+     */
+    private static final int CACHE_CAPACITY = 50000;
 
-    private static final HashMap<Integer, String> DECODER;
+    /**
+     * Token ID -> Token字符串
+     */
+    private static final String[] DECODER;
 
-    private static final HashMap<Integer, Integer> BYTE_ENCODER;
+    /**
+     * 字节 -> 可见Unicode字符
+     */
+    private static final char[] BYTE_ENCODER;
 
-    private static final HashMap<Integer, Integer> BYTE_DECODER;
+    /**
+     * 可见Unicode字符 -> 字节，-1表示不存在
+     */
+    private static final int[] BYTE_DECODER;
 
-    private static final HashMap<TupleN<String>, Integer> BPE_RANKS;
+    /**
+     * 字节 -> 单字节Token ID
+     */
+    private static final int[] BYTE_TOKENS;
 
-    private static final HashMap<String, String> CACHE = new HashMap<>();
+    /**
+     * 字节对合并表
+     */
+    private static final MergeTable BPE_RANKS;
+
+    /**
+     * 单词分词结果缓存，缓存值不可修改
+     */
+    private static final Cache<String, int[]> CACHE = Caffeine.newBuilder().maximumSize(CACHE_CAPACITY).build();
 
     static {
         String encoderJsonFileName = "tokenizers" + File.separator + "encoder.json";
         String vocabBpeFileName = "tokenizers" + File.separator + "vocab.bpe";
-        String vocabBpeFileContent = "";
+        Map<String, Integer> encoder;
+        String vocabBpeFileContent;
         try (
                 InputStream encoderJsonFileStream = new ClassPathResource(encoderJsonFileName).getInputStream();
                 InputStream vocabBpeFileStream = new ClassPathResource(vocabBpeFileName).getInputStream()
@@ -56,34 +81,58 @@ public class BpeTokenUtils {
             String encoderJsonFileContent = new String(encoderJsonFileStream.readAllBytes(), StandardCharsets.UTF_8);
             TypeReference<HashMap<String, Integer>> type = new TypeReference<>() {
             };
-            ENCODER = JSON.parseObject(encoderJsonFileContent, type);
-            DECODER = ENCODER.entrySet().stream()
-                    .parallel()
-                    .collect(Collectors.toMap(Map.Entry::getValue, Map.Entry::getKey, (oldValue, newValue) -> oldValue, HashMap::new));
+            encoder = JSON.parseObject(encoderJsonFileContent, type);
             vocabBpeFileContent = new String(vocabBpeFileStream.readAllBytes(), StandardCharsets.UTF_8);
         } catch (IOException e) {
             throw new CustomizeAiException(ReturnCode.EXCEPTION_OCCURRED_IN_AI_MODULE, "初始化配置文件失败");
         }
 
+        int maxTokenId = encoder.values().stream().mapToInt(Integer::intValue).max().orElse(-1);
+        DECODER = new String[maxTokenId + 1];
+        encoder.forEach((token, id) -> {
+            if (Objects.isNull(DECODER[id])) {
+                DECODER[id] = token;
+            }
+        });
+
         BYTE_ENCODER = bytesToUnicode();
-        BYTE_DECODER = BYTE_ENCODER.entrySet().stream()
-                .parallel()
-                .collect(Collectors.toMap(Map.Entry::getValue, Map.Entry::getKey, (oldValue, newValue) -> oldValue, HashMap::new));
-
-        String[] vocabBpeFileLines = vocabBpeFileContent.split("\n");
-        List<TupleN<String>> bpeMerges = new ArrayList<>();
-        for (int i = 1; i < vocabBpeFileLines.length - 1; i++) {
-            String mergeStr = vocabBpeFileLines[i];
-            List<String> pair = Arrays.stream(mergeStr.split("(\\s+)"))
-                    .filter(e -> !e.trim().isEmpty())
-                    .toList();
-            bpeMerges.add(new TupleN<>(pair.get(0), pair.get(1)));
+        char maxChar = 0;
+        for (char c : BYTE_ENCODER) {
+            maxChar = (char) Math.max(maxChar, c);
         }
-        List<Integer> rankList = new ArrayList<>();
-        for (int i = 0; i < bpeMerges.size(); i++) {
-            rankList.add(i);
+        BYTE_DECODER = new int[maxChar + 1];
+        Arrays.fill(BYTE_DECODER, -1);
+        BYTE_TOKENS = new int[256];
+        for (int b = 0; b < 256; b++) {
+            BYTE_DECODER[BYTE_ENCODER[b]] = b;
+            Integer tokenId = encoder.get(String.valueOf(BYTE_ENCODER[b]));
+            if (Objects.isNull(tokenId)) {
+                throw new CustomizeAiException(ReturnCode.EXCEPTION_OCCURRED_IN_AI_MODULE, "初始化配置文件失败");
+            }
+            BYTE_TOKENS[b] = tokenId;
+        }
+
+        // 第一行为版本号，之后每一行为一个字节对，行号即为合并优先级
+        String[] vocabBpeFileLines = StringUtils.split(vocabBpeFileContent, '\n');
+        BPE_RANKS = new MergeTable(vocabBpeFileLines.length);
+        int skipped = 0;
+        for (int i = 1; i < vocabBpeFileLines.length; i++) {
+            String[] pair = StringUtils.split(vocabBpeFileLines[i]);
+            if (pair.length < 2) {
+                continue;
+            }
+            Integer left = encoder.get(pair[0]);
+            Integer right = encoder.get(pair[1]);
+            Integer merged = encoder.get(pair[0] + pair[1]);
+            if (Objects.isNull(left) || Objects.isNull(right) || Objects.isNull(merged)) {
+                skipped++;
+                continue;
+            }
+            BPE_RANKS.put(left, right, i - 1, merged);
+        }
+        if (skipped > 0) {
+            log.warn("BPE字节对合并表中有{}条记录不在词表中，已忽略", skipped);
         }
-        BPE_RANKS = dictZip(bpeMerges, rankList);
     }
 
     public static Integer getPromptTokenNumber(Prompt prompt) {
@@ -127,148 +176,208 @@ public class BpeTokenUtils {
     }
 
     public static Integer getTokenNumber(String text) {
-        return encode(text).size();
+        if (StringUtils.isEmpty(text)) {
+            return 0;
+        }
+        int count = 0;
+        Matcher matcher = PATTERN.matcher(text);
+        while (matcher.find()) {
+            count += bpe(matcher.group()).length;
+        }
+        return count;
     }
 
     public static List<Integer> encode(String text) {
         List<Integer> bpeTokens = new ArrayList<>();
+        if (StringUtils.isEmpty(text)) {
+            return bpeTokens;
+        }
         Matcher matcher = PATTERN.matcher(text);
-        List<String> regexTokens = new ArrayList<>();
         while (matcher.find()) {
-            String group = matcher.group(0);
-            regexTokens.add(group);
+            for (int token : bpe(matcher.group())) {
+                bpeTokens.add(token);
+            }
         }
-        regexTokens.forEach(regexToken -> {
-            byte[] tokenBytes = regexToken.getBytes(StandardCharsets.UTF_8);
-            String token = IntStream.range(0, tokenBytes.length)
-                    .parallel()
-                    .map(i -> Byte.toUnsignedInt(tokenBytes[i]))
-                    .mapToObj(tokenByte -> String.valueOf((char) ((int) BYTE_ENCODER.get(tokenByte))))
-                    .collect(Collectors.joining(""));
-            List<Integer> newTokens = Arrays.stream(bpe(token).split(" "))
-                    .parallel()
-                    .map(ENCODER::get)
-                    .toList();
-            bpeTokens.addAll(newTokens);
-        });
         return bpeTokens;
     }
 
     public static String decode(List<Integer> tokens) {
-        String text = tokens.stream()
-                .map(DECODER::get)
-                .collect(Collectors.joining(""));
-        int[] array = text.chars()
-                .map(BYTE_DECODER::get)
-                .toArray();
-        byte[] bytes = new byte[array.length];
-        for (int i = 0; i < array.length; i++) {
-            bytes[i] = (byte) array[i];
+        StringBuilder text = new StringBuilder();
+        for (Integer token : tokens) {
+            if (Objects.isNull(token) || token < 0 || token >= DECODER.length || Objects.isNull(DECODER[token])) {
+                throw new CustomizeAiException(ReturnCode.EXCEPTION_OCCURRED_IN_AI_MODULE, "Token[" + token + "]不存在");
+            }
+            text.append(DECODER[token]);
         }
-        return new String(bytes);
+        byte[] bytes = new byte[text.length()];
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= BYTE_DECODER.length || BYTE_DECODER[c] < 0) {
+                throw new CustomizeAiException(ReturnCode.EXCEPTION_OCCURRED_IN_AI_MODULE, "Token分词算法异常");
+            }
+            bytes[i] = (byte) BYTE_DECODER[c];
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
     }
 
-    private static String bpe(String token) {
-        String cacheToken;
-        if (Objects.nonNull(cacheToken = CACHE.get(token))) {
-            return cacheToken;
+    /**
+     * 对正则切分出的单词进行BPE合并，优先读取缓存
+     *
+     * @param word 单词
+     * @return Token ID数组，不可修改
+     */
+    private static int[] bpe(String word) {
+        int[] cached = CACHE.getIfPresent(word);
+        if (Objects.nonNull(cached)) {
+            return cached;
         }
-        List<String> word = new TupleN<>(token.split(""));
-        Set<TupleN<String>> pairs = getPairs(word);
-        if (pairs.isEmpty()) {
-            return token;
+        int[] tokens = merge(word);
+        CACHE.put(word, tokens);
+        return tokens;
+    }
+
+    /**
+     * BPE合并：每轮找到优先级最高的相邻字节对，从左到右合并该字节对的所有出现位置，直到没有可合并的字节对
+     *
+     * @param word 单词
+     */
+    private static int[] merge(String word) {
+        byte[] bytes = word.getBytes(StandardCharsets.UTF_8);
+        int[] symbols = new int[bytes.length];
+        for (int i = 0; i < bytes.length; i++) {
+            symbols[i] = BYTE_TOKENS[Byte.toUnsignedInt(bytes[i])];
         }
-        while (true) {
-            TupleN<String> bigram = pairs.stream()
-                    .parallel()
-                    .min(Comparator.comparing(pair -> BPE_RANKS.getOrDefault(pair, Integer.MAX_VALUE)))
-                    .orElse(null);
-            if (!BPE_RANKS.containsKey(bigram)) {
-                break;
-            }
-            if (Objects.isNull(bigram)) {
-                throw new CustomizeAiException(ReturnCode.EXCEPTION_OCCURRED_IN_AI_MODULE, "Token分词算法异常");
+        int size = symbols.length;
+        while (size > 1) {
+            int bestSlot = -1;
+            int bestRank = Integer.MAX_VALUE;
+            int bestIndex = -1;
+            for (int i = 0; i < size - 1; i++) {
+                int slot = BPE_RANKS.find(symbols[i], symbols[i + 1]);
+                if (slot >= 0 && BPE_RANKS.rank(slot) < bestRank) {
+                    bestSlot = slot;
+                    bestRank = BPE_RANKS.rank(slot);
+                    bestIndex = i;
+                }
             }
-            String first = bigram.getOrDefault(0, null);
-            String second = bigram.getOrDefault(1, null);
-            if (ObjectUtils.anyNull(first, second)) {
-                throw new CustomizeAiException(ReturnCode.EXCEPTION_OCCURRED_IN_AI_MODULE, "Token分词算法异常");
+            if (bestSlot < 0) {
+                break;
             }
-            ArrayList<String> newWord = new ArrayList<>();
-            int i = 0;
-            while (i < word.size()) {
-                int j = -1;
-                for (int index = i; index < word.size(); index++) {
-                    if (word.get(index).equals(first)) {
-                        j = index;
-                        break;
-                    }
-                }
-                if (Objects.equals(j, -1)) {
-                    newWord.addAll(word.subList(i, word.size()));
-                    break;
-                }
-                newWord.addAll(word.subList(i, j));
-                i = j;
-                if (Objects.equals(word.get(i), first) && i < word.size() - 1 && Objects.equals(word.get(i + 1), second)) {
-                    newWord.add(first + second);
-                    i = i + 2;
+            int first = symbols[bestIndex];
+            int second = symbols[bestIndex + 1];
+            int merged = BPE_RANKS.merged(bestSlot);
+            // bestIndex是该字节对第一次出现的位置，之前的元素无需移动
+            int write = bestIndex;
+            int read = bestIndex;
+            while (read < size) {
+                if (read < size - 1 && symbols[read] == first && symbols[read + 1] == second) {
+                    symbols[write++] = merged;
+                    read += 2;
                 } else {
-                    newWord.add(word.get(i));
-                    i = i + 1;
+                    symbols[write++] = symbols[read++];
                 }
             }
-            word = newWord;
-            if (Objects.equals(word.size(), 1)) {
-                break;
-            } else {
-                pairs = getPairs(word);
-            }
+            size = write;
         }
-        word = Arrays.stream(String.join(" ", word).split("")).toList();
-        CACHE.put(token, String.join("", word));
-        return String.join("", word);
+        return size == symbols.length ? symbols : Arrays.copyOf(symbols, size);
     }
 
-    private static HashMap<Integer, Integer> bytesToUnicode() {
-        List<Integer> bs = new ArrayList<>();
-        for (char i = '!'; i < '~' + 1; i++) {
-            bs.add((int) i);
+    /**
+     * 构建字节到可见Unicode字符的映射，避免BPE处理空白字符和控制字符
+     */
+    private static char[] bytesToUnicode() {
+        char[] result = new char[256];
+        boolean[] visible = new boolean[256];
+        for (int b = '!'; b <= '~'; b++) {
+            visible[b] = true;
         }
-        for (char i = '¡'; i < '¬' + 1; i++) {
-            bs.add((int) i);
+        for (int b = '¡'; b <= '¬'; b++) {
+            visible[b] = true;
         }
-        for (char i = '®'; i < 'ÿ' + 1; i++) {
-            bs.add((int) i);
+        for (int b = '®'; b <= 'ÿ'; b++) {
+            visible[b] = true;
         }
-        List<Integer> cs = new ArrayList<>(bs);
         int n = 0;
         for (int b = 0; b < 256; b++) {
-            if (!bs.contains(b)) {
-                bs.add(b);
-                cs.add(256 + n);
-                n += 1;
-            }
+            result[b] = visible[b] ? (char) b : (char) (256 + n++);
         }
-        return dictZip(bs, cs);
+        return result;
     }
 
-    private static Set<TupleN<String>> getPairs(List<String> word) {
-        Set<TupleN<String>> pairs = new HashSet<>();
-        String prevChar = word.get(0);
-        for (int i = 1; i < word.size(); i++) {
-            pairs.add(new TupleN<>(prevChar, word.get(i)));
-            prevChar = word.get(i);
+    /**
+     * 字节对合并表
+     * 以开放寻址法实现的long -> (优先级, 合并结果)哈希表，键为左右Token ID打包成的long，避免装箱和元组对象
+     */
+    private static class MergeTable {
+
+        private static final long EMPTY = -1L;
+
+        private final long[] keys;
+
+        private final int[] ranks;
+
+        private final int[] merges;
+
+        private final int mask;
+
+        private MergeTable(int expectedSize) {
+            int capacity = Integer.highestOneBit(Math.max(expectedSize, 2) * 2 - 1) << 1;
+            this.keys = new long[capacity];
+            this.ranks = new int[capacity];
+            this.merges = new int[capacity];
+            this.mask = capacity - 1;
+            Arrays.fill(keys, EMPTY);
         }
-        return pairs;
-    }
 
-    private static <K, V> HashMap<K, V> dictZip(List<K> x, List<V> y) {
-        HashMap<K, V> result = new HashMap<>();
-        for (int i = 0; i < x.size(); i++) {
-            result.put(x.get(i), y.get(i));
+        /**
+         * 添加字节对，已存在时保留优先级更高（数值更小）的记录
+         */
+        private void put(int left, int right, int rank, int merged) {
+            long key = pack(left, right);
+            int slot = hash(key) & mask;
+            while (keys[slot] != EMPTY) {
+                if (keys[slot] == key) {
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            ranks[slot] = rank;
+            merges[slot] = merged;
         }
-        return result;
+
+        /**
+         * 查找字节对所在槽位，不存在时返回-1
+         */
+        private int find(int left, int right) {
+            long key = pack(left, right);
+            int slot = hash(key) & mask;
+            while (keys[slot] != EMPTY) {
+                if (keys[slot] == key) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        private int rank(int slot) {
+            return ranks[slot];
+        }
+
+        private int merged(int slot) {
+            return merges[slot];
+        }
+
+        private static long pack(int left, int right) {
+            return ((long) left << 32) | (right & 0xFFFFFFFFL);
+        }
+
+        private static int hash(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+
     }
 
 }
@@ -1,17 +1,23 @@
 package top.sharehome.springbootinittemplate.utils.tokenizers;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.knuddels.jtokkit.Encodings;
 import com.knuddels.jtokkit.api.*;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.MessageType;
 import org.springframework.ai.chat.prompt.Prompt;
 
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 基于tiktoken库的提示词分词工具
  * 这个分词工具比较细化，如果需要区分模型大小，推荐使用这个工具进行分词计算
+ * 编码器按照编码类型全局共享，提示词按消息逐条计数并缓存重复出现的系统提示词，流式回复可以使用{@link StreamCounter}边接收边计数
  *
  * @author AntonyCheng
  */
@@ -20,42 +26,84 @@ public class TikTokenUtils {
 
     private static final EncodingRegistry REGISTRY = Encodings.newLazyEncodingRegistry();
 
+    /**
+     * 编码器缓存，编码器本身线程安全，按照编码类型共享
+     */
+    private static final Map<EncodingType, Encoding> ENCODINGS = new EnumMap<>(EncodingType.class);
+
+    /**
+     * 系统提示词Token数缓存，系统提示词在多次对话中基本不变，缓存后无需重复分词
+     */
+    private static final Cache<String, Integer> SYSTEM_PROMPT_CACHE = Caffeine.newBuilder()
+            .maximumSize(1024)
+            .build();
+
+    private final EncodingType encodingType;
+
     private final Encoding encoding;
 
     public TikTokenUtils(EncodingType encodingType) {
-        encoding = REGISTRY.getEncoding(encodingType);
+        this.encodingType = encodingType;
+        this.encoding = getEncoding(encodingType);
     }
 
     public TikTokenUtils(ModelType modelType) {
-        encoding = REGISTRY.getEncodingForModel(modelType);
+        this.encodingType = modelType.getEncodingType();
+        this.encoding = getEncoding(encodingType);
+    }
+
+    /**
+     * 获取共享编码器
+     *
+     * @param encodingType 编码类型
+     */
+    public static Encoding getEncoding(EncodingType encodingType) {
+        synchronized (ENCODINGS) {
+            return ENCODINGS.computeIfAbsent(encodingType, REGISTRY::getEncoding);
+        }
+    }
+
+    /**
+     * 创建流式计数器
+     *
+     * @param encodingType 编码类型
+     */
+    public static StreamCounter newStreamCounter(EncodingType encodingType) {
+        return new StreamCounter(getEncoding(encodingType));
     }
 
     public Integer getPromptTokenNumber(Prompt prompt) {
         return getMessageTokenNumber(prompt.getInstructions());
     }
 
+    /**
+     * 计算提示词Token数，额外的系统提示词会和提示词中的消息一起计数
+     *
+     * @param systemPrompt 额外的系统提示词，可以为空
+     * @param prompt       提示词
+     */
+    public Integer getPromptTokenNumber(String systemPrompt, Prompt prompt) {
+        int res = getMessageTokenNumber(prompt.getInstructions());
+        if (StringUtils.isNotBlank(systemPrompt)) {
+            res += getSystemTokenNumber(MessageType.SYSTEM.getValue() + systemPrompt);
+        }
+        return res;
+    }
+
     public Integer getMessageTokenNumber(List<Message> messages) {
-        StringBuilder res = new StringBuilder();
+        int res = 0;
         for (final Message message : messages) {
-            String text = message.getText();
-            if (StringUtils.isNotBlank(text)){
-                res.append(message.getMessageType().getValue());
-                res.append(text);
-            }
+            res += getMessageTokenNumber(message);
         }
-        return getTokenNumber(res.toString());
+        return res;
     }
 
     public Integer getMessageTokenNumber(Message... messages) {
-        StringBuilder res = new StringBuilder();
+        int res = 0;
         for (final Message message : messages) {
-            String text = message.getText();
-            if (StringUtils.isNotBlank(text)){
-                res.append(message.getMessageType().getValue());
-                res.append(text);
-            }
+            res += getMessageTokenNumber(message);
         }
-        return getTokenNumber(res.toString());
+        return res;
     }
 
     public Integer getStringTokenNumber(List<String> messages) {
@@ -90,4 +138,124 @@ public class TikTokenUtils {
         return encoding.decode(intArrayList);
     }
 
+    /**
+     * 计算单条消息Token数，系统消息走缓存
+     *
+     * @param message 消息
+     */
+    private int getMessageTokenNumber(Message message) {
+        String text = message.getText();
+        if (StringUtils.isBlank(text)) {
+            return 0;
+        }
+        String content = message.getMessageType().getValue() + text;
+        return message.getMessageType() == MessageType.SYSTEM ? getSystemTokenNumber(content) : encoding.countTokensOrdinary(content);
+    }
+
+    /**
+     * 计算系统提示词Token数，相同编码类型下相同的系统提示词只分词一次
+     *
+     * @param content 带消息类型前缀的系统提示词
+     */
+    private int getSystemTokenNumber(String content) {
+        return SYSTEM_PROMPT_CACHE.get(encodingType.getName() + ":" + content, key -> encoding.countTokensOrdinary(content));
+    }
+
+    /**
+     * 流式计数器
+     * 每次追加回复片段时，只对已经确定不会再和后续内容合并的前缀（以最后一个“字母数字->其他字符”的边界切分）进行分词，
+     * 剩余的尾部留到下一次追加或结束时再计数，这样每个字符只分词一次，流结束时也不需要对全文重新计数
+     * 切分位置兼容cl100k和o200k的预分词规则：o200k会把英文缩写后缀（'s、't、'll等）并入前面的单词，所以紧跟撇号的位置不作为边界，
+     * 组合附加符号（\p{M}）视为字母；只有尾部长时间没有边界被强制切分时才可能和全文计数有极小误差
+     * 注意：计数器非线程安全，单个流内按顺序调用即可
+     */
+    public static class StreamCounter {
+
+        /**
+         * 尾部最大长度，超过后强制计数，避免没有边界的长文本（如大段无标点中文）一直积压
+         */
+        private static final int MAX_PENDING_LENGTH = 512;
+
+        private final Encoding encoding;
+
+        /**
+         * 尚未计数的尾部内容
+         */
+        private final StringBuilder pending = new StringBuilder();
+
+        /**
+         * 已计数的Token数
+         */
+        private int count = 0;
+
+        private StreamCounter(Encoding encoding) {
+            this.encoding = encoding;
+        }
+
+        /**
+         * 追加回复片段
+         *
+         * @param text 回复片段
+         */
+        public StreamCounter append(String text) {
+            if (StringUtils.isEmpty(text)) {
+                return this;
+            }
+            pending.append(text);
+            int boundary = lastBoundary();
+            if (boundary <= 0 && pending.length() > MAX_PENDING_LENGTH) {
+                boundary = Character.isHighSurrogate(pending.charAt(pending.length() - 1)) ? pending.length() - 1 : pending.length();
+            }
+            if (boundary > 0) {
+                count += encoding.countTokensOrdinary(pending.substring(0, boundary));
+                pending.delete(0, boundary);
+            }
+            return this;
+        }
+
+        /**
+         * 获取当前Token数，包括尚未切分的尾部
+         */
+        public int getCount() {
+            return pending.isEmpty() ? count : count + encoding.countTokensOrdinary(pending.toString());
+        }
+
+        /**
+         * 结束计数，尾部内容全部计入并返回总Token数
+         */
+        public int finish() {
+            if (!pending.isEmpty()) {
+                count += encoding.countTokensOrdinary(pending.toString());
+                pending.setLength(0);
+            }
+            return count;
+        }
+
+        /**
+         * 从后向前查找最后一个字母数字之后紧跟其他字符的位置，该位置前后的内容在预分词时不会被合并
+         * 其他字符为撇号时可能是o200k中并入前一个单词的缩写后缀，跳过该位置，继续向前查找
+         */
+        private int lastBoundary() {
+            for (int i = pending.length() - 1; i > 0; i--) {
+                char current = pending.charAt(i);
+                if (isWordChar(pending.charAt(i - 1)) && !isWordChar(current) && current != '\'') {
+                    return i;
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * 是否为预分词时连续合并的字符：字母、数字以及组合附加符号
+         */
+        private static boolean isWordChar(char c) {
+            if (Character.isLetterOrDigit(c)) {
+                return true;
+            }
+            int type = Character.getType(c);
+            return type == Character.NON_SPACING_MARK || type == Character.COMBINING_SPACING_MARK || type == Character.ENCLOSING_MARK;
+        }
+
+    }
+
 }
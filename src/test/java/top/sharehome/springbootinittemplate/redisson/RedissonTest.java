@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 import top.sharehome.springbootinittemplate.exception.customize.CustomizeRedissonException;
 import top.sharehome.springbootinittemplate.utils.redisson.cache.CacheUtils;
+import top.sharehome.springbootinittemplate.utils.redisson.cache.model.LoadOptions;
 import top.sharehome.springbootinittemplate.utils.redisson.lock.LockUtils;
 import top.sharehome.springbootinittemplate.utils.redisson.lock.function.SuccessFunction;
 import top.sharehome.springbootinittemplate.utils.redisson.lock.function.VoidFunction;
@@ -87,7 +88,27 @@ public class RedissonTest {
         }
         System.out.println(CacheUtils.getKeysByPattern("test*"));
         System.out.println(CacheUtils.getKeyValuesByPattern("test*"));
+        CacheUtils.forEachKeyValueByPattern("test*", null, 10, (key, value) -> System.out.println(key + "=" + value));
         CacheUtils.deleteByPattern("test*");
+
+        // 测试批量操作
+        Map<String, String> batchMap = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            batchMap.put("test" + i, "test" + i);
+        }
+        CacheUtils.putAllString(batchMap, Duration.ofMinutes(1), 30, Boolean.TRUE);
+        System.out.println(CacheUtils.getAllString(batchMap.keySet(), 30));
+        System.out.println(CacheUtils.deleteAllString(batchMap.keySet()));
+
+        // 测试加载缓存
+        LoadOptions loadOptions = new LoadOptions()
+                .setDistributed(true)
+                .setRefreshAheadRatio(0.2)
+                .setNullExpired(Duration.ofSeconds(30));
+        System.out.println(CacheUtils.getOrLoad("test", String.class, Duration.ofMinutes(1), () -> "test", loadOptions));
+        System.out.println(CacheUtils.getOrLoad("test", String.class, Duration.ofMinutes(1), () -> "never", loadOptions));
+        System.out.println(CacheUtils.getOrLoad("testNull", String.class, Duration.ofMinutes(1), () -> null, loadOptions));
+        CacheUtils.delete("test");
     }
 
     /**
@@ -112,6 +133,15 @@ public class RedissonTest {
                 System.out.println("请求太多，请稍后");
             }
         }
+        ThreadUtils.sleep(Duration.ofSeconds(2));
+        for (int i = 0; i < 10; i++) {
+            try {
+                RateLimitUtils.doLeaseRateLimitAndExpire("test3", new TimeModel(1L, TimeUnit.SECONDS), 5L, 1L, 2L, new TimeModel(1L, TimeUnit.SECONDS));
+                System.out.println(i);
+            } catch (CustomizeRedissonException e) {
+                System.out.println("请求太多，请稍后");
+            }
+        }
     }
 
     /**